@@ -0,0 +1,418 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class implements a pathfinder that routes each query to the engine of
+ * the lowest predicted cost. The prediction relies on the node count and a 
+ * profile of the tree: the mean branching factor of the inner nodes and the 
+ * mean hop distance from a random node, which stands in for the typical 
+ * query length. The profile takes linear time to compute, so it is kept 
+ * until the tree has been modified more times than an eighth of its nodes;
+ * its cost thus amortizes to a constant per modification.
+ * A query may override that length with its own hint. If a current 
+ * {@link SubtreeIndex} covers both terminals, it answers the query in time 
+ * proportional to the path length, and no search is run at all.
+ * <p>
+ * The pathfinder counts the queries and the time spent per engine. Every 
+ * {@code validationInterval}th query is also run on all the other engines, 
+ * and the query counts as a hit if the chosen engine was the fastest; the hit
+ * rate thus validates the cost model.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 19, 2026)
+ * @since 1.7 (Oct 19, 2026)
+ */
+public final class AdaptivePathfinder implements Pathfinder {
+
+    /**
+     * The hop count hint meaning that the query length is unknown.
+     */
+    public static final int UNKNOWN_HOPS = -1;
+
+    public enum Engine {
+        SUBTREE_INDEX,
+        BREADTH_FIRST,
+        BIDIRECTIONAL_BREADTH_FIRST,
+        DEPTH_FIRST;
+    }
+
+    // The relative costs of expanding a node, the unidirectional breadth-
+    // first search being the unit:
+    private static final double BIDIRECTIONAL_OVERHEAD = 1.5;
+    private static final double DEPTH_FIRST_OVERHEAD = 1.2;
+
+    private final Map<Engine, Pathfinder> engines = new EnumMap<>(Engine.class);
+    private final Statistics statistics = new Statistics();
+    private final int validationInterval;
+    private final AtomicLong queryCounter = new AtomicLong();
+    private volatile SubtreeIndex subtreeIndex;
+    private volatile TreeProfile profile;
+
+    /**
+     * Constructs this pathfinder.
+     * 
+     * @param validationInterval every how many queries to time all the 
+     *                           engines, or zero for never.
+     */
+    public AdaptivePathfinder(int validationInterval) {
+        if (validationInterval < 0) {
+            throw new IllegalArgumentException(
+                    "Negative validation interval: " 
+                            + validationInterval 
+                            + ".");
+        }
+
+        this.validationInterval = validationInterval;
+        engines.put(Engine.BREADTH_FIRST, new BreadthFirstSearchPathfinder());
+        engines.put(Engine.BIDIRECTIONAL_BREADTH_FIRST,
+                    new BidirectionalBreadthFirstSearchPathfinder());
+        engines.put(Engine.DEPTH_FIRST, new DepthFirstSearchPathfinder());
+    }
+
+    public AdaptivePathfinder() {
+        this(0);
+    }
+
+    /**
+     * Lets the queries over the tree of {@code subtreeIndex} be answered by 
+     * it, for as long as the tree stays unmodified.
+     */
+    public void setSubtreeIndex(SubtreeIndex subtreeIndex) {
+        this.subtreeIndex = subtreeIndex;
+    }
+
+    public Statistics getStatistics() {
+        return statistics;
+    }
+
+    @Override
+    public WeightedPath search(TreeView tree, int sourceId, int targetId) {
+        return search(tree, sourceId, targetId, UNKNOWN_HOPS);
+    }
+
+    /**
+     * Searches for a path using the expected number of hops between the 
+     * terminals as a hint.
+     */
+    public WeightedPath search(TreeView tree, 
+                               int sourceId, 
+                               int targetId, 
+                               int estimatedHops) {
+        return search(tree, 
+                      sourceId, 
+                      targetId, 
+                      estimatedHops, 
+                      SearchBudget.UNLIMITED);
+    }
+
+    /**
+     * Searches for a path by the chosen engine within the given budget. The
+     * validation runs of the other engines are held to the same budget, and 
+     * the ones exceeding it do not count as the fastest.
+     */
+    @Override
+    public WeightedPath search(TreeView tree, 
+                               int sourceId, 
+                               int targetId, 
+                               SearchBudget budget) {
+        return search(tree, sourceId, targetId, UNKNOWN_HOPS, budget);
+    }
+
+    public WeightedPath search(TreeView tree, 
+                               int sourceId, 
+                               int targetId, 
+                               int estimatedHops,
+                               SearchBudget budget) {
+
+        Objects.requireNonNull(tree, "The tree is null.");
+        Objects.requireNonNull(budget, "The budget is null.");
+        checkTerminalNodes(tree, sourceId, targetId);
+
+        SubtreeIndex index = subtreeIndex;
+        Engine engine = 
+                selectEngine(index, tree, sourceId, targetId, estimatedHops);
+
+        long startTime = System.nanoTime();
+        WeightedPath path = 
+                run(engine, index, tree, sourceId, targetId, budget);
+        statistics.record(engine, System.nanoTime() - startTime);
+
+        // The index beats any search, so only the searches are validated:
+        if (validationInterval > 0 
+                && engine != Engine.SUBTREE_INDEX
+                && queryCounter.incrementAndGet() % validationInterval == 0) {
+            validate(engine, tree, sourceId, targetId, budget);
+        }
+
+        return path;
+    }
+
+    /**
+     * Returns the engine this pathfinder would route the query to.
+     */
+    public Engine selectEngine(TreeView tree, 
+                               int sourceId, 
+                               int targetId, 
+                               int estimatedHops) {
+        return selectEngine(subtreeIndex, 
+                            tree, 
+                            sourceId, 
+                            targetId, 
+                            estimatedHops);
+    }
+
+    private Engine selectEngine(SubtreeIndex index,
+                                TreeView tree, 
+                                int sourceId, 
+                                int targetId, 
+                                int estimatedHops) {
+        if (index != null 
+                && index.isCurrentFor(tree) 
+                && index.contains(sourceId) 
+                && index.contains(targetId)) {
+            return Engine.SUBTREE_INDEX;
+        }
+
+        TreeProfile treeProfile = getProfile(tree);
+        double hops = estimatedHops == UNKNOWN_HOPS 
+                ? treeProfile.typicalHops 
+                : estimatedHops;
+
+        double n = tree.getNumberOfNodes();
+        double b = treeProfile.branchingFactor;
+
+        // The early-terminating search stops one level short of the target,
+        // the bidirectional one expands about half of the levels from both
+        // ends and the depth-first one half of the tree on average:
+        double breadthFirstCost = 
+                Math.min(n, levelSizeSum(b, hops - 1.0));
+
+        double bidirectionalCost = 
+                BIDIRECTIONAL_OVERHEAD 
+                    * Math.min(n, 2.0 * levelSizeSum(b, hops / 2.0));
+
+        double depthFirstCost = DEPTH_FIRST_OVERHEAD * n / 2.0;
+
+        if (breadthFirstCost <= bidirectionalCost 
+                && breadthFirstCost <= depthFirstCost) {
+            return Engine.BREADTH_FIRST;
+        }
+
+        return bidirectionalCost <= depthFirstCost 
+                ? Engine.BIDIRECTIONAL_BREADTH_FIRST 
+                : Engine.DEPTH_FIRST;
+    }
+
+    private WeightedPath run(Engine engine, 
+                             SubtreeIndex index,
+                             TreeView tree, 
+                             int sourceId, 
+                             int targetId,
+                             SearchBudget budget) {
+        if (engine == Engine.SUBTREE_INDEX) {
+            return index.getPath(sourceId, targetId);
+        }
+
+        return engines.get(engine).search(tree, sourceId, targetId, budget);
+    }
+
+    private void validate(Engine chosenEngine,
+                          TreeView tree, 
+                          int sourceId, 
+                          int targetId,
+                          SearchBudget budget) {
+        Engine fastestEngine = chosenEngine;
+        long fastestDuration = Long.MAX_VALUE;
+
+        for (Engine engine : engines.keySet()) {
+            long startTime = System.nanoTime();
+
+            try {
+                run(engine, null, tree, sourceId, targetId, budget);
+            } catch (SearchBudgetExceededException ex) {
+                continue;
+            }
+
+            long duration = System.nanoTime() - startTime;
+
+            if (duration < fastestDuration) {
+                fastestDuration = duration;
+                fastestEngine = engine;
+            }
+        }
+
+        statistics.recordValidation(chosenEngine == fastestEngine);
+    }
+
+    /**
+     * Returns the number of nodes within {@code levels} levels of a tree of 
+     * the branching factor {@code b}.
+     */
+    private static double levelSizeSum(double b, double levels) {
+        if (levels <= 0.0) {
+            return 1.0;
+        }
+
+        if (b <= 1.0 + 1e-9) {
+            return levels + 1.0;
+        }
+
+        return (Math.pow(b, levels + 1.0) - 1.0) / (b - 1.0);
+    }
+
+    private TreeProfile getProfile(TreeView tree) {
+        TreeProfile treeProfile = profile;
+
+        if (treeProfile == null 
+                || treeProfile.tree != tree 
+                || treeProfile.isStale()) {
+            // A race merely computes the same profile twice:
+            treeProfile = new TreeProfile(tree);
+            profile = treeProfile;
+        }
+
+        return treeProfile;
+    }
+
+    /**
+     * This class holds the statistics of a tree the cost model relies on.
+     */
+    private static final class TreeProfile {
+
+        final TreeView tree;
+        final long version;
+        final int numberOfNodes;
+        final double branchingFactor;
+        final double typicalHops;
+
+        /**
+         * Returns {@code true} if the tree has been modified more times than
+         * an eighth of the nodes it had when profiled.
+         */
+        boolean isStale() {
+            long modifications = Math.abs(tree.getVersion() - version);
+            return modifications > numberOfNodes >>> 3;
+        }
+
+        TreeProfile(TreeView tree) {
+            this.tree = tree;
+            this.version = tree.getVersion();
+            this.numberOfNodes = tree.getNumberOfNodes();
+
+            long innerDegreeSum = 0L;
+            int numberOfInnerNodes = 0;
+
+            for (int index = 0; index < numberOfNodes; index++) {
+                int degree = tree.getDegree(index);
+
+                if (degree > 1) {
+                    innerDegreeSum += degree;
+                    numberOfInnerNodes++;
+                }
+            }
+
+            // An inner node leads to all its neighbors but the one it was 
+            // entered from:
+            this.branchingFactor = numberOfInnerNodes == 0 
+                    ? 1.0 
+                    : (double) innerDegreeSum / numberOfInnerNodes - 1.0;
+
+            this.typicalHops = numberOfNodes == 0 
+                    ? 0.0 
+                    : meanHopsFromRandomNode(tree);
+        }
+
+        private static double meanHopsFromRandomNode(TreeView tree) {
+            int startIndex = 
+                    new Random(tree.getVersion())
+                            .nextInt(tree.getNumberOfNodes());
+
+            ShortestPathTree shortestPathTree = 
+                    new SingleSourcePathfinder()
+                            .singleSource(tree, tree.getNodeId(startIndex));
+
+            long hopSum = 0L;
+            int numberOfReachedNodes = 0;
+
+            for (int i = 0; i < shortestPathTree.getNumberOfNodes(); i++) {
+                if (shortestPathTree.isReachable(i)) {
+                    hopSum += shortestPathTree.getNumberOfHops(i);
+                    numberOfReachedNodes++;
+                }
+            }
+
+            return (double) hopSum / numberOfReachedNodes;
+        }
+    }
+
+    /**
+     * This class holds the query counts and latencies per engine, together 
+     * with the outcomes of the validations.
+     */
+    public static final class Statistics {
+
+        private final LongAdder[] queries = newAdders();
+        private final LongAdder[] nanos = newAdders();
+        private final LongAdder validations = new LongAdder();
+        private final LongAdder hits = new LongAdder();
+
+        private Statistics() {}
+
+        public long getNumberOfQueries(Engine engine) {
+            return queries[engine.ordinal()].sum();
+        }
+
+        public double getAverageLatencyNanos(Engine engine) {
+            long numberOfQueries = getNumberOfQueries(engine);
+
+            return numberOfQueries == 0 
+                    ? 0.0 
+                    : (double) nanos[engine.ordinal()].sum() / numberOfQueries;
+        }
+
+        public long getNumberOfValidations() {
+            return validations.sum();
+        }
+
+        /**
+         * Returns the fraction of the validated queries routed to the fastest
+         * engine.
+         */
+        public double getHitRate() {
+            long numberOfValidations = validations.sum();
+
+            return numberOfValidations == 0 
+                    ? 0.0 
+                    : (double) hits.sum() / numberOfValidations;
+        }
+
+        void record(Engine engine, long durationNanos) {
+            queries[engine.ordinal()].increment();
+            nanos[engine.ordinal()].add(durationNanos);
+        }
+
+        void recordValidation(boolean hit) {
+            validations.increment();
+
+            if (hit) {
+                hits.increment();
+            }
+        }
+
+        private static LongAdder[] newAdders() {
+            LongAdder[] adders = new LongAdder[Engine.values().length];
+
+            for (int i = 0; i < adders.length; i++) {
+                adders[i] = new LongAdder();
+            }
+
+            return adders;
+        }
+    }
+}
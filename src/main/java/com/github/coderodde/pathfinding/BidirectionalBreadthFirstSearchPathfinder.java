@@ -1,134 +1,227 @@
 package com.github.coderodde.pathfinding;
 
-import com.github.coderodde.pathfinding.WeightedTree.WeightedTreeNode;
-import java.util.ArrayDeque;
-import java.util.Arrays;
-import java.util.Deque;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Objects;
 
 /**
  * This class implements a bidirectional breadth-first search. It alternates 
- * two search frontiers meeting somewhere in between.
+ * two search frontiers meeting somewhere in between. When streaming, the 
+ * half of the path found by the forward search is emitted by reversing its 
+ * parent links in place, so that the path is never buffered.
  * 
  * @author Rodion "rodde" Efremov
- * @version 1.6 (Nov 6, 2022)
+ * @version 1.7 (Oct 19, 2026)
  * @since 1.6 (Nov 6, 2022)
  */
 public final class BidirectionalBreadthFirstSearchPathfinder 
         implements Pathfinder {
 
     @Override
-    public WeightedPath search(WeightedTree tree, int sourceNodeId, int targetNodeId) {
+    public WeightedPath search(TreeView tree, 
+                               int sourceNodeId, 
+                               int targetNodeId) {
+        return search(tree, sourceNodeId, targetNodeId, SearchBudget.UNLIMITED);
+    }
+
+    @Override
+    public WeightedPath search(TreeView tree, 
+                               int sourceNodeId, 
+                               int targetNodeId,
+                               SearchBudget budget) {
         
         Objects.requireNonNull(tree, "The tree is null.");
+        Objects.requireNonNull(budget, "The budget is null.");
         checkTerminalNodes(tree, sourceNodeId, targetNodeId);
         
-        WeightedTree.WeightedTreeNode sourceNode = 
-                tree.getWeightedTreeNode(sourceNodeId);
-        
-        WeightedTree.WeightedTreeNode targetNode = 
-                tree.getWeightedTreeNode(targetNodeId);
-        
-        if (sourceNode.equals(targetNode)) {
+        if (sourceNodeId == targetNodeId) {
             // We need to deal with this special case separately since the 
             // algorithm logic cannot handle it:
-            return new WeightedPath(tree, Arrays.asList(sourceNode));
+            return new WeightedPath(tree, new int[]{ sourceNodeId }, 0.0);
         }   
 
-        Deque<WeightedTreeNode> queueForward  = new ArrayDeque<>();
-        Deque<WeightedTreeNode> queueBackward = new ArrayDeque<>();
-        
-        Map<WeightedTreeNode, WeightedTreeNode> parentMapForward = 
-                new HashMap<>();
+        SearchContext context = 
+                SearchContext.acquire(tree.getNumberOfNodes(), budget);
         
-        Map<WeightedTreeNode, WeightedTreeNode> parentMapBackward = 
-                new HashMap<>();
+        try {
+            int touchIndex = 
+                    searchTouchIndex(tree, sourceNodeId, targetNodeId, context);
+
+            return context.tracebackBidirectionalPath(tree, touchIndex);
+        } finally {
+            context.release();
+        }
+    }
+
+    @Override
+    public double searchInto(TreeView tree, 
+                             int sourceNodeId, 
+                             int targetNodeId,
+                             PathBuffer buffer) {
         
-        Map<WeightedTreeNode, Integer> distanceMapForward = 
-                new HashMap<>();
+        Objects.requireNonNull(tree, "The tree is null.");
+        Objects.requireNonNull(buffer, "The buffer is null.");
+        checkTerminalNodes(tree, sourceNodeId, targetNodeId);
         
-        Map<WeightedTreeNode, Integer> distanceMapBackward = 
-                new HashMap<>();
+        if (sourceNodeId == targetNodeId) {
+            buffer.reset(tree, 1)[0] = sourceNodeId;
+            return 0.0;
+        }
+
+        SearchContext context = 
+                SearchContext.acquire(tree.getNumberOfNodes());
         
-        int bestCost = Integer.MAX_VALUE;
-        WeightedTreeNode touchNode = null;
+        try {
+            int touchIndex = 
+                    searchTouchIndex(tree, sourceNodeId, targetNodeId, context);
+
+            return context.tracebackBidirectionalPath(tree, 
+                                                      touchIndex, 
+                                                      buffer);
+        } finally {
+            context.release();
+        }
+    }
+
+    @Override
+    public double stream(TreeView tree, 
+                         int sourceNodeId, 
+                         int targetNodeId,
+                         PathConsumer consumer) {
         
-        queueForward.addLast(sourceNode);
-        queueBackward.addLast(targetNode);
+        Objects.requireNonNull(tree, "The tree is null.");
+        Objects.requireNonNull(consumer, "The consumer is null.");
+        checkTerminalNodes(tree, sourceNodeId, targetNodeId);
         
-        parentMapForward.put(sourceNode, null);
-        parentMapBackward.put(targetNode, null);
+        if (sourceNodeId == targetNodeId) {
+            consumer.accept(sourceNodeId, 0.0);
+            return 0.0;
+        }
+
+        SearchContext context = 
+                SearchContext.acquire(tree.getNumberOfNodes());
         
-        distanceMapForward.put(sourceNode, 0);
-        distanceMapBackward.put(targetNode, 0);
+        try {
+            int touchIndex = 
+                    searchTouchIndex(tree, sourceNodeId, targetNodeId, context);
+
+            return context.streamBidirectionalPath(tree, touchIndex, consumer);
+        } finally {
+            context.release();
+        }
+    }
+
+    /**
+     * Runs both search frontiers until they settle the meeting node of a 
+     * shortest path, and returns its index.
+     * 
+     * @throws PathNotFoundException if the terminals are not connected.
+     */
+    private static int searchTouchIndex(TreeView tree,
+                                        int sourceNodeId,
+                                        int targetNodeId,
+                                        SearchContext context) {
         
+        int sourceIndex = tree.getNodeIndex(sourceNodeId);
+        int targetIndex = tree.getNodeIndex(targetNodeId);
+        IntDeque queueForward  = context.dequeForward;
+        IntDeque queueBackward = context.dequeBackward;
+        DenseIntMap parentMapForward = context.parentsForward;
+        DenseIntMap parentMapBackward = context.parentsBackward;
+        DenseIntMap distanceMapForward = context.distancesForward;
+        DenseIntMap distanceMapBackward = context.distancesBackward;
+
+        int bestCost = Integer.MAX_VALUE;
+        int touchIndex = TreeView.NO_NODE;
+
+        queueForward.addLast(sourceIndex);
+        queueBackward.addLast(targetIndex);
+
+        parentMapForward.put(sourceIndex, TreeView.NO_NODE);
+        parentMapBackward.put(targetIndex, TreeView.NO_NODE);
+
+        distanceMapForward.put(sourceIndex, 0);
+        distanceMapBackward.put(targetIndex, 0);
+
         while (!queueForward.isEmpty() && !queueBackward.isEmpty()) {
             int distanceForward = 
-                    distanceMapForward.get(queueForward.getFirst());
-            
+                    distanceMapForward.get(queueForward.peekFirst());
+
             int distanceBackward = 
-                    distanceMapBackward.get(queueBackward.getFirst());
-            
-            if (touchNode != null
+                    distanceMapBackward.get(queueBackward.peekFirst());
+
+            if (touchIndex != TreeView.NO_NODE
                     && bestCost < distanceForward + distanceBackward) {
-                return tracebackPath(tree,
-                                     touchNode, 
-                                     parentMapForward, 
-                                     parentMapBackward);
+                return touchIndex;
             }
-            
+
             int forwardSearchAreaSize = queueForward.size() 
                                       + parentMapForward.size();
-            
+
             int backwardSearchAreaSize = queueBackward.size() 
                                        + parentMapBackward.size();
-            
+
             // Trivial load balancing:
             if (forwardSearchAreaSize < backwardSearchAreaSize) {
-                WeightedTreeNode currentNode = queueForward.removeFirst();
+                int currentIndex = queueForward.removeFirst();
 
-                if (distanceMapBackward.containsKey(currentNode) 
+                if (distanceMapBackward.containsKey(currentIndex) 
                         && bestCost > distanceForward + distanceBackward) {
-                    
+
                     bestCost = distanceForward + distanceBackward;
-                    touchNode = currentNode;
-                }
-                
-                for (WeightedTreeNode neighbor : currentNode.getNeighbors()) {
-                    if (!parentMapForward.containsKey(neighbor)) {
-                        parentMapForward.put(neighbor, currentNode);
-                        distanceMapForward.put(neighbor, 
-                                               distanceMapForward.get(
-                                                       currentNode) + 1);
-                        
-                        queueForward.addLast(neighbor);
-                    }
+                    touchIndex = currentIndex;
                 }
+
+                expand(tree,
+                       currentIndex, 
+                       queueForward,
+                       parentMapForward,
+                       distanceMapForward,
+                       context.meter,
+                       queueBackward.size());
             } else {
-                WeightedTreeNode currentNode = queueBackward.removeFirst();
-                
-                if (distanceMapForward.containsKey(currentNode) 
+                int currentIndex = queueBackward.removeFirst();
+
+                if (distanceMapForward.containsKey(currentIndex) 
                         && bestCost > distanceForward + distanceBackward) {
-                    
+
                     bestCost = distanceForward + distanceBackward;
-                    touchNode = currentNode;
-                }
-                
-                for (WeightedTreeNode neighbor : currentNode.getNeighbors()) {
-                    if (!parentMapBackward.containsKey(neighbor)) {
-                        parentMapBackward.put(neighbor, currentNode);
-                        distanceMapBackward.put(neighbor, 
-                                                distanceMapBackward.get(
-                                                        currentNode) + 1);
-                        
-                        queueBackward.addLast(neighbor);
-                    }
+                    touchIndex = currentIndex;
                 }
+
+                expand(tree,
+                       currentIndex, 
+                       queueBackward, 
+                       parentMapBackward, 
+                       distanceMapBackward,
+                       context.meter,
+                       queueForward.size());
             }
+
+            context.meter.expand(queueForward.size() + queueBackward.size());
         }
-        
+
         throw new PathNotFoundException(sourceNodeId, targetNodeId);
     }
+
+    private static void expand(TreeView tree,
+                               int currentIndex,
+                               IntDeque queue,
+                               DenseIntMap parentMap,
+                               DenseIntMap distanceMap,
+                               SearchMeter meter,
+                               int oppositeQueueSize) {
+        int nextDistance = distanceMap.get(currentIndex) + 1;
+
+        for (int i = 0, degree = tree.getDegree(currentIndex); 
+                i < degree; 
+                i++) {
+            int neighborIndex = tree.getNeighborIndex(currentIndex, i);
+
+            if (!parentMap.containsKey(neighborIndex)) {
+                parentMap.put(neighborIndex, currentIndex);
+                distanceMap.put(neighborIndex, nextDistance);
+                queue.addLast(neighborIndex);
+                meter.enqueue(queue.size() + oppositeQueueSize);
+            }
+        }
+    }
 }
@@ -0,0 +1,214 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.Objects;
+
+/**
+ * This class implements a bidirectional Dijkstra's algorithm. Unlike 
+ * {@link BidirectionalBreadthFirstSearchPathfinder}, it orders both frontiers 
+ * by the actual path costs and always expands the frontier whose cheapest 
+ * node is closer to its terminal. The search stops once the two cheapest 
+ * frontier costs add up to at least the cost of the best path found so far,
+ * which makes the result a minimum-cost path even if the view contains 
+ * redundant links; the edge weights must not be negative then.
+ * <p>
+ * If the view is known to be acyclic, the path between two nodes is unique,
+ * and the search may stop as soon as the two frontiers meet. This early stop
+ * is off by default: {@link WeightedTree#connect(int, int, double)} does not 
+ * reject an edge closing a cycle, and on such a view the first meeting may 
+ * return a costlier path than the minimum one. Callers that have checked the
+ * view, for example with {@link WeightedTree#isCyclic()} or 
+ * {@link TreeValidation}, should pass {@code true} to 
+ * {@link #BidirectionalDijkstraPathfinder(boolean)}.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 19, 2026)
+ * @since 1.7 (Oct 19, 2026)
+ */
+public final class BidirectionalDijkstraPathfinder implements Pathfinder {
+
+    private final boolean acyclic;
+
+    /**
+     * Constructs this pathfinder.
+     * 
+     * @param acyclic whether the searched views are known to contain no 
+     *                cycles, so that the first meeting of the frontiers 
+     *                yields the answer.
+     */
+    public BidirectionalDijkstraPathfinder(boolean acyclic) {
+        this.acyclic = acyclic;
+    }
+
+    /**
+     * Constructs this pathfinder for views that may contain cycles.
+     */
+    public BidirectionalDijkstraPathfinder() {
+        this(false);
+    }
+
+    @Override
+    public WeightedPath search(TreeView tree, 
+                               int sourceNodeId, 
+                               int targetNodeId) {
+        return search(tree, sourceNodeId, targetNodeId, SearchBudget.UNLIMITED);
+    }
+
+    @Override
+    public WeightedPath search(TreeView tree, 
+                               int sourceNodeId, 
+                               int targetNodeId,
+                               SearchBudget budget) {
+
+        Objects.requireNonNull(tree, "The tree is null.");
+        Objects.requireNonNull(budget, "The budget is null.");
+        checkTerminalNodes(tree, sourceNodeId, targetNodeId);
+
+        if (sourceNodeId == targetNodeId) {
+            return new WeightedPath(tree, new int[]{ sourceNodeId }, 0.0);
+        }
+
+        int sourceIndex = tree.getNodeIndex(sourceNodeId);
+        int targetIndex = tree.getNodeIndex(targetNodeId);
+        int numberOfNodes = tree.getNumberOfNodes();
+
+        SearchContext context = SearchContext.acquire(numberOfNodes, budget);
+
+        try {
+            IndexedDoubleHeap heapForward = context.heapForward;
+            IndexedDoubleHeap heapBackward = context.heapBackward;
+            DenseDoubleMap costsForward = context.costsForward;
+            DenseDoubleMap costsBackward = context.costsBackward;
+
+            heapForward.clear(numberOfNodes);
+            heapBackward.clear(numberOfNodes);
+            costsForward.clear(numberOfNodes);
+            costsBackward.clear(numberOfNodes);
+
+            heapForward.insertOrDecreaseKey(sourceIndex, 0.0);
+            heapBackward.insertOrDecreaseKey(targetIndex, 0.0);
+            costsForward.put(sourceIndex, 0.0);
+            costsBackward.put(targetIndex, 0.0);
+            context.parentsForward.put(sourceIndex, TreeView.NO_NODE);
+            context.parentsBackward.put(targetIndex, TreeView.NO_NODE);
+
+            double bestCost = Double.POSITIVE_INFINITY;
+            int touchIndex = TreeView.NO_NODE;
+
+            while (!heapForward.isEmpty() && !heapBackward.isEmpty()) {
+                double minimumForward = heapForward.minimumKey();
+                double minimumBackward = heapBackward.minimumKey();
+
+                if (minimumForward + minimumBackward >= bestCost) {
+                    break;
+                }
+
+                int newTouchIndex;
+
+                if (minimumForward <= minimumBackward) {
+                    newTouchIndex = expand(tree,
+                                           heapForward,
+                                           costsForward,
+                                           context.parentsForward,
+                                           context.distancesForward,
+                                           costsBackward,
+                                           bestCost);
+                } else {
+                    newTouchIndex = expand(tree,
+                                           heapBackward,
+                                           costsBackward,
+                                           context.parentsBackward,
+                                           context.distancesBackward,
+                                           costsForward,
+                                           bestCost);
+                }
+
+                context.meter.expand(heapForward.size() 
+                                   + heapBackward.size());
+
+                if (newTouchIndex != TreeView.NO_NODE) {
+                    touchIndex = newTouchIndex;
+                    bestCost = costsForward.get(touchIndex) 
+                             + costsBackward.get(touchIndex);
+
+                    if (acyclic) {
+                        break;
+                    }
+                }
+            }
+
+            if (touchIndex == TreeView.NO_NODE) {
+                throw new PathNotFoundException(sourceNodeId, targetNodeId);
+            }
+
+            return context.tracebackBidirectionalPath(tree, 
+                                                      touchIndex, 
+                                                      bestCost);
+        } finally {
+            context.release();
+        }
+    }
+
+    /**
+     * Settles the cheapest node of {@code heap} and relaxes its edges. Returns
+     * the neighbor through which a path cheaper than {@code bestCost} was 
+     * found, or {@link TreeView#NO_NODE} if there is no such neighbor.
+     */
+    private int expand(TreeView tree,
+                       IndexedDoubleHeap heap,
+                       DenseDoubleMap costs,
+                       DenseIntMap parentMap,
+                       DenseIntMap settled,
+                       DenseDoubleMap oppositeCosts,
+                       double bestCost) {
+        int currentIndex = heap.extractMinimum();
+        double currentCost = costs.get(currentIndex);
+        int touchIndex = TreeView.NO_NODE;
+        settled.put(currentIndex, 0);
+
+        for (int i = 0, degree = tree.getDegree(currentIndex); 
+                i < degree; 
+                i++) {
+            int neighborIndex = tree.getNeighborIndex(currentIndex, i);
+
+            if (settled.containsKey(neighborIndex)) {
+                continue;
+            }
+
+            double weight = tree.getNeighborWeight(currentIndex, i);
+
+            if (weight < 0.0 && !acyclic) {
+                throw new IllegalStateException(
+                        "Negative edge weight " 
+                                + weight 
+                                + " between " 
+                                + tree.getNodeId(currentIndex) 
+                                + " and " 
+                                + tree.getNodeId(neighborIndex) 
+                                + ".");
+            }
+
+            double neighborCost = currentCost + weight;
+
+            if (costs.containsKey(neighborIndex) 
+                    && costs.get(neighborIndex) <= neighborCost) {
+                continue;
+            }
+
+            costs.put(neighborIndex, neighborCost);
+            parentMap.put(neighborIndex, currentIndex);
+            heap.insertOrDecreaseKey(neighborIndex, neighborCost);
+
+            if (oppositeCosts.containsKey(neighborIndex)) {
+                double pathCost = neighborCost 
+                                + oppositeCosts.get(neighborIndex);
+
+                if (pathCost < bestCost) {
+                    bestCost = pathCost;
+                    touchIndex = neighborIndex;
+                }
+            }
+        }
+
+        return touchIndex;
+    }
+}
@@ -1,22 +1,16 @@
 package com.github.coderodde.pathfinding;
 
-import com.github.coderodde.pathfinding.WeightedTree.WeightedTreeNode;
-import java.util.ArrayDeque;
-import java.util.ArrayList;
-import java.util.Arrays;
-import java.util.Deque;
-import java.util.HashSet;
-import java.util.List;
 import java.util.Objects;
-import java.util.Set;
 
 /**
  * This class implements a bidirectional iterative-deepening depth-first search
  * (IDDFS for short). It alternates two search frontiers meeting somewhere in 
- * between.
+ * between. Both depth-limited searches keep explicit stacks; the forward 
+ * search records the parents of the nodes it reaches, so that the path prefix
+ * is traced back without a second search.
  * 
  * @author Rodion "rodde" Efremov
- * @version 1.6 (Nov 6, 2022)
+ * @version 1.7 (Oct 19, 2026)
  * @since 1.6 (Nov 6, 2022)
  */
 public final class BidirectionalIterativeDeepeningDepthFirstSearchPathfinder 
@@ -35,169 +29,243 @@ implements Pathfinder {
     }
 
     @Override
-    public WeightedPath search(WeightedTree tree, 
+    public WeightedPath search(TreeView tree, 
                                int sourceNodeId,
                                int targetNodeId) {
+        return search(tree, sourceNodeId, targetNodeId, SearchBudget.UNLIMITED);
+    }
+
+    /**
+     * Searches within the given budget. The expanded nodes are counted over 
+     * all the depth-limited searches together, and the frontier includes the
+     * forward frontier kept for the backward searches.
+     */
+    @Override
+    public WeightedPath search(TreeView tree, 
+                               int sourceNodeId,
+                               int targetNodeId,
+                               SearchBudget budget) {
 
         Objects.requireNonNull(tree, "The tree is null.");
+        Objects.requireNonNull(budget, "The budget is null.");
         checkTerminalNodes(tree, sourceNodeId, targetNodeId);
 
-        WeightedTreeNode sourceNode = tree.getWeightedTreeNode(sourceNodeId);
-        WeightedTreeNode targetNode = tree.getWeightedTreeNode(targetNodeId);
+        if (sourceNodeId == targetNodeId) {
+            return new WeightedPath(tree, new int[]{ sourceNodeId }, 0.0);
+        }
 
-        List<WeightedTreeNode> path = searchImpl(tree, 
-                                                 sourceNode, 
-                                                 targetNode);
-        return new WeightedPath(tree, path);
-    }
+        int sourceIndex = tree.getNodeIndex(sourceNodeId);
+        int targetIndex = tree.getNodeIndex(targetNodeId);
+        int numberOfNodes = tree.getNumberOfNodes();
+
+        SearchContext context = SearchContext.acquire(numberOfNodes, budget);
+
+        try {
+            int totalForwardDepth = maximumDepth / 2;
+            int totalBackwardDepth = maximumDepth - totalForwardDepth;
+
+            int currentForwardDepth = 0;
+            int currentBackwardDepth = 0;
+
+            boolean incrementForwardSearchDepth = true;
+
+            while (currentForwardDepth + currentBackwardDepth 
+                    <= maximumDepth) {
+
+                context.parentsForward.clear(numberOfNodes);
+                context.distancesForward.clear(numberOfNodes);
+
+                depthLimitedSearchForward(tree,
+                                          sourceIndex,
+                                          currentForwardDepth,
+                                          context);
+
+                if (context.distancesForward.size() == 0) {
+                    // No node lies at the current forward depth, so the 
+                    // deeper searches cannot reach the target either:
+                    break;
+                }
+
+                for (int depth = currentBackwardDepth;
+                        depth <= Math.min(currentBackwardDepth + 1, 
+                                          totalBackwardDepth);
+                        depth++) {
+
+                    context.parentsBackward.clear(numberOfNodes);
+
+                    if (depthLimitedSearchBackward(tree, 
+                                                   targetIndex, 
+                                                   depth, 
+                                                   context)) {
+                        return buildPath(tree, context);
+                    }
+                }
+
+                if (incrementForwardSearchDepth) {
+                    incrementForwardSearchDepth = false;
+                    currentForwardDepth++;
+                } else {
+                    incrementForwardSearchDepth = true;
+                    currentBackwardDepth++;
+                }
+            }
 
-    private void depthLimitedSearchForwards(WeightedTreeNode node, 
-                                            int depth,
-                                            Set<WeightedTreeNode> frontier,
-                                            Set<WeightedTreeNode> visited) {
-        if (depth == 0) {
-            frontier.add(node);
-            return;
+            throw new PathNotFoundException(sourceNodeId, targetNodeId);
+        } finally {
+            context.release();
         }
+    }
+
+    /**
+     * Records the parents of all the nodes within {@code depth} hops from the
+     * source, and puts the nodes exactly {@code depth} hops away into the 
+     * frontier {@code context.distancesForward}.
+     */
+    private static void depthLimitedSearchForward(TreeView tree,
+                                                  int sourceIndex, 
+                                                  int depth,
+                                                  SearchContext context) {
+        DenseIntMap parentMap = context.parentsForward;
+        DenseIntMap frontier = context.distancesForward;
+        IntDeque stack = context.dequeForward;
+        IntDeque positions = context.positions;
+
+        stack.clear();
+        positions.clear();
+        parentMap.put(sourceIndex, TreeView.NO_NODE);
+        stack.addLast(sourceIndex);
+        positions.addLast(0);
+
+        while (!stack.isEmpty()) {
+            int index = stack.peekLast();
+
+            if (stack.size() - 1 == depth) {
+                frontier.put(index, depth);
+                stack.removeLast();
+                positions.removeLast();
+                continue;
+            }
+
+            int position = positions.removeLast();
 
-        for (WeightedTreeNode neighbor : node.getNeighbors()) {
-            if (visited.contains(neighbor)) {
+            if (position == tree.getDegree(index)) {
+                stack.removeLast();
                 continue;
             }
 
-            visited.add(neighbor);
+            positions.addLast(position + 1);
+
+            int neighborIndex = tree.getNeighborIndex(index, position);
 
-            depthLimitedSearchForwards(neighbor, 
-                                       depth - 1, 
-                                       frontier, 
-                                       visited);
+            if (parentMap.containsKey(neighborIndex)) {
+                continue;
+            }
+
+            parentMap.put(neighborIndex, index);
+            stack.addLast(neighborIndex);
+            positions.addLast(0);
+            context.meter.expand(stack.size() + frontier.size());
         }
     }
 
-    private WeightedTreeNode
-        depthLimitedSearchBackward(
-                WeightedTreeNode node, 
-                int depth,
-                Set<WeightedTreeNode> frontier,
-                Set<WeightedTreeNode> visited,
-                Deque<WeightedTreeNode> backwardSearchStack) {
-        backwardSearchStack.addFirst(node);
-
-        if (depth == 0) {
-            if (frontier.contains(node)) {
-                return node;
+    /**
+     * Searches for a frontier node exactly {@code depth} hops away from the 
+     * target. On success, {@code context.dequeBackward} holds the path from 
+     * the target to the meeting node.
+     */
+    private static boolean depthLimitedSearchBackward(TreeView tree,
+                                                      int targetIndex,
+                                                      int depth,
+                                                      SearchContext context) {
+        DenseIntMap visited = context.parentsBackward;
+        DenseIntMap frontier = context.distancesForward;
+        IntDeque stack = context.dequeBackward;
+        IntDeque positions = context.positions;
+
+        stack.clear();
+        positions.clear();
+        visited.put(targetIndex, TreeView.NO_NODE);
+        stack.addLast(targetIndex);
+        positions.addLast(0);
+
+        while (!stack.isEmpty()) {
+            int index = stack.peekLast();
+
+            if (stack.size() - 1 == depth) {
+                if (frontier.containsKey(index)) {
+                    return true;
+                }
+
+                stack.removeLast();
+                positions.removeLast();
+                continue;
             }
 
-            backwardSearchStack.removeFirst();
-            return null;
-        }
+            int position = positions.removeLast();
 
-        for (WeightedTreeNode neighbor : node.getNeighbors()) {
-            if (visited.contains(neighbor)) {
+            if (position == tree.getDegree(index)) {
+                stack.removeLast();
                 continue;
             }
 
-            visited.add(neighbor);
+            positions.addLast(position + 1);
 
-            WeightedTreeNode meetingNode = 
-                    depthLimitedSearchBackward(
-                            neighbor,
-                            depth - 1,
-                            frontier,
-                            visited,
-                            backwardSearchStack);
+            int neighborIndex = tree.getNeighborIndex(index, position);
 
-            if (meetingNode != null) {
-                return meetingNode;
+            if (visited.containsKey(neighborIndex)) {
+                continue;
             }
+
+            visited.put(neighborIndex, index);
+            stack.addLast(neighborIndex);
+            positions.addLast(0);
+            context.meter.expand(stack.size() + frontier.size());
         }
 
-        backwardSearchStack.removeFirst();
-        return null;
+        return false;
     }
 
-    private List<WeightedTreeNode> searchImpl(WeightedTree tree,
-                                              WeightedTreeNode sourceNode, 
-                                              WeightedTreeNode targetNode) {
-
-        if (sourceNode.equals(targetNode)) {
-            return Arrays.asList(sourceNode);
+    private static WeightedPath buildPath(TreeView tree, 
+                                          SearchContext context) {
+        IntDeque backwardStack = context.dequeBackward;
+        DenseIntMap parentMap = context.parentsForward;
+        int meetingIndex = backwardStack.peekLast();
+        int prefixLength = 0;
+
+        for (int index = meetingIndex;
+                index != TreeView.NO_NODE; 
+                index = parentMap.get(index)) {
+            prefixLength++;
         }
 
-        int totalForwardDepth = maximumDepth / 2;
-        int totalBackwardDepth = maximumDepth - totalForwardDepth;
-
-        int currentForwardDepth = 0;
-        int currentBackwardDepth = 0;
-
-        boolean incrementForwardSearchDepth = true;
-
-        Deque<WeightedTreeNode> backwardSearchStack = new ArrayDeque<>();
-        Set<WeightedTreeNode> frontier = new HashSet<>();
-        Set<WeightedTreeNode> visited = new HashSet<>();
-
-        while (currentForwardDepth + currentBackwardDepth <= maximumDepth) {
-            visited.clear();
-            visited.add(sourceNode);
-
-            depthLimitedSearchForwards(sourceNode, 
-                                       currentForwardDepth, 
-                                       frontier,
-                                       visited);
-
-            for (int depth = currentBackwardDepth;
-                    depth <= Math.min(currentBackwardDepth + 1, 
-                                      totalBackwardDepth);
-                    depth++) {
-
-                visited.clear();
-                visited.add(targetNode);
-
-                WeightedTreeNode meetingNode = 
-                        depthLimitedSearchBackward(targetNode,
-                                                   depth,
-                                                   frontier, 
-                                                   visited,
-                                                   backwardSearchStack);
-                if (meetingNode != null) {
-                    return buildPath(tree,
-                                     meetingNode,
-                                     sourceNode, 
-                                     backwardSearchStack);
-                }
-            }
+        int suffixLength = backwardStack.size() - 1;
+        int[] nodeIds = new int[prefixLength + suffixLength];
+        double totalCost = 0.0;
+        int index = meetingIndex;
 
-            frontier.clear();
-            backwardSearchStack.clear();
+        for (int i = prefixLength - 1; i >= 0; i--) {
+            int parentIndex = parentMap.get(index);
+            nodeIds[i] = tree.getNodeId(index);
 
-            if (incrementForwardSearchDepth) {
-                incrementForwardSearchDepth = false;
-                currentForwardDepth++;
-            } else {
-                incrementForwardSearchDepth = true;
-                currentBackwardDepth++;
+            if (parentIndex != TreeView.NO_NODE) {
+                totalCost += tree.getEdgeWeightByIndices(parentIndex, index);
             }
+
+            index = parentIndex;
         }
 
-        throw new PathNotFoundException(sourceNode.getId(), targetNode.getId());
-    }
+        // The backward stack runs from the target to the meeting node:
+        index = meetingIndex;
+
+        for (int i = 0; i < suffixLength; i++) {
+            int stackPosition = suffixLength - 1 - i;
+            int nextIndex = backwardStack.get(stackPosition);
+            nodeIds[prefixLength + i] = tree.getNodeId(nextIndex);
+            totalCost += tree.getEdgeWeightByIndices(index, nextIndex);
+            index = nextIndex;
+        }
 
-    private List<WeightedTreeNode>
-         buildPath(WeightedTree tree,
-                   WeightedTreeNode meetingNode, 
-                   WeightedTreeNode sourceNode,
-                   Deque<WeightedTreeNode> backwardSearchStack) {
-
-        List<WeightedTreeNode> path = new ArrayList<>();
-        List<WeightedTreeNode> prefixPath = 
-                searchImpl(tree,
-                           sourceNode, 
-                           meetingNode);
-
-        path.addAll(prefixPath);
-        path.remove(path.size() - 1);
-        path.addAll(backwardSearchStack);
-        return path;
+        return new WeightedPath(tree, nodeIds, totalCost);
     }
 
     private int checkMaximumDepth(int depth) {
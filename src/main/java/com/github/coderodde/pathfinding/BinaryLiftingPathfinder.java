@@ -0,0 +1,454 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.Objects;
+
+/**
+ * This class implements a pathfinder that preprocesses the tree once per tree
+ * version and then answers each query without any search. The preprocessing
+ * roots each component and stores the depth of each node, its parent and its
+ * distance from the root. A query climbs both terminals to their lowest 
+ * common ancestor; the cost of the path follows from the three root 
+ * distances in constant time, and its nodes are listed in time proportional 
+ * to their number.
+ * <p>
+ * The ancestors are found via one of two structures:
+ * <ul>
+ *   <li>{@link Mode#LOG_LEVELS}: the {@code 2^k}th ancestor of each node for
+ *       all the {@code k} up to the logarithm of the height, taking 
+ *       {@code O(n log h)} memory.</li>
+ *   <li>{@link Mode#JUMP_POINTERS}: a single skew-binary jump pointer per 
+ *       node, taking {@code O(n)} memory at the price of a somewhat slower
+ *       climb; both climb in {@code O(log n)} steps.</li>
+ * </ul>
+ * Since the cost is a difference of root distances, it may differ from the 
+ * sum of the path weights in the last bits.
+ * <p>
+ * Streaming takes no memory beyond the index: the nodes up to the ancestor 
+ * are emitted while climbing from the source, and each node below it is 
+ * found as the ancestor of the target at its depth, which takes 
+ * {@code O(log n)} steps per node.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 19, 2026)
+ * @since 1.7 (Oct 19, 2026)
+ */
+public final class BinaryLiftingPathfinder implements Pathfinder {
+
+    public enum Mode {
+        LOG_LEVELS,
+        JUMP_POINTERS;
+    }
+
+    private final Mode mode;
+    private volatile LiftingIndex liftingIndex;
+
+    public BinaryLiftingPathfinder(Mode mode) {
+        this.mode = Objects.requireNonNull(mode, "The mode is null.");
+    }
+
+    public BinaryLiftingPathfinder() {
+        this(Mode.LOG_LEVELS);
+    }
+
+    @Override
+    public WeightedPath search(TreeView tree, int sourceId, int targetId) {
+        Objects.requireNonNull(tree, "The tree is null.");
+        checkTerminalNodes(tree, sourceId, targetId);
+
+        LiftingIndex index = getLiftingIndex(tree);
+        int sourceIndex = tree.getNodeIndex(sourceId);
+        int targetIndex = tree.getNodeIndex(targetId);
+        int ancestorIndex = 
+                index.getLowestCommonAncestor(sourceIndex, targetIndex);
+
+        int[] nodeIds = new int[index.getNumberOfPathNodes(sourceIndex,
+                                                           targetIndex, 
+                                                           ancestorIndex)];
+
+        index.fillPath(sourceIndex, targetIndex, ancestorIndex, nodeIds);
+        return new WeightedPath(tree, 
+                                nodeIds, 
+                                index.getDistance(sourceIndex, 
+                                                  targetIndex, 
+                                                  ancestorIndex));
+    }
+
+    @Override
+    public double searchInto(TreeView tree, 
+                             int sourceId, 
+                             int targetId, 
+                             PathBuffer buffer) {
+        Objects.requireNonNull(tree, "The tree is null.");
+        Objects.requireNonNull(buffer, "The buffer is null.");
+        checkTerminalNodes(tree, sourceId, targetId);
+
+        LiftingIndex index = getLiftingIndex(tree);
+        int sourceIndex = tree.getNodeIndex(sourceId);
+        int targetIndex = tree.getNodeIndex(targetId);
+        int ancestorIndex = 
+                index.getLowestCommonAncestor(sourceIndex, targetIndex);
+
+        int[] nodeIds = 
+                buffer.reset(tree, 
+                             index.getNumberOfPathNodes(sourceIndex, 
+                                                        targetIndex,
+                                                        ancestorIndex));
+
+        index.fillPath(sourceIndex, targetIndex, ancestorIndex, nodeIds);
+        double totalCost = 
+                index.getDistance(sourceIndex, targetIndex, ancestorIndex);
+
+        buffer.setTotalCost(totalCost);
+        return totalCost;
+    }
+
+    @Override
+    public double stream(TreeView tree, 
+                         int sourceId, 
+                         int targetId, 
+                         PathConsumer consumer) {
+        Objects.requireNonNull(tree, "The tree is null.");
+        Objects.requireNonNull(consumer, "The consumer is null.");
+        checkTerminalNodes(tree, sourceId, targetId);
+
+        LiftingIndex index = getLiftingIndex(tree);
+        int sourceIndex = tree.getNodeIndex(sourceId);
+        int targetIndex = tree.getNodeIndex(targetId);
+        int ancestorIndex = 
+                index.getLowestCommonAncestor(sourceIndex, targetIndex);
+
+        index.streamPath(sourceIndex, targetIndex, ancestorIndex, consumer);
+        return index.getDistance(sourceIndex, targetIndex, ancestorIndex);
+    }
+
+    /**
+     * Returns the cost of the path between the two terminals without listing
+     * its nodes.
+     */
+    public double getDistance(TreeView tree, int sourceId, int targetId) {
+        Objects.requireNonNull(tree, "The tree is null.");
+        checkTerminalNodes(tree, sourceId, targetId);
+
+        LiftingIndex index = getLiftingIndex(tree);
+        int sourceIndex = tree.getNodeIndex(sourceId);
+        int targetIndex = tree.getNodeIndex(targetId);
+
+        return index.getDistance(
+                sourceIndex, 
+                targetIndex, 
+                index.getLowestCommonAncestor(sourceIndex, targetIndex));
+    }
+
+    private LiftingIndex getLiftingIndex(TreeView tree) {
+        LiftingIndex index = liftingIndex;
+
+        if (index == null 
+                || index.tree != tree 
+                || index.treeVersion != tree.getVersion()) {
+            index = new LiftingIndex(tree, mode);
+            liftingIndex = index;
+        }
+
+        return index;
+    }
+
+    /**
+     * This class holds the rooted form of a single tree version.
+     */
+    private static final class LiftingIndex {
+
+        final TreeView tree;
+        final long treeVersion;
+
+        // The roots are their own parents:
+        final int[] parents;
+        final int[] depths;
+        final int[] roots;
+        final double[] rootDistances;
+
+        // The weight of the edge to the parent, or zero for the roots:
+        final double[] parentWeights;
+
+        // ancestors[k][i] is the 2^k-th ancestor of the node i, or its root:
+        final int[][] ancestors;
+
+        // Each jump skips a skew-binary number of levels:
+        final int[] jumps;
+
+        LiftingIndex(TreeView tree, Mode mode) {
+            this.tree = tree;
+            this.treeVersion = tree.getVersion();
+
+            int numberOfNodes = tree.getNumberOfNodes();
+            this.parents = new int[numberOfNodes];
+            this.depths = new int[numberOfNodes];
+            this.roots = new int[numberOfNodes];
+            this.rootDistances = new double[numberOfNodes];
+            this.parentWeights = new double[numberOfNodes];
+
+            int[] order = new int[numberOfNodes];
+            int maximumDepth = buildForest(order);
+
+            if (mode == Mode.LOG_LEVELS) {
+                int levels = 
+                        Math.max(1, 
+                                 32 - Integer.numberOfLeadingZeros(
+                                         maximumDepth));
+
+                this.ancestors = new int[levels][];
+                this.ancestors[0] = parents;
+                this.jumps = null;
+
+                for (int k = 1; k < levels; k++) {
+                    int[] previousLevel = ancestors[k - 1];
+                    int[] level = new int[numberOfNodes];
+
+                    for (int i = 0; i < numberOfNodes; i++) {
+                        level[i] = previousLevel[previousLevel[i]];
+                    }
+
+                    ancestors[k] = level;
+                }
+            } else {
+                this.ancestors = null;
+                this.jumps = new int[numberOfNodes];
+
+                // The parents precede their children in the order:
+                for (int index : order) {
+                    int parent = parents[index];
+
+                    if (parent == index) {
+                        jumps[index] = index;
+                        continue;
+                    }
+
+                    int parentJump = jumps[parent];
+
+                    if (depths[parent] - depths[parentJump] 
+                            == depths[parentJump] 
+                                - depths[jumps[parentJump]]) {
+                        jumps[index] = jumps[parentJump];
+                    } else {
+                        jumps[index] = parent;
+                    }
+                }
+            }
+        }
+
+        double getDistance(int sourceIndex, 
+                           int targetIndex, 
+                           int ancestorIndex) {
+            return rootDistances[sourceIndex] 
+                 + rootDistances[targetIndex] 
+                 - 2.0 * rootDistances[ancestorIndex];
+        }
+
+        int getNumberOfPathNodes(int sourceIndex, 
+                                 int targetIndex, 
+                                 int ancestorIndex) {
+            return depths[sourceIndex] 
+                 + depths[targetIndex] 
+                 - 2 * depths[ancestorIndex] 
+                 + 1;
+        }
+
+        /**
+         * Writes the path from the source up to the ancestor and down to the 
+         * target into {@code nodeIds}, filling the target half from the end.
+         */
+        void fillPath(int sourceIndex, 
+                      int targetIndex, 
+                      int ancestorIndex, 
+                      int[] nodeIds) {
+            int sourceDepth = depths[sourceIndex] - depths[ancestorIndex];
+            int numberOfNodes = 
+                    getNumberOfPathNodes(sourceIndex, 
+                                         targetIndex, 
+                                         ancestorIndex);
+
+            int nodeIndex = sourceIndex;
+
+            for (int i = 0; i <= sourceDepth; i++) {
+                nodeIds[i] = tree.getNodeId(nodeIndex);
+                nodeIndex = parents[nodeIndex];
+            }
+
+            nodeIndex = targetIndex;
+
+            for (int i = numberOfNodes - 1; i > sourceDepth; i--) {
+                nodeIds[i] = tree.getNodeId(nodeIndex);
+                nodeIndex = parents[nodeIndex];
+            }
+        }
+
+        /**
+         * Pushes the path from the source up to the ancestor and down to the
+         * target to {@code consumer}.
+         */
+        void streamPath(int sourceIndex,
+                        int targetIndex,
+                        int ancestorIndex,
+                        PathConsumer consumer) {
+            double weight = 0.0;
+            int nodeIndex = sourceIndex;
+
+            while (nodeIndex != ancestorIndex) {
+                consumer.accept(tree.getNodeId(nodeIndex), weight);
+                weight = parentWeights[nodeIndex];
+                nodeIndex = parents[nodeIndex];
+            }
+
+            consumer.accept(tree.getNodeId(ancestorIndex), weight);
+
+            for (int depth = depths[ancestorIndex] + 1, 
+                     targetDepth = depths[targetIndex];
+                    depth <= targetDepth; 
+                    depth++) {
+                nodeIndex = getAncestorAtDepth(targetIndex, depth);
+                consumer.accept(tree.getNodeId(nodeIndex), 
+                                parentWeights[nodeIndex]);
+            }
+        }
+
+        int getLowestCommonAncestor(int index1, int index2) {
+            if (roots[index1] != roots[index2]) {
+                throw new PathNotFoundException(tree.getNodeId(index1), 
+                                                tree.getNodeId(index2));
+            }
+
+            if (depths[index1] < depths[index2]) {
+                int tmp = index1;
+                index1 = index2;
+                index2 = tmp;
+            }
+
+            return ancestors != null 
+                    ? getLowestCommonAncestorByLevels(index1, index2) 
+                    : getLowestCommonAncestorByJumps(index1, index2);
+        }
+
+        /**
+         * Returns the ancestor of the node at {@code index} lying at 
+         * {@code depth}, which must not exceed the depth of the node.
+         */
+        private int getAncestorAtDepth(int index, int depth) {
+            if (ancestors != null) {
+                int difference = depths[index] - depth;
+
+                for (int k = 0; difference != 0; k++, difference >>>= 1) {
+                    if ((difference & 1) != 0) {
+                        index = ancestors[k][index];
+                    }
+                }
+
+                return index;
+            }
+
+            while (depths[index] > depth) {
+                index = depths[jumps[index]] >= depth 
+                        ? jumps[index] 
+                        : parents[index];
+            }
+
+            return index;
+        }
+
+        private int getLowestCommonAncestorByLevels(int deeperIndex, 
+                                                    int index) {
+            deeperIndex = getAncestorAtDepth(deeperIndex, depths[index]);
+
+            if (deeperIndex == index) {
+                return index;
+            }
+
+            for (int k = ancestors.length - 1; k >= 0; k--) {
+                if (ancestors[k][deeperIndex] != ancestors[k][index]) {
+                    deeperIndex = ancestors[k][deeperIndex];
+                    index = ancestors[k][index];
+                }
+            }
+
+            return parents[index];
+        }
+
+        private int getLowestCommonAncestorByJumps(int deeperIndex, 
+                                                   int index) {
+            deeperIndex = getAncestorAtDepth(deeperIndex, depths[index]);
+
+            // The jumps of the nodes at equal depths land at equal depths:
+            while (deeperIndex != index) {
+                if (jumps[deeperIndex] != jumps[index]) {
+                    deeperIndex = jumps[deeperIndex];
+                    index = jumps[index];
+                } else {
+                    deeperIndex = parents[deeperIndex];
+                    index = parents[index];
+                }
+            }
+
+            return index;
+        }
+
+        /**
+         * Roots each component at its first node and fills {@code order} 
+         * with all the nodes in breadth-first order. Returns the largest 
+         * depth.
+         */
+        private int buildForest(int[] order) {
+            int numberOfNodes = tree.getNumberOfNodes();
+            boolean[] visited = new boolean[numberOfNodes];
+            int maximumDepth = 0;
+            int tail = 0;
+
+            for (int root = 0; root < numberOfNodes; root++) {
+                if (visited[root]) {
+                    continue;
+                }
+
+                visited[root] = true;
+                parents[root] = root;
+                roots[root] = root;
+                int head = tail;
+                order[tail++] = root;
+
+                while (head < tail) {
+                    int index = order[head++];
+
+                    for (int i = 0, degree = tree.getDegree(index); 
+                            i < degree; 
+                            i++) {
+                        int neighborIndex = tree.getNeighborIndex(index, i);
+
+                        if (neighborIndex == parents[index] 
+                                && index != root) {
+                            continue;
+                        }
+
+                        if (visited[neighborIndex]) {
+                            throw new IllegalStateException(
+                                    "The tree contains a cycle.");
+                        }
+
+                        visited[neighborIndex] = true;
+                        parents[neighborIndex] = index;
+                        roots[neighborIndex] = root;
+                        depths[neighborIndex] = depths[index] + 1;
+                        parentWeights[neighborIndex] = 
+                                tree.getNeighborWeight(index, i);
+
+                        rootDistances[neighborIndex] = 
+                                rootDistances[index] 
+                                        + parentWeights[neighborIndex];
+
+                        maximumDepth = Math.max(maximumDepth, 
+                                                depths[neighborIndex]);
+
+                        order[tail++] = neighborIndex;
+                    }
+                }
+            }
+
+            return maximumDepth;
+        }
+    }
+}
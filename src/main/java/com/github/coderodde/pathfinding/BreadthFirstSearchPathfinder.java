@@ -1,56 +1,251 @@
 package com.github.coderodde.pathfinding;
 
-import com.github.coderodde.pathfinding.WeightedTree.WeightedTreeNode;
-import java.util.ArrayDeque;
-import java.util.Deque;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Objects;
 
 /**
- * This class implements the breadth-first search.
+ * This class implements the breadth-first search. By default, the search 
+ * terminates early: it marks the neighbors of the target upfront and stops as
+ * soon as it generates one of them, so that it never stores the level 
+ * containing the target, nor the level before it. On high-fanout trees, those
+ * levels dominate the memory and the running time of the plain search, which
+ * tests the goal only when dequeuing a node.
+ * <p>
+ * When streaming, the search runs from the target to the source, so that the
+ * parent links lead towards the target and the path can be emitted in order
+ * without buffering it.
  * 
  * @author Rodion "rodde" Efremov
- * @version 1.6 (Nov 5, 2022)
+ * @version 1.7 (Oct 19, 2026)
  * @since 1.6 (Nov 5, 2022)
  */
 public final class BreadthFirstSearchPathfinder implements Pathfinder {
 
+    private final boolean earlyTermination;
+
+    /**
+     * Constructs this pathfinder.
+     * 
+     * @param earlyTermination whether to stop on generating a neighbor of the
+     *                         target instead of on dequeuing the target.
+     */
+    public BreadthFirstSearchPathfinder(boolean earlyTermination) {
+        this.earlyTermination = earlyTermination;
+    }
+
+    public BreadthFirstSearchPathfinder() {
+        this(true);
+    }
+
     @Override
-    public WeightedPath search(WeightedTree tree, 
+    public WeightedPath search(TreeView tree, 
                                int sourceNodeId,
                                int targetNodeId) {
+        return search(tree, sourceNodeId, targetNodeId, SearchBudget.UNLIMITED);
+    }
+
+    @Override
+    public WeightedPath search(TreeView tree, 
+                               int sourceNodeId,
+                               int targetNodeId,
+                               SearchBudget budget) {
+
+        Objects.requireNonNull(tree, "The tree is null.");
+        Objects.requireNonNull(budget, "The budget is null.");
+        checkTerminalNodes(tree, sourceNodeId, targetNodeId);
+
+        int sourceIndex = tree.getNodeIndex(sourceNodeId);
+        int targetIndex = tree.getNodeIndex(targetNodeId);
+        
+        SearchContext context = 
+                SearchContext.acquire(tree.getNumberOfNodes(), budget);
+        
+        try {
+            if (!searchParents(tree, sourceIndex, targetIndex, context)) {
+                throw new PathNotFoundException(sourceNodeId, targetNodeId);
+            }
+
+            return context.tracebackPath(tree, targetIndex);
+        } finally {
+            context.release();
+        }
+    }
+
+    @Override
+    public double searchInto(TreeView tree, 
+                             int sourceNodeId, 
+                             int targetNodeId, 
+                             PathBuffer buffer) {
+
+        Objects.requireNonNull(tree, "The tree is null.");
+        Objects.requireNonNull(buffer, "The buffer is null.");
+        checkTerminalNodes(tree, sourceNodeId, targetNodeId);
+
+        int sourceIndex = tree.getNodeIndex(sourceNodeId);
+        int targetIndex = tree.getNodeIndex(targetNodeId);
+
+        SearchContext context = 
+                SearchContext.acquire(tree.getNumberOfNodes());
+
+        try {
+            if (!searchParents(tree, sourceIndex, targetIndex, context)) {
+                throw new PathNotFoundException(sourceNodeId, targetNodeId);
+            }
+
+            return context.tracebackPath(tree, targetIndex, buffer);
+        } finally {
+            context.release();
+        }
+    }
+
+    @Override
+    public double stream(TreeView tree,
+                         int sourceNodeId,
+                         int targetNodeId, 
+                         PathConsumer consumer) {
 
         Objects.requireNonNull(tree, "The tree is null.");
+        Objects.requireNonNull(consumer, "The consumer is null.");
         checkTerminalNodes(tree, sourceNodeId, targetNodeId);
 
-        WeightedTreeNode sourceNode = tree.getWeightedTreeNode(sourceNodeId);
-        WeightedTreeNode targetNode = tree.getWeightedTreeNode(targetNodeId);
+        int sourceIndex = tree.getNodeIndex(sourceNodeId);
+        int targetIndex = tree.getNodeIndex(targetNodeId);
 
-        Deque<WeightedTreeNode> deque = new ArrayDeque<>();
-        Map<WeightedTreeNode, WeightedTreeNode> parentMap = new HashMap<>();
+        SearchContext context = 
+                SearchContext.acquire(tree.getNumberOfNodes());
 
-        deque.add(sourceNode);
-        parentMap.put(sourceNode, null);
+        try {
+            // Search backwards, so that the parents lead to the target:
+            if (!searchParents(tree, targetIndex, sourceIndex, context)) {
+                throw new PathNotFoundException(sourceNodeId, targetNodeId);
+            }
+
+            DenseIntMap parentMap = context.parentsForward;
+            double totalCost = 0.0;
+            int index = sourceIndex;
+            consumer.accept(sourceNodeId, 0.0);
+
+            for (int parentIndex = parentMap.get(index);
+                    parentIndex != TreeView.NO_NODE;
+                    parentIndex = parentMap.get(index)) {
+
+                double weight = tree.getEdgeWeightByIndices(index, 
+                                                            parentIndex);
+                consumer.accept(tree.getNodeId(parentIndex), weight);
+                totalCost += weight;
+                index = parentIndex;
+            }
+
+            return totalCost;
+        } finally {
+            context.release();
+        }
+    }
+
+    /**
+     * Records in {@code context.parentsForward} the parent links from 
+     * {@code targetIndex} back to {@code sourceIndex}. Returns {@code false}
+     * if the target is not reachable.
+     */
+    private boolean searchParents(TreeView tree,
+                                  int sourceIndex,
+                                  int targetIndex,
+                                  SearchContext context) {
+        if (earlyTermination) {
+            return searchParentsWithEarlyTermination(tree, 
+                                                     sourceIndex, 
+                                                     targetIndex, 
+                                                     context);
+        }
+
+        IntDeque deque = context.dequeForward;
+        DenseIntMap parentMap = context.parentsForward;
+        SearchMeter meter = context.meter;
+
+        deque.addLast(sourceIndex);
+        parentMap.put(sourceIndex, TreeView.NO_NODE);
 
         while (!deque.isEmpty()) {
-            WeightedTreeNode currentNode = deque.removeFirst();
+            int currentIndex = deque.removeFirst();
 
-            if (currentNode.equals(targetNode)) {
-                return tracebackPath(tree, targetNode, parentMap);
+            if (currentIndex == targetIndex) {
+                return true;
             }
 
-            for (WeightedTreeNode neighborNode : 
-                    tree.getNeighbors(currentNode.getId())) {
-                if (parentMap.containsKey(neighborNode)) {
+            int degree = tree.getDegree(currentIndex);
+
+            for (int i = 0; i < degree; i++) {
+                int neighborIndex = tree.getNeighborIndex(currentIndex, i);
+
+                if (parentMap.containsKey(neighborIndex)) {
                     continue;
                 }
 
-                parentMap.put(neighborNode, currentNode);
-                deque.addLast(neighborNode);
+                parentMap.put(neighborIndex, currentIndex);
+                deque.addLast(neighborIndex);
+                meter.enqueue(deque.size());
             }
+
+            meter.expand(deque.size());
+        }
+
+        return false;
+    }
+
+    private static boolean searchParentsWithEarlyTermination(
+            TreeView tree,
+            int sourceIndex,
+            int targetIndex,
+            SearchContext context) {
+
+        IntDeque deque = context.dequeForward;
+        DenseIntMap parentMap = context.parentsForward;
+        SearchMeter meter = context.meter;
+        parentMap.put(sourceIndex, TreeView.NO_NODE);
+
+        if (sourceIndex == targetIndex) {
+            return true;
+        }
+
+        DenseIntMap targetNeighbors = 
+                context.markTargetNeighbors(tree, targetIndex);
+
+        if (targetNeighbors.containsKey(sourceIndex)) {
+            parentMap.put(targetIndex, sourceIndex);
+            return true;
+        }
+
+        deque.addLast(sourceIndex);
+
+        while (!deque.isEmpty()) {
+            int currentIndex = deque.removeFirst();
+            int degree = tree.getDegree(currentIndex);
+
+            for (int i = 0; i < degree; i++) {
+                int neighborIndex = tree.getNeighborIndex(currentIndex, i);
+
+                if (parentMap.containsKey(neighborIndex)) {
+                    continue;
+                }
+
+                parentMap.put(neighborIndex, currentIndex);
+
+                if (neighborIndex == targetIndex) {
+                    return true;
+                }
+
+                if (targetNeighbors.containsKey(neighborIndex)) {
+                    // The target is one hop further; skip its level:
+                    parentMap.put(targetIndex, neighborIndex);
+                    return true;
+                }
+
+                deque.addLast(neighborIndex);
+                meter.enqueue(deque.size());
+            }
+
+            meter.expand(deque.size());
         }
 
-        throw new PathNotFoundException(sourceNodeId, targetNodeId);
+        return false;
     }
 }
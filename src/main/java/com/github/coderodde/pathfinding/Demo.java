@@ -9,7 +9,7 @@ public final class Demo {
     private static final int RADIUS = 12;
     private static final int DEGREE = 4;
 
-    private static final List<Pathfinder> pathfinders = new ArrayList<>(5);
+    private static final List<Pathfinder> pathfinders = new ArrayList<>(8);
 
     static {
         pathfinders.add(new BreadthFirstSearchPathfinder());
@@ -19,6 +19,10 @@ public final class Demo {
 
         pathfinders.add(
             new BidirectionalIterativeDeepeningDepthFirstSearchPathfinder());
+
+        pathfinders.add(new BidirectionalDijkstraPathfinder(true));
+        pathfinders.add(new AdaptivePathfinder());
+        pathfinders.add(new BinaryLiftingPathfinder());
     }
 
     public static void main(String[] args) {
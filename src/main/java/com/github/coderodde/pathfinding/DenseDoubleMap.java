@@ -0,0 +1,69 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.Arrays;
+
+/**
+ * This class implements a map from dense node indices to {@code double}
+ * values. A {@link DenseIntMap} assigns each key a slot in a growable value
+ * array, so that clearing takes constant time and the memory follows the
+ * number of entries rather than the size of the tree.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 19, 2026)
+ * @since 1.7 (Oct 19, 2026)
+ */
+final class DenseDoubleMap {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    private final DenseIntMap slots = new DenseIntMap();
+    private double[] values = new double[INITIAL_CAPACITY];
+
+    /**
+     * Removes all the entries and makes room for the keys
+     * {@code 0, 1, ..., capacity - 1}.
+     */
+    void clear(int capacity) {
+        slots.clear(capacity);
+    }
+
+    boolean containsKey(int key) {
+        return slots.containsKey(key);
+    }
+
+    /**
+     * Returns the value of {@code key}. The result is undefined if the key is
+     * not present.
+     */
+    double get(int key) {
+        return values[slots.get(key)];
+    }
+
+    void put(int key, double value) {
+        if (slots.containsKey(key)) {
+            values[slots.get(key)] = value;
+            return;
+        }
+
+        int slot = slots.size();
+
+        if (slot == values.length) {
+            values = Arrays.copyOf(values, 2 * slot);
+        }
+
+        slots.put(key, slot);
+        values[slot] = value;
+    }
+
+    /**
+     * Drops the arrays grown past {@link DenseIntMap#MAXIMUM_RETAINED_CAPACITY}
+     * entries. The map must be cleared before its next use.
+     */
+    void trim() {
+        slots.trim();
+
+        if (values.length > DenseIntMap.MAXIMUM_RETAINED_CAPACITY) {
+            values = new double[INITIAL_CAPACITY];
+        }
+    }
+}
@@ -0,0 +1,195 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.Arrays;
+
+/**
+ * This class implements a map from dense node indices to {@code int} values.
+ * Each entry carries the stamp of the search that wrote it, so clearing the
+ * map takes constant time and a search pays only for the nodes it touches.
+ * <p>
+ * On large trees, the map starts as a small open-addressing table and
+ * switches to arrays sized to the tree only once it holds a sixteenth of the
+ * nodes, so that a search exploring a few nodes of a huge tree allocates
+ * little. {@link #trim()} drops the arrays grown past
+ * {@link #MAXIMUM_RETAINED_CAPACITY} entries.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 19, 2026)
+ * @since 1.7 (Oct 19, 2026)
+ */
+final class DenseIntMap {
+
+    /**
+     * The trees up to this size are mapped by the dense arrays right away.
+     */
+    static final int MINIMUM_SPARSE_CAPACITY = 1 << 12;
+
+    /**
+     * The largest number of entries the map retains between searches.
+     */
+    static final int MAXIMUM_RETAINED_CAPACITY = 1 << 18;
+
+    private static final int INITIAL_SPARSE_CAPACITY = 16;
+
+    // The dense arrays, indexed by the keys:
+    private int[] values = new int[0];
+    private int[] stamps = new int[0];
+
+    // The open-addressing table used until the map becomes dense:
+    private int[] sparseKeys = new int[INITIAL_SPARSE_CAPACITY];
+    private int[] sparseValues = new int[INITIAL_SPARSE_CAPACITY];
+    private int[] sparseStamps = new int[INITIAL_SPARSE_CAPACITY];
+    private int mask = INITIAL_SPARSE_CAPACITY - 1;
+
+    private int stamp = 1;
+    private int size;
+    private int capacity;
+    private boolean dense;
+
+    /**
+     * Removes all the entries and makes room for the keys
+     * {@code 0, 1, ..., capacity - 1}.
+     */
+    void clear(int capacity) {
+        this.size = 0;
+        this.capacity = capacity;
+
+        if (++stamp == Integer.MAX_VALUE) {
+            Arrays.fill(stamps, 0);
+            Arrays.fill(sparseStamps, 0);
+            stamp = 1;
+        }
+
+        dense = stamps.length >= capacity
+             || capacity <= MINIMUM_SPARSE_CAPACITY;
+
+        if (stamps.length < capacity && dense) {
+            values = new int[capacity];
+            stamps = new int[capacity];
+        }
+    }
+
+    boolean containsKey(int key) {
+        if (dense) {
+            return stamps[key] == stamp;
+        }
+
+        return sparseStamps[findSlot(key)] == stamp;
+    }
+
+    /**
+     * Returns the value of {@code key}. The result is undefined if the key is
+     * not present.
+     */
+    int get(int key) {
+        if (dense) {
+            return values[key];
+        }
+
+        return sparseValues[findSlot(key)];
+    }
+
+    void put(int key, int value) {
+        if (dense) {
+            if (stamps[key] != stamp) {
+                stamps[key] = stamp;
+                size++;
+            }
+
+            values[key] = value;
+            return;
+        }
+
+        int slot = findSlot(key);
+        sparseValues[slot] = value;
+
+        if (sparseStamps[slot] == stamp) {
+            return;
+        }
+
+        sparseKeys[slot] = key;
+        sparseStamps[slot] = stamp;
+        size++;
+
+        if (size > capacity >>> 4) {
+            makeDense();
+        } else if (size > sparseKeys.length >>> 1) {
+            rehash(2 * sparseKeys.length);
+        }
+    }
+
+    int size() {
+        return size;
+    }
+
+    /**
+     * Drops the arrays grown past {@link #MAXIMUM_RETAINED_CAPACITY} entries.
+     * The map must be cleared before its next use.
+     */
+    void trim() {
+        if (stamps.length > MAXIMUM_RETAINED_CAPACITY) {
+            values = new int[0];
+            stamps = new int[0];
+        }
+
+        if (sparseKeys.length > MAXIMUM_RETAINED_CAPACITY) {
+            sparseKeys = new int[INITIAL_SPARSE_CAPACITY];
+            sparseValues = new int[INITIAL_SPARSE_CAPACITY];
+            sparseStamps = new int[INITIAL_SPARSE_CAPACITY];
+            mask = INITIAL_SPARSE_CAPACITY - 1;
+        }
+
+        dense = false;
+    }
+
+    /**
+     * Returns the slot holding {@code key}, or the free slot to put it in.
+     */
+    private int findSlot(int key) {
+        // Fibonacci hashing scatters consecutive keys over the table:
+        int hash = key * 0x9E3779B9;
+        int slot = (hash ^ (hash >>> 16)) & mask;
+
+        while (sparseStamps[slot] == stamp && sparseKeys[slot] != key) {
+            slot = (slot + 1) & mask;
+        }
+
+        return slot;
+    }
+
+    private void makeDense() {
+        if (stamps.length < capacity) {
+            values = new int[capacity];
+            stamps = new int[capacity];
+        }
+
+        for (int slot = 0; slot < sparseKeys.length; slot++) {
+            if (sparseStamps[slot] == stamp) {
+                values[sparseKeys[slot]] = sparseValues[slot];
+                stamps[sparseKeys[slot]] = stamp;
+            }
+        }
+
+        dense = true;
+    }
+
+    private void rehash(int sparseCapacity) {
+        int[] oldKeys = sparseKeys;
+        int[] oldValues = sparseValues;
+        int[] oldStamps = sparseStamps;
+
+        sparseKeys = new int[sparseCapacity];
+        sparseValues = new int[sparseCapacity];
+        sparseStamps = new int[sparseCapacity];
+        mask = sparseCapacity - 1;
+
+        for (int slot = 0; slot < oldKeys.length; slot++) {
+            if (oldStamps[slot] == stamp) {
+                int newSlot = findSlot(oldKeys[slot]);
+                sparseKeys[newSlot] = oldKeys[slot];
+                sparseValues[newSlot] = oldValues[slot];
+                sparseStamps[newSlot] = stamp;
+            }
+        }
+    }
+}
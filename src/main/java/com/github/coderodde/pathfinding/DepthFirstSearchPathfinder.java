@@ -1,83 +1,104 @@
 package com.github.coderodde.pathfinding;
 
-import com.github.coderodde.pathfinding.WeightedTree.WeightedTreeNode;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Objects;
 
 /**
- * This class implements a depth-first search. 
+ * This class implements a depth-first search. The search keeps an explicit 
+ * stack instead of recursing, so it cannot overflow the call stack on deep 
+ * trees. It tests the goal on generation and stops as soon as it generates a
+ * neighbor of the target, without descending into its subtree.
  * 
  * @author Rodion "rodde" Efremov
- * @version 1.6 (Nov 6, 2022)
+ * @version 1.7 (Oct 19, 2026)
  * @since 1.6 (Nov 6, 2022)
  */
 public class DepthFirstSearchPathfinder implements Pathfinder {
 
     @Override
-    public WeightedPath search(WeightedTree tree,
+    public WeightedPath search(TreeView tree,
                                int sourceNodeId, 
                                int targetNodeId) {
+        return search(tree, sourceNodeId, targetNodeId, SearchBudget.UNLIMITED);
+    }
+
+    @Override
+    public WeightedPath search(TreeView tree,
+                               int sourceNodeId, 
+                               int targetNodeId,
+                               SearchBudget budget) {
 
         Objects.requireNonNull(tree, "The tree is null.");
+        Objects.requireNonNull(budget, "The budget is null.");
         checkTerminalNodes(tree, sourceNodeId, targetNodeId);
 
-        WeightedTreeNode sourceNode = tree.getWeightedTreeNode(sourceNodeId);
-        WeightedTreeNode targetNode = tree.getWeightedTreeNode(targetNodeId);
+        int sourceIndex = tree.getNodeIndex(sourceNodeId);
+        int targetIndex = tree.getNodeIndex(targetNodeId);
+        
+        SearchContext context = 
+                SearchContext.acquire(tree.getNumberOfNodes(), budget);
+        
+        try {
+            DenseIntMap parentMap = context.parentsForward;
+            parentMap.put(sourceIndex, TreeView.NO_NODE);
+
+            if (sourceIndex == targetIndex) {
+                // Handle the trvial case separately, since it is not covered 
+                // by algorithm logic:
+                return context.tracebackPath(tree, targetIndex);
+            }
 
-        Map<WeightedTreeNode, WeightedTreeNode> parentMap = new HashMap<>();
+            DenseIntMap targetNeighbors = 
+                    context.markTargetNeighbors(tree, targetIndex);
 
-        parentMap.put(sourceNode, null);
+            if (targetNeighbors.containsKey(sourceIndex)) {
+                parentMap.put(targetIndex, sourceIndex);
+                return context.tracebackPath(tree, targetIndex);
+            }
 
-        if (sourceNode.equals(targetNode)) {
-            // Handle the trvial case separately, since it is not covered by
-            // algorithm logic:
-            return tracebackPath(tree, targetNode, parentMap);
-        }
+            // The stack of nodes and, in parallel, the position of the next
+            // neighbor to visit for each of them:
+            IntDeque stack = context.dequeForward;
+            IntDeque positions = context.positions;
 
-        for (WeightedTreeNode neighbor : sourceNode.getNeighbors()) {
-            WeightedPath path = searchImpl(tree, 
-                                           targetNode,
-                                           sourceNode,
-                                           neighbor,
-                                           parentMap);
+            stack.addLast(sourceIndex);
+            positions.addLast(0);
 
-            if (path != null) {
-                return path;    
-            }
-        }
+            while (!stack.isEmpty()) {
+                int index = stack.peekLast();
+                int position = positions.removeLast();
 
-        throw new PathNotFoundException(sourceNodeId, targetNodeId);
-    }
+                if (position == tree.getDegree(index)) {
+                    stack.removeLast();
+                    continue;
+                }
 
-    private WeightedPath searchImpl(WeightedTree tree,
-                                    WeightedTreeNode targetNode,
-                                    WeightedTreeNode parentNode,
-                                    WeightedTreeNode node, 
-                                    Map<WeightedTreeNode, 
-                                        WeightedTreeNode> parentMap) {
-        parentMap.put(node, parentNode);
+                positions.addLast(position + 1);
 
-        if (node.equals(targetNode)) {
-            return tracebackPath(tree, targetNode, parentMap);
-        }
+                int neighborIndex = tree.getNeighborIndex(index, position);
 
-        for (WeightedTreeNode neighbor : node.getNeighbors()) {
-            if (parentMap.containsKey(neighbor)) {
-                continue;
-            }
+                if (parentMap.containsKey(neighborIndex)) {
+                    continue;
+                }
 
-            WeightedPath path = searchImpl(tree,
-                                           targetNode,
-                                           node, 
-                                           neighbor, 
-                                           parentMap);
+                parentMap.put(neighborIndex, index);
 
-            if (path != null) {
-                return path;
+                if (neighborIndex == targetIndex) {
+                    return context.tracebackPath(tree, targetIndex);
+                }
+
+                if (targetNeighbors.containsKey(neighborIndex)) {
+                    parentMap.put(targetIndex, neighborIndex);
+                    return context.tracebackPath(tree, targetIndex);
+                }
+
+                stack.addLast(neighborIndex);
+                positions.addLast(0);
+                context.meter.expand(stack.size());
             }
-        }
 
-        return null;
+            throw new PathNotFoundException(sourceNodeId, targetNodeId);
+        } finally {
+            context.release();
+        }
     }
 }
@@ -0,0 +1,110 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.Random;
+
+/**
+ * This class compares the plain breadth-first search, which tests the goal on
+ * dequeuing, to the early-terminating one over trees of the same size but of 
+ * node degrees from 2 to 10,000. The trees are shaped as complete d-ary 
+ * heaps, so the higher the degree, the more the last levels dominate.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 19, 2026)
+ * @since 1.7 (Oct 19, 2026)
+ */
+public final class EarlyTerminationBenchmark {
+
+    private static final int DEFAULT_NUMBER_OF_NODES = 1_000_000;
+    private static final int NUMBER_OF_SEARCHES = 50;
+    private static final int[] DEGREES = { 2, 10, 100, 1_000, 10_000 };
+
+    public static void main(String[] args) {
+        int numberOfNodes = args.length > 0
+                ? Integer.parseInt(args[0])
+                : DEFAULT_NUMBER_OF_NODES;
+
+        long seed = System.nanoTime();
+        Random random = new Random(seed);
+        System.out.println("<<< Seed = " + seed + " >>>");
+
+        Pathfinder plainPathfinder = new BreadthFirstSearchPathfinder(false);
+        Pathfinder earlyPathfinder = new BreadthFirstSearchPathfinder(true);
+
+        for (int degree : DEGREES) {
+            WeightedTree tree = buildHeapShapedTree(numberOfNodes, degree);
+            int[] sourceNodeIds = new int[NUMBER_OF_SEARCHES];
+            int[] targetNodeIds = new int[NUMBER_OF_SEARCHES];
+
+            for (int i = 0; i < NUMBER_OF_SEARCHES; i++) {
+                sourceNodeIds[i] = random.nextInt(numberOfNodes);
+                targetNodeIds[i] = random.nextInt(numberOfNodes);
+            }
+
+            // Warm up the JIT compiler before any timing:
+            search(plainPathfinder, tree, sourceNodeIds, targetNodeIds);
+            search(earlyPathfinder, tree, sourceNodeIds, targetNodeIds);
+
+            long plainDuration = 
+                    search(plainPathfinder, 
+                           tree, 
+                           sourceNodeIds, 
+                           targetNodeIds);
+
+            long earlyDuration = 
+                    search(earlyPathfinder, 
+                           tree, 
+                           sourceNodeIds, 
+                           targetNodeIds);
+
+            System.out.println(
+                    "Degree " 
+                            + degree 
+                            + ": plain " 
+                            + plainDuration 
+                            + " ms, early termination " 
+                            + earlyDuration 
+                            + " ms.");
+        }
+    }
+
+    private static long search(Pathfinder pathfinder,
+                               WeightedTree tree,
+                               int[] sourceNodeIds,
+                               int[] targetNodeIds) {
+        long startTime = System.currentTimeMillis();
+        int checksum = 0;
+
+        for (int i = 0; i < sourceNodeIds.length; i++) {
+            checksum += pathfinder.search(tree, 
+                                          sourceNodeIds[i], 
+                                          targetNodeIds[i])
+                                  .getNumberOfNodes();
+        }
+
+        long endTime = System.currentTimeMillis();
+
+        if (checksum == 0) {
+            // Keeps the searches from being optimized away:
+            System.out.println("Zero checksum.");
+        }
+
+        return endTime - startTime;
+    }
+
+    /**
+     * Builds a tree in which the parent of the node {@code i > 0} is the node
+     * {@code (i - 1) / degree}.
+     */
+    private static WeightedTree buildHeapShapedTree(int numberOfNodes, 
+                                                    int degree) {
+        WeightedTree tree = new WeightedTree();
+        tree.addTreeNode(0);
+
+        for (int id = 1; id < numberOfNodes; id++) {
+            tree.addTreeNode(id);
+            tree.connect((id - 1) / degree, id, 1.0);
+        }
+
+        return tree;
+    }
+}
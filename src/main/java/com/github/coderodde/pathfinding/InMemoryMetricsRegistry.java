@@ -0,0 +1,177 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.Map;
+import java.util.Objects;
+import java.util.SortedMap;
+import java.util.TreeMap;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * This class implements a registry keeping its metrics in memory. The 
+ * histograms are log-linear in the manner of HDR histograms: the values below
+ * {@code 128} get a bucket each, and each higher power-of-two range is split
+ * into {@code 64} equal buckets, so that any percentile is reported within 
+ * about 1.6% of the true value in a fixed 30 KiB per histogram. All the 
+ * metrics may be updated and read concurrently.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 19, 2026)
+ * @since 1.7 (Oct 19, 2026)
+ */
+public final class InMemoryMetricsRegistry implements MetricsRegistry {
+
+    private final Map<String, Counter> counters = new ConcurrentHashMap<>();
+    private final Map<String, Histogram> histograms = 
+            new ConcurrentHashMap<>();
+
+    @Override
+    public Counter counter(String name) {
+        Objects.requireNonNull(name, "The name is null.");
+        return counters.computeIfAbsent(name, (key) -> new Counter());
+    }
+
+    @Override
+    public Histogram histogram(String name) {
+        Objects.requireNonNull(name, "The name is null.");
+        return histograms.computeIfAbsent(name, (key) -> new Histogram());
+    }
+
+    /**
+     * Returns the counters by name.
+     */
+    public SortedMap<String, Counter> getCounters() {
+        return new TreeMap<>(counters);
+    }
+
+    /**
+     * Returns the histograms by name.
+     */
+    public SortedMap<String, Histogram> getHistograms() {
+        return new TreeMap<>(histograms);
+    }
+
+    public static final class Counter implements MetricCounter {
+
+        private final LongAdder count = new LongAdder();
+
+        @Override
+        public void increment() {
+            count.increment();
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+    }
+
+    public static final class Histogram implements MetricHistogram {
+
+        private static final int SUB_BUCKET_BITS = 6;
+        private static final int SUB_BUCKET_COUNT = 1 << SUB_BUCKET_BITS;
+        private static final int NUMBER_OF_BUCKETS = 
+                (64 - SUB_BUCKET_BITS) * SUB_BUCKET_COUNT + SUB_BUCKET_COUNT;
+
+        private final AtomicLongArray bucketCounts = 
+                new AtomicLongArray(NUMBER_OF_BUCKETS);
+
+        private final LongAdder count = new LongAdder();
+        private final LongAdder sum = new LongAdder();
+        private final AtomicLong maximum = new AtomicLong();
+
+        @Override
+        public void record(long value) {
+            if (value < 0L) {
+                throw new IllegalArgumentException(
+                        "Negative value: " + value + ".");
+            }
+
+            bucketCounts.incrementAndGet(getBucket(value));
+            count.increment();
+            sum.add(value);
+
+            long currentMaximum = maximum.get();
+
+            while (value > currentMaximum 
+                    && !maximum.compareAndSet(currentMaximum, value)) {
+                currentMaximum = maximum.get();
+            }
+        }
+
+        public long getCount() {
+            return count.sum();
+        }
+
+        public long getMaximum() {
+            return maximum.get();
+        }
+
+        public double getMean() {
+            long currentCount = count.sum();
+            return currentCount == 0L ? 0.0 : (double) sum.sum() / currentCount;
+        }
+
+        /**
+         * Returns the largest value of the bucket holding the value below 
+         * which {@code percentile} percent of the values fall, or zero if 
+         * there are no values.
+         */
+        public long getValueAtPercentile(double percentile) {
+            if (percentile < 0.0 || percentile > 100.0) {
+                throw new IllegalArgumentException(
+                        "The percentile is not within [0, 100]: " 
+                                + percentile 
+                                + ".");
+            }
+
+            long totalCount = 0L;
+
+            for (int bucket = 0; bucket < NUMBER_OF_BUCKETS; bucket++) {
+                totalCount += bucketCounts.get(bucket);
+            }
+
+            long rank = Math.max(1L, 
+                                 (long) Math.ceil(percentile / 100.0 
+                                                  * totalCount));
+            long cumulativeCount = 0L;
+
+            for (int bucket = 0; bucket < NUMBER_OF_BUCKETS; bucket++) {
+                cumulativeCount += bucketCounts.get(bucket);
+
+                if (cumulativeCount >= rank) {
+                    return Math.min(getBucketMaximum(bucket), getMaximum());
+                }
+            }
+
+            return 0L;
+        }
+
+        /**
+         * Maps the values below {@code 2 * SUB_BUCKET_COUNT} to themselves, 
+         * and each larger value to {@code shift * SUB_BUCKET_COUNT + (value 
+         * >>> shift)}, where the shift leaves the top 
+         * {@code SUB_BUCKET_BITS + 1} bits of the value.
+         */
+        private static int getBucket(long value) {
+            int bitLength = 64 - Long.numberOfLeadingZeros(value);
+            int shift = Math.max(0, bitLength - SUB_BUCKET_BITS - 1);
+
+            return (shift << SUB_BUCKET_BITS) + (int)(value >>> shift);
+        }
+
+        private static long getBucketMaximum(int bucket) {
+            if (bucket < 2 * SUB_BUCKET_COUNT) {
+                return bucket;
+            }
+
+            int shift = (bucket >>> SUB_BUCKET_BITS) - 1;
+            long subBucket = bucket - ((long) shift << SUB_BUCKET_BITS);
+            long bucketMaximum = ((subBucket + 1L) << shift) - 1L;
+
+            // The topmost bucket reaches beyond the range of long:
+            return bucketMaximum < 0L ? Long.MAX_VALUE : bucketMaximum;
+        }
+    }
+}
@@ -0,0 +1,169 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.Arrays;
+import java.util.NoSuchElementException;
+
+/**
+ * This class implements a binary minimum heap of dense node indices keyed by
+ * {@code double} priorities. Each node index remembers its position in the 
+ * heap, so that its key may be decreased in logarithmic time. The heap arrays
+ * grow with the number of entries, and the positions live in a 
+ * {@link DenseIntMap}, so the memory follows the nodes actually inserted.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 19, 2026)
+ * @since 1.7 (Oct 19, 2026)
+ */
+final class IndexedDoubleHeap {
+
+    private static final int INITIAL_CAPACITY = 16;
+
+    // heap[p] is the node index at the position p, and keys[p] is its key:
+    private int[] heap = new int[INITIAL_CAPACITY];
+    private double[] keys = new double[INITIAL_CAPACITY];
+
+    // The position of each node index ever inserted, or -1 once extracted:
+    private final DenseIntMap positions = new DenseIntMap();
+    private int size;
+
+    /**
+     * Removes all the entries and makes room for the node indices 
+     * {@code 0, 1, ..., capacity - 1}.
+     */
+    void clear(int capacity) {
+        size = 0;
+        positions.clear(capacity);
+    }
+
+    /**
+     * Drops the arrays grown past 
+     * {@link DenseIntMap#MAXIMUM_RETAINED_CAPACITY} entries. The heap must be
+     * cleared before its next use.
+     */
+    void trim() {
+        positions.trim();
+
+        if (heap.length > DenseIntMap.MAXIMUM_RETAINED_CAPACITY) {
+            heap = new int[INITIAL_CAPACITY];
+            keys = new double[INITIAL_CAPACITY];
+        }
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    boolean contains(int index) {
+        return positions.containsKey(index) && positions.get(index) != -1;
+    }
+
+    double minimumKey() {
+        checkNotEmpty();
+        return keys[0];
+    }
+
+    /**
+     * Inserts {@code index} with the priority {@code key}, or lowers the 
+     * priority of {@code index} to {@code key} if it is already in the heap 
+     * with a larger one.
+     */
+    void insertOrDecreaseKey(int index, double key) {
+        if (contains(index)) {
+            int position = positions.get(index);
+
+            if (key < keys[position]) {
+                siftUp(position, index, key);
+            }
+
+            return;
+        }
+
+        if (size == heap.length) {
+            heap = Arrays.copyOf(heap, 2 * size);
+            keys = Arrays.copyOf(keys, 2 * size);
+        }
+
+        siftUp(size++, index, key);
+    }
+
+    int extractMinimum() {
+        checkNotEmpty();
+        int minimumIndex = heap[0];
+        positions.put(minimumIndex, -1);
+
+        if (--size > 0) {
+            siftDown(0, heap[size], keys[size]);
+        }
+
+        return minimumIndex;
+    }
+
+    /**
+     * Moves the entry {@code (index, key)} up from {@code position}, which 
+     * the caller has vacated.
+     */
+    private void siftUp(int position, int index, double key) {
+        while (position > 0) {
+            int parentPosition = (position - 1) >>> 1;
+
+            if (keys[parentPosition] <= key) {
+                break;
+            }
+
+            move(parentPosition, position);
+            position = parentPosition;
+        }
+
+        place(position, index, key);
+    }
+
+    /**
+     * Moves the entry {@code (index, key)} down from {@code position}, which
+     * the caller has vacated.
+     */
+    private void siftDown(int position, int index, double key) {
+        while (true) {
+            int childPosition = 2 * position + 1;
+
+            if (childPosition >= size) {
+                break;
+            }
+
+            if (childPosition + 1 < size 
+                    && keys[childPosition + 1] < keys[childPosition]) {
+                childPosition++;
+            }
+
+            if (key <= keys[childPosition]) {
+                break;
+            }
+
+            move(childPosition, position);
+            position = childPosition;
+        }
+
+        place(position, index, key);
+    }
+
+    private void move(int sourcePosition, int targetPosition) {
+        heap[targetPosition] = heap[sourcePosition];
+        keys[targetPosition] = keys[sourcePosition];
+        positions.put(heap[targetPosition], targetPosition);
+    }
+
+    private void place(int position, int index, double key) {
+        heap[position] = index;
+        keys[position] = key;
+        positions.put(index, position);
+    }
+
+    private void checkNotEmpty() {
+        if (size == 0) {
+            throw new NoSuchElementException("The heap is empty.");
+        }
+    }
+}
@@ -0,0 +1,108 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.NoSuchElementException;
+
+/**
+ * This class implements a growable, array-based double-ended queue of 
+ * primitive {@code int} values.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 19, 2026)
+ * @since 1.7 (Oct 19, 2026)
+ */
+final class IntDeque {
+
+    private int[] elements = new int[16];
+    private int head;
+    private int size;
+
+    void addFirst(int element) {
+        ensureCapacity();
+        head = (head - 1) & (elements.length - 1);
+        elements[head] = element;
+        size++;
+    }
+
+    void addLast(int element) {
+        ensureCapacity();
+        elements[(head + size) & (elements.length - 1)] = element;
+        size++;
+    }
+
+    int removeFirst() {
+        int element = peekFirst();
+        head = (head + 1) & (elements.length - 1);
+        size--;
+        return element;
+    }
+
+    int removeLast() {
+        int element = peekLast();
+        size--;
+        return element;
+    }
+
+    int peekFirst() {
+        checkNotEmpty();
+        return elements[head];
+    }
+
+    int peekLast() {
+        checkNotEmpty();
+        return elements[(head + size - 1) & (elements.length - 1)];
+    }
+
+    /**
+     * Returns the {@code index}th element counting from the first one.
+     */
+    int get(int index) {
+        return elements[(head + index) & (elements.length - 1)];
+    }
+
+    boolean isEmpty() {
+        return size == 0;
+    }
+
+    int size() {
+        return size;
+    }
+
+    void clear() {
+        head = 0;
+        size = 0;
+    }
+
+    /**
+     * Clears this deque and drops its array if it has grown past 
+     * {@link DenseIntMap#MAXIMUM_RETAINED_CAPACITY} elements.
+     */
+    void trim() {
+        clear();
+
+        if (elements.length > DenseIntMap.MAXIMUM_RETAINED_CAPACITY) {
+            elements = new int[16];
+        }
+    }
+
+    private void checkNotEmpty() {
+        if (size == 0) {
+            throw new NoSuchElementException("The deque is empty.");
+        }
+    }
+
+    private void ensureCapacity() {
+        if (size < elements.length) {
+            return;
+        }
+
+        // The capacity stays a power of two so that masking wraps indices:
+        int[] newElements = new int[2 * elements.length];
+
+        for (int i = 0; i < size; i++) {
+            newElements[i] = get(i);
+        }
+
+        elements = newElements;
+        head = 0;
+    }
+}
@@ -0,0 +1,16 @@
+package com.github.coderodde.pathfinding;
+
+/**
+ * This interface specifies an operation accepting an {@code int} and a 
+ * {@code double} argument, such as a neighbor ID and the weight of the edge
+ * leading to it.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 19, 2026)
+ * @since 1.7 (Oct 19, 2026)
+ */
+@FunctionalInterface
+public interface IntDoubleConsumer {
+    
+    void accept(int intValue, double doubleValue);
+}
@@ -0,0 +1,193 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.Arrays;
+
+/**
+ * This class implements an open-addressing hash map from {@code int} keys to
+ * non-negative {@code int} values. It uses linear probing with backward-shift
+ * deletion, so no tombstones accumulate and no key or value is ever boxed.
+ * <p>
+ * The table is split into pages. A {@link #copy()} shares the pages instead 
+ * of copying them, and either map copies a page only when modifying it 
+ * afterwards, so that copying after a few modifications costs little.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 19, 2026)
+ * @since 1.7 (Oct 19, 2026)
+ */
+final class IntIndexMap {
+
+    static final int ABSENT = -1;
+
+    private static final int MINIMUM_CAPACITY = 8;
+    private static final int PAGE_SHIFT = 10;
+    private static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+    private static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    // Each page holds the key of a slot followed by its value:
+    private int[][] pages;
+    private boolean[] sharedPages;
+    private int size;
+    private int mask;
+
+    IntIndexMap() {
+        allocate(MINIMUM_CAPACITY);
+    }
+
+    private IntIndexMap(IntIndexMap map) {
+        this.pages = map.pages.clone();
+        this.sharedPages = new boolean[pages.length];
+        this.size = map.size;
+        this.mask = map.mask;
+        Arrays.fill(sharedPages, true);
+        Arrays.fill(map.sharedPages, true);
+    }
+
+    /**
+     * Returns a copy of this map. It takes time proportional to the number 
+     * of pages.
+     */
+    IntIndexMap copy() {
+        return new IntIndexMap(this);
+    }
+
+    int size() {
+        return size;
+    }
+
+    int get(int key) {
+        int slot = slotOf(key);
+
+        while (valueAt(slot) != ABSENT) {
+            if (keyAt(slot) == key) {
+                return valueAt(slot);
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        return ABSENT;
+    }
+
+    void put(int key, int value) {
+        int slot = slotOf(key);
+
+        while (valueAt(slot) != ABSENT) {
+            if (keyAt(slot) == key) {
+                set(slot, key, value);
+                return;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        set(slot, key, value);
+
+        // Keep the load factor at most 1/2 so that the probe runs stay short:
+        if (++size > (mask + 1) / 2) {
+            rehash((mask + 1) * 2);
+        }
+    }
+
+    boolean remove(int key) {
+        int slot = slotOf(key);
+
+        while (valueAt(slot) != ABSENT) {
+            if (keyAt(slot) == key) {
+                shiftBackward(slot);
+                size--;
+                return true;
+            }
+
+            slot = (slot + 1) & mask;
+        }
+
+        return false;
+    }
+
+    void clear() {
+        allocate(MINIMUM_CAPACITY);
+        size = 0;
+    }
+
+    private void shiftBackward(int freeSlot) {
+        int slot = freeSlot;
+
+        while (true) {
+            slot = (slot + 1) & mask;
+
+            if (valueAt(slot) == ABSENT) {
+                break;
+            }
+
+            int homeSlot = slotOf(keyAt(slot));
+
+            // Move the entry back only if its home slot does not lie
+            // cyclically within (freeSlot, slot]:
+            if (((slot - homeSlot) & mask) >= ((slot - freeSlot) & mask)) {
+                set(freeSlot, keyAt(slot), valueAt(slot));
+                freeSlot = slot;
+            }
+        }
+
+        set(freeSlot, 0, ABSENT);
+    }
+
+    private void rehash(int capacity) {
+        int[][] oldPages = pages;
+
+        allocate(capacity);
+
+        for (int[] oldPage : oldPages) {
+            for (int i = 0; i < oldPage.length; i += 2) {
+                if (oldPage[i + 1] != ABSENT) {
+                    int slot = slotOf(oldPage[i]);
+
+                    while (valueAt(slot) != ABSENT) {
+                        slot = (slot + 1) & mask;
+                    }
+
+                    set(slot, oldPage[i], oldPage[i + 1]);
+                }
+            }
+        }
+    }
+
+    private void allocate(int capacity) {
+        int pageSize = Math.min(capacity, PAGE_SIZE);
+        int numberOfPages = capacity / pageSize;
+        pages = new int[numberOfPages][2 * pageSize];
+        sharedPages = new boolean[numberOfPages];
+        mask = capacity - 1;
+
+        for (int[] page : pages) {
+            Arrays.fill(page, ABSENT);
+        }
+    }
+
+    private int keyAt(int slot) {
+        return pages[slot >>> PAGE_SHIFT][2 * (slot & PAGE_MASK)];
+    }
+
+    private int valueAt(int slot) {
+        return pages[slot >>> PAGE_SHIFT][2 * (slot & PAGE_MASK) + 1];
+    }
+
+    private void set(int slot, int key, int value) {
+        int page = slot >>> PAGE_SHIFT;
+
+        if (sharedPages[page]) {
+            pages[page] = pages[page].clone();
+            sharedPages[page] = false;
+        }
+
+        pages[page][2 * (slot & PAGE_MASK)] = key;
+        pages[page][2 * (slot & PAGE_MASK) + 1] = value;
+    }
+
+    private int slotOf(int key) {
+        // Fibonacci hashing scatters consecutive keys over the table:
+        int hash = key * 0x9E3779B9;
+        return (hash ^ (hash >>> 16)) & mask;
+    }
+}
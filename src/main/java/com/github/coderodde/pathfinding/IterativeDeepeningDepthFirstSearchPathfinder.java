@@ -1,16 +1,15 @@
 package com.github.coderodde.pathfinding;
 
-import com.github.coderodde.pathfinding.WeightedTree.WeightedTreeNode;
-import java.util.HashMap;
-import java.util.Map;
 import java.util.Objects;
 
 /**
- * This class implements a bidirectional breadth-first search. It alternates 
- * two search frontiers meeting somewhere in between.
+ * This class implements an iterative-deepening depth-first search (IDDFS for
+ * short). Each depth-limited search keeps an explicit stack, and the 
+ * deepening stops early once a depth-limited search has exhausted the 
+ * component of the source node without reaching the target.
  * 
  * @author Rodion "rodde" Efremov
- * @version 1.6 (Nov 6, 2022)
+ * @version 1.7 (Oct 19, 2026)
  * @since 1.6 (Nov 6, 2022)
  */
 public final class IterativeDeepeningDepthFirstSearchPathfinder 
@@ -27,68 +26,132 @@ public final class IterativeDeepeningDepthFirstSearchPathfinder
     }
 
     @Override
-    public WeightedPath search(WeightedTree tree, 
+    public WeightedPath search(TreeView tree, 
                                int sourceNodeId,
                                int targetNodeId) {
+        return search(tree, sourceNodeId, targetNodeId, SearchBudget.UNLIMITED);
+    }
+
+    /**
+     * Searches within the given budget. The expanded nodes are counted over 
+     * all the depth-limited searches together.
+     */
+    @Override
+    public WeightedPath search(TreeView tree, 
+                               int sourceNodeId,
+                               int targetNodeId,
+                               SearchBudget budget) {
 
         Objects.requireNonNull(tree, "The tree is null.");
+        Objects.requireNonNull(budget, "The budget is null.");
         checkTerminalNodes(tree, sourceNodeId, targetNodeId);
 
-        WeightedTreeNode sourceNode = tree.getWeightedTreeNode(sourceNodeId);
-        WeightedTreeNode targetNode = tree.getWeightedTreeNode(targetNodeId);
+        int sourceIndex = tree.getNodeIndex(sourceNodeId);
+        int targetIndex = tree.getNodeIndex(targetNodeId);
 
-        Map<WeightedTreeNode, WeightedTreeNode> parentMap = new HashMap<>();
+        SearchContext context = 
+                SearchContext.acquire(tree.getNumberOfNodes(), budget);
+        
+        try {
+            DenseIntMap parentMap = context.parentsForward;
 
-        if (sourceNode.equals(targetNode)) {
-            parentMap.put(sourceNode, null);
-            return tracebackPath(tree, targetNode, parentMap);
-        }
+            if (sourceIndex == targetIndex) {
+                parentMap.put(sourceIndex, TreeView.NO_NODE);
+                return context.tracebackPath(tree, targetIndex);
+            }
 
-        for (int depth = 0; depth <= maximumDepth; depth++) {
-            parentMap.clear();
-            parentMap.put(sourceNode, null);
+            for (int depth = 0; depth <= maximumDepth; depth++) {
+                parentMap.clear(tree.getNumberOfNodes());
+                parentMap.put(sourceIndex, TreeView.NO_NODE);
+
+                int result = depthLimitedSearch(tree,
+                                                sourceIndex, 
+                                                targetIndex, 
+                                                depth, 
+                                                context);
+                if (result == FOUND) {
+                    return context.tracebackPath(tree, targetIndex);
+                }
+
+                if (result == EXHAUSTED) {
+                    break;
+                }
+            }
 
-            WeightedTreeNode found = depthLimitedSearch(sourceNode, 
-                                                        targetNode,
-                                                        depth, 
-                                                        parentMap);
+            throw new PathNotFoundException(sourceNodeId, targetNodeId);
+        } finally {
+            context.release();
+        }
+    }
 
-            if (found != null) {
-                return tracebackPath(tree, targetNode, parentMap);
+    // The outcomes of a depth-limited search:
+    private static final int FOUND = 0;
+    private static final int CUT_OFF = 1;
+    private static final int EXHAUSTED = 2;
+
+    private static int depthLimitedSearch(TreeView tree,
+                                          int sourceIndex,
+                                          int targetIndex, 
+                                          int depth, 
+                                          SearchContext context) {
+        DenseIntMap parentMap = context.parentsForward;
+        IntDeque stack = context.dequeForward;
+        IntDeque positions = context.positions;
+        boolean cutOff = false;
+
+        stack.clear();
+        positions.clear();
+        stack.addLast(sourceIndex);
+        positions.addLast(0);
+
+        while (!stack.isEmpty()) {
+            int index = stack.peekLast();
+
+            if (stack.size() - 1 == depth) {
+                if (index == targetIndex) {
+                    return FOUND;
+                }
+
+                stack.removeLast();
+                positions.removeLast();
+                cutOff |= hasUnvisitedNeighbor(tree, index, parentMap);
+                continue;
             }
-        }
 
-        throw new PathNotFoundException(sourceNodeId, targetNodeId);
-    }
+            int position = positions.removeLast();
 
-    private WeightedTreeNode 
-        depthLimitedSearch(WeightedTreeNode node,
-                           WeightedTreeNode targetNode, 
-                           int depth, 
-                           Map<WeightedTreeNode, 
-                               WeightedTreeNode> parentMap) {
+            if (position == tree.getDegree(index)) {
+                stack.removeLast();
+                continue;
+            }
 
-        if (depth == 0) {
-            return node.equals(targetNode) ? targetNode : null;
-        }
+            positions.addLast(position + 1);
 
-        for (WeightedTreeNode neighbor : node.getNeighbors()) {
-            if (parentMap.containsKey(neighbor)) {
+            int neighborIndex = tree.getNeighborIndex(index, position);
+
+            if (parentMap.containsKey(neighborIndex)) {
                 continue;
             }
 
-            parentMap.put(neighbor, node);
+            parentMap.put(neighborIndex, index);
+            stack.addLast(neighborIndex);
+            positions.addLast(0);
+            context.meter.expand(stack.size());
+        }
+
+        return cutOff ? CUT_OFF : EXHAUSTED;
+    }
 
-            WeightedTreeNode found = depthLimitedSearch(neighbor,
-                                                        targetNode, 
-                                                        depth - 1,
-                                                        parentMap);
-            if (found != null) {
-                return found;
+    private static boolean hasUnvisitedNeighbor(TreeView tree, 
+                                                int index,
+                                                DenseIntMap parentMap) {
+        for (int i = 0, degree = tree.getDegree(index); i < degree; i++) {
+            if (!parentMap.containsKey(tree.getNeighborIndex(index, i))) {
+                return true;
             }
         }
 
-        return null;
+        return false;
     }
 
     private int checkMaximumDepth(int depth) {
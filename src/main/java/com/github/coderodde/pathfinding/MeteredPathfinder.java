@@ -0,0 +1,216 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.Objects;
+
+/**
+ * This class wraps a pathfinder and records, per query, the latency, the 
+ * number of expanded nodes and the number of path nodes into histograms, and
+ * the queries and failures into counters. For the wrapped pathfinder of the
+ * simple class name {@code Engine}, the metrics are named:
+ * <ul>
+ *   <li>{@code pathfinder.Engine.latency.nanos},</li>
+ *   <li>{@code pathfinder.Engine.expanded.nodes},</li>
+ *   <li>{@code pathfinder.Engine.path.nodes},</li>
+ *   <li>{@code pathfinder.Engine.queries},</li>
+ *   <li>{@code pathfinder.Engine.paths.not.found},</li>
+ *   <li>{@code pathfinder.Engine.budgets.exceeded} and</li>
+ *   <li>{@code pathfinder.Engine.failures}.</li>
+ * </ul>
+ * Over {@link MetricsRegistry#DISABLED}, each call costs a single branch 
+ * before going straight to the wrapped pathfinder.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 19, 2026)
+ * @since 1.7 (Oct 19, 2026)
+ */
+public final class MeteredPathfinder implements Pathfinder {
+
+    private final Pathfinder pathfinder;
+    private final boolean enabled;
+    private final MetricHistogram latencies;
+    private final MetricHistogram expandedNodes;
+    private final MetricHistogram pathLengths;
+    private final MetricCounter queries;
+    private final MetricCounter pathsNotFound;
+    private final MetricCounter budgetsExceeded;
+    private final MetricCounter failures;
+
+    public MeteredPathfinder(Pathfinder pathfinder, 
+                             MetricsRegistry registry, 
+                             String name) {
+        this.pathfinder = 
+                Objects.requireNonNull(pathfinder, "The pathfinder is null.");
+
+        Objects.requireNonNull(registry, "The registry is null.");
+        Objects.requireNonNull(name, "The name is null.");
+
+        this.enabled = registry != MetricsRegistry.DISABLED;
+        this.latencies = registry.histogram(name + ".latency.nanos");
+        this.expandedNodes = registry.histogram(name + ".expanded.nodes");
+        this.pathLengths = registry.histogram(name + ".path.nodes");
+        this.queries = registry.counter(name + ".queries");
+        this.pathsNotFound = registry.counter(name + ".paths.not.found");
+        this.budgetsExceeded = registry.counter(name + ".budgets.exceeded");
+        this.failures = registry.counter(name + ".failures");
+    }
+
+    public MeteredPathfinder(Pathfinder pathfinder, MetricsRegistry registry) {
+        this(pathfinder, 
+             registry, 
+             "pathfinder." 
+                     + Objects.requireNonNull(pathfinder, 
+                                              "The pathfinder is null.")
+                              .getClass()
+                              .getSimpleName());
+    }
+
+    public Pathfinder getPathfinder() {
+        return pathfinder;
+    }
+
+    @Override
+    public WeightedPath search(TreeView tree, int sourceId, int targetId) {
+        if (!enabled) {
+            return pathfinder.search(tree, sourceId, targetId);
+        }
+
+        SearchMeter meter = SearchContext.getThreadMeter();
+        meter.reset();
+        long startTime = System.nanoTime();
+
+        try {
+            WeightedPath path = pathfinder.search(tree, sourceId, targetId);
+            recordSuccess(startTime, meter, path.getNumberOfNodes());
+            return path;
+        } catch (RuntimeException ex) {
+            recordFailure(startTime, meter, ex);
+            throw ex;
+        }
+    }
+
+    @Override
+    public WeightedPath search(TreeView tree, 
+                               int sourceId, 
+                               int targetId, 
+                               SearchBudget budget) {
+        if (!enabled) {
+            return pathfinder.search(tree, sourceId, targetId, budget);
+        }
+
+        SearchMeter meter = SearchContext.getThreadMeter();
+        meter.reset();
+        long startTime = System.nanoTime();
+
+        try {
+            WeightedPath path = 
+                    pathfinder.search(tree, sourceId, targetId, budget);
+
+            recordSuccess(startTime, meter, path.getNumberOfNodes());
+            return path;
+        } catch (RuntimeException ex) {
+            recordFailure(startTime, meter, ex);
+            throw ex;
+        }
+    }
+
+    @Override
+    public double searchInto(TreeView tree, 
+                             int sourceId, 
+                             int targetId, 
+                             PathBuffer buffer) {
+        if (!enabled) {
+            return pathfinder.searchInto(tree, sourceId, targetId, buffer);
+        }
+
+        SearchMeter meter = SearchContext.getThreadMeter();
+        meter.reset();
+        long startTime = System.nanoTime();
+
+        try {
+            double totalCost = 
+                    pathfinder.searchInto(tree, sourceId, targetId, buffer);
+
+            recordSuccess(startTime, meter, buffer.getNumberOfNodes());
+            return totalCost;
+        } catch (RuntimeException ex) {
+            recordFailure(startTime, meter, ex);
+            throw ex;
+        }
+    }
+
+    @Override
+    public double stream(TreeView tree, 
+                         int sourceId, 
+                         int targetId, 
+                         PathConsumer consumer) {
+        if (!enabled) {
+            return pathfinder.stream(tree, sourceId, targetId, consumer);
+        }
+
+        Objects.requireNonNull(consumer, "The consumer is null.");
+        SearchMeter meter = SearchContext.getThreadMeter();
+        meter.reset();
+        long startTime = System.nanoTime();
+        CountingConsumer countingConsumer = new CountingConsumer(consumer);
+
+        try {
+            double totalCost = 
+                    pathfinder.stream(tree, 
+                                      sourceId, 
+                                      targetId, 
+                                      countingConsumer);
+
+            recordSuccess(startTime, 
+                          meter, 
+                          countingConsumer.numberOfNodes);
+            return totalCost;
+        } catch (RuntimeException ex) {
+            recordFailure(startTime, meter, ex);
+            throw ex;
+        }
+    }
+
+    private void recordSuccess(long startTime, 
+                               SearchMeter meter, 
+                               int numberOfNodes) {
+        latencies.record(System.nanoTime() - startTime);
+        expandedNodes.record(meter.getExpandedNodes());
+        pathLengths.record(numberOfNodes);
+        queries.increment();
+    }
+
+    private void recordFailure(long startTime, 
+                               SearchMeter meter, 
+                               RuntimeException ex) {
+        latencies.record(System.nanoTime() - startTime);
+        expandedNodes.record(meter.getExpandedNodes());
+        queries.increment();
+
+        if (ex instanceof PathNotFoundException) {
+            pathsNotFound.increment();
+        } else if (ex instanceof SearchBudgetExceededException) {
+            budgetsExceeded.increment();
+        } else {
+            failures.increment();
+        }
+    }
+
+    /**
+     * Passes the path nodes on while counting them.
+     */
+    private static final class CountingConsumer implements PathConsumer {
+
+        private final PathConsumer consumer;
+        int numberOfNodes;
+
+        CountingConsumer(PathConsumer consumer) {
+            this.consumer = consumer;
+        }
+
+        @Override
+        public void accept(int nodeId, double edgeWeight) {
+            numberOfNodes++;
+            consumer.accept(nodeId, edgeWeight);
+        }
+    }
+}
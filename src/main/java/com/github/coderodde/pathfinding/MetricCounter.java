@@ -0,0 +1,14 @@
+package com.github.coderodde.pathfinding;
+
+/**
+ * This interface specifies a monotonically increasing counter obtained from
+ * a {@link MetricsRegistry}.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 19, 2026)
+ * @since 1.7 (Oct 19, 2026)
+ */
+public interface MetricCounter {
+
+    void increment();
+}
@@ -0,0 +1,14 @@
+package com.github.coderodde.pathfinding;
+
+/**
+ * This interface specifies a distribution of non-negative {@code long} 
+ * values obtained from a {@link MetricsRegistry}.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 19, 2026)
+ * @since 1.7 (Oct 19, 2026)
+ */
+public interface MetricHistogram {
+
+    void record(long value);
+}
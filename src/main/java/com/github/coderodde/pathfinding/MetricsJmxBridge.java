@@ -0,0 +1,217 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import javax.management.Attribute;
+import javax.management.AttributeList;
+import javax.management.AttributeNotFoundException;
+import javax.management.DynamicMBean;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanInfo;
+import javax.management.MBeanServer;
+import javax.management.ObjectName;
+import javax.management.ReflectionException;
+
+/**
+ * This class exposes the metrics of an {@link InMemoryMetricsRegistry} as the
+ * read-only attributes of a single MBean. Each counter becomes an attribute 
+ * of its own name; each histogram {@code h} becomes the attributes 
+ * {@code h.count}, {@code h.mean}, {@code h.max}, {@code h.p50}, 
+ * {@code h.p90}, {@code h.p99} and {@code h.p999}. The attributes are read 
+ * live, so the metrics added after the registration show up as well.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 19, 2026)
+ * @since 1.7 (Oct 19, 2026)
+ */
+public final class MetricsJmxBridge implements DynamicMBean {
+
+    public static final String DOMAIN = "com.github.coderodde.pathfinding";
+
+    private static final String[] PERCENTILE_SUFFIXES = 
+            { ".p50", ".p90", ".p99", ".p999" };
+
+    private static final double[] PERCENTILES = { 50.0, 90.0, 99.0, 99.9 };
+
+    private final InMemoryMetricsRegistry registry;
+
+    public MetricsJmxBridge(InMemoryMetricsRegistry registry) {
+        this.registry = 
+                Objects.requireNonNull(registry, "The registry is null.");
+    }
+
+    /**
+     * Registers this bridge in {@code server} under the object name 
+     * {@code com.github.coderodde.pathfinding:type=Metrics,name=<name>}.
+     * 
+     * @return the object name of the registered bridge.
+     */
+    public ObjectName register(MBeanServer server, String name) 
+            throws JMException {
+        Objects.requireNonNull(server, "The server is null.");
+        Objects.requireNonNull(name, "The name is null.");
+
+        ObjectName objectName = 
+                new ObjectName(DOMAIN 
+                                       + ":type=Metrics,name=" 
+                                       + ObjectName.quote(name));
+
+        server.registerMBean(this, objectName);
+        return objectName;
+    }
+
+    @Override
+    public Object getAttribute(String attribute) 
+            throws AttributeNotFoundException {
+        Objects.requireNonNull(attribute, "The attribute is null.");
+        InMemoryMetricsRegistry.Counter counter = 
+                registry.getCounters().get(attribute);
+
+        if (counter != null) {
+            return counter.getCount();
+        }
+
+        int dotIndex = attribute.lastIndexOf('.');
+
+        if (dotIndex != -1) {
+            InMemoryMetricsRegistry.Histogram histogram = 
+                    registry.getHistograms()
+                            .get(attribute.substring(0, dotIndex));
+
+            if (histogram != null) {
+                Object value = 
+                        getHistogramAttribute(histogram, 
+                                              attribute.substring(dotIndex));
+                if (value != null) {
+                    return value;
+                }
+            }
+        }
+
+        throw new AttributeNotFoundException(
+                "No metric attribute " + attribute + ".");
+    }
+
+    @Override
+    public AttributeList getAttributes(String[] attributes) {
+        AttributeList attributeList = new AttributeList();
+
+        for (String attribute : attributes) {
+            try {
+                attributeList.add(
+                        new Attribute(attribute, getAttribute(attribute)));
+            } catch (AttributeNotFoundException ex) {
+                // The missing attributes are left out, as JMX prescribes.
+            }
+        }
+
+        return attributeList;
+    }
+
+    @Override
+    public void setAttribute(Attribute attribute) 
+            throws AttributeNotFoundException {
+        throw new AttributeNotFoundException(
+                "The metric attributes are read-only.");
+    }
+
+    @Override
+    public AttributeList setAttributes(AttributeList attributes) {
+        return new AttributeList();
+    }
+
+    @Override
+    public Object invoke(String actionName, 
+                         Object[] params, 
+                         String[] signature) throws ReflectionException {
+        throw new ReflectionException(
+                new NoSuchMethodException(actionName),
+                "The metrics MBean has no operations.");
+    }
+
+    @Override
+    public MBeanInfo getMBeanInfo() {
+        List<MBeanAttributeInfo> attributeInfos = new ArrayList<>();
+
+        for (String name : registry.getCounters().keySet()) {
+            attributeInfos.add(
+                    newAttributeInfo(name, "long", "The counter " + name));
+        }
+
+        for (Map.Entry<String, InMemoryMetricsRegistry.Histogram> entry 
+                : registry.getHistograms().entrySet()) {
+            String name = entry.getKey();
+
+            attributeInfos.add(
+                    newAttributeInfo(name + ".count", 
+                                     "long", 
+                                     "The number of values of " + name));
+
+            attributeInfos.add(
+                    newAttributeInfo(name + ".mean", 
+                                     "double", 
+                                     "The mean value of " + name));
+
+            attributeInfos.add(
+                    newAttributeInfo(name + ".max", 
+                                     "long", 
+                                     "The maximum value of " + name));
+
+            for (String suffix : PERCENTILE_SUFFIXES) {
+                attributeInfos.add(
+                        newAttributeInfo(name + suffix, 
+                                         "long", 
+                                         "The percentile " 
+                                                 + suffix.substring(2) 
+                                                 + " of " 
+                                                 + name));
+            }
+        }
+
+        return new MBeanInfo(
+                getClass().getName(),
+                "The pathfinding metrics.",
+                attributeInfos.toArray(new MBeanAttributeInfo[0]),
+                null,
+                null,
+                null);
+    }
+
+    private static Object getHistogramAttribute(
+            InMemoryMetricsRegistry.Histogram histogram,
+            String suffix) {
+
+        switch (suffix) {
+            case ".count":
+                return histogram.getCount();
+
+            case ".mean":
+                return histogram.getMean();
+
+            case ".max":
+                return histogram.getMaximum();
+        }
+
+        for (int i = 0; i < PERCENTILE_SUFFIXES.length; i++) {
+            if (PERCENTILE_SUFFIXES[i].equals(suffix)) {
+                return histogram.getValueAtPercentile(PERCENTILES[i]);
+            }
+        }
+
+        return null;
+    }
+
+    private static MBeanAttributeInfo newAttributeInfo(String name,
+                                                       String type,
+                                                       String description) {
+        return new MBeanAttributeInfo(name, 
+                                      type, 
+                                      description, 
+                                      true, 
+                                      false, 
+                                      false);
+    }
+}
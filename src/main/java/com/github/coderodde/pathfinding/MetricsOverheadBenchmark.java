@@ -0,0 +1,96 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.Random;
+
+/**
+ * This class measures the overhead of {@link MeteredPathfinder} by running 
+ * the same queries on a bare pathfinder, on the one metered into 
+ * {@link MetricsRegistry#DISABLED} and on the one metered into an 
+ * {@link InMemoryMetricsRegistry}. The binary-lifting pathfinder answers a 
+ * query in a few hundred nanoseconds, so it exposes the overhead the most.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 19, 2026)
+ * @since 1.7 (Oct 19, 2026)
+ */
+public final class MetricsOverheadBenchmark {
+
+    private static final int DEFAULT_NUMBER_OF_NODES = 100_000;
+    private static final int NUMBER_OF_QUERIES = 1_000_000;
+    private static final int DEGREE = 4;
+
+    public static void main(String[] args) {
+        int numberOfNodes = args.length > 0
+                ? Integer.parseInt(args[0])
+                : DEFAULT_NUMBER_OF_NODES;
+
+        long seed = System.nanoTime();
+        Random random = new Random(seed);
+        System.out.println("<<< Seed = " + seed + " >>>");
+
+        WeightedTree tree = new WeightedTree();
+        tree.addTreeNode(0);
+
+        for (int id = 1; id < numberOfNodes; id++) {
+            tree.addTreeNode(id);
+            tree.connect((id - 1) / DEGREE, id, random.nextDouble());
+        }
+
+        int[] sourceNodeIds = new int[NUMBER_OF_QUERIES];
+        int[] targetNodeIds = new int[NUMBER_OF_QUERIES];
+
+        for (int i = 0; i < NUMBER_OF_QUERIES; i++) {
+            sourceNodeIds[i] = random.nextInt(numberOfNodes);
+            targetNodeIds[i] = random.nextInt(numberOfNodes);
+        }
+
+        Pathfinder pathfinder = new BinaryLiftingPathfinder();
+        Pathfinder[] pathfinders = {
+            pathfinder,
+            new MeteredPathfinder(pathfinder, MetricsRegistry.DISABLED),
+            new MeteredPathfinder(pathfinder, new InMemoryMetricsRegistry()),
+        };
+
+        String[] names = { "Bare", "Disabled metrics", "In-memory metrics" };
+
+        // Warm up the JIT compiler before any timing:
+        for (Pathfinder p : pathfinders) {
+            search(p, tree, sourceNodeIds, targetNodeIds);
+        }
+
+        for (int i = 0; i < pathfinders.length; i++) {
+            long duration = 
+                    search(pathfinders[i], tree, sourceNodeIds, targetNodeIds);
+
+            System.out.println(
+                    names[i] 
+                            + ": " 
+                            + duration / NUMBER_OF_QUERIES 
+                            + " ns per query.");
+        }
+    }
+
+    private static long search(Pathfinder pathfinder,
+                               WeightedTree tree,
+                               int[] sourceNodeIds,
+                               int[] targetNodeIds) {
+        long startTime = System.nanoTime();
+        int checksum = 0;
+
+        for (int i = 0; i < sourceNodeIds.length; i++) {
+            checksum += pathfinder.search(tree, 
+                                          sourceNodeIds[i], 
+                                          targetNodeIds[i])
+                                  .getNumberOfNodes();
+        }
+
+        long endTime = System.nanoTime();
+
+        if (checksum == 0) {
+            // Keeps the searches from being optimized away:
+            System.out.println("Zero checksum.");
+        }
+
+        return endTime - startTime;
+    }
+}
@@ -0,0 +1,38 @@
+package com.github.coderodde.pathfinding;
+
+/**
+ * This interface specifies a source of named counters and histograms. The 
+ * metrics are looked up once, when a {@link MeteredPathfinder} is built, so 
+ * that recording never goes through the registry. Asking twice for the same
+ * name returns the same metric.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 19, 2026)
+ * @since 1.7 (Oct 19, 2026)
+ */
+public interface MetricsRegistry {
+
+    /**
+     * The registry whose metrics discard all the values. A 
+     * {@link MeteredPathfinder} over it skips the measuring altogether.
+     */
+    MetricsRegistry DISABLED = new MetricsRegistry() {
+
+        private final MetricCounter counter = () -> {};
+        private final MetricHistogram histogram = (value) -> {};
+
+        @Override
+        public MetricCounter counter(String name) {
+            return counter;
+        }
+
+        @Override
+        public MetricHistogram histogram(String name) {
+            return histogram;
+        }
+    };
+
+    MetricCounter counter(String name);
+
+    MetricHistogram histogram(String name);
+}
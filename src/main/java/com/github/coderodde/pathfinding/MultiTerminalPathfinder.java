@@ -0,0 +1,260 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.Objects;
+
+/**
+ * This class implements the shortest path queries between sets of nodes. 
+ * Instead of searching once per candidate pair, it runs a single Dijkstra 
+ * search seeded with all the nodes of one set at cost zero, so that the cost
+ * of a query depends on the explored region rather than on the number of 
+ * candidates. The edge weights must not be negative.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 19, 2026)
+ * @since 1.7 (Oct 19, 2026)
+ */
+public final class MultiTerminalPathfinder implements Pathfinder {
+
+    @Override
+    public WeightedPath search(TreeView tree, 
+                               int sourceNodeId, 
+                               int targetNodeId) {
+        Objects.requireNonNull(tree, "The tree is null.");
+        checkTerminalNodes(tree, sourceNodeId, targetNodeId);
+
+        return searchNearest(tree, 
+                             new int[]{ sourceNodeId }, 
+                             new int[]{ targetNodeId });
+    }
+
+    /**
+     * Finds the cheapest path over all the pairs of a source node and a target
+     * node. The first node of the returned path is the source of the pair, 
+     * the last one is the target.
+     * 
+     * @param tree      the tree to search.
+     * @param sourceIds the IDs of the source nodes.
+     * @param targetIds the IDs of the target nodes.
+     * @return the cheapest source-target path.
+     * @throws PathNotFoundException if no target is reachable from any 
+     *                               source.
+     */
+    public WeightedPath searchNearest(TreeView tree, 
+                                      int[] sourceIds, 
+                                      int[] targetIds) {
+
+        Objects.requireNonNull(tree, "The tree is null.");
+        checkTerminalNodes(tree, sourceIds, "source");
+        checkTerminalNodes(tree, targetIds, "target");
+
+        SearchContext context = 
+                SearchContext.acquire(tree.getNumberOfNodes());
+
+        try {
+            DenseIntMap targets = context.distancesBackward;
+
+            for (int targetId : targetIds) {
+                targets.put(tree.getNodeIndex(targetId), 0);
+            }
+
+            seed(tree, sourceIds, context);
+
+            IndexedDoubleHeap heap = context.heapForward;
+
+            while (!heap.isEmpty()) {
+                int currentIndex = heap.extractMinimum();
+                context.distancesForward.put(currentIndex, 0);
+
+                if (targets.containsKey(currentIndex)) {
+                    return context.tracebackPath(tree, currentIndex);
+                }
+
+                relax(tree, currentIndex, context);
+            }
+
+            throw new PathNotFoundException(
+                    "Path not found from any of " 
+                            + sourceIds.length 
+                            + " sources to any of " 
+                            + targetIds.length 
+                            + " targets.");
+        } finally {
+            context.release();
+        }
+    }
+
+    /**
+     * Finds for each source node the path to its nearest target node. The 
+     * search starts from all the targets at once and stops as soon as all 
+     * the sources are reached.
+     * 
+     * @param tree      the tree to search.
+     * @param sourceIds the IDs of the source nodes.
+     * @param targetIds the IDs of the target nodes.
+     * @return the array whose {@code i}th path leads from 
+     *         {@code sourceIds[i]} to its nearest target, or is {@code null} 
+     *         if no target is reachable from it.
+     */
+    public WeightedPath[] searchNearestPerSource(TreeView tree,
+                                                 int[] sourceIds,
+                                                 int[] targetIds) {
+
+        Objects.requireNonNull(tree, "The tree is null.");
+        checkTerminalNodes(tree, sourceIds, "source");
+        checkTerminalNodes(tree, targetIds, "target");
+
+        WeightedPath[] paths = new WeightedPath[sourceIds.length];
+
+        if (sourceIds.length == 0) {
+            return paths;
+        }
+
+        SearchContext context = 
+                SearchContext.acquire(tree.getNumberOfNodes());
+
+        try {
+            DenseIntMap sources = context.distancesBackward;
+
+            for (int sourceId : sourceIds) {
+                sources.put(tree.getNodeIndex(sourceId), 0);
+            }
+
+            // Search backwards, so that the parents lead to the targets:
+            seed(tree, targetIds, context);
+
+            IndexedDoubleHeap heap = context.heapForward;
+            int remainingSources = sources.size();
+
+            while (!heap.isEmpty()) {
+                int currentIndex = heap.extractMinimum();
+                context.distancesForward.put(currentIndex, 0);
+
+                if (sources.containsKey(currentIndex) 
+                        && --remainingSources == 0) {
+                    break;
+                }
+
+                relax(tree, currentIndex, context);
+            }
+
+            for (int i = 0; i < sourceIds.length; i++) {
+                int sourceIndex = tree.getNodeIndex(sourceIds[i]);
+
+                if (context.distancesForward.containsKey(sourceIndex)) {
+                    paths[i] = tracebackTowardsRoot(tree, 
+                                                    sourceIndex, 
+                                                    context);
+                }
+            }
+
+            return paths;
+        } finally {
+            context.release();
+        }
+    }
+
+    private static void seed(TreeView tree, 
+                             int[] rootIds, 
+                             SearchContext context) {
+        int numberOfNodes = tree.getNumberOfNodes();
+        context.heapForward.clear(numberOfNodes);
+        context.costsForward.clear(numberOfNodes);
+
+        for (int rootId : rootIds) {
+            int rootIndex = tree.getNodeIndex(rootId);
+            context.heapForward.insertOrDecreaseKey(rootIndex, 0.0);
+            context.costsForward.put(rootIndex, 0.0);
+            context.parentsForward.put(rootIndex, TreeView.NO_NODE);
+        }
+    }
+
+    /**
+     * Relaxes all the edges of the settled node {@code currentIndex} leading
+     * to unsettled nodes.
+     */
+    private static void relax(TreeView tree, 
+                              int currentIndex, 
+                              SearchContext context) {
+        IndexedDoubleHeap heap = context.heapForward;
+        DenseDoubleMap costs = context.costsForward;
+        DenseIntMap parentMap = context.parentsForward;
+        DenseIntMap settled = context.distancesForward;
+        double currentCost = costs.get(currentIndex);
+
+        for (int i = 0, degree = tree.getDegree(currentIndex); 
+                i < degree; 
+                i++) {
+            int neighborIndex = tree.getNeighborIndex(currentIndex, i);
+
+            if (settled.containsKey(neighborIndex)) {
+                continue;
+            }
+
+            double weight = tree.getNeighborWeight(currentIndex, i);
+
+            if (weight < 0.0) {
+                throw new IllegalStateException(
+                        "Negative edge weight " 
+                                + weight 
+                                + " between " 
+                                + tree.getNodeId(currentIndex) 
+                                + " and " 
+                                + tree.getNodeId(neighborIndex) 
+                                + ".");
+            }
+
+            double neighborCost = currentCost + weight;
+
+            if (costs.containsKey(neighborIndex) 
+                    && costs.get(neighborIndex) <= neighborCost) {
+                continue;
+            }
+
+            costs.put(neighborIndex, neighborCost);
+            parentMap.put(neighborIndex, currentIndex);
+            heap.insertOrDecreaseKey(neighborIndex, neighborCost);
+        }
+    }
+
+    /**
+     * Builds the path from {@code index} to the root of 
+     * {@code context.parentsForward}. 
+     */
+    private static WeightedPath tracebackTowardsRoot(TreeView tree,
+                                                     int index,
+                                                     SearchContext context) {
+        DenseIntMap parentMap = context.parentsForward;
+        double totalCost = context.costsForward.get(index);
+        int numberOfNodes = 0;
+
+        for (int i = index; i != TreeView.NO_NODE; i = parentMap.get(i)) {
+            numberOfNodes++;
+        }
+
+        int[] nodeIds = new int[numberOfNodes];
+        
+        for (int i = 0; i < numberOfNodes; i++) {
+            nodeIds[i] = tree.getNodeId(index);
+            index = parentMap.get(index);
+        }
+
+        return new WeightedPath(tree, nodeIds, totalCost);
+    }
+
+    private static void checkTerminalNodes(TreeView tree,
+                                           int[] nodeIds, 
+                                           String role) {
+        Objects.requireNonNull(nodeIds, "The " + role + " IDs are null.");
+
+        for (int nodeId : nodeIds) {
+            if (!tree.containsNodeId(nodeId)) {
+                throw new IllegalStateException(
+                        "The " 
+                                + role 
+                                + " node " 
+                                + nodeId 
+                                + " is not in the input graph.");
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.github.coderodde.pathfinding;
+
+/**
+ * This enumeration lists the node orders a {@link WeightedTree} may be
+ * relabeled into via {@link WeightedTree#relabel(NodeOrdering)}. Both orders
+ * place the nodes visited close to each other in a traversal close to each
+ * other in memory as well.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 19, 2026)
+ * @since 1.7 (Oct 19, 2026)
+ */
+public enum NodeOrdering {
+
+    /**
+     * Numbers the nodes level by level, so that the children of each node
+     * occupy a contiguous range of indices.
+     */
+    BREADTH_FIRST {
+
+        @Override
+        int[] computeOrder(WeightedTree tree) {
+            int numberOfNodes = tree.getNumberOfNodes();
+            int[] order = new int[numberOfNodes];
+            boolean[] visited = new boolean[numberOfNodes];
+            int head = 0;
+            int tail = 0;
+
+            for (int root = 0; root < numberOfNodes; root++) {
+                if (visited[root]) {
+                    continue;
+                }
+
+                visited[root] = true;
+                order[tail++] = root;
+
+                // The order array doubles as the queue:
+                while (head < tail) {
+                    int index = order[head++];
+
+                    for (int i = 0; i < tree.getDegree(index); i++) {
+                        int neighborIndex = tree.getNeighborIndex(index, i);
+
+                        if (!visited[neighborIndex]) {
+                            visited[neighborIndex] = true;
+                            order[tail++] = neighborIndex;
+                        }
+                    }
+                }
+            }
+
+            return order;
+        }
+    },
+
+    /**
+     * Numbers the nodes in depth-first pre-order, so that each subtree
+     * occupies a contiguous range of indices.
+     */
+    DEPTH_FIRST_PREORDER {
+
+        @Override
+        int[] computeOrder(WeightedTree tree) {
+            int numberOfNodes = tree.getNumberOfNodes();
+            int[] order = new int[numberOfNodes];
+            boolean[] visited = new boolean[numberOfNodes];
+            int[] stack = new int[numberOfNodes];
+            int[] positions = new int[numberOfNodes];
+            int size = 0;
+
+            for (int root = 0; root < numberOfNodes; root++) {
+                if (visited[root]) {
+                    continue;
+                }
+
+                visited[root] = true;
+                order[size++] = root;
+
+                int stackSize = 0;
+                stack[stackSize++] = root;
+
+                while (stackSize > 0) {
+                    int index = stack[stackSize - 1];
+
+                    if (positions[index] == tree.getDegree(index)) {
+                        stackSize--;
+                        continue;
+                    }
+
+                    int neighborIndex =
+                            tree.getNeighborIndex(index, positions[index]++);
+
+                    if (!visited[neighborIndex]) {
+                        visited[neighborIndex] = true;
+                        order[size++] = neighborIndex;
+                        stack[stackSize++] = neighborIndex;
+                    }
+                }
+            }
+
+            return order;
+        }
+    };
+
+    /**
+     * Computes the new order of the nodes of {@code tree}: the entry at
+     * position {@code i} is the current index of the node that is to receive
+     * the index {@code i}.
+     */
+    abstract int[] computeOrder(WeightedTree tree);
+}
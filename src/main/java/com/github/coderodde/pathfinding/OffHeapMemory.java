@@ -0,0 +1,91 @@
+package com.github.coderodde.pathfinding;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+
+/**
+ * This class implements a fixed-size block of memory outside the Java heap,
+ * addressed by {@code long} byte offsets. Since a single direct buffer cannot
+ * exceed 2 GiB, the block is split into pages of {@code 2^30} bytes. A value
+ * never straddles two pages as long as its offset is a multiple of its size.
+ * <p>
+ * The garbage collector only ever sees the few page buffers, regardless of
+ * their size. It releases the native memory of a page once the page becomes
+ * unreachable, which {@link #close()} brings about without waiting for this
+ * object to become unreachable as well.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 19, 2026)
+ * @since 1.7 (Oct 19, 2026)
+ */
+final class OffHeapMemory {
+
+    private static final int PAGE_SHIFT = 30;
+    private static final long PAGE_SIZE = 1L << PAGE_SHIFT;
+    private static final long PAGE_MASK = PAGE_SIZE - 1;
+
+    private static final ByteBuffer[] NO_PAGES = new ByteBuffer[0];
+
+    private ByteBuffer[] pages;
+    private long byteSize;
+
+    OffHeapMemory(long byteSize) {
+        if (byteSize < 0L) {
+            throw new IllegalArgumentException(
+                    "Negative byte size: " + byteSize + ".");
+        }
+
+        int numberOfPages = (int)((byteSize + PAGE_MASK) >>> PAGE_SHIFT);
+        this.pages = new ByteBuffer[numberOfPages];
+        this.byteSize = byteSize;
+
+        for (int i = 0; i < numberOfPages; i++) {
+            long pageSize = Math.min(PAGE_SIZE, byteSize - i * PAGE_SIZE);
+
+            pages[i] = ByteBuffer.allocateDirect((int) pageSize)
+                                 .order(ByteOrder.nativeOrder());
+        }
+    }
+
+    long getByteSize() {
+        return byteSize;
+    }
+
+    /**
+     * Drops the pages of this block. Any further access fails.
+     */
+    void close() {
+        pages = NO_PAGES;
+        byteSize = 0L;
+    }
+
+    int getInt(long offset) {
+        return pages[(int)(offset >>> PAGE_SHIFT)]
+                .getInt((int)(offset & PAGE_MASK));
+    }
+
+    void putInt(long offset, int value) {
+        pages[(int)(offset >>> PAGE_SHIFT)]
+                .putInt((int)(offset & PAGE_MASK), value);
+    }
+
+    long getLong(long offset) {
+        return pages[(int)(offset >>> PAGE_SHIFT)]
+                .getLong((int)(offset & PAGE_MASK));
+    }
+
+    void putLong(long offset, long value) {
+        pages[(int)(offset >>> PAGE_SHIFT)]
+                .putLong((int)(offset & PAGE_MASK), value);
+    }
+
+    double getDouble(long offset) {
+        return pages[(int)(offset >>> PAGE_SHIFT)]
+                .getDouble((int)(offset & PAGE_MASK));
+    }
+
+    void putDouble(long offset, double value) {
+        pages[(int)(offset >>> PAGE_SHIFT)]
+                .putDouble((int)(offset & PAGE_MASK), value);
+    }
+}
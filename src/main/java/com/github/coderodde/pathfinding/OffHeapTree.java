@@ -0,0 +1,473 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.Objects;
+
+/**
+ * This class implements an immutable tree whose adjacency, edge weights and
+ * node IDs all reside outside the Java heap. The adjacency lists are laid out
+ * back to back in compressed sparse row form; node IDs are resolved by binary
+ * search over an off-heap sorted copy of the IDs. Since the garbage collector
+ * never scans the off-heap memory, heap usage and collection pauses do not
+ * grow with the tree.
+ * <p>
+ * The memory comes from direct buffers, whose total size is capped by the 
+ * JVM option {@code -XX:MaxDirectMemorySize}. The cap defaults to the maximum
+ * heap size, so a tree larger than the heap needs the option set explicitly,
+ * for instance {@code -XX:MaxDirectMemorySize=64g}. The native memory is 
+ * released only once the garbage collector finds the buffers unreachable; 
+ * {@link #close()} drops them right away, so that the next collection frees
+ * the memory even while the tree object itself is still referenced.
+ * <p>
+ * A tree too large for the heap is assembled by a {@link Builder}, which 
+ * appends the nodes and the edges straight to off-heap memory and lays out
+ * the adjacency only once all of them are known.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 19, 2026)
+ * @since 1.7 (Oct 19, 2026)
+ */
+public final class OffHeapTree implements TreeView, AutoCloseable {
+
+    private final int numberOfNodes;
+
+    // offsets[i] is the position of the first neighbor of the node i:
+    private final OffHeapMemory offsets;
+    private final OffHeapMemory neighborIndices;
+    private final OffHeapMemory neighborWeights;
+    private final OffHeapMemory nodeIds;
+
+    // The node IDs in ascending order and their respective indices:
+    private final OffHeapMemory sortedNodeIds;
+    private final OffHeapMemory sortedNodeIndices;
+
+    private OffHeapTree(int numberOfNodes, long numberOfArcs) {
+        this(numberOfNodes,
+             numberOfArcs,
+             new OffHeapMemory(4L * numberOfNodes),
+             new OffHeapMemory(4L * numberOfNodes),
+             new OffHeapMemory(4L * numberOfNodes));
+    }
+
+    private OffHeapTree(int numberOfNodes, 
+                        long numberOfArcs,
+                        OffHeapMemory nodeIds,
+                        OffHeapMemory sortedNodeIds,
+                        OffHeapMemory sortedNodeIndices) {
+        this.numberOfNodes = numberOfNodes;
+        this.offsets = new OffHeapMemory(8L * (numberOfNodes + 1));
+        this.neighborIndices = new OffHeapMemory(4L * numberOfArcs);
+        this.neighborWeights = new OffHeapMemory(8L * numberOfArcs);
+        this.nodeIds = nodeIds;
+        this.sortedNodeIds = sortedNodeIds;
+        this.sortedNodeIndices = sortedNodeIndices;
+    }
+
+    /**
+     * Copies the entire {@code tree} to off-heap memory. Once the copy is
+     * made, the source tree may be discarded.
+     *
+     * @param tree the tree to copy.
+     * @return the off-heap copy of the tree.
+     */
+    public static OffHeapTree of(TreeView tree) {
+        Objects.requireNonNull(tree, "The tree is null.");
+        int numberOfNodes = tree.getNumberOfNodes();
+        long numberOfArcs = 0L;
+
+        for (int index = 0; index < numberOfNodes; index++) {
+            numberOfArcs += tree.getDegree(index);
+        }
+
+        OffHeapTree offHeapTree = new OffHeapTree(numberOfNodes, numberOfArcs);
+        long offset = 0L;
+
+        for (int index = 0; index < numberOfNodes; index++) {
+            int nodeId = tree.getNodeId(index);
+            offHeapTree.offsets.putLong(8L * index, offset);
+            offHeapTree.nodeIds.putInt(4L * index, nodeId);
+            offHeapTree.sortedNodeIds.putInt(4L * index, nodeId);
+            offHeapTree.sortedNodeIndices.putInt(4L * index, index);
+
+            for (int i = 0, degree = tree.getDegree(index); i < degree; i++) {
+                offHeapTree.neighborIndices.putInt(
+                        4L * offset,
+                        tree.getNeighborIndex(index, i));
+
+                offHeapTree.neighborWeights.putDouble(
+                        8L * offset,
+                        tree.getNeighborWeight(index, i));
+
+                offset++;
+            }
+        }
+
+        offHeapTree.offsets.putLong(8L * numberOfNodes, offset);
+        offHeapTree.sortNodeIds();
+        return offHeapTree;
+    }
+
+    /**
+     * Starts building a tree of at most {@code maximumNumberOfNodes} nodes 
+     * and {@code maximumNumberOfEdges} edges without an on-heap copy.
+     */
+    public static Builder builder(int maximumNumberOfNodes, 
+                                  long maximumNumberOfEdges) {
+        return new Builder(maximumNumberOfNodes, maximumNumberOfEdges);
+    }
+
+    @Override
+    public int getNumberOfNodes() {
+        return numberOfNodes;
+    }
+
+    @Override
+    public int getNodeIndex(int nodeId) {
+        int low = 0;
+        int high = numberOfNodes - 1;
+
+        while (low <= high) {
+            int middle = (low + high) >>> 1;
+            int middleNodeId = sortedNodeIds.getInt(4L * middle);
+
+            if (middleNodeId < nodeId) {
+                low = middle + 1;
+            } else if (middleNodeId > nodeId) {
+                high = middle - 1;
+            } else {
+                return sortedNodeIndices.getInt(4L * middle);
+            }
+        }
+
+        return NO_NODE;
+    }
+
+    @Override
+    public int getNodeId(int index) {
+        return nodeIds.getInt(4L * index);
+    }
+
+    @Override
+    public int getDegree(int index) {
+        return (int)(offsets.getLong(8L * (index + 1))
+                   - offsets.getLong(8L * index));
+    }
+
+    @Override
+    public int getNeighborIndex(int index, int position) {
+        return neighborIndices.getInt(
+                4L * (offsets.getLong(8L * index) + position));
+    }
+
+    @Override
+    public double getNeighborWeight(int index, int position) {
+        return neighborWeights.getDouble(
+                8L * (offsets.getLong(8L * index) + position));
+    }
+
+    /**
+     * Sorts {@link #sortedNodeIds} along with {@link #sortedNodeIndices}. The
+     * sort is a heapsort, so that it takes no memory beyond the two blocks
+     * themselves, on the heap or off it.
+     */
+    private void sortNodeIds() {
+        for (int i = numberOfNodes / 2 - 1; i >= 0; i--) {
+            siftDown(i, numberOfNodes);
+        }
+
+        for (int size = numberOfNodes - 1; size > 0; size--) {
+            int nodeId = sortedNodeIds.getInt(0L);
+            int index = sortedNodeIndices.getInt(0L);
+            sortedNodeIds.putInt(0L, sortedNodeIds.getInt(4L * size));
+            sortedNodeIndices.putInt(0L, sortedNodeIndices.getInt(4L * size));
+            sortedNodeIds.putInt(4L * size, nodeId);
+            sortedNodeIndices.putInt(4L * size, index);
+            siftDown(0, size);
+        }
+    }
+
+    private void siftDown(int i, int size) {
+        int nodeId = sortedNodeIds.getInt(4L * i);
+        int index = sortedNodeIndices.getInt(4L * i);
+
+        while (true) {
+            long child = 2L * i + 1L;
+
+            if (child >= size) {
+                break;
+            }
+
+            int childNodeId = sortedNodeIds.getInt(4L * child);
+
+            if (child + 1L < size) {
+                int rightNodeId = sortedNodeIds.getInt(4L * (child + 1L));
+
+                if (rightNodeId > childNodeId) {
+                    child++;
+                    childNodeId = rightNodeId;
+                }
+            }
+
+            if (childNodeId <= nodeId) {
+                break;
+            }
+
+            sortedNodeIds.putInt(4L * i, childNodeId);
+            sortedNodeIndices.putInt(4L * i, 
+                                     sortedNodeIndices.getInt(4L * child));
+            i = (int) child;
+        }
+
+        sortedNodeIds.putInt(4L * i, nodeId);
+        sortedNodeIndices.putInt(4L * i, index);
+    }
+
+    /**
+     * Returns the total amount of off-heap memory held by this tree in bytes.
+     */
+    public long getByteSize() {
+        return offsets.getByteSize()
+             + neighborIndices.getByteSize()
+             + neighborWeights.getByteSize()
+             + nodeIds.getByteSize()
+             + sortedNodeIds.getByteSize()
+             + sortedNodeIndices.getByteSize();
+    }
+
+    /**
+     * Drops the off-heap memory of this tree. The tree must not be used 
+     * afterwards.
+     */
+    @Override
+    public void close() {
+        offsets.close();
+        neighborIndices.close();
+        neighborWeights.close();
+        nodeIds.close();
+        sortedNodeIds.close();
+        sortedNodeIndices.close();
+    }
+
+    /**
+     * This class assembles an {@link OffHeapTree} in off-heap memory only. 
+     * The nodes are indexed in the order they are added; their IDs go 
+     * straight to the final blocks, whereas the edges are kept in a 
+     * temporary block of 16 bytes per edge until {@link #build()}. The build 
+     * sorts the IDs in place, counts the degrees in the offset block, and 
+     * scatters each edge to both its endpoints, so the heap usage stays 
+     * constant however large the tree is.
+     * <p>
+     * The edges are not deduplicated, so each must be added once.
+     */
+    public static final class Builder {
+
+        private final int maximumNumberOfNodes;
+        private final long maximumNumberOfEdges;
+        private final OffHeapMemory nodeIds;
+        private final OffHeapMemory sortedNodeIds;
+        private final OffHeapMemory sortedNodeIndices;
+
+        // Each edge as its two endpoint IDs followed by its weight:
+        private final OffHeapMemory edges;
+
+        private int numberOfNodes;
+        private long numberOfEdges;
+        private boolean built;
+
+        private Builder(int maximumNumberOfNodes, long maximumNumberOfEdges) {
+            if (maximumNumberOfNodes < 0) {
+                throw new IllegalArgumentException(
+                        "Negative number of nodes: " 
+                                + maximumNumberOfNodes 
+                                + ".");
+            }
+
+            if (maximumNumberOfEdges < 0L) {
+                throw new IllegalArgumentException(
+                        "Negative number of edges: " 
+                                + maximumNumberOfEdges 
+                                + ".");
+            }
+
+            this.maximumNumberOfNodes = maximumNumberOfNodes;
+            this.maximumNumberOfEdges = maximumNumberOfEdges;
+            this.nodeIds = new OffHeapMemory(4L * maximumNumberOfNodes);
+            this.sortedNodeIds = new OffHeapMemory(4L * maximumNumberOfNodes);
+            this.sortedNodeIndices = 
+                    new OffHeapMemory(4L * maximumNumberOfNodes);
+
+            this.edges = new OffHeapMemory(16L * maximumNumberOfEdges);
+        }
+
+        public void addNode(int nodeId) {
+            checkNotBuilt();
+
+            if (numberOfNodes == maximumNumberOfNodes) {
+                throw new IllegalStateException(
+                        "More than " + maximumNumberOfNodes + " nodes.");
+            }
+
+            nodeIds.putInt(4L * numberOfNodes, nodeId);
+            sortedNodeIds.putInt(4L * numberOfNodes, nodeId);
+            sortedNodeIndices.putInt(4L * numberOfNodes, numberOfNodes);
+            numberOfNodes++;
+        }
+
+        public void addNodes(int[] nodeIds) {
+            Objects.requireNonNull(nodeIds, "The node IDs are null.");
+
+            for (int nodeId : nodeIds) {
+                addNode(nodeId);
+            }
+        }
+
+        /**
+         * Adds the edge between the two nodes. The nodes need not be added 
+         * yet, but must be by the time the tree is built.
+         */
+        public void addEdge(int nodeId1, int nodeId2, double weight) {
+            checkNotBuilt();
+
+            if (nodeId1 == nodeId2) {
+                throw new IllegalArgumentException(
+                        "Self-loop at node " + nodeId1 + ".");
+            }
+
+            if (numberOfEdges == maximumNumberOfEdges) {
+                throw new IllegalStateException(
+                        "More than " + maximumNumberOfEdges + " edges.");
+            }
+
+            long offset = 16L * numberOfEdges++;
+            edges.putInt(offset, nodeId1);
+            edges.putInt(offset + 4L, nodeId2);
+            edges.putDouble(offset + 8L, weight);
+        }
+
+        /**
+         * Adds the edge between {@code nodeIds1[i]} and {@code nodeIds2[i]} 
+         * with the weight {@code weights[i]} for each {@code i}.
+         */
+        public void addEdges(int[] nodeIds1, int[] nodeIds2, double[] weights) {
+            Objects.requireNonNull(nodeIds1, "The first endpoints are null.");
+            Objects.requireNonNull(nodeIds2, "The second endpoints are null.");
+            Objects.requireNonNull(weights, "The weights are null.");
+
+            if (nodeIds1.length != nodeIds2.length 
+                    || nodeIds1.length != weights.length) {
+                throw new IllegalArgumentException(
+                        "The endpoint and weight arrays differ in length.");
+            }
+
+            for (int i = 0; i < nodeIds1.length; i++) {
+                addEdge(nodeIds1[i], nodeIds2[i], weights[i]);
+            }
+        }
+
+        /**
+         * Lays out the tree and hands the node blocks over to it, after which
+         * this builder can no longer be used.
+         *
+         * @throws IllegalStateException if a node ID is added twice, or an 
+         *                               edge refers to a missing node.
+         */
+        public OffHeapTree build() {
+            checkNotBuilt();
+            built = true;
+
+            try {
+                OffHeapTree tree = new OffHeapTree(numberOfNodes, 
+                                                   2L * numberOfEdges,
+                                                   nodeIds, 
+                                                   sortedNodeIds, 
+                                                   sortedNodeIndices);
+                tree.sortNodeIds();
+                checkUniqueNodeIds();
+
+                // Resolve the endpoints once, and count the degree of each 
+                // node i in offsets[i + 1]:
+                for (long offset = 0L; 
+                        offset < 16L * numberOfEdges; 
+                        offset += 16L) {
+                    int index1 = resolveIndex(tree, edges.getInt(offset));
+                    int index2 = resolveIndex(tree, edges.getInt(offset + 4L));
+                    edges.putInt(offset, index1);
+                    edges.putInt(offset + 4L, index2);
+                    incrementOffset(tree, index1 + 1);
+                    incrementOffset(tree, index2 + 1);
+                }
+
+                for (int index = 1; index <= numberOfNodes; index++) {
+                    tree.offsets.putLong(
+                            8L * index, 
+                            tree.offsets.getLong(8L * index) 
+                                    + tree.offsets.getLong(8L * (index - 1)));
+                }
+
+                // Use offsets[i] as the next free position of the node i, 
+                // which leaves the offset of the node i + 1 in it:
+                for (long offset = 0L; 
+                        offset < 16L * numberOfEdges; 
+                        offset += 16L) {
+                    int index1 = edges.getInt(offset);
+                    int index2 = edges.getInt(offset + 4L);
+                    double weight = edges.getDouble(offset + 8L);
+                    appendArc(tree, index1, index2, weight);
+                    appendArc(tree, index2, index1, weight);
+                }
+
+                for (int index = numberOfNodes; index > 0; index--) {
+                    tree.offsets.putLong(8L * index, 
+                                         tree.offsets.getLong(
+                                                 8L * (index - 1)));
+                }
+
+                tree.offsets.putLong(0L, 0L);
+                return tree;
+            } finally {
+                edges.close();
+            }
+        }
+
+        private void checkNotBuilt() {
+            if (built) {
+                throw new IllegalStateException("The tree is already built.");
+            }
+        }
+
+        private void checkUniqueNodeIds() {
+            for (int i = 1; i < numberOfNodes; i++) {
+                int nodeId = sortedNodeIds.getInt(4L * i);
+
+                if (nodeId == sortedNodeIds.getInt(4L * (i - 1))) {
+                    throw new IllegalStateException(
+                            "Duplicate node " + nodeId + ".");
+                }
+            }
+        }
+
+        private static int resolveIndex(OffHeapTree tree, int nodeId) {
+            int index = tree.getNodeIndex(nodeId);
+
+            if (index == NO_NODE) {
+                throw new IllegalStateException("No node " + nodeId + ".");
+            }
+
+            return index;
+        }
+
+        private static void incrementOffset(OffHeapTree tree, int index) {
+            tree.offsets.putLong(8L * index, 
+                                 tree.offsets.getLong(8L * index) + 1L);
+        }
+
+        private static void appendArc(OffHeapTree tree,
+                                      int index,
+                                      int neighborIndex, 
+                                      double weight) {
+            long position = tree.offsets.getLong(8L * index);
+            tree.neighborIndices.putInt(4L * position, neighborIndex);
+            tree.neighborWeights.putDouble(8L * position, weight);
+            tree.offsets.putLong(8L * index, position + 1L);
+        }
+    }
+}
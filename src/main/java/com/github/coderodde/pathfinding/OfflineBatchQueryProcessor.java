@@ -0,0 +1,369 @@
+package com.github.coderodde.pathfinding;
+
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * This class answers large batches of (source, target) queries against a 
+ * static forest by Tarjan's offline lowest common ancestor algorithm. The 
+ * forest is rooted once; each batch is then answered by a single pass over 
+ * the postorder of the forest with a union-find, so a batch of {@code q} 
+ * queries over {@code n} nodes takes {@code O(n + q α(n))} time.
+ * <p>
+ * Query files are processed in chunks of {@code chunkSize} queries, so that 
+ * the memory stays proportional to the forest and the chunk rather than to 
+ * the whole file. A query file is a sequence of big-endian {@code int} pairs 
+ * (source ID, target ID); the answer file receives, for each query in the 
+ * same order, the big-endian {@code double} cost and {@code int} hop count of
+ * the path. Unreachable or unknown terminals are answered with {@code NaN} 
+ * and {@code -1}.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 19, 2026)
+ * @since 1.7 (Oct 19, 2026)
+ */
+public final class OfflineBatchQueryProcessor {
+
+    /**
+     * The number of bytes per query in a query file.
+     */
+    public static final int QUERY_BYTES = 8;
+
+    /**
+     * The number of bytes per answer in an answer file.
+     */
+    public static final int ANSWER_BYTES = 12;
+
+    private static final int MINIMUM_CHUNK_SIZE = 1 << 16;
+    private static final int BUFFER_SIZE = 1 << 16;
+
+    private final TreeView tree;
+    private final long treeVersion;
+    private final int chunkSize;
+
+    // The roots are their own parents:
+    private final int[] parents;
+    private final int[] roots;
+    private final int[] depths;
+    private final double[] rootDistances;
+
+    // All the nodes, each after its whole subtree:
+    private final int[] postorder;
+
+    /**
+     * Constructs a processor reading chunks of as many queries as there are 
+     * nodes, but at least {@code 2^16}.
+     */
+    public OfflineBatchQueryProcessor(TreeView tree) {
+        this(tree, 
+             Math.max(MINIMUM_CHUNK_SIZE, 
+                      Objects.requireNonNull(tree, "The tree is null.")
+                             .getNumberOfNodes()));
+    }
+
+    public OfflineBatchQueryProcessor(TreeView tree, int chunkSize) {
+        this.tree = Objects.requireNonNull(tree, "The tree is null.");
+
+        if (chunkSize < 1) {
+            throw new IllegalArgumentException(
+                    "The chunk size must be positive: " + chunkSize + ".");
+        }
+
+        this.treeVersion = tree.getVersion();
+        this.chunkSize = chunkSize;
+
+        int numberOfNodes = tree.getNumberOfNodes();
+        this.parents = new int[numberOfNodes];
+        this.roots = new int[numberOfNodes];
+        this.depths = new int[numberOfNodes];
+        this.rootDistances = new double[numberOfNodes];
+        this.postorder = new int[numberOfNodes];
+        buildForest();
+    }
+
+    /**
+     * Answers the first {@code numberOfQueries} queries in 
+     * {@code sourceIds} and {@code targetIds}, writing the path costs to 
+     * {@code costs} and the hop counts to {@code hops}.
+     */
+    public void answer(int[] sourceIds,
+                       int[] targetIds,
+                       int numberOfQueries,
+                       double[] costs,
+                       int[] hops) {
+        checkVersion();
+
+        int numberOfNodes = tree.getNumberOfNodes();
+        int[] sourceIndices = new int[numberOfQueries];
+        int[] targetIndices = new int[numberOfQueries];
+
+        // Group the queries by both terminals in compressed sparse row form:
+        int[] offsets = new int[numberOfNodes + 1];
+
+        for (int q = 0; q < numberOfQueries; q++) {
+            int sourceIndex = tree.getNodeIndex(sourceIds[q]);
+            int targetIndex = tree.getNodeIndex(targetIds[q]);
+
+            if (sourceIndex == TreeView.NO_NODE 
+                    || targetIndex == TreeView.NO_NODE
+                    || roots[sourceIndex] != roots[targetIndex]) {
+                sourceIndices[q] = TreeView.NO_NODE;
+                costs[q] = Double.NaN;
+                hops[q] = -1;
+                continue;
+            }
+
+            sourceIndices[q] = sourceIndex;
+            targetIndices[q] = targetIndex;
+            offsets[sourceIndex + 1]++;
+            offsets[targetIndex + 1]++;
+        }
+
+        for (int i = 0; i < numberOfNodes; i++) {
+            offsets[i + 1] += offsets[i];
+        }
+
+        int[] queries = new int[offsets[numberOfNodes]];
+        int[] positions = Arrays.copyOf(offsets, numberOfNodes);
+
+        for (int q = 0; q < numberOfQueries; q++) {
+            if (sourceIndices[q] != TreeView.NO_NODE) {
+                queries[positions[sourceIndices[q]]++] = q;
+                queries[positions[targetIndices[q]]++] = q;
+            }
+        }
+
+        int[] sets = new int[numberOfNodes];
+        int[] setSizes = new int[numberOfNodes];
+        int[] setAncestors = new int[numberOfNodes];
+        boolean[] finished = new boolean[numberOfNodes];
+
+        for (int i = 0; i < numberOfNodes; i++) {
+            sets[i] = i;
+            setSizes[i] = 1;
+            setAncestors[i] = i;
+        }
+
+        for (int index : postorder) {
+            finished[index] = true;
+
+            // A query is answered at whichever of its terminals finishes 
+            // last:
+            for (int i = offsets[index]; i < offsets[index + 1]; i++) {
+                int q = queries[i];
+                int otherIndex = sourceIndices[q] == index 
+                        ? targetIndices[q] 
+                        : sourceIndices[q];
+
+                if (finished[otherIndex]) {
+                    int ancestorIndex = setAncestors[find(sets, otherIndex)];
+
+                    costs[q] = rootDistances[index] 
+                             + rootDistances[otherIndex] 
+                             - 2.0 * rootDistances[ancestorIndex];
+
+                    hops[q] = depths[index] 
+                            + depths[otherIndex] 
+                            - 2 * depths[ancestorIndex];
+                }
+            }
+
+            int parentIndex = parents[index];
+
+            if (parentIndex != index) {
+                int root = union(sets, setSizes, index, parentIndex);
+                setAncestors[root] = parentIndex;
+            }
+        }
+    }
+
+    /**
+     * Answers all the queries in {@code queryFile} into {@code answerFile}.
+     *
+     * @return the number of queries answered.
+     */
+    public long process(Path queryFile, Path answerFile) throws IOException {
+        Objects.requireNonNull(queryFile, "The query file is null.");
+        Objects.requireNonNull(answerFile, "The answer file is null.");
+        checkVersion();
+
+        int[] sourceIds = new int[chunkSize];
+        int[] targetIds = new int[chunkSize];
+        double[] costs = new double[chunkSize];
+        int[] hops = new int[chunkSize];
+        long numberOfQueries = 0L;
+
+        ByteBuffer inputBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        ByteBuffer outputBuffer = ByteBuffer.allocateDirect(BUFFER_SIZE);
+        inputBuffer.flip();
+
+        try (FileChannel input = 
+                    FileChannel.open(queryFile, StandardOpenOption.READ);
+             FileChannel output = 
+                    FileChannel.open(answerFile, 
+                                     StandardOpenOption.CREATE,
+                                     StandardOpenOption.TRUNCATE_EXISTING,
+                                     StandardOpenOption.WRITE)) {
+
+            while (true) {
+                int chunkLength = 0;
+
+                while (chunkLength < chunkSize) {
+                    if (inputBuffer.remaining() < QUERY_BYTES) {
+                        inputBuffer.compact();
+                        int bytesRead = input.read(inputBuffer);
+                        inputBuffer.flip();
+
+                        if (bytesRead == -1) {
+                            break;
+                        }
+
+                        continue;
+                    }
+
+                    sourceIds[chunkLength] = inputBuffer.getInt();
+                    targetIds[chunkLength] = inputBuffer.getInt();
+                    chunkLength++;
+                }
+
+                if (chunkLength == 0) {
+                    break;
+                }
+
+                answer(sourceIds, targetIds, chunkLength, costs, hops);
+
+                for (int q = 0; q < chunkLength; q++) {
+                    if (outputBuffer.remaining() < ANSWER_BYTES) {
+                        drain(outputBuffer, output);
+                    }
+
+                    outputBuffer.putDouble(costs[q]);
+                    outputBuffer.putInt(hops[q]);
+                }
+
+                numberOfQueries += chunkLength;
+
+                if (chunkLength < chunkSize) {
+                    break;
+                }
+            }
+
+            if (inputBuffer.hasRemaining()) {
+                throw new IOException(
+                        "Truncated query file " + queryFile + ".");
+            }
+
+            drain(outputBuffer, output);
+        }
+
+        return numberOfQueries;
+    }
+
+    private static void drain(ByteBuffer buffer, FileChannel channel) 
+            throws IOException {
+        buffer.flip();
+
+        while (buffer.hasRemaining()) {
+            channel.write(buffer);
+        }
+
+        buffer.clear();
+    }
+
+    private static int find(int[] sets, int index) {
+        while (sets[index] != index) {
+            // Path halving:
+            sets[index] = sets[sets[index]];
+            index = sets[index];
+        }
+
+        return index;
+    }
+
+    /**
+     * Merges the sets of the two nodes and returns the root of the merged 
+     * set.
+     */
+    private static int union(int[] sets, 
+                             int[] setSizes, 
+                             int index1, 
+                             int index2) {
+        int root1 = find(sets, index1);
+        int root2 = find(sets, index2);
+
+        if (setSizes[root1] < setSizes[root2]) {
+            int tmp = root1;
+            root1 = root2;
+            root2 = tmp;
+        }
+
+        sets[root2] = root1;
+        setSizes[root1] += setSizes[root2];
+        return root1;
+    }
+
+    private void buildForest() {
+        int numberOfNodes = tree.getNumberOfNodes();
+        boolean[] visited = new boolean[numberOfNodes];
+        int[] stack = new int[numberOfNodes];
+        int[] neighborPositions = new int[numberOfNodes];
+        int numberOfFinishedNodes = 0;
+
+        for (int root = 0; root < numberOfNodes; root++) {
+            if (visited[root]) {
+                continue;
+            }
+
+            visited[root] = true;
+            parents[root] = root;
+            roots[root] = root;
+            int top = 0;
+            stack[top++] = root;
+
+            while (top > 0) {
+                int index = stack[top - 1];
+                int position = neighborPositions[index];
+
+                if (position == tree.getDegree(index)) {
+                    postorder[numberOfFinishedNodes++] = index;
+                    top--;
+                    continue;
+                }
+
+                neighborPositions[index]++;
+                int neighborIndex = tree.getNeighborIndex(index, position);
+
+                if (neighborIndex == parents[index] && index != root) {
+                    continue;
+                }
+
+                if (visited[neighborIndex]) {
+                    throw new IllegalStateException(
+                            "The tree contains a cycle.");
+                }
+
+                visited[neighborIndex] = true;
+                parents[neighborIndex] = index;
+                roots[neighborIndex] = root;
+                depths[neighborIndex] = depths[index] + 1;
+                rootDistances[neighborIndex] = 
+                        rootDistances[index] 
+                                + tree.getNeighborWeight(index, position);
+
+                stack[top++] = neighborIndex;
+            }
+        }
+    }
+
+    private void checkVersion() {
+        if (tree.getVersion() != treeVersion) {
+            throw new IllegalStateException(
+                    "The tree was modified after the processor was built.");
+        }
+    }
+}
@@ -0,0 +1,102 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * This class implements a reusable receiver of a path found by 
+ * {@link Pathfinder#searchInto(TreeView, int, int, PathBuffer)}. The node IDs
+ * are written into a primitive array that only grows, so that a thread 
+ * answering many queries with one buffer allocates nothing per query once 
+ * the buffer has reached the length of the longest path.
+ * <p>
+ * A buffer is not thread-safe, and each search overwrites the previous path.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 19, 2026)
+ * @since 1.7 (Oct 19, 2026)
+ */
+public final class PathBuffer {
+
+    private static final int DEFAULT_CAPACITY = 16;
+
+    private TreeView tree;
+    private int[] nodeIds;
+    private int numberOfNodes;
+    private double totalCost;
+
+    public PathBuffer(int initialCapacity) {
+        if (initialCapacity < 0) {
+            throw new IllegalArgumentException(
+                    "Negative initial capacity: " + initialCapacity + ".");
+        }
+
+        this.nodeIds = new int[initialCapacity];
+    }
+
+    public PathBuffer() {
+        this(DEFAULT_CAPACITY);
+    }
+
+    public int getNumberOfNodes() {
+        return numberOfNodes;
+    }
+
+    public int getNodeId(int index) {
+        Objects.checkIndex(index, numberOfNodes);
+        return nodeIds[index];
+    }
+
+    public double getTotalCost() {
+        return totalCost;
+    }
+
+    public int getCapacity() {
+        return nodeIds.length;
+    }
+
+    public int[] toArray() {
+        return Arrays.copyOf(nodeIds, numberOfNodes);
+    }
+
+    /**
+     * Copies the current path into a standalone {@link WeightedPath}.
+     */
+    public WeightedPath toWeightedPath() {
+        if (tree == null) {
+            throw new IllegalStateException("The buffer holds no path.");
+        }
+
+        return new WeightedPath(tree, toArray(), totalCost);
+    }
+
+    /**
+     * Prepares this buffer for a path of {@code numberOfNodes} nodes in 
+     * {@code tree} and returns the array to write them into. The old contents
+     * are not preserved on growth, since the caller overwrites them anyway.
+     */
+    int[] reset(TreeView tree, int numberOfNodes) {
+        if (nodeIds.length < numberOfNodes) {
+            nodeIds = new int[Math.max(numberOfNodes, 2 * nodeIds.length)];
+        }
+
+        this.tree = tree;
+        this.numberOfNodes = numberOfNodes;
+        this.totalCost = 0.0;
+        return nodeIds;
+    }
+
+    void setTotalCost(double totalCost) {
+        this.totalCost = totalCost;
+    }
+
+    void copyOf(TreeView tree, WeightedPath path) {
+        int[] target = reset(tree, path.getNumberOfNodes());
+
+        for (int i = 0; i < numberOfNodes; i++) {
+            target[i] = path.getNodeId(i);
+        }
+
+        totalCost = path.getTotalCost();
+    }
+}
@@ -0,0 +1,22 @@
+package com.github.coderodde.pathfinding;
+
+/**
+ * This interface specifies a receiver of a path streamed node by node in the
+ * source-to-target order.
+ * 
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 19, 2026)
+ * @since 1.7 (Oct 19, 2026)
+ */
+@FunctionalInterface
+public interface PathConsumer {
+    
+    /**
+     * Accepts the next node of the path.
+     * 
+     * @param nodeId     the ID of the node.
+     * @param edgeWeight the weight of the edge from the previous node, or 
+     *                   {@code 0.0} for the source node.
+     */
+    void accept(int nodeId, double edgeWeight);
+}
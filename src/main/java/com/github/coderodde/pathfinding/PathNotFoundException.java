@@ -5,4 +5,8 @@ public final class PathNotFoundException extends RuntimeException {
     public PathNotFoundException(int sourceId, int targetId) {
         super("Path not found from " + sourceId + " to " + targetId + ".");
     }
+
+    public PathNotFoundException(String message) {
+        super(message);
+    }
 }
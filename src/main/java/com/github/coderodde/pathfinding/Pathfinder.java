@@ -1,85 +1,89 @@
 package com.github.coderodde.pathfinding;
 
-import com.github.coderodde.pathfinding.WeightedTree.WeightedTreeNode;
-import java.util.ArrayList;
-import java.util.Collections;
-import java.util.List;
-import java.util.Map;
+import java.util.Objects;
 
 /**
  * This interface specifies the entry point to the tree shortest pathfinders.
+ * The pathfinders work on any {@link TreeView}, such as {@link WeightedTree}
+ * or {@link OffHeapTree}.
  * 
  * @author Rodion "rodde" Efremov
- * @version 1.6 (Nov 6, 2022)
+ * @version 1.7 (Oct 19, 2026)
  * @since 1.6 (Nov 6, 2022)
  */
 public interface Pathfinder {
     
-    WeightedPath search(WeightedTree tree, int sourceId, int targetId);
+    WeightedPath search(TreeView tree, int sourceId, int targetId);
     
-    default WeightedPath tracebackPath(
-            WeightedTree tree,
-            WeightedTreeNode targetNode,
-            Map<WeightedTreeNode, WeightedTreeNode> parentMap) {
+    /**
+     * Searches for a path within the given budget. The searching pathfinders
+     * check the budget on each expanded node; the default implementation 
+     * ignores it, which suits the pathfinders whose running time is bounded 
+     * by the path length.
+     * 
+     * @throws SearchBudgetExceededException if the search exceeds the budget.
+     */
+    default WeightedPath search(TreeView tree, 
+                                int sourceId, 
+                                int targetId, 
+                                SearchBudget budget) {
         
-        List<WeightedTreeNode> nodeList = tracebackImpl(tree, 
-                                                        targetNode,
-                                                        parentMap);
-        return new WeightedPath(tree, nodeList);
+        Objects.requireNonNull(budget, "The budget is null.");
+        return search(tree, sourceId, targetId);
     }
     
-    default WeightedPath tracebackPath(
-            WeightedTree tree,
-            WeightedTreeNode targetNode,
-            Map<WeightedTreeNode, WeightedTreeNode> parentMapForward,
-            Map<WeightedTreeNode, WeightedTreeNode> parentMapBackward) {
+    /**
+     * Finds the same path as {@link #search(TreeView, int, int)}, but writes
+     * it into {@code buffer} instead of allocating a {@link WeightedPath}. The
+     * default implementation searches first and copies the path; the 
+     * pathfinders able to trace the path straight from their search state 
+     * into the buffer override it.
+     * 
+     * @return the total cost of the path.
+     */
+    default double searchInto(TreeView tree, 
+                              int sourceId, 
+                              int targetId, 
+                              PathBuffer buffer) {
         
-        List<WeightedTreeNode> nodeList = tracebackImpl(tree, 
-                                                        targetNode,
-                                                        parentMapForward,
-                                                        parentMapBackward);
-        return new WeightedPath(tree, nodeList);
+        Objects.requireNonNull(buffer, "The buffer is null.");
+        buffer.copyOf(tree, search(tree, sourceId, targetId));
+        return buffer.getTotalCost();
     }
     
-    default List<WeightedTreeNode>
-         tracebackImpl(WeightedTree tree,
-                       WeightedTreeNode targetNode, 
-                       Map<WeightedTreeNode, WeightedTreeNode> parentMap) {
-             
-        List<WeightedTreeNode> path = new ArrayList<>();
-        WeightedTreeNode currentNode = targetNode;
+    /**
+     * Finds the same path as {@link #search(TreeView, int, int)}, but pushes 
+     * its nodes to {@code consumer} in the source-to-target order instead of 
+     * returning it. The default implementation searches first and resolves
+     * each node of the path to its index once, reading each weight from the 
+     * adjacency of the lower-degree endpoint instead of looking the edge up 
+     * by IDs; the pathfinders able to emit the path straight from their 
+     * search state override it.
+     * 
+     * @return the total cost of the path.
+     */
+    default double stream(TreeView tree, 
+                          int sourceId, 
+                          int targetId, 
+                          PathConsumer consumer) {
         
-        while (currentNode != null) {
-            path.add(currentNode);
-            currentNode = parentMap.get(currentNode);
-        }
-        
-        Collections.reverse(path);
-        return path;
-    }
-    
-    default List<WeightedTreeNode>
-        tracebackImpl(
-                WeightedTree tree,
-                WeightedTreeNode touchNode,
-                Map<WeightedTreeNode, WeightedTreeNode> parentsMapForward,
-                Map<WeightedTreeNode, WeightedTreeNode> parentsMapBackward) {
-            
-        List<WeightedTreeNode> path = tracebackImpl(tree, 
-                                                    touchNode,
-                                                    parentsMapForward);
-        
-        WeightedTreeNode currentNode = parentsMapBackward.get(touchNode);
+        Objects.requireNonNull(consumer, "The consumer is null.");
+        WeightedPath path = search(tree, sourceId, targetId);
+        int previousIndex = tree.getNodeIndex(sourceId);
+        consumer.accept(sourceId, 0.0);
         
-        while (currentNode != null) {
-            path.add(currentNode);
-            currentNode = parentsMapBackward.get(currentNode);
+        for (int i = 1; i < path.getNumberOfNodes(); i++) {
+            int nodeId = path.getNodeId(i);
+            int index = tree.getNodeIndex(nodeId);
+            consumer.accept(nodeId, 
+                            tree.getEdgeWeightByIndices(previousIndex, index));
+            previousIndex = index;
         }
         
-        return path;
+        return path.getTotalCost();
     }
      
-    default void checkTerminalNodes(WeightedTree tree, 
+    default void checkTerminalNodes(TreeView tree, 
                                     int sourceNodeId, 
                                     int targetNodeId) {
         
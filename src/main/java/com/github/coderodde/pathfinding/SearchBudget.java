@@ -0,0 +1,82 @@
+package com.github.coderodde.pathfinding;
+
+/**
+ * This class specifies the limits of a single search: the number of nodes it
+ * may expand, the number of nodes its frontier may hold at a time and the 
+ * time it may run. A search exceeding any of them throws a
+ * {@link SearchBudgetExceededException}.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 19, 2026)
+ * @since 1.7 (Oct 19, 2026)
+ */
+public final class SearchBudget {
+
+    /**
+     * The budget that never runs out.
+     */
+    public static final SearchBudget UNLIMITED = 
+            new SearchBudget(Long.MAX_VALUE, Integer.MAX_VALUE, Long.MAX_VALUE);
+
+    private final long maximumExpandedNodes;
+    private final int maximumFrontierSize;
+    private final long timeoutNanos;
+
+    /**
+     * Constructs a budget. Pass {@code Long.MAX_VALUE} or 
+     * {@code Integer.MAX_VALUE} for a limit that should not apply.
+     * 
+     * @param maximumExpandedNodes the number of nodes a search may expand.
+     * @param maximumFrontierSize  the number of nodes the frontier may hold.
+     * @param timeoutNanos         the time in nanoseconds a search may run.
+     */
+    public SearchBudget(long maximumExpandedNodes, 
+                        int maximumFrontierSize, 
+                        long timeoutNanos) {
+        if (maximumExpandedNodes < 1L) {
+            throw new IllegalArgumentException(
+                    "The maximum number of expanded nodes must be positive: " 
+                            + maximumExpandedNodes 
+                            + ".");
+        }
+
+        if (maximumFrontierSize < 1) {
+            throw new IllegalArgumentException(
+                    "The maximum frontier size must be positive: " 
+                            + maximumFrontierSize 
+                            + ".");
+        }
+
+        if (timeoutNanos < 1L) {
+            throw new IllegalArgumentException(
+                    "The timeout must be positive: " + timeoutNanos + ".");
+        }
+
+        this.maximumExpandedNodes = maximumExpandedNodes;
+        this.maximumFrontierSize = maximumFrontierSize;
+        this.timeoutNanos = timeoutNanos;
+    }
+
+    public long getMaximumExpandedNodes() {
+        return maximumExpandedNodes;
+    }
+
+    public int getMaximumFrontierSize() {
+        return maximumFrontierSize;
+    }
+
+    public long getTimeoutNanos() {
+        return timeoutNanos;
+    }
+
+    @Override
+    public String toString() {
+        return "[SearchBudget, maximumExpandedNodes = " 
+                + maximumExpandedNodes 
+                + ", maximumFrontierSize = " 
+                + maximumFrontierSize 
+                + ", timeoutNanos = " 
+                + timeoutNanos 
+                + "]";
+    }
+}
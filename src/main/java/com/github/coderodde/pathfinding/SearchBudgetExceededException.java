@@ -0,0 +1,64 @@
+package com.github.coderodde.pathfinding;
+
+/**
+ * This exception is thrown by a search exceeding its {@link SearchBudget}. It
+ * carries the statistics of the search up to that point.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 19, 2026)
+ * @since 1.7 (Oct 19, 2026)
+ */
+public final class SearchBudgetExceededException extends RuntimeException {
+
+    private static final long serialVersionUID = 1L;
+
+    public enum Limit {
+        EXPANDED_NODES,
+        FRONTIER_SIZE,
+        TIMEOUT;
+    }
+
+    private final Limit limit;
+    private final long expandedNodes;
+    private final int largestFrontierSize;
+    private final long elapsedNanos;
+
+    public SearchBudgetExceededException(Limit limit,
+                                         long expandedNodes,
+                                         int largestFrontierSize,
+                                         long elapsedNanos) {
+        super("Search budget exceeded (" 
+                + limit 
+                + ") after expanding " 
+                + expandedNodes 
+                + " nodes with the largest frontier of " 
+                + largestFrontierSize 
+                + " nodes in " 
+                + elapsedNanos 
+                + " nanoseconds.");
+
+        this.limit = limit;
+        this.expandedNodes = expandedNodes;
+        this.largestFrontierSize = largestFrontierSize;
+        this.elapsedNanos = elapsedNanos;
+    }
+
+    /**
+     * Returns the limit that was exceeded.
+     */
+    public Limit getLimit() {
+        return limit;
+    }
+
+    public long getExpandedNodes() {
+        return expandedNodes;
+    }
+
+    public int getLargestFrontierSize() {
+        return largestFrontierSize;
+    }
+
+    public long getElapsedNanos() {
+        return elapsedNanos;
+    }
+}
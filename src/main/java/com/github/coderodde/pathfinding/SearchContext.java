@@ -0,0 +1,317 @@
+package com.github.coderodde.pathfinding;
+
+/**
+ * This class holds the primitive working structures of a single search. Each
+ * thread keeps one context and reuses it across searches. The structures 
+ * grow with the nodes a search actually explores rather than with the tree,
+ * and {@link #release()} drops the ones grown past 
+ * {@link DenseIntMap#MAXIMUM_RETAINED_CAPACITY} entries. Thus, a thread 
+ * retains at most a few tens of megabytes between searches however large 
+ * the trees it searches, at the price of a search exploring much of a huge 
+ * tree allocating its structures anew.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 19, 2026)
+ * @since 1.7 (Oct 19, 2026)
+ */
+final class SearchContext {
+
+    private static final ThreadLocal<SearchContext> CONTEXTS =
+            ThreadLocal.withInitial(SearchContext::new);
+
+    final DenseIntMap parentsForward = new DenseIntMap();
+    final DenseIntMap parentsBackward = new DenseIntMap();
+    final DenseIntMap distancesForward = new DenseIntMap();
+    final DenseIntMap distancesBackward = new DenseIntMap();
+    final IntDeque dequeForward = new IntDeque();
+    final IntDeque dequeBackward = new IntDeque();
+    final IntDeque positions = new IntDeque();
+
+    // Used only by the weighted searches:
+    final DenseDoubleMap costsForward = new DenseDoubleMap();
+    final DenseDoubleMap costsBackward = new DenseDoubleMap();
+    final IndexedDoubleHeap heapForward = new IndexedDoubleHeap();
+    final IndexedDoubleHeap heapBackward = new IndexedDoubleHeap();
+    final SearchMeter meter = new SearchMeter();
+
+    private boolean inUse;
+
+    /**
+     * Returns a cleared context for a tree of {@code numberOfNodes} nodes. The
+     * caller must {@link #release()} the context once done.
+     */
+    static SearchContext acquire(int numberOfNodes) {
+        return acquire(numberOfNodes, SearchBudget.UNLIMITED);
+    }
+
+    /**
+     * Returns a cleared context whose {@link #meter} enforces 
+     * {@code budget}.
+     */
+    static SearchContext acquire(int numberOfNodes, SearchBudget budget) {
+        SearchContext context = CONTEXTS.get();
+
+        if (context.inUse) {
+            // A search nested in another one on the same thread gets a fresh
+            // context, which stays small unless the search explores much:
+            context = new SearchContext();
+        }
+
+        context.inUse = true;
+        context.parentsForward.clear(numberOfNodes);
+        context.parentsBackward.clear(numberOfNodes);
+        context.distancesForward.clear(numberOfNodes);
+        context.distancesBackward.clear(numberOfNodes);
+        context.dequeForward.clear();
+        context.dequeBackward.clear();
+        context.positions.clear();
+        context.meter.start(budget);
+        return context;
+    }
+
+    /**
+     * Returns the meter of the searches on the current thread. It keeps the 
+     * statistics of the last search after the search completes.
+     */
+    static SearchMeter getThreadMeter() {
+        return CONTEXTS.get().meter;
+    }
+
+    void release() {
+        parentsForward.trim();
+        parentsBackward.trim();
+        distancesForward.trim();
+        distancesBackward.trim();
+        dequeForward.trim();
+        dequeBackward.trim();
+        positions.trim();
+        costsForward.trim();
+        costsBackward.trim();
+        heapForward.trim();
+        heapBackward.trim();
+        inUse = false;
+    }
+
+    /**
+     * Marks all the neighbors of {@code targetIndex} in 
+     * {@link #distancesBackward}, so that a search recognizes a node adjacent
+     * to the target in constant time as soon as it generates it.
+     */
+    DenseIntMap markTargetNeighbors(TreeView tree, int targetIndex) {
+        for (int i = 0, degree = tree.getDegree(targetIndex); i < degree; i++) {
+            distancesBackward.put(tree.getNeighborIndex(targetIndex, i), 0);
+        }
+
+        return distancesBackward;
+    }
+
+    /**
+     * Builds the path from the root of {@link #parentsForward} to
+     * {@code targetIndex}, summing the edge weights on the way.
+     */
+    WeightedPath tracebackPath(TreeView tree, int targetIndex) {
+        int[] nodeIds = new int[countForward(targetIndex)];
+        double totalCost = 
+                fillForward(tree, targetIndex, nodeIds, nodeIds.length);
+
+        return new WeightedPath(tree, nodeIds, totalCost);
+    }
+
+    /**
+     * Writes the same path as {@link #tracebackPath(TreeView, int)} into 
+     * {@code buffer} and returns its cost.
+     */
+    double tracebackPath(TreeView tree, int targetIndex, PathBuffer buffer) {
+        int numberOfNodes = countForward(targetIndex);
+        double totalCost = fillForward(tree,
+                                       targetIndex, 
+                                       buffer.reset(tree, numberOfNodes), 
+                                       numberOfNodes);
+
+        buffer.setTotalCost(totalCost);
+        return totalCost;
+    }
+
+    /**
+     * Builds the path from the root of {@link #parentsForward} via
+     * {@code touchIndex} to the root of {@link #parentsBackward}.
+     */
+    WeightedPath tracebackBidirectionalPath(TreeView tree, int touchIndex) {
+        return tracebackBidirectionalPath(tree, touchIndex, Double.NaN);
+    }
+
+    /**
+     * Builds the same path as {@link #tracebackBidirectionalPath(TreeView, 
+     * int)}, but takes its cost as given unless {@code totalCost} is 
+     * {@code NaN}.
+     */
+    WeightedPath tracebackBidirectionalPath(TreeView tree, 
+                                            int touchIndex, 
+                                            double totalCost) {
+        boolean sumWeights = Double.isNaN(totalCost);
+        int prefixLength = countForward(touchIndex);
+        int[] nodeIds = new int[prefixLength + countBackward(touchIndex)];
+        double sum = fillBidirectional(tree, 
+                                       touchIndex, 
+                                       nodeIds, 
+                                       prefixLength, 
+                                       nodeIds.length,
+                                       sumWeights);
+
+        return new WeightedPath(tree, nodeIds, sumWeights ? sum : totalCost);
+    }
+
+    /**
+     * Writes the same path as {@link #tracebackBidirectionalPath(TreeView, 
+     * int)} into {@code buffer} and returns its cost.
+     */
+    double tracebackBidirectionalPath(TreeView tree, 
+                                      int touchIndex, 
+                                      PathBuffer buffer) {
+        int prefixLength = countForward(touchIndex);
+        int numberOfNodes = prefixLength + countBackward(touchIndex);
+        double totalCost = 
+                fillBidirectional(tree,
+                                  touchIndex, 
+                                  buffer.reset(tree, numberOfNodes),
+                                  prefixLength, 
+                                  numberOfNodes, 
+                                  true);
+
+        buffer.setTotalCost(totalCost);
+        return totalCost;
+    }
+
+    /**
+     * Pushes the same path as {@link #tracebackBidirectionalPath(TreeView, 
+     * int)} to {@code consumer} and returns its cost. The forward parent 
+     * chain is reversed in place instead of being buffered, which leaves 
+     * {@link #parentsForward} unusable for anything but this path.
+     */
+    double streamBidirectionalPath(TreeView tree, 
+                                   int touchIndex, 
+                                   PathConsumer consumer) {
+        int childIndex = TreeView.NO_NODE;
+        int index = touchIndex;
+
+        while (index != TreeView.NO_NODE) {
+            int parentIndex = parentsForward.get(index);
+            parentsForward.put(index, childIndex);
+            childIndex = index;
+            index = parentIndex;
+        }
+
+        // Now the forward links lead from the source to the touch node:
+        double totalCost = 0.0;
+        index = childIndex;
+        consumer.accept(tree.getNodeId(index), 0.0);
+
+        for (int nextIndex = parentsForward.get(index);
+                nextIndex != TreeView.NO_NODE;
+                nextIndex = parentsForward.get(index)) {
+            double weight = tree.getEdgeWeightByIndices(index, nextIndex);
+            consumer.accept(tree.getNodeId(nextIndex), weight);
+            totalCost += weight;
+            index = nextIndex;
+        }
+
+        for (int nextIndex = parentsBackward.get(index);
+                nextIndex != TreeView.NO_NODE;
+                nextIndex = parentsBackward.get(index)) {
+            double weight = tree.getEdgeWeightByIndices(index, nextIndex);
+            consumer.accept(tree.getNodeId(nextIndex), weight);
+            totalCost += weight;
+            index = nextIndex;
+        }
+
+        return totalCost;
+    }
+
+    private int countForward(int index) {
+        int numberOfNodes = 0;
+
+        for (; index != TreeView.NO_NODE; index = parentsForward.get(index)) {
+            numberOfNodes++;
+        }
+
+        return numberOfNodes;
+    }
+
+    /**
+     * Counts the nodes strictly after {@code touchIndex} on the backward 
+     * parent chain.
+     */
+    private int countBackward(int touchIndex) {
+        int numberOfNodes = 0;
+
+        for (int index = parentsBackward.get(touchIndex);
+                index != TreeView.NO_NODE;
+                index = parentsBackward.get(index)) {
+            numberOfNodes++;
+        }
+
+        return numberOfNodes;
+    }
+
+    /**
+     * Writes the forward parent chain ending at {@code targetIndex} into the
+     * first {@code numberOfNodes} slots of {@code nodeIds}, filling from the
+     * end so that no reversal is needed, and returns its cost.
+     */
+    private double fillForward(TreeView tree,
+                               int targetIndex, 
+                               int[] nodeIds, 
+                               int numberOfNodes) {
+        double totalCost = 0.0;
+        int index = targetIndex;
+
+        for (int i = numberOfNodes - 1; i >= 0; i--) {
+            int parentIndex = parentsForward.get(index);
+            nodeIds[i] = tree.getNodeId(index);
+
+            if (parentIndex != TreeView.NO_NODE) {
+                totalCost += tree.getEdgeWeightByIndices(parentIndex, index);
+            }
+
+            index = parentIndex;
+        }
+
+        return totalCost;
+    }
+
+    private double fillBidirectional(TreeView tree, 
+                                     int touchIndex, 
+                                     int[] nodeIds,
+                                     int prefixLength,
+                                     int numberOfNodes,
+                                     boolean sumWeights) {
+        double sum = 0.0;
+        int index = touchIndex;
+
+        for (int i = prefixLength - 1; i >= 0; i--) {
+            int parentIndex = parentsForward.get(index);
+            nodeIds[i] = tree.getNodeId(index);
+
+            if (sumWeights && parentIndex != TreeView.NO_NODE) {
+                sum += tree.getEdgeWeightByIndices(parentIndex, index);
+            }
+
+            index = parentIndex;
+        }
+
+        index = touchIndex;
+
+        for (int i = prefixLength; i < numberOfNodes; i++) {
+            int parentIndex = parentsBackward.get(index);
+            nodeIds[i] = tree.getNodeId(parentIndex);
+
+            if (sumWeights) {
+                sum += tree.getEdgeWeightByIndices(index, parentIndex);
+            }
+
+            index = parentIndex;
+        }
+
+        return sum;
+    }
+}
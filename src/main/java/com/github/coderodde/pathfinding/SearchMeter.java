@@ -0,0 +1,97 @@
+package com.github.coderodde.pathfinding;
+
+/**
+ * This class enforces a {@link SearchBudget} on a running search. The search
+ * reports each node it expands together with the size of its frontier; the 
+ * clock is read only once per {@code 2^10} expansions, so that an unlimited
+ * budget costs a few comparisons per node. Since a single expansion of a hub 
+ * may enqueue millions of neighbors, the clock is also read once per 
+ * {@code 2^10} enqueued nodes.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 19, 2026)
+ * @since 1.7 (Oct 19, 2026)
+ */
+final class SearchMeter {
+
+    private static final long CLOCK_MASK = (1L << 10) - 1L;
+
+    private long maximumExpandedNodes;
+    private int maximumFrontierSize;
+    private long timeoutNanos;
+    private long startTime;
+    private long expandedNodes;
+    private long enqueuedNodes;
+    private int largestFrontierSize;
+
+    void start(SearchBudget budget) {
+        this.maximumExpandedNodes = budget.getMaximumExpandedNodes();
+        this.maximumFrontierSize = budget.getMaximumFrontierSize();
+        this.timeoutNanos = budget.getTimeoutNanos();
+        this.startTime = System.nanoTime();
+        this.expandedNodes = 0L;
+        this.enqueuedNodes = 0L;
+        this.largestFrontierSize = 0;
+    }
+
+    /**
+     * Counts an expanded node, after which the frontier holds 
+     * {@code frontierSize} nodes.
+     */
+    void expand(int frontierSize) {
+        if (++expandedNodes > maximumExpandedNodes) {
+            exceed(SearchBudgetExceededException.Limit.EXPANDED_NODES);
+        }
+
+        if (frontierSize > largestFrontierSize) {
+            largestFrontierSize = frontierSize;
+
+            if (frontierSize > maximumFrontierSize) {
+                exceed(SearchBudgetExceededException.Limit.FRONTIER_SIZE);
+            }
+        }
+
+        if ((expandedNodes & CLOCK_MASK) == 0L 
+                && System.nanoTime() - startTime > timeoutNanos) {
+            exceed(SearchBudgetExceededException.Limit.TIMEOUT);
+        }
+    }
+
+    /**
+     * Checks a frontier that has grown to {@code frontierSize} nodes in the 
+     * middle of an expansion, so that expanding a hub cannot overshoot the 
+     * limit by its degree, nor run past the timeout.
+     */
+    void enqueue(int frontierSize) {
+        if (frontierSize > maximumFrontierSize) {
+            largestFrontierSize = Math.max(largestFrontierSize, frontierSize);
+            exceed(SearchBudgetExceededException.Limit.FRONTIER_SIZE);
+        }
+
+        if ((++enqueuedNodes & CLOCK_MASK) == 0L 
+                && System.nanoTime() - startTime > timeoutNanos) {
+            exceed(SearchBudgetExceededException.Limit.TIMEOUT);
+        }
+    }
+
+    /**
+     * Zeroes the statistics, so that a caller can tell whether a search ran 
+     * since.
+     */
+    void reset() {
+        expandedNodes = 0L;
+        enqueuedNodes = 0L;
+        largestFrontierSize = 0;
+    }
+
+    long getExpandedNodes() {
+        return expandedNodes;
+    }
+
+    private void exceed(SearchBudgetExceededException.Limit limit) {
+        throw new SearchBudgetExceededException(limit,
+                                                expandedNodes,
+                                                largestFrontierSize,
+                                                System.nanoTime() - startTime);
+    }
+}
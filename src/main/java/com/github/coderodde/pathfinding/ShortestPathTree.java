@@ -0,0 +1,103 @@
+package com.github.coderodde.pathfinding;
+
+/**
+ * This class holds the result of a single-source search. All the arrays are
+ * indexed by the dense node indices of the tree at the time of the search. The
+ * actual {@link WeightedPath} objects are extracted only on demand. Mapping node
+ * IDs to indices requires the tree to be unmodified since the search.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 19, 2026)
+ * @since 1.7 (Oct 19, 2026)
+ */
+public final class ShortestPathTree {
+
+    public static final int NO_PARENT = -1;
+    public static final int UNREACHABLE = -1;
+
+    private final TreeView tree;
+    private final int sourceIndex;
+    private final int[] nodeIds;
+    private final int[] parents;
+    private final double[] costs;
+    private final int[] hops;
+    private final long treeVersion;
+
+    ShortestPathTree(TreeView tree,
+                     int sourceIndex,
+                     int[] nodeIds,
+                     int[] parents,
+                     double[] costs,
+                     int[] hops) {
+        this.tree = tree;
+        this.sourceIndex = sourceIndex;
+        this.nodeIds = nodeIds;
+        this.parents = parents;
+        this.costs = costs;
+        this.hops = hops;
+        this.treeVersion = tree.getVersion();
+    }
+
+    public int getNumberOfNodes() {
+        return nodeIds.length;
+    }
+
+    public int getSourceNodeId() {
+        return nodeIds[sourceIndex];
+    }
+
+    public int getNodeId(int index) {
+        return nodeIds[index];
+    }
+
+    public int getParentIndex(int index) {
+        return parents[index];
+    }
+
+    public double getCost(int index) {
+        return costs[index];
+    }
+
+    public int getNumberOfHops(int index) {
+        return hops[index];
+    }
+
+    public boolean isReachable(int index) {
+        return hops[index] != UNREACHABLE;
+    }
+
+    public int getIndex(int nodeId) {
+        if (tree.getVersion() != treeVersion) {
+            // Removals and relabeling renumber the node indices:
+            throw new IllegalStateException(
+                    "The tree was modified after the search.");
+        }
+
+        int index = tree.getNodeIndex(nodeId);
+
+        if (index == TreeView.NO_NODE) {
+            throw new IllegalStateException(
+                    "No node with ID " + nodeId + " in the tree.");
+        }
+
+        return index;
+    }
+
+    public WeightedPath getPath(int targetNodeId) {
+        int targetIndex = getIndex(targetNodeId);
+
+        if (!isReachable(targetIndex)) {
+            throw new PathNotFoundException(getSourceNodeId(), targetNodeId);
+        }
+
+        int[] pathNodeIds = new int[hops[targetIndex] + 1];
+        int index = targetIndex;
+
+        for (int i = pathNodeIds.length - 1; i >= 0; i--) {
+            pathNodeIds[i] = nodeIds[index];
+            index = parents[index];
+        }
+
+        return new WeightedPath(tree, pathNodeIds, costs[targetIndex]);
+    }
+}
@@ -0,0 +1,78 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * This class computes the shortest paths from a single source node to all the
+ * nodes of a tree in one linear breadth-first traversal.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 19, 2026)
+ * @since 1.7 (Oct 19, 2026)
+ */
+public final class SingleSourcePathfinder {
+
+    public ShortestPathTree singleSource(TreeView tree, int sourceNodeId) {
+        Objects.requireNonNull(tree, "The tree is null.");
+
+        if (!tree.containsNodeId(sourceNodeId)) {
+            throw new IllegalStateException(
+                    "Source node is not in the input graph.");
+        }
+
+        int numberOfNodes = tree.getNumberOfNodes();
+        int[] nodeIds = new int[numberOfNodes];
+        int[] parents = new int[numberOfNodes];
+        double[] costs = new double[numberOfNodes];
+        int[] hops = new int[numberOfNodes];
+
+        for (int index = 0; index < numberOfNodes; index++) {
+            nodeIds[index] = tree.getNodeId(index);
+        }
+
+        Arrays.fill(parents, ShortestPathTree.NO_PARENT);
+        Arrays.fill(costs, Double.POSITIVE_INFINITY);
+        Arrays.fill(hops, ShortestPathTree.UNREACHABLE);
+
+        int sourceIndex = tree.getNodeIndex(sourceNodeId);
+
+        // Each node is enqueued at most once, so a plain array suffices:
+        int[] queue = new int[numberOfNodes];
+        int head = 0;
+        int tail = 0;
+
+        queue[tail++] = sourceIndex;
+        costs[sourceIndex] = 0.0;
+        hops[sourceIndex] = 0;
+
+        while (head < tail) {
+            int currentIndex = queue[head++];
+            int degree = tree.getDegree(currentIndex);
+
+            for (int position = 0; position < degree; position++) {
+                int neighborIndex = 
+                        tree.getNeighborIndex(currentIndex, position);
+
+                if (hops[neighborIndex] != ShortestPathTree.UNREACHABLE) {
+                    continue;
+                }
+
+                parents[neighborIndex] = currentIndex;
+                costs[neighborIndex] =
+                        costs[currentIndex]
+                        + tree.getNeighborWeight(currentIndex, position);
+
+                hops[neighborIndex] = hops[currentIndex] + 1;
+                queue[tail++] = neighborIndex;
+            }
+        }
+
+        return new ShortestPathTree(tree,
+                                    sourceIndex,
+                                    nodeIds,
+                                    parents,
+                                    costs,
+                                    hops);
+    }
+}
@@ -0,0 +1,64 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.Objects;
+
+/**
+ * This class wraps a pathfinder so that each search over a
+ * {@link WeightedTree} runs over a {@link TreeSnapshot} of the tree taken when
+ * the search starts. The search thus sees a single consistent version of the
+ * tree, and the returned path refers to that version, even if other threads
+ * modify the tree in the meantime. Other tree views are searched as they are.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 19, 2026)
+ * @since 1.7 (Oct 19, 2026)
+ */
+public final class SnapshotPathfinder implements Pathfinder {
+
+    private final Pathfinder pathfinder;
+
+    public SnapshotPathfinder(Pathfinder pathfinder) {
+        this.pathfinder =
+                Objects.requireNonNull(pathfinder, "The pathfinder is null.");
+    }
+
+    public Pathfinder getPathfinder() {
+        return pathfinder;
+    }
+
+    @Override
+    public WeightedPath search(TreeView tree, int sourceId, int targetId) {
+        return pathfinder.search(pin(tree), sourceId, targetId);
+    }
+
+    @Override
+    public WeightedPath search(TreeView tree,
+                               int sourceId,
+                               int targetId,
+                               SearchBudget budget) {
+        return pathfinder.search(pin(tree), sourceId, targetId, budget);
+    }
+
+    @Override
+    public double searchInto(TreeView tree,
+                             int sourceId,
+                             int targetId,
+                             PathBuffer buffer) {
+        return pathfinder.searchInto(pin(tree), sourceId, targetId, buffer);
+    }
+
+    @Override
+    public double stream(TreeView tree,
+                         int sourceId,
+                         int targetId,
+                         PathConsumer consumer) {
+        return pathfinder.stream(pin(tree), sourceId, targetId, consumer);
+    }
+
+    private static TreeView pin(TreeView tree) {
+        Objects.requireNonNull(tree, "The tree is null.");
+        return tree instanceof WeightedTree
+                ? ((WeightedTree) tree).snapshot()
+                : tree;
+    }
+}
@@ -0,0 +1,466 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * This class implements an index over the component of a {@link WeightedTree}
+ * rooted at a given node. One depth-first traversal numbers the nodes in 
+ * preorder, so that the subtree of each node occupies the contiguous range 
+ * from its entry time to its exit time. Ancestry, subtree sizes and depths 
+ * are then answered in constant time; subtree weights and weighted depths are
+ * kept in two Fenwick trees over the preorder, so that they are answered in 
+ * logarithmic time and survive edge weight updates made through 
+ * {@link #setEdgeWeight(int, int, double)}. Any other modification of the 
+ * tree invalidates the index.
+ * <p>
+ * The queries taking an extra root ID answer for the same component rooted 
+ * at that other node, without rebuilding the index.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 19, 2026)
+ * @since 1.7 (Oct 19, 2026)
+ */
+public final class SubtreeIndex {
+
+    private static final int NOT_INDEXED = -1;
+
+    private final WeightedTree tree;
+    private final int rootIndex;
+    private final int numberOfIndexedNodes;
+
+    // All indexed by the dense node indices:
+    private final int[] entryTimes;
+    private final int[] exitTimes;
+    private final int[] depths;
+    private final int[] parents;
+    private final double[] parentWeights;
+
+    // preorder[i] is the index of the node with the entry time i:
+    private final int[] preorder;
+
+    // childEntryTimes[childOffsets[i] ... childOffsets[i + 1] - 1] are the 
+    // ascending entry times of the children of the node with entry time i:
+    private final int[] childOffsets;
+    private final int[] childEntryTimes;
+
+    // Point updates and range sums of the parent weights in preorder:
+    private final double[] subtreeWeightTree;
+
+    // Range updates and point queries of the weighted depths in preorder:
+    private final double[] rootDistanceTree;
+
+    private long treeVersion;
+
+    public SubtreeIndex(WeightedTree tree, int rootId) {
+        this.tree = Objects.requireNonNull(tree, "The tree is null.");
+        this.rootIndex = tree.getNodeIndex(rootId);
+
+        if (rootIndex == TreeView.NO_NODE) {
+            throw new IllegalStateException(
+                    "No node with ID " + rootId + " in the tree.");
+        }
+
+        int numberOfNodes = tree.getNumberOfNodes();
+        this.entryTimes = new int[numberOfNodes];
+        this.exitTimes = new int[numberOfNodes];
+        this.depths = new int[numberOfNodes];
+        this.parents = new int[numberOfNodes];
+        this.parentWeights = new double[numberOfNodes];
+
+        Arrays.fill(entryTimes, NOT_INDEXED);
+
+        this.preorder = traverse();
+        this.numberOfIndexedNodes = preorder.length;
+        this.childOffsets = new int[numberOfIndexedNodes + 1];
+        this.childEntryTimes = new int[numberOfIndexedNodes - 1];
+        this.subtreeWeightTree = new double[numberOfIndexedNodes + 1];
+        this.rootDistanceTree = new double[numberOfIndexedNodes + 1];
+
+        buildChildLists();
+        buildFenwickTrees();
+        this.treeVersion = tree.getVersion();
+    }
+
+    public int getRootId() {
+        return tree.getNodeId(rootIndex);
+    }
+
+    public int getNumberOfIndexedNodes() {
+        return numberOfIndexedNodes;
+    }
+
+    /**
+     * Returns {@code true} if the node is in the component of the root.
+     */
+    public boolean contains(int nodeId) {
+        checkVersion();
+        int index = tree.getNodeIndex(nodeId);
+        return index != TreeView.NO_NODE && entryTimes[index] != NOT_INDEXED;
+    }
+
+    public int getEntryTime(int nodeId) {
+        return entryTimes[getIndex(nodeId)];
+    }
+
+    public int getExitTime(int nodeId) {
+        return exitTimes[getIndex(nodeId)];
+    }
+
+    public int getDepth(int nodeId) {
+        return depths[getIndex(nodeId)];
+    }
+
+    /**
+     * Returns the total weight of the edges on the path from the root to the
+     * given node.
+     */
+    public double getRootDistance(int nodeId) {
+        return prefixSum(rootDistanceTree, entryTimes[getIndex(nodeId)]);
+    }
+
+    /**
+     * Returns {@code true} if {@code ancestorId} lies on the path from the 
+     * root to {@code nodeId}. Each node is an ancestor of itself.
+     */
+    public boolean isAncestor(int ancestorId, int nodeId) {
+        return isAncestorByIndices(getIndex(ancestorId), getIndex(nodeId));
+    }
+
+    public int getSubtreeSize(int nodeId) {
+        int index = getIndex(nodeId);
+        return exitTimes[index] - entryTimes[index] + 1;
+    }
+
+    /**
+     * Returns the total weight of the edges between the nodes in the subtree
+     * of the given node.
+     */
+    public double getSubtreeWeight(int nodeId) {
+        return subtreeWeightByIndex(getIndex(nodeId));
+    }
+
+    /**
+     * Returns the path between the two nodes by climbing from both of them up
+     * to their lowest common ancestor, which takes time proportional to the 
+     * length of the path.
+     */
+    public WeightedPath getPath(int sourceId, int targetId) {
+        int sourceIndex = getIndex(sourceId);
+        int targetIndex = getIndex(targetId);
+        int index1 = sourceIndex;
+        int index2 = targetIndex;
+        int upHops = 0;
+        int downHops = 0;
+
+        while (depths[index1] > depths[index2]) {
+            index1 = parents[index1];
+            upHops++;
+        }
+
+        while (depths[index2] > depths[index1]) {
+            index2 = parents[index2];
+            downHops++;
+        }
+
+        while (index1 != index2) {
+            index1 = parents[index1];
+            index2 = parents[index2];
+            upHops++;
+            downHops++;
+        }
+
+        int[] nodeIds = new int[upHops + downHops + 1];
+        double totalCost = 0.0;
+        int index = sourceIndex;
+
+        for (int i = 0; i < upHops; i++) {
+            nodeIds[i] = tree.getNodeId(index);
+            totalCost += parentWeights[index];
+            index = parents[index];
+        }
+
+        nodeIds[upHops] = tree.getNodeId(index);
+        index = targetIndex;
+
+        for (int i = nodeIds.length - 1; i > upHops; i--) {
+            nodeIds[i] = tree.getNodeId(index);
+            totalCost += parentWeights[index];
+            index = parents[index];
+        }
+
+        return new WeightedPath(tree, nodeIds, totalCost);
+    }
+
+    /**
+     * Returns {@code true} if this index was built over {@code tree} and the 
+     * tree has not been modified since.
+     */
+    boolean isCurrentFor(TreeView tree) {
+        return this.tree == tree && tree.getVersion() == treeVersion;
+    }
+
+    public boolean isAncestor(int ancestorId, int nodeId, int rootId) {
+        int ancestorIndex = getIndex(ancestorId);
+        int index = getIndex(nodeId);
+        int otherRootIndex = getIndex(rootId);
+
+        if (ancestorIndex == otherRootIndex) {
+            return true;
+        }
+
+        if (isAncestorByIndices(ancestorIndex, otherRootIndex)) {
+            // Rerooting turns the branch towards the new root upwards:
+            int childIndex = getChildTowards(ancestorIndex, otherRootIndex);
+            return !isAncestorByIndices(childIndex, index);
+        }
+
+        return isAncestorByIndices(ancestorIndex, index);
+    }
+
+    public int getSubtreeSize(int nodeId, int rootId) {
+        int index = getIndex(nodeId);
+        int otherRootIndex = getIndex(rootId);
+
+        if (index == otherRootIndex) {
+            return numberOfIndexedNodes;
+        }
+
+        if (isAncestorByIndices(index, otherRootIndex)) {
+            int childIndex = getChildTowards(index, otherRootIndex);
+
+            return numberOfIndexedNodes 
+                    - (exitTimes[childIndex] - entryTimes[childIndex] + 1);
+        }
+
+        return exitTimes[index] - entryTimes[index] + 1;
+    }
+
+    public double getSubtreeWeight(int nodeId, int rootId) {
+        int index = getIndex(nodeId);
+        int otherRootIndex = getIndex(rootId);
+
+        if (index == otherRootIndex) {
+            return subtreeWeightByIndex(rootIndex);
+        }
+
+        if (isAncestorByIndices(index, otherRootIndex)) {
+            int childIndex = getChildTowards(index, otherRootIndex);
+
+            return subtreeWeightByIndex(rootIndex) 
+                    - subtreeWeightByIndex(childIndex)
+                    - parentWeights[childIndex];
+        }
+
+        return subtreeWeightByIndex(index);
+    }
+
+    /**
+     * Sets the weight of an existing edge both in the tree and in this index.
+     * This is the only tree modification the index survives.
+     */
+    public void setEdgeWeight(int id1, int id2, double weight) {
+        int index1 = getIndex(id1);
+        int index2 = getIndex(id2);
+        int childIndex;
+
+        if (parents[index2] == index1) {
+            childIndex = index2;
+        } else if (parents[index1] == index2) {
+            childIndex = index1;
+        } else {
+            throw new IllegalStateException(
+                    "No indexed edge {" + id1 + ", " + id2 + "}.");
+        }
+
+        double delta = weight - parentWeights[childIndex];
+        tree.connect(id1, id2, weight);
+        parentWeights[childIndex] = weight;
+
+        int entryTime = entryTimes[childIndex];
+        add(subtreeWeightTree, entryTime, delta);
+        add(rootDistanceTree, entryTime, delta);
+        add(rootDistanceTree, exitTimes[childIndex] + 1, -delta);
+        treeVersion = tree.getVersion();
+    }
+
+    private int getIndex(int nodeId) {
+        checkVersion();
+        int index = tree.getNodeIndex(nodeId);
+
+        if (index == TreeView.NO_NODE) {
+            throw new IllegalStateException(
+                    "No node with ID " + nodeId + " in the tree.");
+        }
+
+        if (entryTimes[index] == NOT_INDEXED) {
+            throw new IllegalStateException(
+                    "Node " + nodeId + " is not in the indexed component.");
+        }
+
+        return index;
+    }
+
+    private void checkVersion() {
+        if (tree.getVersion() != treeVersion) {
+            throw new IllegalStateException(
+                    "The tree was modified after indexing.");
+        }
+    }
+
+    private boolean isAncestorByIndices(int ancestorIndex, int index) {
+        return entryTimes[ancestorIndex] <= entryTimes[index] 
+            && entryTimes[index] <= exitTimes[ancestorIndex];
+    }
+
+    /**
+     * Returns the child of {@code ancestorIndex} whose subtree contains 
+     * {@code index}, by binary search over the entry times of the children.
+     */
+    private int getChildTowards(int ancestorIndex, int index) {
+        int entryTime = entryTimes[index];
+        int ancestorEntryTime = entryTimes[ancestorIndex];
+        int low = childOffsets[ancestorEntryTime];
+        int high = childOffsets[ancestorEntryTime + 1] - 1;
+
+        while (low < high) {
+            int middle = (low + high + 1) >>> 1;
+
+            if (childEntryTimes[middle] <= entryTime) {
+                low = middle;
+            } else {
+                high = middle - 1;
+            }
+        }
+
+        return preorder[childEntryTimes[low]];
+    }
+
+    private double subtreeWeightByIndex(int index) {
+        return prefixSum(subtreeWeightTree, exitTimes[index])
+             - prefixSum(subtreeWeightTree, entryTimes[index]);
+    }
+
+    /**
+     * Numbers the component of the root in preorder and returns the node 
+     * indices in that order.
+     */
+    private int[] traverse() {
+        IntDeque stack = new IntDeque();
+        IntDeque visitOrder = new IntDeque();
+
+        parents[rootIndex] = TreeView.NO_NODE;
+        entryTimes[rootIndex] = 0;
+        stack.addLast(rootIndex);
+
+        while (!stack.isEmpty()) {
+            int index = stack.removeLast();
+            entryTimes[index] = visitOrder.size();
+            visitOrder.addLast(index);
+
+            // Push in reverse, so that the children are visited in order:
+            for (int i = tree.getDegree(index) - 1; i >= 0; i--) {
+                int neighborIndex = tree.getNeighborIndex(index, i);
+
+                if (neighborIndex == parents[index] 
+                        || entryTimes[neighborIndex] != NOT_INDEXED) {
+                    continue;
+                }
+
+                parents[neighborIndex] = index;
+                parentWeights[neighborIndex] = 
+                        tree.getNeighborWeight(index, i);
+                depths[neighborIndex] = depths[index] + 1;
+
+                // Reserve the node, so that no cycle pushes it twice:
+                entryTimes[neighborIndex] = Integer.MAX_VALUE;
+                stack.addLast(neighborIndex);
+            }
+        }
+
+        int[] order = new int[visitOrder.size()];
+
+        for (int i = 0; i < order.length; i++) {
+            order[i] = visitOrder.get(i);
+            exitTimes[order[i]] = i;
+        }
+
+        // Propagate the last preorder numbers upwards from the deepest nodes:
+        for (int i = order.length - 1; i > 0; i--) {
+            int index = order[i];
+            int parentIndex = parents[index];
+
+            exitTimes[parentIndex] = Math.max(exitTimes[parentIndex], 
+                                              exitTimes[index]);
+        }
+
+        return order;
+    }
+
+    private void buildChildLists() {
+        for (int i = 1; i < preorder.length; i++) {
+            childOffsets[entryTimes[parents[preorder[i]]] + 1]++;
+        }
+
+        for (int i = 0; i < numberOfIndexedNodes; i++) {
+            childOffsets[i + 1] += childOffsets[i];
+        }
+
+        int[] fill = Arrays.copyOf(childOffsets, numberOfIndexedNodes);
+
+        // Ascending preorder yields the children in ascending entry times:
+        for (int i = 1; i < preorder.length; i++) {
+            childEntryTimes[fill[entryTimes[parents[preorder[i]]]]++] = i;
+        }
+    }
+
+    /**
+     * Builds both Fenwick trees in linear time.
+     */
+    private void buildFenwickTrees() {
+        for (int i = 1; i < preorder.length; i++) {
+            double weight = parentWeights[preorder[i]];
+            subtreeWeightTree[i + 1] += weight;
+
+            // The difference array of the weighted depths:
+            rootDistanceTree[i + 1] += weight;
+
+            int exitTime = exitTimes[preorder[i]];
+
+            if (exitTime + 2 <= numberOfIndexedNodes) {
+                rootDistanceTree[exitTime + 2] -= weight;
+            }
+        }
+
+        for (int i = 1; i <= numberOfIndexedNodes; i++) {
+            int parent = i + (i & -i);
+
+            if (parent <= numberOfIndexedNodes) {
+                subtreeWeightTree[parent] += subtreeWeightTree[i];
+                rootDistanceTree[parent] += rootDistanceTree[i];
+            }
+        }
+    }
+
+    /**
+     * Adds {@code delta} at the zero-based position {@code position}.
+     */
+    private static void add(double[] fenwickTree, int position, double delta) {
+        for (int i = position + 1; i < fenwickTree.length; i += i & -i) {
+            fenwickTree[i] += delta;
+        }
+    }
+
+    /**
+     * Returns the sum over the zero-based positions {@code 0 ... position}.
+     */
+    private static double prefixSum(double[] fenwickTree, int position) {
+        double sum = 0.0;
+
+        for (int i = position + 1; i > 0; i -= i & -i) {
+            sum += fenwickTree[i];
+        }
+
+        return sum;
+    }
+}
@@ -0,0 +1,437 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.Objects;
+import java.util.stream.IntStream;
+
+/**
+ * This class computes the diameters, centers, centroids and node 
+ * eccentricities of a forest in linear time, both in hops and in edge 
+ * weights. The hop eccentricities of a component come from three 
+ * breadth-first sweeps: the first finds the far ends of a diameter, the next 
+ * ones measure the distances from both ends, and the eccentricity of each 
+ * node is the larger of its two distances. The weights may be negative, 
+ * which defeats such sweeps, so the weighted eccentricities come from two 
+ * passes over the breadth-first order instead: the first finds the costliest
+ * path down from each node, the second the costliest path leaving it through
+ * its parent. The components are analyzed in parallel.
+ * <p>
+ * The hop diameter of a component bounds the hops between any two of its 
+ * nodes, so it is a sufficient {@code maximumDepth} for the 
+ * iterative-deepening pathfinders.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 19, 2026)
+ * @since 1.7 (Oct 19, 2026)
+ */
+public final class TreeAnalytics {
+
+    private final TreeView tree;
+    private final long treeVersion;
+    private final int numberOfComponents;
+
+    // The node indices grouped by component, each group in breadth-first 
+    // order from its first node:
+    private final int[] order;
+    private final int[] componentOffsets;
+    private final int[] components;
+    private final int[] parents;
+
+    private final int[] hopEccentricities;
+    private final double[] weightedEccentricities;
+
+    // All indexed by the components:
+    private final int[] hopDiameters;
+    private final double[] weightedDiameters;
+    private final int[] hopCenters;
+    private final int[] weightedCenters;
+    private final int[] centroids;
+
+    // The scratch arrays of the sweeps; each component uses only its own 
+    // range of the queue:
+    private int[] queue;
+    private double[] parentWeights;
+    private int[] hopsA;
+    private int[] hopsB;
+    private double[] costsA;
+    private double[] costsB;
+
+    public TreeAnalytics(TreeView tree) {
+        this.tree = Objects.requireNonNull(tree, "The tree is null.");
+        this.treeVersion = tree.getVersion();
+
+        int numberOfNodes = tree.getNumberOfNodes();
+        this.order = new int[numberOfNodes];
+        this.components = new int[numberOfNodes];
+        this.parents = new int[numberOfNodes];
+        this.hopEccentricities = new int[numberOfNodes];
+        this.weightedEccentricities = new double[numberOfNodes];
+        this.parentWeights = new double[numberOfNodes];
+
+        IntDeque offsets = labelComponents();
+        this.numberOfComponents = offsets.size() - 1;
+        this.componentOffsets = new int[offsets.size()];
+
+        for (int i = 0; i < componentOffsets.length; i++) {
+            componentOffsets[i] = offsets.get(i);
+        }
+
+        this.hopDiameters = new int[numberOfComponents];
+        this.weightedDiameters = new double[numberOfComponents];
+        this.hopCenters = new int[numberOfComponents];
+        this.weightedCenters = new int[numberOfComponents];
+        this.centroids = new int[numberOfComponents];
+
+        this.queue = new int[numberOfNodes];
+        this.hopsA = new int[numberOfNodes];
+        this.hopsB = new int[numberOfNodes];
+        this.costsA = new double[numberOfNodes];
+        this.costsB = new double[numberOfNodes];
+
+        // The components occupy disjoint ranges of all the arrays:
+        IntStream.range(0, numberOfComponents)
+                 .parallel()
+                 .forEach(this::analyzeComponent);
+
+        this.queue = null;
+        this.parentWeights = null;
+        this.hopsA = null;
+        this.hopsB = null;
+        this.costsA = null;
+        this.costsB = null;
+    }
+
+    public int getNumberOfComponents() {
+        return numberOfComponents;
+    }
+
+    public int getComponent(int nodeId) {
+        return components[getIndex(nodeId)];
+    }
+
+    public int getComponentSize(int component) {
+        return componentOffsets[component + 1] - componentOffsets[component];
+    }
+
+    /**
+     * Returns the largest number of hops between two connected nodes.
+     */
+    public int getHopDiameter() {
+        int diameter = 0;
+
+        for (int hopDiameter : hopDiameters) {
+            diameter = Math.max(diameter, hopDiameter);
+        }
+
+        return diameter;
+    }
+
+    /**
+     * Returns the largest cost between two connected nodes.
+     */
+    public double getWeightedDiameter() {
+        double diameter = 0.0;
+
+        for (double weightedDiameter : weightedDiameters) {
+            diameter = Math.max(diameter, weightedDiameter);
+        }
+
+        return diameter;
+    }
+
+    public int getHopDiameter(int component) {
+        return hopDiameters[component];
+    }
+
+    public double getWeightedDiameter(int component) {
+        return weightedDiameters[component];
+    }
+
+    public int getHopEccentricity(int nodeId) {
+        return hopEccentricities[getIndex(nodeId)];
+    }
+
+    public double getWeightedEccentricity(int nodeId) {
+        return weightedEccentricities[getIndex(nodeId)];
+    }
+
+    /**
+     * Returns the ID of a node of the minimum hop eccentricity in the given 
+     * component.
+     */
+    public int getHopCenterId(int component) {
+        return tree.getNodeId(hopCenters[component]);
+    }
+
+    /**
+     * Returns the ID of a node of the minimum weighted eccentricity in the 
+     * given component.
+     */
+    public int getWeightedCenterId(int component) {
+        return tree.getNodeId(weightedCenters[component]);
+    }
+
+    /**
+     * Returns the ID of a node whose removal leaves the smallest largest 
+     * remaining piece of the given component; no piece has more than half of
+     * the component nodes.
+     */
+    public int getCentroidId(int component) {
+        return tree.getNodeId(centroids[component]);
+    }
+
+    private int getIndex(int nodeId) {
+        if (tree.getVersion() != treeVersion) {
+            throw new IllegalStateException(
+                    "The tree was modified after the analysis.");
+        }
+
+        int index = tree.getNodeIndex(nodeId);
+
+        if (index == TreeView.NO_NODE) {
+            throw new IllegalStateException(
+                    "No node with ID " + nodeId + " in the tree.");
+        }
+
+        return index;
+    }
+
+    /**
+     * Groups the nodes by component into {@link #order} and returns the 
+     * offsets of the groups, the number of nodes being the last one.
+     */
+    private IntDeque labelComponents() {
+        int numberOfNodes = tree.getNumberOfNodes();
+        IntDeque offsets = new IntDeque();
+        boolean[] visited = new boolean[numberOfNodes];
+        int size = 0;
+
+        for (int startIndex = 0; startIndex < numberOfNodes; startIndex++) {
+            if (visited[startIndex]) {
+                continue;
+            }
+
+            int component = offsets.size();
+            int head = size;
+            long numberOfArcs = 0L;
+            offsets.addLast(size);
+            visited[startIndex] = true;
+            parents[startIndex] = TreeView.NO_NODE;
+            order[size++] = startIndex;
+
+            // The order array doubles as the queue:
+            while (head < size) {
+                int index = order[head++];
+                int degree = tree.getDegree(index);
+                components[index] = component;
+                numberOfArcs += degree;
+
+                for (int i = 0; i < degree; i++) {
+                    int neighborIndex = tree.getNeighborIndex(index, i);
+
+                    if (!visited[neighborIndex]) {
+                        visited[neighborIndex] = true;
+                        parents[neighborIndex] = index;
+                        parentWeights[neighborIndex] = 
+                                tree.getNeighborWeight(index, i);
+                        order[size++] = neighborIndex;
+                    }
+                }
+            }
+
+            if (numberOfArcs != 2L * (size - offsets.get(component) - 1)) {
+                throw new IllegalStateException(
+                        "The component of the node " 
+                                + tree.getNodeId(startIndex) 
+                                + " is not a tree.");
+            }
+        }
+
+        offsets.addLast(size);
+        return offsets;
+    }
+
+    private void analyzeComponent(int component) {
+        int start = componentOffsets[component];
+        int end = componentOffsets[component + 1];
+
+        computeWeightedEccentricities(start, end);
+
+        int weightedCenter = order[start];
+        double weightedDiameter = 0.0;
+
+        for (int i = start; i < end; i++) {
+            int index = order[i];
+            weightedDiameter = Math.max(weightedDiameter, 
+                                        weightedEccentricities[index]);
+
+            if (weightedEccentricities[index] 
+                    < weightedEccentricities[weightedCenter]) {
+                weightedCenter = index;
+            }
+        }
+
+        weightedDiameters[component] = weightedDiameter;
+        weightedCenters[component] = weightedCenter;
+
+        // The hop distances:
+        sweep(order[start], start, end, hopsA);
+        int endIndex1 = farthestByHops(start, end, hopsA);
+        sweep(endIndex1, start, end, hopsA);
+        int endIndex2 = farthestByHops(start, end, hopsA);
+        sweep(endIndex2, start, end, hopsB);
+        hopDiameters[component] = hopsA[endIndex2];
+
+        int hopCenter = order[start];
+
+        for (int i = start; i < end; i++) {
+            int index = order[i];
+            hopEccentricities[index] = Math.max(hopsA[index], hopsB[index]);
+
+            if (hopEccentricities[index] < hopEccentricities[hopCenter]) {
+                hopCenter = index;
+            }
+        }
+
+        hopCenters[component] = hopCenter;
+        centroids[component] = findCentroid(start, end);
+    }
+
+    /**
+     * Fills the weighted eccentricities of the component occupying 
+     * {@code order[start ... end - 1]}, rooted at its first node. Each node 
+     * counts as zero away from itself.
+     */
+    private void computeWeightedEccentricities(int start, int end) {
+        // The costliest and the second costliest paths down from each node, 
+        // and the child the costliest one starts with:
+        double[] longestDown = costsA;
+        double[] secondLongestDown = costsB;
+        int[] longestChildren = hopsA;
+
+        for (int i = start; i < end; i++) {
+            int index = order[i];
+            longestDown[index] = 0.0;
+            secondLongestDown[index] = 0.0;
+            longestChildren[index] = TreeView.NO_NODE;
+        }
+
+        // The breadth-first order lists each parent before its children:
+        for (int i = end - 1; i > start; i--) {
+            int index = order[i];
+            int parentIndex = parents[index];
+            double cost = parentWeights[index] + longestDown[index];
+
+            if (cost > longestDown[parentIndex]) {
+                secondLongestDown[parentIndex] = longestDown[parentIndex];
+                longestDown[parentIndex] = cost;
+                longestChildren[parentIndex] = index;
+            } else if (cost > secondLongestDown[parentIndex]) {
+                secondLongestDown[parentIndex] = cost;
+            }
+        }
+
+        // The eccentricity array first holds the costliest paths leaving 
+        // each node through its parent:
+        double[] longestUp = weightedEccentricities;
+        longestUp[order[start]] = 0.0;
+
+        for (int i = start + 1; i < end; i++) {
+            int index = order[i];
+            int parentIndex = parents[index];
+            double parentDown = longestChildren[parentIndex] == index ?
+                                secondLongestDown[parentIndex] :
+                                longestDown[parentIndex];
+
+            longestUp[index] = parentWeights[index] 
+                             + Math.max(longestUp[parentIndex], parentDown);
+        }
+
+        for (int i = start; i < end; i++) {
+            int index = order[i];
+            weightedEccentricities[index] = Math.max(longestUp[index], 
+                                                     longestDown[index]);
+        }
+    }
+
+    /**
+     * Fills the hop distances from {@code sourceIndex} to all the nodes of 
+     * its component, which occupies {@code order[start ... end - 1]}.
+     */
+    private void sweep(int sourceIndex, int start, int end, int[] hops) {
+        for (int i = start; i < end; i++) {
+            hops[order[i]] = -1;
+        }
+
+        int head = start;
+        int tail = start;
+        hops[sourceIndex] = 0;
+        queue[tail++] = sourceIndex;
+
+        while (head < tail) {
+            int index = queue[head++];
+
+            for (int i = 0, degree = tree.getDegree(index); i < degree; i++) {
+                int neighborIndex = tree.getNeighborIndex(index, i);
+
+                if (hops[neighborIndex] != -1) {
+                    continue;
+                }
+
+                hops[neighborIndex] = hops[index] + 1;
+                queue[tail++] = neighborIndex;
+            }
+        }
+    }
+
+    private int farthestByHops(int start, int end, int[] hops) {
+        int farthestIndex = order[start];
+
+        for (int i = start + 1; i < end; i++) {
+            if (hops[order[i]] > hops[farthestIndex]) {
+                farthestIndex = order[i];
+            }
+        }
+
+        return farthestIndex;
+    }
+
+    private int findCentroid(int start, int end) {
+        int size = end - start;
+
+        // Reuse the scratch arrays for the subtree sizes and the largest 
+        // child subtree sizes, rooted at the first node of the component:
+        int[] subtreeSizes = hopsA;
+        int[] largestChildSizes = hopsB;
+
+        for (int i = start; i < end; i++) {
+            subtreeSizes[order[i]] = 1;
+            largestChildSizes[order[i]] = 0;
+        }
+
+        // The breadth-first order lists each parent before its children:
+        for (int i = end - 1; i > start; i--) {
+            int index = order[i];
+            int parentIndex = parents[index];
+            subtreeSizes[parentIndex] += subtreeSizes[index];
+            largestChildSizes[parentIndex] = 
+                    Math.max(largestChildSizes[parentIndex], 
+                             subtreeSizes[index]);
+        }
+
+        int centroid = order[start];
+        int smallestLargestPiece = Integer.MAX_VALUE;
+
+        for (int i = start; i < end; i++) {
+            int index = order[i];
+            int largestPiece = Math.max(largestChildSizes[index], 
+                                        size - subtreeSizes[index]);
+
+            if (largestPiece < smallestLargestPiece) {
+                smallestLargestPiece = largestPiece;
+                centroid = index;
+            }
+        }
+
+        return centroid;
+    }
+}
@@ -0,0 +1,668 @@
+package com.github.coderodde.pathfinding;
+
+import java.io.BufferedInputStream;
+import java.io.BufferedOutputStream;
+import java.io.Closeable;
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.EOFException;
+import java.io.FileOutputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.UncheckedIOException;
+import java.nio.channels.Channels;
+import java.nio.channels.FileChannel;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.Arrays;
+import java.util.Objects;
+import java.util.zip.CRC32;
+import java.util.zip.CheckedInputStream;
+import java.util.zip.CheckedOutputStream;
+
+/**
+ * This class implements an append-only binary journal of the modifications of
+ * a {@link WeightedTree}. The journal lives in a directory as a sequence of 
+ * generations: the generation {@code g} consists of the snapshot 
+ * {@code snapshot-g.bin}, holding the compacted state of the tree when the 
+ * generation started, and the journal {@code journal-g.log}, holding the 
+ * modifications since. A checkpoint starts a new generation and deletes all
+ * but it and the previous one, so recovery loads one snapshot and replays a 
+ * short journal.
+ * <p>
+ * The records are synced to the disk in batches of {@code syncInterval}. A 
+ * replica tails the journal by calling 
+ * {@link #replay(Path, long, WeightedTree)} with the offset returned by the 
+ * previous call. Once {@link #getLatestGeneration(Path)} reports a newer 
+ * generation, the current journal is complete: the replica finishes it and 
+ * continues with the journal of the next generation from offset zero, since
+ * each generation starts exactly where the previous one ended. A replica 
+ * falling behind by more than one checkpoint finds its journal deleted and 
+ * must recover anew.
+ * <p>
+ * A directory holding generations is continued by 
+ * {@link #resume(Path, int, int)}; {@link #open(Path, WeightedTree, int, int)}
+ * refuses it, since the tree passed in would replace the durable state.
+ * <p>
+ * The journal synchronizes on the tree, just like its mutators, so that the
+ * tree may be modified from any thread while the journal is opened, 
+ * checkpointed, synced or closed.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 19, 2026)
+ * @since 1.7 (Oct 19, 2026)
+ */
+public final class TreeJournal implements TreeMutationListener, Closeable {
+
+    private static final int JOURNAL_MAGIC = 0x544A4E4C; // "TJNL"
+    private static final int SNAPSHOT_MAGIC = 0x54534E50; // "TSNP"
+    private static final int FORMAT_VERSION = 1;
+    private static final int HEADER_SIZE = 8;
+    private static final int MINIMUM_EDGE_BATCH_SIZE = 1024;
+
+    private static final byte ADD_TREE_NODE = 1;
+    private static final byte REMOVE_TREE_NODE = 2;
+    private static final byte CONNECT = 3;
+    private static final byte DISCONNECT = 4;
+    private static final byte CLEAR = 5;
+
+    private static final String SNAPSHOT_PREFIX = "snapshot-";
+    private static final String SNAPSHOT_SUFFIX = ".bin";
+    private static final String JOURNAL_PREFIX = "journal-";
+    private static final String JOURNAL_SUFFIX = ".log";
+
+    private final Path directory;
+    private final WeightedTree tree;
+    private final int syncInterval;
+    private final int snapshotInterval;
+
+    private long generation;
+    private FileOutputStream fileOutputStream;
+    private DataOutputStream dataOutputStream;
+    private int recordsSinceSync;
+    private int recordsSinceSnapshot;
+
+    private TreeJournal(Path directory,
+                        WeightedTree tree, 
+                        int syncInterval, 
+                        int snapshotInterval) {
+        this.directory = directory;
+        this.tree = tree;
+        this.syncInterval = syncInterval;
+        this.snapshotInterval = snapshotInterval;
+    }
+
+    /**
+     * Starts journaling {@code tree} into {@code directory}, which must not 
+     * hold any generation yet. The current state of the tree becomes the 
+     * snapshot of the first generation.
+     * 
+     * @param directory        the journal directory.
+     * @param tree             the tree to journal.
+     * @param syncInterval     the number of records per disk sync.
+     * @param snapshotInterval the number of records per automatic 
+     *                         checkpoint, or zero for manual checkpoints 
+     *                         only.
+     * @return the journal, registered as the mutation listener of the tree.
+     * @throws IOException if the directory already holds a generation.
+     */
+    public static TreeJournal open(Path directory, 
+                                   WeightedTree tree,
+                                   int syncInterval,
+                                   int snapshotInterval) throws IOException {
+
+        Objects.requireNonNull(directory, "The directory is null.");
+        Objects.requireNonNull(tree, "The tree is null.");
+        long latestGeneration = getLatestGeneration(directory);
+
+        if (latestGeneration >= 0L) {
+            throw new IOException(
+                    directory 
+                            + " already holds the generation " 
+                            + latestGeneration 
+                            + "; resume it instead.");
+        }
+
+        return open(directory, tree, syncInterval, snapshotInterval, 0L);
+    }
+
+    /**
+     * Recovers the tree from {@code directory} and continues journaling it in
+     * a new generation.
+     * 
+     * @return the journal, registered as the mutation listener of the 
+     *         recovered tree, which {@link #getTree()} returns.
+     */
+    public static TreeJournal resume(Path directory,
+                                     int syncInterval,
+                                     int snapshotInterval) throws IOException {
+
+        Objects.requireNonNull(directory, "The directory is null.");
+        long latestGeneration = getLatestGeneration(directory);
+        WeightedTree tree = recover(directory);
+
+        return open(directory, 
+                    tree, 
+                    syncInterval, 
+                    snapshotInterval, 
+                    latestGeneration + 1);
+    }
+
+    private static TreeJournal open(Path directory,
+                                    WeightedTree tree,
+                                    int syncInterval,
+                                    int snapshotInterval,
+                                    long generation) throws IOException {
+
+        if (syncInterval < 1) {
+            throw new IllegalArgumentException(
+                    "The sync interval must be positive: " 
+                            + syncInterval 
+                            + ".");
+        }
+
+        if (snapshotInterval < 0) {
+            throw new IllegalArgumentException(
+                    "Negative snapshot interval: " + snapshotInterval + ".");
+        }
+
+        Files.createDirectories(directory);
+        TreeJournal journal = 
+                new TreeJournal(directory, 
+                                tree, 
+                                syncInterval, 
+                                snapshotInterval);
+
+        // Hold the lock of the tree, which its mutators hold while notifying
+        // the listener, so that no modification falls between the snapshot 
+        // and the registration:
+        synchronized (tree) {
+            journal.startGeneration(generation);
+            tree.setMutationListener(journal);
+        }
+
+        return journal;
+    }
+
+    /**
+     * Rebuilds the tree from the latest snapshot in {@code directory} and its
+     * journal.
+     */
+    public static WeightedTree recover(Path directory) throws IOException {
+        long latestGeneration = getLatestGeneration(directory);
+
+        if (latestGeneration < 0L) {
+            throw new IOException("No snapshot in " + directory + ".");
+        }
+
+        WeightedTree tree = 
+                readSnapshot(getSnapshotPath(directory, latestGeneration));
+
+        Path journalPath = getJournalPath(directory, latestGeneration);
+
+        if (Files.exists(journalPath)) {
+            replay(journalPath, 0L, tree);
+        }
+
+        return tree;
+    }
+
+    /**
+     * Applies to {@code tree} all the complete records of the journal file 
+     * from {@code offset} on. A partially written last record is left for the
+     * next call.
+     * 
+     * @return the offset following the last applied record.
+     */
+    public static long replay(Path journalPath, long offset, WeightedTree tree) 
+            throws IOException {
+
+        Objects.requireNonNull(tree, "The tree is null.");
+
+        try (FileChannel channel = FileChannel.open(journalPath, 
+                                                    StandardOpenOption.READ)) {
+            channel.position(offset);
+            DataInputStream inputStream = 
+                    new DataInputStream(
+                            new BufferedInputStream(
+                                    Channels.newInputStream(channel)));
+
+            try {
+                if (offset == 0L) {
+                    checkHeader(inputStream, JOURNAL_MAGIC, journalPath);
+                    offset = HEADER_SIZE;
+                }
+
+                while (true) {
+                    offset += applyRecord(inputStream, tree, journalPath);
+                }
+            } catch (EOFException ex) {
+                return offset;
+            }
+        }
+    }
+
+    /**
+     * Writes the current state of {@code tree} into {@code snapshotPath}. 
+     * The state is read from a {@link WeightedTree#snapshot()}, so the tree 
+     * may be modified meanwhile.
+     */
+    public static void writeSnapshot(WeightedTree tree, Path snapshotPath)
+            throws IOException {
+        // Write a consistent state without blocking the mutators:
+        TreeView view = tree.snapshot();
+        Path temporaryPath = 
+                snapshotPath.resolveSibling(snapshotPath.getFileName() 
+                                            + ".tmp");
+
+        try (FileOutputStream fileStream = 
+                new FileOutputStream(temporaryPath.toFile())) {
+
+            CheckedOutputStream checkedStream = 
+                    new CheckedOutputStream(new BufferedOutputStream(fileStream),
+                                            new CRC32());
+
+            DataOutputStream outputStream = new DataOutputStream(checkedStream);
+            outputStream.writeInt(SNAPSHOT_MAGIC);
+            outputStream.writeInt(FORMAT_VERSION);
+
+            int numberOfNodes = view.getNumberOfNodes();
+            long numberOfEdges = 0L;
+            outputStream.writeInt(numberOfNodes);
+
+            for (int index = 0; index < numberOfNodes; index++) {
+                outputStream.writeInt(view.getNodeId(index));
+
+                for (int i = 0; i < view.getDegree(index); i++) {
+                    if (index <= view.getNeighborIndex(index, i)) {
+                        numberOfEdges++;
+                    }
+                }
+            }
+
+            outputStream.writeLong(numberOfEdges);
+
+            // Each edge is listed by both endpoints; write it once:
+            for (int index = 0; index < numberOfNodes; index++) {
+                for (int i = 0; i < view.getDegree(index); i++) {
+                    int neighborIndex = view.getNeighborIndex(index, i);
+
+                    if (index <= neighborIndex) {
+                        outputStream.writeInt(view.getNodeId(index));
+                        outputStream.writeInt(view.getNodeId(neighborIndex));
+                        outputStream.writeDouble(
+                                view.getNeighborWeight(index, i));
+                    }
+                }
+            }
+
+            outputStream.writeLong(checkedStream.getChecksum().getValue());
+            outputStream.flush();
+            fileStream.getFD().sync();
+        }
+
+        Files.move(temporaryPath, 
+                   snapshotPath, 
+                   StandardCopyOption.REPLACE_EXISTING,
+                   StandardCopyOption.ATOMIC_MOVE);
+    }
+
+    public static WeightedTree readSnapshot(Path snapshotPath) 
+            throws IOException {
+
+        try (InputStream fileStream = Files.newInputStream(snapshotPath)) {
+            CheckedInputStream checkedStream = 
+                    new CheckedInputStream(new BufferedInputStream(fileStream),
+                                           new CRC32());
+
+            DataInputStream inputStream = new DataInputStream(checkedStream);
+            checkHeader(inputStream, SNAPSHOT_MAGIC, snapshotPath);
+
+            WeightedTree tree = new WeightedTree();
+            int numberOfNodes = inputStream.readInt();
+
+            for (int i = 0; i < numberOfNodes; i++) {
+                tree.addTreeNode(inputStream.readInt());
+            }
+
+            long numberOfEdges = inputStream.readLong();
+
+            if (numberOfEdges < 0L) {
+                throw new IOException("Corrupt snapshot " + snapshotPath + ".");
+            }
+
+            // Connect in batches no larger than the node count, so that a 
+            // corrupt edge count cannot size the arrays:
+            int batchSize = 
+                    (int) Math.min(numberOfEdges, 
+                                   Math.max(numberOfNodes, 
+                                            MINIMUM_EDGE_BATCH_SIZE));
+
+            int[] ids1 = new int[batchSize];
+            int[] ids2 = new int[batchSize];
+            double[] weights = new double[batchSize];
+
+            for (long remaining = numberOfEdges; remaining > 0L; ) {
+                int count = (int) Math.min(remaining, batchSize);
+
+                if (count < batchSize) {
+                    ids1 = Arrays.copyOf(ids1, count);
+                    ids2 = Arrays.copyOf(ids2, count);
+                    weights = Arrays.copyOf(weights, count);
+                }
+
+                for (int i = 0; i < count; i++) {
+                    ids1[i] = inputStream.readInt();
+                    ids2[i] = inputStream.readInt();
+                    weights[i] = inputStream.readDouble();
+                }
+
+                tree.connectAll(ids1, ids2, weights);
+                remaining -= count;
+            }
+
+            long expectedChecksum = checkedStream.getChecksum().getValue();
+
+            if (inputStream.readLong() != expectedChecksum) {
+                throw new IOException("Corrupt snapshot " + snapshotPath + ".");
+            }
+
+            return tree;
+        }
+    }
+
+    /**
+     * Returns the latest generation in {@code directory}, or -1 if there is 
+     * none.
+     */
+    public static long getLatestGeneration(Path directory) 
+            throws IOException {
+        long latestGeneration = -1L;
+
+        if (!Files.isDirectory(directory)) {
+            return latestGeneration;
+        }
+
+        try (DirectoryStream<Path> paths = 
+                Files.newDirectoryStream(directory, 
+                                         SNAPSHOT_PREFIX 
+                                                 + "*" 
+                                                 + SNAPSHOT_SUFFIX)) {
+            for (Path path : paths) {
+                latestGeneration = Math.max(latestGeneration, 
+                                            parseGeneration(path));
+            }
+        }
+
+        return latestGeneration;
+    }
+
+    public static Path getJournalPath(Path directory, long generation) {
+        return directory.resolve(JOURNAL_PREFIX + generation + JOURNAL_SUFFIX);
+    }
+
+    public WeightedTree getTree() {
+        return tree;
+    }
+
+    public long getGeneration() {
+        return generation;
+    }
+
+    public Path getJournalPath() {
+        return getJournalPath(directory, generation);
+    }
+
+    /**
+     * Writes the current state of the tree into the snapshot of a new 
+     * generation and removes the generations before the previous one.
+     */
+    public void checkpoint() throws IOException {
+        synchronized (tree) {
+            closeJournal();
+            startGeneration(generation + 1);
+        }
+    }
+
+    /**
+     * Forces all the records written so far to the disk.
+     */
+    public void sync() throws IOException {
+        synchronized (tree) {
+            dataOutputStream.flush();
+            fileOutputStream.getChannel().force(false);
+            recordsSinceSync = 0;
+        }
+    }
+
+    /**
+     * Syncs the journal and stops listening to the tree.
+     */
+    @Override
+    public void close() throws IOException {
+        synchronized (tree) {
+            tree.setMutationListener(null);
+            closeJournal();
+        }
+    }
+
+    @Override
+    public void onAddTreeNode(int id) {
+        try {
+            dataOutputStream.writeByte(ADD_TREE_NODE);
+            dataOutputStream.writeInt(id);
+            recordWritten();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public void onRemoveTreeNode(int id) {
+        try {
+            dataOutputStream.writeByte(REMOVE_TREE_NODE);
+            dataOutputStream.writeInt(id);
+            recordWritten();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public void onConnect(int id1, int id2, double weight) {
+        try {
+            dataOutputStream.writeByte(CONNECT);
+            dataOutputStream.writeInt(id1);
+            dataOutputStream.writeInt(id2);
+            dataOutputStream.writeDouble(weight);
+            recordWritten();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public void onDisconnect(int id1, int id2) {
+        try {
+            dataOutputStream.writeByte(DISCONNECT);
+            dataOutputStream.writeInt(id1);
+            dataOutputStream.writeInt(id2);
+            recordWritten();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    @Override
+    public void onClear() {
+        try {
+            dataOutputStream.writeByte(CLEAR);
+            recordWritten();
+        } catch (IOException ex) {
+            throw new UncheckedIOException(ex);
+        }
+    }
+
+    private void recordWritten() throws IOException {
+        if (++recordsSinceSync >= syncInterval) {
+            sync();
+        }
+
+        if (snapshotInterval > 0 && ++recordsSinceSnapshot >= snapshotInterval) {
+            checkpoint();
+        }
+    }
+
+    private void startGeneration(long newGeneration) throws IOException {
+        // Create the journal before the snapshot announces the generation, so
+        // that a replica switching to it finds the journal:
+        fileOutputStream = 
+                new FileOutputStream(
+                        getJournalPath(directory, newGeneration).toFile());
+
+        dataOutputStream = 
+                new DataOutputStream(new BufferedOutputStream(fileOutputStream));
+
+        dataOutputStream.writeInt(JOURNAL_MAGIC);
+        dataOutputStream.writeInt(FORMAT_VERSION);
+        sync();
+        writeSnapshot(tree, getSnapshotPath(directory, newGeneration));
+
+        generation = newGeneration;
+        recordsSinceSnapshot = 0;
+
+        // Keep the previous generation for the replicas still tailing it:
+        deleteGenerationsBefore(newGeneration - 1);
+    }
+
+    private void closeJournal() throws IOException {
+        if (dataOutputStream != null) {
+            sync();
+            dataOutputStream.close();
+            dataOutputStream = null;
+            fileOutputStream = null;
+        }
+    }
+
+    private void deleteGenerationsBefore(long newGeneration) 
+            throws IOException {
+        try (DirectoryStream<Path> paths = 
+                Files.newDirectoryStream(directory)) {
+
+            for (Path path : paths) {
+                long pathGeneration = parseGeneration(path);
+
+                if (pathGeneration >= 0L && pathGeneration < newGeneration) {
+                    Files.deleteIfExists(path);
+                }
+            }
+        }
+    }
+
+    /**
+     * Reads and applies a single record. Returns the size of the record in 
+     * bytes.
+     */
+    private static int applyRecord(DataInputStream inputStream, 
+                                   WeightedTree tree,
+                                   Path journalPath) throws IOException {
+        // Read a whole record before applying it, so that a torn record is 
+        // never applied in part:
+        int opcode = inputStream.read();
+
+        switch (opcode) {
+            case -1:
+                throw new EOFException();
+
+            case ADD_TREE_NODE:
+                tree.addTreeNode(inputStream.readInt());
+                return 5;
+
+            case REMOVE_TREE_NODE:
+                tree.removeTreeNode(inputStream.readInt());
+                return 5;
+
+            case CONNECT: {
+                int id1 = inputStream.readInt();
+                int id2 = inputStream.readInt();
+                double weight = inputStream.readDouble();
+                tree.connect(id1, id2, weight);
+                return 17;
+            }
+
+            case DISCONNECT: {
+                int id1 = inputStream.readInt();
+                int id2 = inputStream.readInt();
+                tree.disconnect(id1, id2);
+                return 9;
+            }
+
+            case CLEAR:
+                tree.clear();
+                return 1;
+
+            default:
+                throw new IOException(
+                        "Unknown record type " 
+                                + opcode 
+                                + " in " 
+                                + journalPath 
+                                + ".");
+        }
+    }
+
+    private static void checkHeader(DataInputStream inputStream, 
+                                    int magic, 
+                                    Path path) throws IOException {
+        if (inputStream.readInt() != magic) {
+            throw new IOException("Not a tree journal file: " + path + ".");
+        }
+
+        int formatVersion = inputStream.readInt();
+
+        if (formatVersion != FORMAT_VERSION) {
+            throw new IOException(
+                    "Unsupported format version " 
+                            + formatVersion 
+                            + " in " 
+                            + path 
+                            + ".");
+        }
+    }
+
+    /**
+     * Returns the generation of a snapshot or journal file, or -1 for any 
+     * other file.
+     */
+    private static long parseGeneration(Path path) {
+        String fileName = path.getFileName().toString();
+        String number;
+
+        if (fileName.startsWith(SNAPSHOT_PREFIX) 
+                && fileName.endsWith(SNAPSHOT_SUFFIX)) {
+            number = fileName.substring(
+                    SNAPSHOT_PREFIX.length(),
+                    fileName.length() - SNAPSHOT_SUFFIX.length());
+        } else if (fileName.startsWith(JOURNAL_PREFIX) 
+                && fileName.endsWith(JOURNAL_SUFFIX)) {
+            number = fileName.substring(
+                    JOURNAL_PREFIX.length(),
+                    fileName.length() - JOURNAL_SUFFIX.length());
+        } else {
+            return -1L;
+        }
+
+        try {
+            return Long.parseLong(number);
+        } catch (NumberFormatException ex) {
+            return -1L;
+        }
+    }
+
+    private static Path getSnapshotPath(Path directory, long generation) {
+        return directory.resolve(SNAPSHOT_PREFIX + generation + SNAPSHOT_SUFFIX);
+    }
+}
@@ -0,0 +1,29 @@
+package com.github.coderodde.pathfinding;
+
+/**
+ * This interface specifies a receiver of the modifications of a 
+ * {@link WeightedTree}. Each method is called right after the respective 
+ * modification took effect; the calls that leave the tree unchanged are not
+ * reported. Relabeling changes no node IDs, so it is not reported either.
+ * The bulk operations report each of their modifications in the batch order 
+ * once the whole batch took effect.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 19, 2026)
+ * @since 1.7 (Oct 19, 2026)
+ */
+public interface TreeMutationListener {
+
+    void onAddTreeNode(int id);
+
+    void onRemoveTreeNode(int id);
+
+    /**
+     * Reports a new edge, or a new weight of an existing edge.
+     */
+    void onConnect(int id1, int id2, double weight);
+
+    void onDisconnect(int id1, int id2);
+
+    void onClear();
+}
@@ -0,0 +1,110 @@
+package com.github.coderodde.pathfinding;
+
+/**
+ * This class implements an immutable view of a {@link WeightedTree} as of a
+ * single version, obtained by {@link WeightedTree#snapshot()}. A snapshot
+ * never changes, so that any number of threads may search it while the tree
+ * is being modified.
+ * <p>
+ * The node arrays of the tree are split into pages. A snapshot references
+ * the pages of the tree instead of copying them, and the tree copies a page,
+ * and the adjacency arrays of a node, only when modifying them after they
+ * have been handed out. The map from node IDs to indices is paged the same
+ * way. Thus, the successive snapshots share all the pages not modified in 
+ * between, and a snapshot is reclaimed by the garbage collector as soon as 
+ * no search refers to it.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 19, 2026)
+ * @since 1.7 (Oct 19, 2026)
+ */
+public final class TreeSnapshot implements TreeView {
+
+    static final int PAGE_SHIFT = 10;
+    static final int PAGE_SIZE = 1 << PAGE_SHIFT;
+    static final int PAGE_MASK = PAGE_SIZE - 1;
+
+    final Page[] pages;
+    private final int numberOfNodes;
+    private final IntIndexMap indexMap;
+    private final long version;
+
+    TreeSnapshot(Page[] pages,
+                 int numberOfNodes,
+                 IntIndexMap indexMap,
+                 long version) {
+        this.pages = pages;
+        this.numberOfNodes = numberOfNodes;
+        this.indexMap = indexMap;
+        this.version = version;
+    }
+
+    @Override
+    public int getNumberOfNodes() {
+        return numberOfNodes;
+    }
+
+    @Override
+    public int getNodeIndex(int nodeId) {
+        // Resolve the contiguous IDs just like the tree does:
+        if (nodeId >= 0 
+                && nodeId < numberOfNodes 
+                && getNodeId(nodeId) == nodeId) {
+            return nodeId;
+        }
+
+        return indexMap.get(nodeId);
+    }
+
+    @Override
+    public int getNodeId(int index) {
+        return pages[index >>> PAGE_SHIFT].nodeIds[index & PAGE_MASK];
+    }
+
+    @Override
+    public int getDegree(int index) {
+        return pages[index >>> PAGE_SHIFT].degrees[index & PAGE_MASK];
+    }
+
+    @Override
+    public int getNeighborIndex(int index, int position) {
+        return pages[index >>> PAGE_SHIFT]
+                .neighborIndices[index & PAGE_MASK][position];
+    }
+
+    @Override
+    public double getNeighborWeight(int index, int position) {
+        return pages[index >>> PAGE_SHIFT]
+                .neighborWeights[index & PAGE_MASK][position];
+    }
+
+    /**
+     * Returns the version of the tree this snapshot was taken at.
+     */
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    /**
+     * This class holds the node data of up to {@link #PAGE_SIZE} consecutive
+     * node indices. A page is never modified once handed out to a snapshot.
+     */
+    static final class Page {
+
+        final int[] nodeIds;
+        final int[] degrees;
+        final int[][] neighborIndices;
+        final double[][] neighborWeights;
+
+        Page(int[] nodeIds,
+             int[] degrees,
+             int[][] neighborIndices,
+             double[][] neighborWeights) {
+            this.nodeIds = nodeIds;
+            this.degrees = degrees;
+            this.neighborIndices = neighborIndices;
+            this.neighborWeights = neighborWeights;
+        }
+    }
+}
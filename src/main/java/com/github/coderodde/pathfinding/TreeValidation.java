@@ -0,0 +1,71 @@
+package com.github.coderodde.pathfinding;
+
+/**
+ * This class holds the outcome of a {@link TreeValidator} pass: the node, 
+ * edge and component counts, and the number of redundant edges, that is, the
+ * edges that closed a cycle. A graph is a forest if and only if it has no 
+ * redundant edges, or equivalently, if it has exactly {@code n - c} edges for
+ * {@code n} nodes and {@code c} components.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 19, 2026)
+ * @since 1.7 (Oct 19, 2026)
+ */
+public final class TreeValidation {
+
+    private final int numberOfNodes;
+    private final long numberOfEdges;
+    private final int numberOfComponents;
+    private final long numberOfRedundantEdges;
+
+    TreeValidation(int numberOfNodes,
+                   long numberOfEdges,
+                   int numberOfComponents,
+                   long numberOfRedundantEdges) {
+        this.numberOfNodes = numberOfNodes;
+        this.numberOfEdges = numberOfEdges;
+        this.numberOfComponents = numberOfComponents;
+        this.numberOfRedundantEdges = numberOfRedundantEdges;
+    }
+
+    public int getNumberOfNodes() {
+        return numberOfNodes;
+    }
+
+    public long getNumberOfEdges() {
+        return numberOfEdges;
+    }
+
+    public int getNumberOfComponents() {
+        return numberOfComponents;
+    }
+
+    public long getNumberOfRedundantEdges() {
+        return numberOfRedundantEdges;
+    }
+
+    public boolean isAcyclic() {
+        return numberOfRedundantEdges == 0L;
+    }
+
+    /**
+     * Returns {@code true} if the graph is acyclic and connected, that is, if
+     * it has exactly {@code n - 1} edges and a single component.
+     */
+    public boolean isTree() {
+        return isAcyclic() && numberOfComponents == 1;
+    }
+
+    @Override
+    public String toString() {
+        return "[nodes = " 
+                + numberOfNodes 
+                + ", edges = " 
+                + numberOfEdges 
+                + ", components = " 
+                + numberOfComponents 
+                + ", redundant edges = " 
+                + numberOfRedundantEdges 
+                + "]";
+    }
+}
@@ -0,0 +1,135 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.Objects;
+import java.util.concurrent.atomic.AtomicIntegerArray;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.stream.IntStream;
+
+/**
+ * This class validates that a graph is a forest in one pass over its edges. 
+ * It maintains a concurrent union-find structure over the dense node indices:
+ * an edge whose endpoints are already in the same set closes a cycle. The
+ * structure is lock-free, so any number of threads may add edges at once, 
+ * either while streaming an edge list or while sweeping a 
+ * {@link TreeView} in parallel, and no traversal, hence no recursion, is 
+ * involved.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 19, 2026)
+ * @since 1.7 (Oct 19, 2026)
+ */
+public final class TreeValidator {
+
+    private final AtomicIntegerArray parents;
+    private final LongAdder numberOfEdges = new LongAdder();
+    private final LongAdder numberOfRedundantEdges = new LongAdder();
+    private final LongAdder numberOfUnions = new LongAdder();
+
+    /**
+     * Constructs a validator for a graph whose nodes are 
+     * {@code 0, 1, ..., numberOfNodes - 1}.
+     */
+    public TreeValidator(int numberOfNodes) {
+        if (numberOfNodes < 0) {
+            throw new IllegalArgumentException(
+                    "Negative number of nodes: " + numberOfNodes + ".");
+        }
+
+        this.parents = new AtomicIntegerArray(numberOfNodes);
+
+        for (int node = 0; node < numberOfNodes; node++) {
+            parents.set(node, node);
+        }
+    }
+
+    /**
+     * Validates all the edges of {@code tree} in parallel.
+     */
+    public static TreeValidation validate(TreeView tree) {
+        Objects.requireNonNull(tree, "The tree is null.");
+        TreeValidator validator = new TreeValidator(tree.getNumberOfNodes());
+
+        IntStream.range(0, tree.getNumberOfNodes())
+                 .parallel()
+                 .forEach(index -> validator.addEdges(tree, index));
+
+        return validator.getValidation();
+    }
+
+    /**
+     * Adds an edge between the two nodes. May be called concurrently.
+     * 
+     * @return {@code false} if the edge closes a cycle.
+     */
+    public boolean addEdge(int node1, int node2) {
+        Objects.checkIndex(node1, parents.length());
+        Objects.checkIndex(node2, parents.length());
+        numberOfEdges.increment();
+
+        while (true) {
+            int root1 = find(node1);
+            int root2 = find(node2);
+
+            if (root1 == root2) {
+                numberOfRedundantEdges.increment();
+                return false;
+            }
+
+            // Always link the larger root under the smaller one, so that 
+            // concurrent unions cannot form a cycle of parent links:
+            int smallerRoot = Math.min(root1, root2);
+            int largerRoot = Math.max(root1, root2);
+
+            if (parents.compareAndSet(largerRoot, largerRoot, smallerRoot)) {
+                numberOfUnions.increment();
+                return true;
+            }
+
+            // Another thread relinked the larger root meanwhile; retry.
+        }
+    }
+
+    /**
+     * Returns the validation of the edges added so far. Must not run 
+     * concurrently with {@link #addEdge(int, int)}.
+     */
+    public TreeValidation getValidation() {
+        int numberOfNodes = parents.length();
+
+        return new TreeValidation(
+                numberOfNodes,
+                numberOfEdges.sum(),
+                (int)(numberOfNodes - numberOfUnions.sum()),
+                numberOfRedundantEdges.sum());
+    }
+
+    private void addEdges(TreeView tree, int index) {
+        for (int i = 0, degree = tree.getDegree(index); i < degree; i++) {
+            int neighborIndex = tree.getNeighborIndex(index, i);
+
+            // Each edge is listed by both endpoints; take it once:
+            if (index <= neighborIndex) {
+                addEdge(index, neighborIndex);
+            }
+        }
+    }
+
+    private int find(int node) {
+        while (true) {
+            int parent = parents.get(node);
+
+            if (parent == node) {
+                return node;
+            }
+
+            int grandparent = parents.get(parent);
+
+            // Path halving; a failed update is harmless:
+            if (parent != grandparent) {
+                parents.compareAndSet(node, parent, grandparent);
+            }
+
+            node = grandparent;
+        }
+    }
+}
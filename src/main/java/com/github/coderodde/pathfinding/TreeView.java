@@ -0,0 +1,100 @@
+package com.github.coderodde.pathfinding;
+
+/**
+ * This interface specifies a read-only view of a weighted tree. The nodes are
+ * addressed by dense indices {@code 0, 1, ..., n - 1}; the neighbors of each
+ * node are addressed by their positions {@code 0, 1, ..., degree - 1} in its
+ * adjacency list, so that the traversals need neither hashing nor node
+ * objects.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 19, 2026)
+ * @since 1.7 (Oct 19, 2026)
+ */
+public interface TreeView {
+
+    /**
+     * The index returned for the node IDs not present in the view.
+     */
+    int NO_NODE = -1;
+
+    int getNumberOfNodes();
+
+    /**
+     * Returns the index of the node with the given ID, or {@link #NO_NODE} if
+     * there is no such node.
+     */
+    int getNodeIndex(int nodeId);
+
+    int getNodeId(int index);
+
+    int getDegree(int index);
+
+    int getNeighborIndex(int index, int position);
+
+    double getNeighborWeight(int index, int position);
+
+    /**
+     * Returns a counter that changes whenever the view is modified. Immutable
+     * views always return the same value.
+     */
+    default long getVersion() {
+        return 0L;
+    }
+
+    default boolean containsNodeId(int nodeId) {
+        return getNodeIndex(nodeId) != NO_NODE;
+    }
+
+    default double getEdgeWeight(int id1, int id2) {
+        int index1 = getNodeIndex(id1);
+
+        if (index1 == NO_NODE) {
+            throw new IllegalStateException("No node " + id1 + ".");
+        }
+
+        int index2 = getNodeIndex(id2);
+
+        if (index2 == NO_NODE) {
+            throw new IllegalStateException("No node " + id2 + ".");
+        }
+
+        return getEdgeWeightByIndices(index1, index2);
+    }
+
+    /**
+     * Returns the weight of the edge between the nodes at the given indices.
+     * Since both endpoints list the edge, only the lower-degree one is
+     * scanned.
+     */
+    default double getEdgeWeightByIndices(int index1, int index2) {
+        int index = getDegree(index1) <= getDegree(index2) ? index1 : index2;
+        int otherIndex = index == index1 ? index2 : index1;
+
+        for (int i = 0, degree = getDegree(index); i < degree; i++) {
+            if (getNeighborIndex(index, i) == otherIndex) {
+                return getNeighborWeight(index, i);
+            }
+        }
+
+        throw new IllegalStateException(
+                "No edge {" 
+                        + getNodeId(index1) 
+                        + ", " 
+                        + getNodeId(index2) 
+                        + "}.");
+    }
+
+    default void forEachNeighbor(int nodeId, IntDoubleConsumer consumer) {
+        int index = getNodeIndex(nodeId);
+
+        if (index == NO_NODE) {
+            throw new IllegalStateException("No node " + nodeId + ".");
+        }
+
+        for (int i = 0, degree = getDegree(index); i < degree; i++) {
+            consumer.accept(getNodeId(getNeighborIndex(index, i)),
+                            getNeighborWeight(index, i));
+        }
+    }
+}
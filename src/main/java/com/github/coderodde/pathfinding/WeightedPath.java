@@ -1,43 +1,135 @@
 package com.github.coderodde.pathfinding;
 
 import com.github.coderodde.pathfinding.WeightedTree.WeightedTreeNode;
-import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Iterator;
 import java.util.List;
+import java.util.NoSuchElementException;
+import java.util.Objects;
+import java.util.stream.IntStream;
 
 /**
- * This class specifies the weighted path.
- * 
+ * This class specifies the weighted path. The path is a lightweight view over
+ * a primitive array of node IDs: the tree nodes and the {@link WeightedEdge}
+ * objects are materialized only when asked for.
+ * <p>
+ * The node IDs and the total cost are fixed when the path is built, and so 
+ * are {@link #equals(Object)} and {@link #hashCode()}. The nodes and the 
+ * edges, however, are read from the tree on each call: once the tree is 
+ * modified, {@link #getNode(int)}, {@link #getEdge(int)} and the iterator 
+ * show the current weights and throw an {@link IllegalStateException} for a
+ * removed node or edge, and once an {@link OffHeapTree} is closed, they must
+ * not be called at all. A path found in a {@link WeightedTree#snapshot()} 
+ * reads that snapshot, which never changes.
+ *
  * @author Rodion "rodde" Efremov
- * @version 1.6 (Nov 6, 2022)
+ * @version 1.7 (Oct 19, 2026)
  * @since 1.6 (Nov 6, 2022)
  */
-public final class WeightedPath {
-
-    private final List<WeightedTreeNode> nodeList = new ArrayList<>();
-    private final List<WeightedEdge> edgeList = new ArrayList<>();
-    private double totalCost;
+public final class WeightedPath implements Iterable<WeightedTreeNode> {
+
+    private static final int INITIAL_HASH = 0x811C9DC5;
+    private static final int HASH_MULTIPLIER = 0x9E3779B1;
+    
+    private final TreeView tree;
+    private final int[] nodeIds;
+    private final double totalCost;
+    
+    // The rolling hash over the node IDs, computed once on construction:
+    private final int hash;
 
     public WeightedPath(WeightedTree tree, List<WeightedTreeNode> nodeList) {
-        this.nodeList.addAll(nodeList);
-        loadEdgesAndTotalCost(tree, nodeList);
+        this.tree = Objects.requireNonNull(tree, "The tree is null.");
+        this.nodeIds = new int[nodeList.size()];
+
+        double totalCost = 0.0;
+        int hash = INITIAL_HASH;
+        WeightedTreeNode previousNode = null;
+        int index = 0;
+
+        for (WeightedTreeNode node : nodeList) {
+            if (previousNode != null) {
+                totalCost += tree.getEdgeWeight(previousNode, node);
+            }
+
+            nodeIds[index++] = node.getId();
+            hash = rollHash(hash, node.getId());
+            previousNode = node;
+        }
+
+        this.totalCost = totalCost;
+        this.hash = finishHash(hash, nodeIds.length);
+    }
+
+    WeightedPath(TreeView tree, int[] nodeIds, double totalCost) {
+        this.tree = tree;
+        this.nodeIds = nodeIds;
+        this.totalCost = totalCost;
+        
+        int hash = INITIAL_HASH;
+        
+        for (int nodeId : nodeIds) {
+            hash = rollHash(hash, nodeId);
+        }
+        
+        this.hash = finishHash(hash, nodeIds.length);
     }
 
     public int getNumberOfNodes() {
-        return nodeList.size();
+        return nodeIds.length;
+    }
+
+    public int getNodeId(int index) {
+        return nodeIds[index];
     }
 
     public WeightedTreeNode getNode(int index) {
-        return nodeList.get(index);
+        if (tree instanceof WeightedTree) {
+            return ((WeightedTree) tree).getWeightedTreeNode(nodeIds[index]);
+        }
+        
+        // Other views have no node objects; nodes are equal by ID anyway:
+        return new WeightedTreeNode(nodeIds[index]);
     }
 
     public WeightedEdge getEdge(int index) {
-        return edgeList.get(index);
+        Objects.checkIndex(index, nodeIds.length - 1);
+        return new WeightedEdge(getNode(index),
+                                getNode(index + 1),
+                                tree.getEdgeWeight(nodeIds[index], 
+                                                   nodeIds[index + 1]));
     }
 
     public double getTotalCost() {
         return totalCost;
     }
 
+    public IntStream nodeIds() {
+        return Arrays.stream(nodeIds);
+    }
+
+    @Override
+    public Iterator<WeightedTreeNode> iterator() {
+        return new Iterator<>() {
+
+            private int index;
+
+            @Override
+            public boolean hasNext() {
+                return index < nodeIds.length;
+            }
+
+            @Override
+            public WeightedTreeNode next() {
+                if (!hasNext()) {
+                    throw new NoSuchElementException("No more nodes.");
+                }
+
+                return getNode(index++);
+            }
+        };
+    }
+
     @Override
     public boolean equals(Object o) {
         if (o == this) {
@@ -53,45 +145,39 @@ public final class WeightedPath {
         }
 
         WeightedPath otherPath = (WeightedPath) o;
-
-        if (getNumberOfNodes() != otherPath.getNumberOfNodes()) {
+        
+        // Differing hashes settle the vast majority of unequal pairs in O(1):
+        if (hash != otherPath.hash) {
             return false;
         }
-
-        for (int i = 0; i < nodeList.size(); i++) {
-            if (!nodeList.get(i).equals(otherPath.nodeList.get(i))) {
-                return false;
-            }
-        }
-
-        return true;
+        
+        return Arrays.equals(nodeIds, otherPath.nodeIds);
+    }
+    
+    @Override
+    public int hashCode() {
+        return hash;
     }
 
     @Override
     public String toString() {
         StringBuilder sb = new StringBuilder();
-        nodeList.forEach((node) -> { sb.append(node).append('\n');});
+        forEach((node) -> { sb.append(node).append('\n');});
         return sb.toString();
     }
 
-    private void loadEdgesAndTotalCost(WeightedTree tree,
-                                       List<WeightedTreeNode> nodeList) {
-        double totalCost = 0.0;
-
-        for (int i = 0; i < nodeList.size() - 1; i++) {
-            WeightedTreeNode node1 = nodeList.get(i);
-            WeightedTreeNode node2 = nodeList.get(i + 1);
-            WeightedEdge edge = 
-                    new WeightedEdge(
-                            node1,
-                            node2,
-                            tree.getEdgeWeight(node1.getId(), 
-                                               node2.getId()));
-
-            totalCost += edge.getWeight();
-            edgeList.add(edge);
-        }
-
-        this.totalCost = totalCost;
+    private static int rollHash(int hash, int nodeId) {
+        return hash * HASH_MULTIPLIER + nodeId;
+    }
+    
+    private static int finishHash(int hash, int length) {
+        // The MurmurHash3 finalizer spreads the bits over the whole integer:
+        hash ^= length;
+        hash ^= hash >>> 16;
+        hash *= 0x85EBCA6B;
+        hash ^= hash >>> 13;
+        hash *= 0xC2B2AE35;
+        hash ^= hash >>> 16;
+        return hash;
     }
 }
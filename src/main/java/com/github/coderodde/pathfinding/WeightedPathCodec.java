@@ -0,0 +1,217 @@
+package com.github.coderodde.pathfinding;
+
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.OutputStream;
+import java.io.UncheckedIOException;
+import java.util.Arrays;
+import java.util.Objects;
+
+/**
+ * This class implements a compact binary encoding of weighted paths. A path is
+ * written as the number of nodes, the total cost and the node IDs, where each
+ * ID except the first is stored as the zigzag varint of its difference to the
+ * previous ID. Paths in trees with locally numbered nodes, such as the ones
+ * produced by {@link StarTreeBuilder}, take about one or two bytes per node.
+ *
+ * @author Rodion "rodde" Efremov
+ * @version 1.7 (Oct 19, 2026)
+ * @since 1.7 (Oct 19, 2026)
+ */
+public final class WeightedPathCodec {
+
+    // The node count is untrusted, so the ID array grows as the IDs arrive:
+    private static final int MAXIMUM_INITIAL_CAPACITY = 1024;
+
+    private WeightedPathCodec() {}
+
+    public static byte[] encode(WeightedPath path) {
+        Objects.requireNonNull(path, "The path is null.");
+        ByteArrayOutputStream outputStream =
+                new ByteArrayOutputStream(16 + path.getNumberOfNodes());
+
+        try {
+            write(path, outputStream);
+        } catch (IOException ex) {
+            // Cannot happen on a byte array stream:
+            throw new UncheckedIOException(ex);
+        }
+
+        return outputStream.toByteArray();
+    }
+
+    public static WeightedPath decode(TreeView tree, byte[] data) {
+        Objects.requireNonNull(tree, "The tree is null.");
+        Objects.requireNonNull(data, "The data is null.");
+        Reader reader = new Reader(data);
+        WeightedPath path = readImpl(tree, reader);
+
+        if (reader.position != data.length) {
+            throw new IllegalArgumentException(
+                    "Trailing bytes after the encoded path: "
+                            + (data.length - reader.position)
+                            + ".");
+        }
+
+        return path;
+    }
+
+    public static void write(WeightedPath path, OutputStream outputStream)
+            throws IOException {
+        Objects.requireNonNull(path, "The path is null.");
+        Objects.requireNonNull(outputStream, "The output stream is null.");
+
+        int numberOfNodes = path.getNumberOfNodes();
+        writeVarint(outputStream, numberOfNodes);
+
+        long costBits = Double.doubleToLongBits(path.getTotalCost());
+
+        for (int shift = 56; shift >= 0; shift -= 8) {
+            outputStream.write((int)(costBits >>> shift));
+        }
+
+        int previousNodeId = 0;
+
+        for (int i = 0; i < numberOfNodes; i++) {
+            int nodeId = path.getNodeId(i);
+            writeVarint(outputStream, zigzag(nodeId - previousNodeId));
+            previousNodeId = nodeId;
+        }
+    }
+
+    public static WeightedPath read(TreeView tree, InputStream inputStream)
+            throws IOException {
+        Objects.requireNonNull(tree, "The tree is null.");
+        Objects.requireNonNull(inputStream, "The input stream is null.");
+
+        try {
+            return readImpl(tree, new Reader(inputStream));
+        } catch (UncheckedIOException ex) {
+            throw ex.getCause();
+        }
+    }
+
+    private static WeightedPath readImpl(TreeView tree, Reader reader) {
+        int numberOfNodes = reader.readVarint();
+
+        if (numberOfNodes < 0) {
+            throw new IllegalArgumentException(
+                    "Negative number of nodes: " + numberOfNodes + ".");
+        }
+
+        long costBits = 0L;
+
+        for (int i = 0; i < 8; i++) {
+            costBits = (costBits << 8) | reader.readByte();
+        }
+
+        // Each ID takes at least one byte:
+        if (reader.data != null 
+                && numberOfNodes > reader.data.length - reader.position) {
+            throw new IllegalArgumentException(
+                    "The number of nodes "
+                            + numberOfNodes
+                            + " exceeds the number of remaining bytes "
+                            + (reader.data.length - reader.position)
+                            + ".");
+        }
+
+        int[] nodeIds = 
+                new int[Math.min(numberOfNodes, MAXIMUM_INITIAL_CAPACITY)];
+
+        int previousNodeId = 0;
+
+        for (int i = 0; i < numberOfNodes; i++) {
+            if (i == nodeIds.length) {
+                nodeIds = Arrays.copyOf(
+                        nodeIds, 
+                        (int) Math.min(numberOfNodes, 2L * nodeIds.length));
+            }
+
+            previousNodeId += unzigzag(reader.readVarint());
+            nodeIds[i] = previousNodeId;
+        }
+
+        return new WeightedPath(tree,
+                                nodeIds,
+                                Double.longBitsToDouble(costBits));
+    }
+
+    private static void writeVarint(OutputStream outputStream, int value)
+            throws IOException {
+        while ((value & ~0x7F) != 0) {
+            outputStream.write((value & 0x7F) | 0x80);
+            value >>>= 7;
+        }
+
+        outputStream.write(value);
+    }
+
+    private static int zigzag(int value) {
+        return (value << 1) ^ (value >> 31);
+    }
+
+    private static int unzigzag(int value) {
+        return (value >>> 1) ^ -(value & 1);
+    }
+
+    /**
+     * Reads bytes either from an array or from a stream.
+     */
+    private static final class Reader {
+
+        private final byte[] data;
+        private final InputStream inputStream;
+        private int position;
+
+        Reader(byte[] data) {
+            this.data = data;
+            this.inputStream = null;
+        }
+
+        Reader(InputStream inputStream) {
+            this.data = null;
+            this.inputStream = inputStream;
+        }
+
+        int readByte() {
+            if (data != null) {
+                if (position == data.length) {
+                    throw new IllegalArgumentException(
+                            "Truncated path encoding.");
+                }
+
+                return data[position++] & 0xFF;
+            }
+
+            try {
+                int value = inputStream.read();
+
+                if (value == -1) {
+                    throw new EOFException("Truncated path encoding.");
+                }
+
+                return value;
+            } catch (IOException ex) {
+                throw new UncheckedIOException(ex);
+            }
+        }
+
+        int readVarint() {
+            int value = 0;
+
+            for (int shift = 0; shift < 35; shift += 7) {
+                int b = readByte();
+                value |= (b & 0x7F) << shift;
+
+                if ((b & 0x80) == 0) {
+                    return value;
+                }
+            }
+
+            throw new IllegalArgumentException("Malformed varint.");
+        }
+    }
+}
@@ -1,33 +1,72 @@
 package com.github.coderodde.pathfinding;
 
-import java.util.Collections;
-import java.util.HashMap;
-import java.util.HashSet;
+import java.util.AbstractSet;
+import java.util.Arrays;
 import java.util.Iterator;
-import java.util.LinkedHashMap;
-import java.util.LinkedHashSet;
-import java.util.Map;
+import java.util.NoSuchElementException;
+import java.util.Objects;
 import java.util.Set;
 
 /**
  * This class specifies a general, acyclic, undirected tree.
- * 
+ * <p>
+ * Internally, the nodes are kept at dense indices {@code 0, 1, ..., n - 1}.
+ * Each node stores its neighbors and the respective edge weights in two
+ * parallel primitive arrays, and node IDs are mapped to dense indices by an
+ * open-addressing table without any boxing. Nodes whose ID equals their index,
+ * as produced by {@link StarTreeBuilder}, are resolved by a plain array access
+ * and take no space in the table at all.
+ * <p>
+ * The modifications and {@link #snapshot()} are mutually exclusive. The other
+ * methods read the live tree and must not race with the modifications; the
+ * searches meant to run concurrently with them should run over a snapshot.
+ *
  * @author Rodion "rodde" Efremov
- * @version 1.6 (Nov 4, 2022)
+ * @version 1.7 (Oct 19, 2026)
  * @since 1.6 (Nov 4, 2022)
  */
-public final class WeightedTree {
-
-    private final Map<Integer, WeightedTreeNode> nodeMap = 
-            new LinkedHashMap<>();
-
-    private final Map<WeightedTreeNode, 
-                      Map<WeightedTreeNode, Double>> weightMap = 
-            new HashMap<>();
+public final class WeightedTree implements TreeView {
+
+    private static final int INITIAL_CAPACITY = 16;
+    private static final int[] EMPTY_NEIGHBORS = new int[0];
+    private static final double[] EMPTY_WEIGHTS = new double[0];
+
+    // Maps the IDs of the nodes whose ID differs from their index:
+    private final IntIndexMap indexMap = new IntIndexMap();
+
+    // All the following arrays are indexed by the dense node indices:
+    private WeightedTreeNode[] nodes;
+    private int[] nodeIds;
+    private int[] degrees;
+    private int[][] neighborIndices;
+    private double[][] neighborWeights;
+    private int size;
+    
+    // Incremented on each modification of the tree:
+    private long version;
+
+    private TreeMutationListener mutationListener;
+
+    // The pages last handed out to snapshots, or null for the pages modified
+    // since, and whether the adjacency arrays of each node are referenced by
+    // such a page and must be copied before being modified in place:
+    private TreeSnapshot.Page[] publishedPages;
+    private boolean[] sharedAdjacency;
+    private IntIndexMap publishedIndexMap;
+    private TreeSnapshot latestSnapshot;
+
+    public WeightedTree() {
+        allocate(INITIAL_CAPACITY);
+    }
 
     public static final class WeightedTreeNode {
         private final int id;
-        private final Set<WeightedTreeNode> neighbors = new LinkedHashSet<>();
+
+        // The dense index of this node within its owning tree:
+        int index = -1;
+
+        // The tree this node belongs to, or null if none:
+        WeightedTree owner;
 
         WeightedTreeNode(int id) {
             this.id = id;
@@ -66,226 +105,946 @@ public final class WeightedTree {
         }
 
         public Set<WeightedTreeNode> getNeighbors() {
-            return Collections.unmodifiableSet(neighbors);
+            if (owner == null) {
+                return Set.of();
+            }
+
+            return owner.new NeighborSet(this);
         }
     }
 
-    public WeightedTreeNode addTreeNode(int id) {
-        if (!nodeMap.containsKey(id)) {
-            WeightedTreeNode newTreeNode = new WeightedTreeNode(id);
-            nodeMap.put(id, newTreeNode);
-            return newTreeNode;
+    public synchronized WeightedTreeNode addTreeNode(int id) {
+        int index = getNodeIndex(id);
+
+        if (index != IntIndexMap.ABSENT) {
+            return nodes[index];
         }
 
-        return nodeMap.get(id);
+        if (size == nodes.length) {
+            grow(2 * size);
+        }
+
+        WeightedTreeNode newTreeNode = appendNode(id);
+        version++;
+
+        if (mutationListener != null) {
+            mutationListener.onAddTreeNode(id);
+        }
+
+        return newTreeNode;
     }
 
-    public boolean removeTreeNode(int id) {
-        if (!nodeMap.containsKey(id)) {
+    public synchronized boolean removeTreeNode(int id) {
+        int index = getNodeIndex(id);
+
+        if (index == IntIndexMap.ABSENT) {
             return false;
         }
 
-        WeightedTreeNode treeNodeToRemove = nodeMap.get(id);
+        WeightedTreeNode treeNodeToRemove = nodes[index];
 
-        for (WeightedTreeNode neighbor : treeNodeToRemove.neighbors) {
-            neighbor.neighbors.remove(treeNodeToRemove);
-            weightMap.get(neighbor).remove(treeNodeToRemove);
+        for (int i = 0; i < degrees[index]; i++) {
+            int neighborIndex = neighborIndices[index][i];
+
+            if (neighborIndex != index) {
+                removeNeighbor(neighborIndex, index);
+            }
+        }
+
+        if (index != treeNodeToRemove.id) {
+            indexMap.remove(treeNodeToRemove.id);
+            publishedIndexMap = null;
+        }
+
+        // Keep the indices dense by moving the last node to the vacated slot:
+        int lastIndex = --size;
+
+        if (lastIndex != index) {
+            moveNode(lastIndex, index);
+        }
+
+        markModified(lastIndex);
+        sharedAdjacency[lastIndex] = false;
+        nodes[lastIndex] = null;
+        neighborIndices[lastIndex] = null;
+        neighborWeights[lastIndex] = null;
+
+        treeNodeToRemove.index = -1;
+        treeNodeToRemove.owner = null;
+        version++;
+
+        if (mutationListener != null) {
+            mutationListener.onRemoveTreeNode(id);
         }
 
-        treeNodeToRemove.neighbors.clear();
-        weightMap.remove(treeNodeToRemove);
-        nodeMap.remove(id);
         return true;
     }
 
-    public boolean connect(int id1, int id2, double weight) {
-        WeightedTreeNode treeNode1 = nodeMap.get(id1);
+    public synchronized boolean connect(int id1, int id2, double weight) {
+        int index1 = getNodeIndex(id1);
 
-        if (treeNode1 == null) {
+        if (index1 == IntIndexMap.ABSENT) {
             return false;
         }
 
-        WeightedTreeNode treeNode2 = nodeMap.get(id2);
+        int index2 = getNodeIndex(id2);
 
-        if (treeNode2 == null) {
+        if (index2 == IntIndexMap.ABSENT) {
             return false;
         }
 
-        if (treeNode1.neighbors.contains(treeNode2)) {
-            // Here, we possibly updating an existing edge weight.
-            double currentWeight = weightMap.get(treeNode1).get(treeNode2);
+        if (!putEdge(index1, index2, weight)) {
+            return false;
+        }
 
-            if (currentWeight == weight) {
-                return false;
-            }
+        version++;
 
-            weightMap.get(treeNode1).put(treeNode2, weight);
-            weightMap.get(treeNode2).put(treeNode1, weight);
-            return true;
+        if (mutationListener != null) {
+            mutationListener.onConnect(id1, id2, weight);
         }
 
-        treeNode1.neighbors.add(treeNode2);
-        treeNode2.neighbors.add(treeNode1);
-
-        connectImpl(treeNode1, treeNode2, weight);
-        connectImpl(treeNode2, treeNode1, weight);
         return true;
     }
 
-    public boolean disconnect(int id1, int id2) {
-        WeightedTreeNode treeNode1 = nodeMap.get(id1);
+    public synchronized boolean disconnect(int id1, int id2) {
+        int index1 = getNodeIndex(id1);
 
-        if (treeNode1 == null) {
+        if (index1 == IntIndexMap.ABSENT) {
             return false;
         }
 
-        WeightedTreeNode treeNode2 = nodeMap.get(id2);
+        int index2 = getNodeIndex(id2);
 
-        if (treeNode2 == null) {
+        if (index2 == IntIndexMap.ABSENT) {
             return false;
         }
 
-        if (treeNode1.neighbors.contains(treeNode2)) {
-            treeNode1.neighbors.remove(treeNode2);
-            treeNode2.neighbors.remove(treeNode1);
+        if (!removeNeighbor(index1, index2)) {
+            return false;
+        }
+
+        if (index1 != index2) {
+            removeNeighbor(index2, index1);
+        }
+
+        version++;
+
+        if (mutationListener != null) {
+            mutationListener.onDisconnect(id1, id2);
+        }
+
+        return true;
+    }
+
+    /**
+     * Adds all the nodes in {@code ids} that are not yet in this tree. The
+     * node arrays are grown at most once, and the version of the tree changes
+     * once per batch.
+     *
+     * @param ids the IDs of the nodes to add.
+     * @return the number of nodes added.
+     */
+    public synchronized int addNodes(int[] ids) {
+        Objects.requireNonNull(ids, "The ID array is null.");
+
+        if (size + ids.length > nodes.length) {
+            grow(Math.max(2 * nodes.length, size + ids.length));
+        }
+
+        int oldSize = size;
+
+        for (int id : ids) {
+            if (getNodeIndex(id) == IntIndexMap.ABSENT) {
+                appendNode(id);
+            }
+        }
+
+        if (size == oldSize) {
+            return 0;
+        }
 
-            weightMap.get(treeNode1).remove(treeNode2);
-            weightMap.get(treeNode2).remove(treeNode1);
+        version++;
 
-            if (weightMap.get(treeNode1).isEmpty()) {
-                weightMap.remove(treeNode1);
+        if (mutationListener != null) {
+            for (int index = oldSize; index < size; index++) {
+                mutationListener.onAddTreeNode(nodeIds[index]);
             }
+        }
 
-            if (weightMap.get(treeNode2).isEmpty()) {
-                weightMap.remove(treeNode2);
+        return size - oldSize;
+    }
+
+    /**
+     * Connects each {@code ids1[i]} to {@code ids2[i]} with the weight
+     * {@code weights[i]} just like {@link #connect(int, int, double)} would,
+     * except that all the endpoints must be present. The adjacency arrays are
+     * resized at most once per node, and the version of the tree changes once
+     * per batch. If an endpoint is missing, the tree is left intact.
+     *
+     * @param ids1    the first endpoints.
+     * @param ids2    the second endpoints.
+     * @param weights the edge weights.
+     * @return the number of edges added or reweighted.
+     */
+    public synchronized int connectAll(int[] ids1, 
+                                       int[] ids2, 
+                                       double[] weights) {
+        int[] indices = resolveEdges(ids1, ids2, weights);
+        int numberOfEdges = weights.length;
+
+        // Reserve room for every edge in the batch being new. Sorting the 
+        // endpoints groups the edges by node, so the cost follows the batch 
+        // rather than the tree:
+        int[] endpoints = new int[2 * numberOfEdges];
+        int numberOfEndpoints = 0;
+
+        for (int i = 0; i < numberOfEdges; i++) {
+            endpoints[numberOfEndpoints++] = indices[2 * i];
+
+            if (indices[2 * i] != indices[2 * i + 1]) {
+                endpoints[numberOfEndpoints++] = indices[2 * i + 1];
             }
+        }
 
-            return true;
+        Arrays.sort(endpoints, 0, numberOfEndpoints);
+
+        int position = 0;
+
+        while (position < numberOfEndpoints) {
+            int index = endpoints[position];
+            int capacity = degrees[index];
+
+            while (position < numberOfEndpoints 
+                    && endpoints[position] == index) {
+                capacity++;
+                position++;
+            }
+
+            if (capacity > neighborIndices[index].length) {
+                // Grow at least as fast as a single connect would, so that 
+                // many small batches into a hub copy its arrays rarely:
+                capacity = Math.max(capacity, 
+                                    2 * neighborIndices[index].length);
+                markModified(index);
+                sharedAdjacency[index] = false;
+                neighborIndices[index] =
+                        Arrays.copyOf(neighborIndices[index], capacity);
+
+                neighborWeights[index] =
+                        Arrays.copyOf(neighborWeights[index], capacity);
+            }
+        }
+
+        boolean[] modified = new boolean[numberOfEdges];
+        int numberOfModifiedEdges = 0;
+
+        for (int i = 0; i < numberOfEdges; i++) {
+            if (putEdge(indices[2 * i], indices[2 * i + 1], weights[i])) {
+                modified[i] = true;
+                numberOfModifiedEdges++;
+            }
+        }
+
+        fireConnects(ids1, ids2, weights, modified, numberOfModifiedEdges);
+        return numberOfModifiedEdges;
+    }
+
+    /**
+     * Sets the weight of each existing edge {@code {ids1[i], ids2[i]}} to
+     * {@code weights[i]}. If an edge is missing, the tree is left intact. The
+     * version of the tree changes once per batch.
+     *
+     * @param ids1    the first endpoints.
+     * @param ids2    the second endpoints.
+     * @param weights the new edge weights.
+     * @return the number of edges whose weight changed.
+     */
+    public synchronized int updateWeights(int[] ids1, 
+                                          int[] ids2, 
+                                          double[] weights) {
+        int[] indices = resolveEdges(ids1, ids2, weights);
+        int numberOfEdges = weights.length;
+
+        int[] positions = new int[2 * numberOfEdges];
+
+        for (int i = 0; i < numberOfEdges; i++) {
+            int index1 = indices[2 * i];
+            int index2 = indices[2 * i + 1];
+            int position1 = findNeighbor(index1, index2);
+
+            if (position1 == -1) {
+                throw new IllegalStateException(
+                        "No edge {" + ids1[i] + ", " + ids2[i] + "}.");
+            }
+
+            positions[2 * i] = position1;
+            positions[2 * i + 1] = findNeighbor(index2, index1);
+        }
+
+        boolean[] modified = new boolean[numberOfEdges];
+        int numberOfModifiedEdges = 0;
+
+        for (int i = 0; i < numberOfEdges; i++) {
+            int index1 = indices[2 * i];
+            int index2 = indices[2 * i + 1];
+
+            if (neighborWeights[index1][positions[2 * i]] != weights[i]) {
+                ownAdjacency(index1);
+                ownAdjacency(index2);
+                neighborWeights[index1][positions[2 * i]] = weights[i];
+                neighborWeights[index2][positions[2 * i + 1]] = weights[i];
+                modified[i] = true;
+                numberOfModifiedEdges++;
+            }
         }
 
-        return false;
+        fireConnects(ids1, ids2, weights, modified, numberOfModifiedEdges);
+        return numberOfModifiedEdges;
     }
 
     public boolean hasEdge(int id1, int id2) {
-        WeightedTreeNode treeNode1 = nodeMap.get(id1);
+        int index1 = getNodeIndex(id1);
 
-        if (treeNode1 == null) {
+        if (index1 == IntIndexMap.ABSENT) {
             return false;
         }
 
-        WeightedTreeNode treeNode2 = nodeMap.get(id2);
+        int index2 = getNodeIndex(id2);
 
-        if (treeNode2 == null) {
+        if (index2 == IntIndexMap.ABSENT) {
             return false;
         }
 
-        return treeNode1.neighbors.contains(treeNode2);
+        return hasEdgeByIndex(index1, index2);
     }
 
     public WeightedTreeNode getWeightedTreeNode(int id) {
-        if (!nodeMap.containsKey(id)) {
+        int index = getNodeIndex(id);
+
+        if (index == IntIndexMap.ABSENT) {
             throw new IllegalStateException(
                     "No node with ID " + id + " in the tree.");
         }
 
-        return nodeMap.get(id);
+        return nodes[index];
     }
 
+    @Override
     public boolean containsNodeId(int id) {
-        return nodeMap.containsKey(id);
+        return getNodeIndex(id) != IntIndexMap.ABSENT;
     }
 
+    @Override
     public double getEdgeWeight(int id1, int id2) {
-        WeightedTreeNode treeNode1 = nodeMap.get(id1);
+        int index1 = getNodeIndex(id1);
 
-        if (treeNode1 == null) {
+        if (index1 == IntIndexMap.ABSENT) {
             throw new IllegalStateException("No node " + id1 + ".");
         }
 
-        WeightedTreeNode treeNode2 = nodeMap.get(id2);
+        int index2 = getNodeIndex(id2);
 
-        if (treeNode2 == null) {
+        if (index2 == IntIndexMap.ABSENT) {
             throw new IllegalStateException("No node " + id2 + ".");
         }
 
-        if (!treeNode1.neighbors.contains(treeNode2)) {
-            throw new IllegalStateException(
-                    "No edge {" + id1 + ", " + id2 + "}.");
+        return getEdgeWeightByIndices(index1, index2);
+    }
+
+    public synchronized void clear() {
+        for (int index = 0; index < size; index++) {
+            nodes[index].index = -1;
+            nodes[index].owner = null;
         }
 
-        return weightMap.get(treeNode1).get(treeNode2);
+        indexMap.clear();
+        publishedIndexMap = null;
+        allocate(INITIAL_CAPACITY);
+        size = 0;
+        version++;
+
+        if (mutationListener != null) {
+            mutationListener.onClear();
+        }
     }
 
-    public void clear() {
-        nodeMap.clear();
-        weightMap.clear();
+    /**
+     * Sets the listener to notify of each modification of this tree, or 
+     * removes the current one if {@code mutationListener} is {@code null}.
+     * The listener is called while the lock of this tree is held.
+     */
+    public synchronized void setMutationListener(
+            TreeMutationListener mutationListener) {
+        this.mutationListener = mutationListener;
     }
 
     public Set<WeightedTreeNode> getNeighbors(int id) {
-        WeightedTreeNode treeNode = nodeMap.get(id);
+        int index = getNodeIndex(id);
 
-        if (treeNode == null) {
+        if (index == IntIndexMap.ABSENT) {
             throw new IllegalStateException("No node " + id + ".");
         }
 
-        return Collections.unmodifiableSet(treeNode.neighbors);
+        return new NeighborSet(nodes[index]);
+    }
+    
+    /**
+     * Passes each neighbor ID of the node {@code id} together with the weight
+     * of the connecting edge to {@code consumer}. The neighbors are visited in
+     * the order they were connected, and no hashing nor allocation takes place.
+     * 
+     * @param id       the ID of the node whose neighbors to visit.
+     * @param consumer the consumer of the neighbor IDs and edge weights.
+     */
+    @Override
+    public void forEachNeighbor(int id, IntDoubleConsumer consumer) {
+        int index = getNodeIndex(id);
+
+        if (index == IntIndexMap.ABSENT) {
+            throw new IllegalStateException("No node " + id + ".");
+        }
+        
+        int[] neighbors = neighborIndices[index];
+        double[] weights = neighborWeights[index];
+        
+        for (int i = 0, degree = degrees[index]; i < degree; i++) {
+            consumer.accept(nodeIds[neighbors[i]], weights[i]);
+        }
     }
 
-    public boolean isCyclic() {
-        if (nodeMap.isEmpty()) {
-            throw new IllegalStateException("Empty tree.");
+    /**
+     * Renumbers the internal node indices in the given {@code ordering} and
+     * lays out the adjacency arrays anew in that order, trimmed to the node
+     * degrees. Node IDs stay unchanged, so this operation is transparent to
+     * all the pathfinders, but the nodes adjacent in a traversal end up close
+     * to each other in memory.
+     * 
+     * @param ordering the new order of the nodes.
+     */
+    public synchronized void relabel(NodeOrdering ordering) {
+        Objects.requireNonNull(ordering, "The node ordering is null.");
+        int[] order = ordering.computeOrder(this);
+        int[] newIndices = new int[size];
+
+        for (int newIndex = 0; newIndex < size; newIndex++) {
+            newIndices[order[newIndex]] = newIndex;
         }
 
-        Set<WeightedTreeNode> visited = new HashSet<>();
-        WeightedTreeNode parentSentinel = new WeightedTreeNode(-1);
+        WeightedTreeNode[] oldNodes = nodes;
+        int[] oldDegrees = degrees;
+        int[][] oldNeighborIndices = neighborIndices;
+        double[][] oldNeighborWeights = neighborWeights;
 
-        for (WeightedTreeNode node : nodeMap.values()) {
-            if (!visited.contains(node)) {
-                if (isCyclicImpl(node, parentSentinel, visited)) {
-                    return true;
-                }
+        allocate(nodes.length);
+        indexMap.clear();
+        publishedIndexMap = null;
+
+        for (int newIndex = 0; newIndex < size; newIndex++) {
+            int oldIndex = order[newIndex];
+            int degree = oldDegrees[oldIndex];
+            int[] neighbors = new int[degree];
+
+            for (int i = 0; i < degree; i++) {
+                neighbors[i] = newIndices[oldNeighborIndices[oldIndex][i]];
             }
+
+            nodes[newIndex] = oldNodes[oldIndex];
+            nodeIds[newIndex] = oldNodes[oldIndex].id;
+            degrees[newIndex] = degree;
+            neighborIndices[newIndex] = neighbors;
+            neighborWeights[newIndex] = 
+                    Arrays.copyOf(oldNeighborWeights[oldIndex], degree);
+
+            setIndex(nodes[newIndex], newIndex);
         }
 
-        return false;
+        version++;
+    }
+
+    /**
+     * Returns an immutable view of the current version of this tree. Taking a
+     * snapshot copies only the pages of the node arrays modified since the 
+     * previous snapshot; if the tree has not been modified at all, the 
+     * previous snapshot is returned as is.
+     */
+    public synchronized TreeSnapshot snapshot() {
+        if (latestSnapshot != null && latestSnapshot.getVersion() == version) {
+            return latestSnapshot;
+        }
+
+        int numberOfPages = getNumberOfPages(size);
+
+        TreeSnapshot.Page[] pages = new TreeSnapshot.Page[numberOfPages];
+
+        for (int page = 0; page < numberOfPages; page++) {
+            if (publishedPages[page] == null) {
+                publishedPages[page] = publishPage(page);
+            }
+
+            pages[page] = publishedPages[page];
+        }
+
+        if (publishedIndexMap == null) {
+            publishedIndexMap = indexMap.copy();
+        }
+
+        latestSnapshot = 
+                new TreeSnapshot(pages, size, publishedIndexMap, version);
+
+        return latestSnapshot;
+    }
+
+    /**
+     * Returns {@code true} if the tree contains a cycle. The check runs 
+     * {@link TreeValidator} over all the edges in parallel; an empty tree is
+     * acyclic.
+     */
+    public boolean isCyclic() {
+        return !TreeValidator.validate(this).isAcyclic();
     }
 
     public WeightedTreeNode getNode(int id) {
-        return nodeMap.get(id);
+        int index = getNodeIndex(id);
+        return index == IntIndexMap.ABSENT ? null : nodes[index];
     }
 
+    @Override
     public int getNumberOfNodes() {
-        return nodeMap.size();
+        return size;
+    }
+
+    @Override
+    public long getVersion() {
+        return version;
+    }
+
+    WeightedTreeNode getNodeByIndex(int index) {
+        return nodes[index];
+    }
+
+    @Override
+    public int getNodeIndex(int id) {
+        // Contiguous IDs are resolved without consulting the index map:
+        if (id >= 0 && id < size && nodeIds[id] == id) {
+            return id;
+        }
+
+        return indexMap.get(id);
+    }
+
+    @Override
+    public int getNodeId(int index) {
+        return nodeIds[index];
+    }
+
+    @Override
+    public int getDegree(int index) {
+        return degrees[index];
+    }
+
+    @Override
+    public int getNeighborIndex(int index, int position) {
+        return neighborIndices[index][position];
     }
 
-    private static boolean isCyclicImpl(WeightedTreeNode node, 
-                                        WeightedTreeNode parent,
-                                        Set<WeightedTreeNode> visitedSet) {
-        visitedSet.add(node);
-        Iterator<WeightedTreeNode> iterator = node.neighbors.iterator();
+    @Override
+    public double getNeighborWeight(int index, int position) {
+        return neighborWeights[index][position];
+    }
+
+    double getEdgeWeight(WeightedTreeNode treeNode1,
+                         WeightedTreeNode treeNode2) {
+        return getEdgeWeightByIndices(resolveIndex(treeNode1), 
+                                      resolveIndex(treeNode2));
+    }
+
+    /**
+     * Returns the index of {@code treeNode}. A node of another tree, or one
+     * removed from this tree, is resolved by its ID.
+     */
+    private int resolveIndex(WeightedTreeNode treeNode) {
+        if (treeNode.owner == this) {
+            return treeNode.index;
+        }
+
+        int index = getNodeIndex(treeNode.id);
+
+        if (index == IntIndexMap.ABSENT) {
+            throw new IllegalStateException("No node " + treeNode.id + ".");
+        }
 
-        while (iterator.hasNext()) {
-            WeightedTreeNode neighbor = iterator.next();
+        return index;
+    }
+
+    @Override
+    public double getEdgeWeightByIndices(int index1, int index2) {
+        // Both endpoints hold the weight, so scan the lower-degree one:
+        int index = degrees[index1] <= degrees[index2] ? index1 : index2;
+        int position = findNeighbor(index, index == index1 ? index2 : index1);
+
+        if (position == -1) {
+            throw new IllegalStateException(
+                    "No edge {"
+                            + nodeIds[index1]
+                            + ", "
+                            + nodeIds[index2]
+                            + "}.");
+        }
+
+        return neighborWeights[index][position];
+    }
 
-            if (!visitedSet.contains(neighbor)) {
-                if (isCyclicImpl(neighbor, node, visitedSet)) {
-                    return true;
+    /**
+     * Checks a batch of edges and returns the indices of their endpoints as
+     * the pairs {@code (2i, 2i + 1)}.
+     */
+    private int[] resolveEdges(int[] ids1, int[] ids2, double[] weights) {
+        Objects.requireNonNull(ids1, "The first ID array is null.");
+        Objects.requireNonNull(ids2, "The second ID array is null.");
+        Objects.requireNonNull(weights, "The weight array is null.");
+
+        if (ids1.length != ids2.length || ids1.length != weights.length) {
+            throw new IllegalArgumentException(
+                    "The array lengths differ: "
+                            + ids1.length
+                            + ", "
+                            + ids2.length
+                            + ", "
+                            + weights.length
+                            + ".");
+        }
+
+        int[] indices = new int[2 * weights.length];
+
+        for (int i = 0; i < weights.length; i++) {
+            indices[2 * i] = getNodeIndex(ids1[i]);
+            indices[2 * i + 1] = getNodeIndex(ids2[i]);
+
+            if (indices[2 * i] == IntIndexMap.ABSENT) {
+                throw new IllegalStateException("No node " + ids1[i] + ".");
+            }
+
+            if (indices[2 * i + 1] == IntIndexMap.ABSENT) {
+                throw new IllegalStateException("No node " + ids2[i] + ".");
+            }
+        }
+
+        return indices;
+    }
+
+    private void fireConnects(int[] ids1,
+                              int[] ids2,
+                              double[] weights,
+                              boolean[] modified,
+                              int numberOfModifiedEdges) {
+        if (numberOfModifiedEdges == 0) {
+            return;
+        }
+
+        version++;
+
+        if (mutationListener != null) {
+            for (int i = 0; i < modified.length; i++) {
+                if (modified[i]) {
+                    mutationListener.onConnect(ids1[i], ids2[i], weights[i]);
                 }
-            } else if (!neighbor.equals(parent)) {
-                return true;
             }
         }
+    }
+
+    /**
+     * Adds the edge {@code {index1, index2}} or sets its weight. Returns 
+     * {@code false} if the edge already has the weight {@code weight}.
+     */
+    private boolean putEdge(int index1, int index2, double weight) {
+        // Scanning the lower-degree endpoint keeps connecting a new leaf to a
+        // hub constant-time:
+        int lowIndex = degrees[index1] <= degrees[index2] ? index1 : index2;
+        int highIndex = lowIndex == index1 ? index2 : index1;
+        int lowPosition = findNeighbor(lowIndex, highIndex);
+
+        if (lowPosition == -1) {
+            addNeighbor(index1, index2, weight);
+
+            if (index1 != index2) {
+                addNeighbor(index2, index1, weight);
+            }
+
+            return true;
+        }
+
+        if (neighborWeights[lowIndex][lowPosition] == weight) {
+            return false;
+        }
+
+        ownAdjacency(lowIndex);
+        ownAdjacency(highIndex);
+        neighborWeights[lowIndex][lowPosition] = weight;
+        neighborWeights[highIndex][findNeighbor(highIndex, lowIndex)] = weight;
+        return true;
+    }
+
+    private boolean hasEdgeByIndex(int index1, int index2) {
+        // Scanning the lower-degree endpoint keeps hub lookups cheap:
+        if (degrees[index1] <= degrees[index2]) {
+            return findNeighbor(index1, index2) != -1;
+        }
+
+        return findNeighbor(index2, index1) != -1;
+    }
+
+    private int findNeighbor(int index, int neighborIndex) {
+        int[] neighbors = neighborIndices[index];
+
+        for (int i = 0, degree = degrees[index]; i < degree; i++) {
+            if (neighbors[i] == neighborIndex) {
+                return i;
+            }
+        }
+
+        return -1;
+    }
+
+    private void addNeighbor(int index, int neighborIndex, double weight) {
+        ownAdjacency(index);
+        int degree = degrees[index];
+
+        if (degree == neighborIndices[index].length) {
+            int capacity = Math.max(1, 2 * degree);
+
+            neighborIndices[index] =
+                    Arrays.copyOf(neighborIndices[index], capacity);
+
+            neighborWeights[index] =
+                    Arrays.copyOf(neighborWeights[index], capacity);
+        }
+
+        neighborIndices[index][degree] = neighborIndex;
+        neighborWeights[index][degree] = weight;
+        degrees[index] = degree + 1;
+    }
+
+    private boolean removeNeighbor(int index, int neighborIndex) {
+        int position = findNeighbor(index, neighborIndex);
+
+        if (position == -1) {
+            return false;
+        }
+
+        ownAdjacency(index);
+
+        // Shift the tail so that the insertion order of neighbors is kept:
+        int tailLength = --degrees[index] - position;
+
+        System.arraycopy(neighborIndices[index],
+                         position + 1,
+                         neighborIndices[index],
+                         position,
+                         tailLength);
+
+        System.arraycopy(neighborWeights[index],
+                         position + 1,
+                         neighborWeights[index],
+                         position,
+                         tailLength);
+        return true;
+    }
+
+    private void moveNode(int sourceIndex, int targetIndex) {
+        WeightedTreeNode node = nodes[sourceIndex];
+        int degree = degrees[sourceIndex];
+
+        ownAdjacency(sourceIndex);
+        markModified(targetIndex);
+        sharedAdjacency[targetIndex] = false;
+
+        nodes[targetIndex] = node;
+        nodeIds[targetIndex] = nodeIds[sourceIndex];
+        degrees[targetIndex] = degree;
+        neighborIndices[targetIndex] = neighborIndices[sourceIndex];
+        neighborWeights[targetIndex] = neighborWeights[sourceIndex];
+
+        // Redirect the neighbors to the new index of the moved node:
+        for (int i = 0; i < degree; i++) {
+            int neighborIndex = neighborIndices[targetIndex][i];
+
+            if (neighborIndex == sourceIndex) {
+                neighborIndices[targetIndex][i] = targetIndex;
+            } else {
+                int position = findNeighbor(neighborIndex, sourceIndex);
+                ownAdjacency(neighborIndex);
+                neighborIndices[neighborIndex][position] = targetIndex;
+            }
+        }
+
+        if (sourceIndex != node.id) {
+            indexMap.remove(node.id);
+            publishedIndexMap = null;
+        }
+
+        setIndex(node, targetIndex);
+    }
 
-        return false;
+    /**
+     * Puts a new node at the end of the node arrays, which must have room for
+     * it.
+     */
+    private WeightedTreeNode appendNode(int id) {
+        WeightedTreeNode newTreeNode = new WeightedTreeNode(id);
+        newTreeNode.owner = this;
+        int index = size++;
+
+        markModified(index);
+        sharedAdjacency[index] = false;
+        nodes[index] = newTreeNode;
+        nodeIds[index] = id;
+        degrees[index] = 0;
+        neighborIndices[index] = EMPTY_NEIGHBORS;
+        neighborWeights[index] = EMPTY_WEIGHTS;
+        setIndex(newTreeNode, index);
+        return newTreeNode;
     }
 
-    private void connectImpl(WeightedTreeNode treeNode1, 
-                             WeightedTreeNode treeNode2, 
-                             double weight) {
-        if (!weightMap.containsKey(treeNode1)) {
-            weightMap.put(treeNode1, new HashMap<>());
+    private void setIndex(WeightedTreeNode node, int index) {
+        node.index = index;
+
+        if (index != node.id) {
+            indexMap.put(node.id, index);
+            publishedIndexMap = null;
         }
+    }
+
+    private void grow(int capacity) {
+        nodes = Arrays.copyOf(nodes, capacity);
+        nodeIds = Arrays.copyOf(nodeIds, capacity);
+        degrees = Arrays.copyOf(degrees, capacity);
+        neighborIndices = Arrays.copyOf(neighborIndices, capacity);
+        neighborWeights = Arrays.copyOf(neighborWeights, capacity);
+        sharedAdjacency = Arrays.copyOf(sharedAdjacency, capacity);
+        publishedPages = 
+                Arrays.copyOf(publishedPages, getNumberOfPages(capacity));
+    }
+
+    private void allocate(int capacity) {
+        nodes = new WeightedTreeNode[capacity];
+        nodeIds = new int[capacity];
+        degrees = new int[capacity];
+        neighborIndices = new int[capacity][];
+        neighborWeights = new double[capacity][];
+        sharedAdjacency = new boolean[capacity];
+        publishedPages = new TreeSnapshot.Page[getNumberOfPages(capacity)];
+    }
+
+    /**
+     * Invalidates the published page holding the node at {@code index}.
+     */
+    private void markModified(int index) {
+        publishedPages[index >>> TreeSnapshot.PAGE_SHIFT] = null;
+    }
+
+    /**
+     * Prepares the adjacency arrays of the node at {@code index} for an 
+     * in-place modification, copying them if a snapshot refers to them.
+     */
+    private void ownAdjacency(int index) {
+        markModified(index);
+
+        if (sharedAdjacency[index]) {
+            neighborIndices[index] = neighborIndices[index].clone();
+            neighborWeights[index] = neighborWeights[index].clone();
+            sharedAdjacency[index] = false;
+        }
+    }
+
+    private TreeSnapshot.Page publishPage(int page) {
+        int from = page << TreeSnapshot.PAGE_SHIFT;
+        int to = Math.min(from + TreeSnapshot.PAGE_SIZE, size);
+
+        Arrays.fill(sharedAdjacency, from, to, true);
+        return new TreeSnapshot.Page(
+                Arrays.copyOfRange(nodeIds, from, to),
+                Arrays.copyOfRange(degrees, from, to),
+                Arrays.copyOfRange(neighborIndices, from, to),
+                Arrays.copyOfRange(neighborWeights, from, to));
+    }
+
+    private static int getNumberOfPages(int capacity) {
+        return (capacity + TreeSnapshot.PAGE_SIZE - 1) 
+                >>> TreeSnapshot.PAGE_SHIFT;
+    }
 
-        weightMap.get(treeNode1).put(treeNode2, weight);
+    /**
+     * This class implements a read-only, live view over the neighbors of a
+     * node. The view looks the node up on each access, since removing another
+     * node or relabeling may move it to another index, and becomes empty once
+     * the node is removed.
+     */
+    private final class NeighborSet extends AbstractSet<WeightedTreeNode> {
+
+        private final WeightedTreeNode node;
+
+        NeighborSet(WeightedTreeNode node) {
+            this.node = node;
+        }
+
+        @Override
+        public Iterator<WeightedTreeNode> iterator() {
+            return new Iterator<>() {
+
+                private int position;
+
+                @Override
+                public boolean hasNext() {
+                    int index = getIndex();
+                    return index != -1 && position < degrees[index];
+                }
+
+                @Override
+                public WeightedTreeNode next() {
+                    if (!hasNext()) {
+                        throw new NoSuchElementException("No more neighbors.");
+                    }
+
+                    return nodes[neighborIndices[getIndex()][position++]];
+                }
+            };
+        }
+
+        @Override
+        public boolean contains(Object o) {
+            if (!(o instanceof WeightedTreeNode)) {
+                return false;
+            }
+
+            WeightedTreeNode other = (WeightedTreeNode) o;
+            int index = getIndex();
+
+            if (index == -1) {
+                return false;
+            }
+
+            if (other.owner != WeightedTree.this) {
+                // Nodes compare by ID, so resolve a foreign node by its ID:
+                int neighborIndex = getNodeIndex(other.id);
+                return neighborIndex != IntIndexMap.ABSENT
+                        && hasEdgeByIndex(index, neighborIndex);
+            }
+
+            return hasEdgeByIndex(index, other.index);
+        }
+
+        @Override
+        public int size() {
+            int index = getIndex();
+            return index == -1 ? 0 : degrees[index];
+        }
+
+        /**
+         * Returns the current index of the node, or -1 once it has left this
+         * tree.
+         */
+        private int getIndex() {
+            return node.owner == WeightedTree.this ? node.index : -1;
+        }
     }
 }
@@ -1,5 +1,9 @@
 package com.github.coderodde.pathfinding;
 
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.Random;
 import static org.junit.Assert.assertEquals;
 import org.junit.Before;
 import org.junit.Test;
@@ -72,4 +76,154 @@ public abstract class AbstractPathfinderTest {
         
         pathfinder.search(tree, 3, 2);
     }
+    
+    @Test
+    public void searchesOffHeapTree() {
+        // 0 - 1 - 2 - 3 - 4 with the branches 1 - 5 and 3 - 6:
+        for (int id = 0; id <= 6; id++) {
+            tree.addTreeNode(id);
+        }
+        
+        tree.connect(0, 1, 1.0);
+        tree.connect(1, 2, 2.0);
+        tree.connect(2, 3, 3.0);
+        tree.connect(3, 4, 4.0);
+        tree.connect(1, 5, 5.0);
+        tree.connect(3, 6, 6.0);
+        
+        WeightedPath path = pathfinder.search(OffHeapTree.of(tree), 5, 6);
+        
+        assertEquals(5, path.getNumberOfNodes());
+        assertEquals(5, path.getNodeId(0));
+        assertEquals(1, path.getNodeId(1));
+        assertEquals(2, path.getNodeId(2));
+        assertEquals(3, path.getNodeId(3));
+        assertEquals(6, path.getNodeId(4));
+        assertEquals(16.0, path.getTotalCost(), 0.001);
+    }
+    
+    @Test
+    public void repeatedSearchesDoNotInterfere() {
+        for (int id = 0; id < 6; id++) {
+            tree.addTreeNode(id);
+        }
+        
+        for (int id = 1; id < 6; id++) {
+            tree.connect(id - 1, id, 1.0);
+        }
+        
+        for (int i = 0; i < 6; i++) {
+            WeightedPath path = pathfinder.search(tree, i, 5 - i);
+            
+            assertEquals(Math.abs(5 - 2 * i) + 1, path.getNumberOfNodes());
+            assertEquals(Math.abs(5 - 2 * i), path.getTotalCost(), 0.001);
+            assertEquals(i, path.getNodeId(0));
+            assertEquals(5 - i, path.getNodeId(path.getNumberOfNodes() - 1));
+        }
+    }
+    
+    @Test
+    public void streamEmitsSearchedPathInOrder() {
+        // 0 - 1 - 2 - 3 with the branch 1 - 4:
+        for (int id = 0; id <= 4; id++) {
+            tree.addTreeNode(id);
+        }
+        
+        tree.connect(0, 1, 1.0);
+        tree.connect(1, 2, 2.0);
+        tree.connect(2, 3, 3.0);
+        tree.connect(1, 4, 4.0);
+        
+        WeightedPath path = pathfinder.search(tree, 4, 3);
+        List<Integer> nodeIds = new ArrayList<>();
+        List<Double> edgeWeights = new ArrayList<>();
+        
+        double totalCost = pathfinder.stream(tree, 4, 3, (nodeId, weight) -> {
+            nodeIds.add(nodeId);
+            edgeWeights.add(weight);
+        });
+        
+        assertEquals(path.getTotalCost(), totalCost, 0.001);
+        assertEquals(Arrays.asList(4, 1, 2, 3), nodeIds);
+        assertEquals(Arrays.asList(0.0, 4.0, 2.0, 3.0), edgeWeights);
+    }
+    
+    @Test
+    public void streamMatchesSearchOnRandomTree() {
+        Random random = new Random(49L);
+        int numberOfNodes = 300;
+        
+        // A 20-ary tree of height 2, so that the depth-limited searches reach
+        // all its nodes:
+        for (int id = 0; id < numberOfNodes; id++) {
+            tree.addTreeNode(id);
+            
+            if (id > 0) {
+                tree.connect((id - 1) / 20, id, random.nextInt(10));
+            }
+        }
+        
+        for (int i = 0; i < 200; i++) {
+            int sourceId = random.nextInt(numberOfNodes);
+            int targetId = random.nextInt(numberOfNodes);
+            WeightedPath path = pathfinder.search(tree, sourceId, targetId);
+            List<Integer> nodeIds = new ArrayList<>();
+            List<Double> edgeWeights = new ArrayList<>();
+            
+            double totalCost = 
+                    pathfinder.stream(tree, sourceId, targetId, (id, w) -> {
+                        nodeIds.add(id);
+                        edgeWeights.add(w);
+                    });
+            
+            assertEquals(path.getTotalCost(), totalCost, 0.001);
+            assertEquals(path.getNumberOfNodes(), nodeIds.size());
+            assertEquals(0.0, edgeWeights.get(0), 0.0);
+            
+            for (int j = 0; j < nodeIds.size(); j++) {
+                assertEquals(path.getNodeId(j), (int) nodeIds.get(j));
+                
+                if (j > 0) {
+                    assertEquals(tree.getEdgeWeight(nodeIds.get(j - 1), 
+                                                    nodeIds.get(j)),
+                                 edgeWeights.get(j),
+                                 0.0);
+                }
+            }
+        }
+    }
+    
+    @Test
+    public void searchIntoReusesBuffer() {
+        // The chain 0 - 1 - 2 - 3 - 4 with the branch 2 - 5 - 6:
+        for (int id = 0; id <= 6; id++) {
+            tree.addTreeNode(id);
+        }
+        
+        for (int id = 1; id <= 4; id++) {
+            tree.connect(id - 1, id, id);
+        }
+        
+        tree.connect(2, 5, 0.5);
+        tree.connect(5, 6, 0.25);
+        
+        PathBuffer buffer = new PathBuffer(1);
+        
+        for (int sourceId = 0; sourceId <= 6; sourceId++) {
+            for (int targetId = 0; targetId <= 6; targetId++) {
+                WeightedPath path = pathfinder.search(tree, sourceId, targetId);
+                double totalCost = 
+                        pathfinder.searchInto(tree, sourceId, targetId, buffer);
+                
+                assertEquals(path.getTotalCost(), totalCost, 0.001);
+                assertEquals(path.getTotalCost(), 
+                             buffer.getTotalCost(), 
+                             0.001);
+                
+                assertEquals(path, buffer.toWeightedPath());
+            }
+        }
+        
+        assertEquals(8, buffer.getCapacity());
+    }
 }
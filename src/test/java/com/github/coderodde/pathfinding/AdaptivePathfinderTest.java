@@ -0,0 +1,129 @@
+package com.github.coderodde.pathfinding;
+
+import com.github.coderodde.pathfinding.AdaptivePathfinder.Engine;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNotEquals;
+import org.junit.Test;
+
+public final class AdaptivePathfinderTest extends AbstractPathfinderTest {
+
+    private final AdaptivePathfinder adaptivePathfinder = 
+            new AdaptivePathfinder(1);
+    
+    public AdaptivePathfinderTest() {
+        super.pathfinder = adaptivePathfinder;
+    }
+    
+    @Test
+    public void routesToCurrentSubtreeIndex() {
+        buildHeapShapedTree(100, 3);
+        adaptivePathfinder.setSubtreeIndex(new SubtreeIndex(tree, 0));
+        
+        assertEquals(Engine.SUBTREE_INDEX, 
+                     adaptivePathfinder.selectEngine(
+                             tree, 
+                             5, 
+                             70, 
+                             AdaptivePathfinder.UNKNOWN_HOPS));
+        
+        WeightedPath path = adaptivePathfinder.search(tree, 5, 70);
+        
+        assertEquals(new BreadthFirstSearchPathfinder().search(tree, 5, 70), 
+                     path);
+        
+        assertEquals(1, adaptivePathfinder.getStatistics()
+                                          .getNumberOfQueries(
+                                                  Engine.SUBTREE_INDEX));
+        
+        // Once the tree changes, the index no longer applies:
+        tree.addTreeNode(100);
+        
+        assertNotEquals(Engine.SUBTREE_INDEX, 
+                        adaptivePathfinder.selectEngine(
+                                tree, 
+                                5, 
+                                70, 
+                                AdaptivePathfinder.UNKNOWN_HOPS));
+    }
+    
+    @Test
+    public void prefersBidirectionalSearchForLongHighFanoutQueries() {
+        buildHeapShapedTree(20_000, 10);
+        
+        assertEquals(Engine.BREADTH_FIRST,
+                     adaptivePathfinder.selectEngine(tree, 1, 2, 2));
+        
+        assertEquals(Engine.BIDIRECTIONAL_BREADTH_FIRST,
+                     adaptivePathfinder.selectEngine(tree, 19_000, 19_999, 6));
+    }
+    
+    @Test
+    public void recordsQueriesAndValidations() {
+        buildHeapShapedTree(1_000, 2);
+        
+        for (int i = 0; i < 10; i++) {
+            adaptivePathfinder.search(tree, i, 999 - i);
+        }
+        
+        AdaptivePathfinder.Statistics statistics = 
+                adaptivePathfinder.getStatistics();
+        
+        long numberOfQueries = 0;
+        
+        for (Engine engine : Engine.values()) {
+            numberOfQueries += statistics.getNumberOfQueries(engine);
+        }
+        
+        assertEquals(10, numberOfQueries);
+        assertEquals(10, statistics.getNumberOfValidations());
+    }
+    
+    @Test
+    public void countsHitsWhenOnlyChosenEngineFitsBudget() {
+        // The source 0 leads first to a long path, which traps the 
+        // depth-first search, and then through 1 to the hub 2, whose 
+        // expansion overflows the frontier of the bidirectional search:
+        tree.addTreeNode(0);
+        tree.addTreeNode(1);
+        tree.addTreeNode(2);
+        
+        for (int id = 3; id < 1_000; id++) {
+            tree.addTreeNode(id);
+            tree.connect(id == 3 ? 0 : id - 1, id, 1.0);
+        }
+        
+        tree.connect(0, 1, 1.0);
+        tree.connect(1, 2, 1.0);
+        
+        for (int id = 1_000; id < 2_000; id++) {
+            tree.addTreeNode(id);
+            tree.connect(2, id, 1.0);
+        }
+        
+        SearchBudget budget = new SearchBudget(100, 100, Long.MAX_VALUE);
+        
+        assertEquals(Engine.BREADTH_FIRST, 
+                     adaptivePathfinder.selectEngine(tree, 0, 2, 2));
+        
+        for (int i = 0; i < 5; i++) {
+            assertEquals(3, 
+                         adaptivePathfinder.search(tree, 0, 2, 2, budget)
+                                           .getNumberOfNodes());
+        }
+        
+        AdaptivePathfinder.Statistics statistics = 
+                adaptivePathfinder.getStatistics();
+        
+        assertEquals(5, statistics.getNumberOfValidations());
+        assertEquals(1.0, statistics.getHitRate(), 0.0);
+    }
+    
+    private void buildHeapShapedTree(int numberOfNodes, int degree) {
+        tree.addTreeNode(0);
+        
+        for (int id = 1; id < numberOfNodes; id++) {
+            tree.addTreeNode(id);
+            tree.connect((id - 1) / degree, id, id);
+        }
+    }
+}
@@ -1,9 +1,50 @@
 package com.github.coderodde.pathfinding;
 
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
 public final class BidirectionalBreadthFirstSearchPathfinderTest 
         extends AbstractPathfinderTest {
 
     public BidirectionalBreadthFirstSearchPathfinderTest() {
         super.pathfinder = new BidirectionalBreadthFirstSearchPathfinder();
     }
+    
+    @Test
+    public void streamsLongPath() {
+        int numberOfNodes = 200_000;
+        
+        for (int id = 0; id < numberOfNodes; id++) {
+            tree.addTreeNode(id);
+        }
+        
+        for (int id = 1; id < numberOfNodes; id++) {
+            tree.connect(id - 1, id, 1.0);
+        }
+        
+        int[] expectedNodeId = { 0 };
+        
+        double totalCost = 
+                pathfinder.stream(tree, 0, numberOfNodes - 1, (nodeId, w) -> {
+                    assertEquals(expectedNodeId[0]++, nodeId);
+                    assertEquals(nodeId == 0 ? 0.0 : 1.0, w, 0.0);
+                });
+        
+        assertEquals(numberOfNodes, expectedNodeId[0]);
+        assertEquals(numberOfNodes - 1, totalCost, 0.001);
+    }
+    
+    @Test
+    public void streamsTrivialPath() {
+        tree.addTreeNode(1);
+        int[] numberOfNodes = { 0 };
+        
+        double totalCost = pathfinder.stream(tree, 1, 1, (nodeId, w) -> {
+            assertEquals(1, nodeId);
+            numberOfNodes[0]++;
+        });
+        
+        assertEquals(1, numberOfNodes[0]);
+        assertEquals(0.0, totalCost, 0.0);
+    }
 }
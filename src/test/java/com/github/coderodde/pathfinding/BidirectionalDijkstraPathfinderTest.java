@@ -0,0 +1,76 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+public final class BidirectionalDijkstraPathfinderTest 
+        extends AbstractPathfinderTest {
+
+    public BidirectionalDijkstraPathfinderTest() {
+        super.pathfinder = new BidirectionalDijkstraPathfinder();
+    }
+    
+    @Test
+    public void prefersCheaperLongerPathOverRedundantLink() {
+        // 0 - 1 - 2 - 3 with a costly shortcut 0 - 3:
+        for (int id = 0; id < 4; id++) {
+            tree.addTreeNode(id);
+        }
+        
+        tree.connect(0, 1, 1.0);
+        tree.connect(1, 2, 1.0);
+        tree.connect(2, 3, 1.0);
+        tree.connect(0, 3, 10.0);
+        
+        WeightedPath path = pathfinder.search(tree, 0, 3);
+        
+        assertEquals(4, path.getNumberOfNodes());
+        assertEquals(3.0, path.getTotalCost(), 0.001);
+        assertEquals(1, path.getNodeId(1));
+        assertEquals(2, path.getNodeId(2));
+    }
+    
+    @Test
+    public void matchesBreadthFirstSearchOnRandomTrees() {
+        Random random = new Random(34L);
+        Pathfinder acyclicPathfinder = new BidirectionalDijkstraPathfinder(true);
+        Pathfinder referencePathfinder = new BreadthFirstSearchPathfinder();
+        
+        for (int iteration = 0; iteration < 20; iteration++) {
+            tree.clear();
+            tree.addTreeNode(0);
+            
+            for (int id = 1; id < 200; id++) {
+                tree.addTreeNode(id);
+                tree.connect(id, random.nextInt(id), random.nextDouble());
+            }
+            
+            int sourceId = random.nextInt(200);
+            int targetId = random.nextInt(200);
+            
+            WeightedPath expected =
+                    referencePathfinder.search(tree, sourceId, targetId);
+            
+            assertEquals(expected, pathfinder.search(tree, sourceId, targetId));
+            assertEquals(expected, 
+                         acyclicPathfinder.search(tree, sourceId, targetId));
+            
+            assertEquals(expected.getTotalCost(),
+                         pathfinder.search(tree, sourceId, targetId)
+                                   .getTotalCost(), 
+                         1e-9);
+        }
+    }
+    
+    @Test(expected = IllegalStateException.class)
+    public void throwsOnNegativeWeight() {
+        tree.addTreeNode(0);
+        tree.addTreeNode(1);
+        tree.addTreeNode(2);
+        tree.connect(0, 1, -1.0);
+        tree.connect(1, 2, 1.0);
+        
+        pathfinder.search(tree, 0, 2);
+    }
+}
@@ -1,9 +1,36 @@
 package com.github.coderodde.pathfinding;
 
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
 public final class BidirectionalIterativeDeepeningDepthFirstSearchPathfinderTest
         extends AbstractIDDFSPathfinderTest {
 
     public BidirectionalIterativeDeepeningDepthFirstSearchPathfinderTest() {
-        super.pathfinder = new IterativeDeepeningDepthFirstSearchPathfinder(5);
+        super.pathfinder = 
+                new BidirectionalIterativeDeepeningDepthFirstSearchPathfinder(
+                        5);
+    }
+    
+    @Test
+    public void findsPathsLongerThanOneSearchDepth() {
+        for (int id = 0; id < 100; id++) {
+            tree.addTreeNode(id);
+            
+            if (id > 0) {
+                tree.connect(id - 1, id, id);
+            }
+        }
+        
+        WeightedPath path = 
+                new BidirectionalIterativeDeepeningDepthFirstSearchPathfinder()
+                        .search(tree, 0, 99);
+        
+        assertEquals(100, path.getNumberOfNodes());
+        assertEquals(4950.0, path.getTotalCost(), 0.001);
+        
+        for (int i = 0; i < 100; i++) {
+            assertEquals(i, path.getNodeId(i));
+        }
     }
 }
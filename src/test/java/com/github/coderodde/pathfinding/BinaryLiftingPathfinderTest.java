@@ -0,0 +1,107 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+public final class BinaryLiftingPathfinderTest extends AbstractPathfinderTest {
+
+    public BinaryLiftingPathfinderTest() {
+        super.pathfinder = new BinaryLiftingPathfinder();
+    }
+    
+    @Test
+    public void bothModesAgreeWithSearch() {
+        Random random = new Random(45L);
+        Pathfinder referencePathfinder = new BreadthFirstSearchPathfinder();
+        int numberOfNodes = 2_000;
+        
+        for (int id = 0; id < numberOfNodes; id++) {
+            tree.addTreeNode(id);
+            
+            // Mostly long chains with some branching and a few components:
+            if (id > 0 && random.nextInt(50) != 0) {
+                int parentId = random.nextInt(4) == 0 
+                        ? random.nextInt(id) 
+                        : id - 1;
+                
+                tree.connect(parentId, id, random.nextInt(10));
+            }
+        }
+        
+        for (BinaryLiftingPathfinder.Mode mode 
+                : BinaryLiftingPathfinder.Mode.values()) {
+            BinaryLiftingPathfinder liftingPathfinder = 
+                    new BinaryLiftingPathfinder(mode);
+            
+            for (int i = 0; i < 2_000; i++) {
+                int sourceId = random.nextInt(numberOfNodes);
+                int targetId = random.nextInt(numberOfNodes);
+                WeightedPath expectedPath;
+                
+                try {
+                    expectedPath = referencePathfinder.search(tree, 
+                                                              sourceId, 
+                                                              targetId);
+                } catch (PathNotFoundException ex) {
+                    continue;
+                }
+                
+                WeightedPath path = 
+                        liftingPathfinder.search(tree, sourceId, targetId);
+                
+                assertEquals(expectedPath, path);
+                assertEquals(expectedPath.getTotalCost(), 
+                             path.getTotalCost(), 
+                             0.001);
+                
+                assertEquals(expectedPath.getTotalCost(),
+                             liftingPathfinder.getDistance(tree, 
+                                                           sourceId, 
+                                                           targetId),
+                             0.001);
+                
+                List<Integer> nodeIds = new ArrayList<>();
+                double[] weightSum = { 0.0 };
+                
+                liftingPathfinder.stream(tree, sourceId, targetId, (id, w) -> {
+                    nodeIds.add(id);
+                    weightSum[0] += w;
+                });
+                
+                assertEquals(expectedPath.nodeIds().boxed().toList(), nodeIds);
+                assertEquals(expectedPath.getTotalCost(), weightSum[0], 0.001);
+            }
+        }
+    }
+    
+    @Test
+    public void rebuildsAfterModification() {
+        tree.addNodes(new int[]{ 1, 2, 3 });
+        tree.connect(1, 2, 1.0);
+        tree.connect(2, 3, 2.0);
+        
+        assertEquals(3, pathfinder.search(tree, 1, 3).getNumberOfNodes());
+        
+        tree.disconnect(2, 3);
+        tree.connect(1, 3, 5.0);
+        
+        WeightedPath path = pathfinder.search(tree, 2, 3);
+        
+        assertEquals(3, path.getNumberOfNodes());
+        assertEquals(1, path.getNodeId(1));
+        assertEquals(6.0, path.getTotalCost(), 0.001);
+    }
+    
+    @Test(expected = IllegalStateException.class)
+    public void throwsOnCycle() {
+        tree.addNodes(new int[]{ 1, 2, 3 });
+        tree.connect(1, 2, 1.0);
+        tree.connect(2, 3, 1.0);
+        tree.connect(3, 1, 1.0);
+        
+        pathfinder.search(tree, 1, 2);
+    }
+}
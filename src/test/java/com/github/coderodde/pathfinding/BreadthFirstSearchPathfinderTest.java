@@ -1,9 +1,60 @@
 package com.github.coderodde.pathfinding;
 
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
 public final class BreadthFirstSearchPathfinderTest 
         extends AbstractPathfinderTest {
 
     public BreadthFirstSearchPathfinderTest() {
         super.pathfinder = new BreadthFirstSearchPathfinder();
     }
+    
+    @Test
+    public void earlyTerminationAgreesWithPlainSearch() {
+        Random random = new Random(36L);
+        Pathfinder plainPathfinder = new BreadthFirstSearchPathfinder(false);
+        
+        for (int degree : new int[]{ 2, 5, 50 }) {
+            tree.clear();
+            tree.addTreeNode(0);
+            
+            for (int id = 1; id < 500; id++) {
+                tree.addTreeNode(id);
+                tree.connect((id - 1) / degree, id, random.nextDouble());
+            }
+            
+            for (int i = 0; i < 50; i++) {
+                int sourceId = random.nextInt(500);
+                int targetId = random.nextInt(500);
+                
+                assertEquals(plainPathfinder.search(tree, sourceId, targetId),
+                             pathfinder.search(tree, sourceId, targetId));
+            }
+        }
+    }
+    
+    @Test
+    public void streamsLongPath() {
+        int numberOfNodes = 200_000;
+        
+        for (int id = 0; id < numberOfNodes; id++) {
+            tree.addTreeNode(id);
+        }
+        
+        for (int id = 1; id < numberOfNodes; id++) {
+            tree.connect(id - 1, id, 1.0);
+        }
+        
+        int[] expectedNodeId = { 0 };
+        
+        double totalCost = 
+                pathfinder.stream(tree, 0, numberOfNodes - 1, (nodeId, w) -> {
+                    assertEquals(expectedNodeId[0]++, nodeId);
+                });
+        
+        assertEquals(numberOfNodes, expectedNodeId[0]);
+        assertEquals(numberOfNodes - 1, totalCost, 0.001);
+    }
 }
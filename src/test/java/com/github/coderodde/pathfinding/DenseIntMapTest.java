@@ -0,0 +1,75 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public final class DenseIntMapTest {
+
+    private final DenseIntMap map = new DenseIntMap();
+
+    @Test
+    public void matchesHashMapAcrossSparseAndDenseModes() {
+        int capacity = 1 << 20;
+        Random random = new Random(33L);
+
+        for (int round = 0; round < 3; round++) {
+            map.clear(capacity);
+            Map<Integer, Integer> expected = new HashMap<>();
+
+            // Enough keys to promote the map to the dense arrays on the way:
+            for (int i = 0; i < capacity / 8; i++) {
+                int key = random.nextInt(capacity);
+                int value = random.nextInt();
+                map.put(key, value);
+                expected.put(key, value);
+
+                if (i % 997 == 0) {
+                    assertEquals(expected.size(), map.size());
+                }
+            }
+
+            for (Map.Entry<Integer, Integer> entry : expected.entrySet()) {
+                assertTrue(map.containsKey(entry.getKey()));
+                assertEquals((int) entry.getValue(), map.get(entry.getKey()));
+            }
+
+            assertEquals(expected.size(), map.size());
+            map.trim();
+        }
+    }
+
+    @Test
+    public void clearingForgetsSparseEntries() {
+        map.clear(1 << 20);
+        map.put(123_456, 1);
+        map.put(7, 2);
+
+        map.clear(1 << 20);
+
+        assertFalse(map.containsKey(123_456));
+        assertFalse(map.containsKey(7));
+        assertEquals(0, map.size());
+
+        map.put(7, 3);
+        assertEquals(3, map.get(7));
+    }
+
+    @Test
+    public void smallCapacitiesStayDenseAcrossTrims() {
+        map.clear(10);
+
+        for (int key = 0; key < 10; key++) {
+            map.put(key, key * key);
+        }
+
+        map.trim();
+        map.clear(10);
+        assertEquals(0, map.size());
+        assertFalse(map.containsKey(3));
+    }
+}
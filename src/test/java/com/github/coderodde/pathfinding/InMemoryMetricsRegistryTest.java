@@ -0,0 +1,101 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.Random;
+import java.util.Arrays;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public final class InMemoryMetricsRegistryTest {
+
+    private final InMemoryMetricsRegistry registry = 
+            new InMemoryMetricsRegistry();
+    
+    @Test
+    public void countsConcurrently() throws InterruptedException {
+        Thread[] threads = new Thread[4];
+        
+        for (int t = 0; t < threads.length; t++) {
+            threads[t] = new Thread(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    registry.counter("c").increment();
+                }
+            });
+            
+            threads[t].start();
+        }
+        
+        for (Thread thread : threads) {
+            thread.join();
+        }
+        
+        assertEquals(40_000L, registry.getCounters().get("c").getCount());
+        assertSame(registry.counter("c"), registry.counter("c"));
+    }
+    
+    @Test
+    public void histogramIsExactForSmallValues() {
+        InMemoryMetricsRegistry.Histogram histogram = 
+                registry.histogram("h");
+        
+        for (long value = 1L; value <= 100L; value++) {
+            histogram.record(value);
+        }
+        
+        assertEquals(100L, histogram.getCount());
+        assertEquals(100L, histogram.getMaximum());
+        assertEquals(50.5, histogram.getMean(), 1e-9);
+        assertEquals(50L, histogram.getValueAtPercentile(50.0));
+        assertEquals(99L, histogram.getValueAtPercentile(99.0));
+        assertEquals(100L, histogram.getValueAtPercentile(100.0));
+        assertEquals(1L, histogram.getValueAtPercentile(0.0));
+    }
+    
+    @Test
+    public void histogramPercentilesAreWithinPrecision() {
+        InMemoryMetricsRegistry.Histogram histogram = 
+                registry.histogram("h");
+        
+        Random random = new Random(48L);
+        long[] values = new long[100_000];
+        
+        for (int i = 0; i < values.length; i++) {
+            values[i] = (long) Math.exp(random.nextDouble() * 40.0);
+            histogram.record(values[i]);
+        }
+        
+        Arrays.sort(values);
+        
+        for (double percentile : new double[]{ 1.0, 50.0, 90.0, 99.9 }) {
+            long expected = 
+                    values[(int) Math.ceil(percentile / 100.0 * values.length) 
+                           - 1];
+            
+            long actual = histogram.getValueAtPercentile(percentile);
+            
+            assertTrue(actual >= expected);
+            assertTrue(actual <= expected + expected / 60 + 1);
+        }
+        
+        assertEquals(values[values.length - 1], 
+                     histogram.getValueAtPercentile(100.0));
+    }
+    
+    @Test
+    public void histogramHandlesExtremeValues() {
+        InMemoryMetricsRegistry.Histogram histogram = 
+                registry.histogram("h");
+        
+        histogram.record(0L);
+        histogram.record(Long.MAX_VALUE);
+        
+        assertEquals(0L, histogram.getValueAtPercentile(50.0));
+        assertEquals(Long.MAX_VALUE, histogram.getValueAtPercentile(100.0));
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void histogramRejectsNegativeValues() {
+        registry.histogram("h").record(-1L);
+    }
+}
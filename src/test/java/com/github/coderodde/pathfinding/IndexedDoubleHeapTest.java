@@ -0,0 +1,95 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.Arrays;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public final class IndexedDoubleHeapTest {
+
+    private final IndexedDoubleHeap heap = new IndexedDoubleHeap();
+
+    @Test
+    public void extractsInKeyOrder() {
+        Random random = new Random(7L);
+        double[] keys = new double[1000];
+        heap.clear(keys.length);
+
+        for (int index = 0; index < keys.length; index++) {
+            keys[index] = random.nextDouble();
+            heap.insertOrDecreaseKey(index, keys[index]);
+        }
+
+        // Lower every other key:
+        for (int index = 0; index < keys.length; index += 2) {
+            keys[index] /= 2.0;
+            heap.insertOrDecreaseKey(index, keys[index]);
+        }
+
+        double[] sortedKeys = keys.clone();
+        Arrays.sort(sortedKeys);
+
+        for (double key : sortedKeys) {
+            assertEquals(key, heap.minimumKey(), 0.0);
+            assertEquals(key, keys[heap.extractMinimum()], 0.0);
+        }
+
+        assertTrue(heap.isEmpty());
+    }
+
+    @Test
+    public void ignoresLargerKeys() {
+        heap.clear(2);
+        heap.insertOrDecreaseKey(0, 1.0);
+        heap.insertOrDecreaseKey(1, 2.0);
+        heap.insertOrDecreaseKey(0, 3.0);
+
+        assertEquals(0, heap.extractMinimum());
+        assertFalse(heap.contains(0));
+        assertTrue(heap.contains(1));
+    }
+
+    @Test
+    public void clearEmptiesHeap() {
+        heap.clear(3);
+        heap.insertOrDecreaseKey(2, 1.0);
+        heap.clear(3);
+
+        assertTrue(heap.isEmpty());
+        assertFalse(heap.contains(2));
+    }
+
+    @Test
+    public void extractsInKeyOrderFromSparseIndices() {
+        Random random = new Random(33L);
+        int capacity = 1 << 20;
+        double[] keys = new double[5000];
+        int[] indices = new int[keys.length];
+        heap.clear(capacity);
+
+        // Distinct indices spread over a large tree:
+        for (int i = 0; i < keys.length; i++) {
+            indices[i] = i * (capacity / keys.length) + random.nextInt(100);
+            keys[i] = random.nextDouble();
+            heap.insertOrDecreaseKey(indices[i], keys[i]);
+        }
+
+        for (int i = 0; i < keys.length; i += 3) {
+            keys[i] /= 4.0;
+            heap.insertOrDecreaseKey(indices[i], keys[i]);
+        }
+
+        double[] sortedKeys = keys.clone();
+        Arrays.sort(sortedKeys);
+
+        for (double key : sortedKeys) {
+            assertEquals(key, heap.minimumKey(), 0.0);
+            int index = heap.extractMinimum();
+            assertFalse(heap.contains(index));
+        }
+
+        assertTrue(heap.isEmpty());
+    }
+}
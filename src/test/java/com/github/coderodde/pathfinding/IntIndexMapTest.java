@@ -0,0 +1,117 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public final class IntIndexMapTest {
+
+    private final IntIndexMap map = new IntIndexMap();
+
+    @Test
+    public void putGetRemove() {
+        assertEquals(IntIndexMap.ABSENT, map.get(3));
+
+        map.put(3, 10);
+        map.put(-7, 11);
+        map.put(3, 12);
+
+        assertEquals(2, map.size());
+        assertEquals(12, map.get(3));
+        assertEquals(11, map.get(-7));
+
+        assertTrue(map.remove(3));
+        assertFalse(map.remove(3));
+        assertEquals(IntIndexMap.ABSENT, map.get(3));
+        assertEquals(11, map.get(-7));
+    }
+
+    @Test
+    public void clear() {
+        for (int key = 0; key < 100; key++) {
+            map.put(key, key);
+        }
+
+        map.clear();
+
+        assertEquals(0, map.size());
+        assertEquals(IntIndexMap.ABSENT, map.get(50));
+    }
+
+    @Test
+    public void agreesWithHashMap() {
+        Random random = new Random(3L);
+        Map<Integer, Integer> referenceMap = new HashMap<>();
+
+        for (int operation = 0; operation < 100_000; operation++) {
+            int key = random.nextInt(2_000) - 1_000;
+
+            if (random.nextBoolean()) {
+                int value = random.nextInt(Integer.MAX_VALUE);
+                map.put(key, value);
+                referenceMap.put(key, value);
+            } else {
+                assertEquals(referenceMap.remove(key) != null,
+                             map.remove(key));
+            }
+
+            assertEquals(referenceMap.size(), map.size());
+        }
+
+        for (int key = -1_000; key < 1_000; key++) {
+            assertEquals((int) referenceMap.getOrDefault(key,
+                                                         IntIndexMap.ABSENT),
+                         map.get(key));
+        }
+    }
+
+    @Test
+    public void copiesStayIndependent() {
+        Random random = new Random(4L);
+        Map<Integer, Integer> referenceMap = new HashMap<>();
+        IntIndexMap copy = map.copy();
+        Map<Integer, Integer> referenceCopy = new HashMap<>();
+
+        // Enough keys to span several pages and rehashes:
+        for (int round = 0; round < 20; round++) {
+            for (int operation = 0; operation < 1_000; operation++) {
+                int key = random.nextInt(10_000);
+
+                if (random.nextInt(4) != 0) {
+                    map.put(key, operation);
+                    referenceMap.put(key, operation);
+                } else {
+                    map.remove(key);
+                    referenceMap.remove(key);
+                }
+            }
+
+            checkSame(referenceCopy, copy);
+            checkSame(referenceMap, map);
+            copy = map.copy();
+            referenceCopy = new HashMap<>(referenceMap);
+
+            // Modifying a copy must not leak into the map either:
+            copy.put(-1, 1);
+            copy.remove(random.nextInt(10_000));
+            assertEquals(IntIndexMap.ABSENT, map.get(-1));
+            checkSame(referenceMap, map);
+            copy = map.copy();
+        }
+    }
+
+    private static void checkSame(Map<Integer, Integer> referenceMap, 
+                                  IntIndexMap map) {
+        assertEquals(referenceMap.size(), map.size());
+
+        for (int key = 0; key < 10_000; key++) {
+            assertEquals((int) referenceMap.getOrDefault(key,
+                                                         IntIndexMap.ABSENT),
+                         map.get(key));
+        }
+    }
+}
@@ -0,0 +1,132 @@
+package com.github.coderodde.pathfinding;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+public final class MeteredPathfinderTest {
+
+    private final WeightedTree tree = new WeightedTree();
+    private final InMemoryMetricsRegistry registry = 
+            new InMemoryMetricsRegistry();
+    
+    @Test
+    public void recordsQueries() {
+        buildChain(10);
+        tree.addTreeNode(100);
+        
+        Pathfinder pathfinder = 
+                new MeteredPathfinder(new BreadthFirstSearchPathfinder(), 
+                                      registry, 
+                                      "bfs");
+        
+        assertEquals(10, pathfinder.search(tree, 0, 9).getNumberOfNodes());
+        assertEquals(3, pathfinder.search(tree, 2, 4).getNumberOfNodes());
+        
+        try {
+            pathfinder.search(tree, 0, 100);
+            fail("Should have thrown.");
+        } catch (PathNotFoundException ex) {
+            // Expected.
+        }
+        
+        try {
+            pathfinder.search(tree, 
+                              0, 
+                              9, 
+                              new SearchBudget(2L, 
+                                               Integer.MAX_VALUE, 
+                                               Long.MAX_VALUE));
+            fail("Should have thrown.");
+        } catch (SearchBudgetExceededException ex) {
+            // Expected.
+        }
+        
+        assertEquals(4L, registry.getCounters().get("bfs.queries").getCount());
+        assertEquals(1L, registry.getCounters()
+                                 .get("bfs.paths.not.found")
+                                 .getCount());
+        
+        assertEquals(1L, registry.getCounters()
+                                 .get("bfs.budgets.exceeded")
+                                 .getCount());
+        
+        assertEquals(0L, registry.getCounters().get("bfs.failures").getCount());
+        
+        InMemoryMetricsRegistry.Histogram pathLengths = 
+                registry.getHistograms().get("bfs.path.nodes");
+        
+        assertEquals(2L, pathLengths.getCount());
+        assertEquals(10L, pathLengths.getMaximum());
+        
+        InMemoryMetricsRegistry.Histogram expandedNodes = 
+                registry.getHistograms().get("bfs.expanded.nodes");
+        
+        assertEquals(4L, expandedNodes.getCount());
+        assertTrue(expandedNodes.getMaximum() > 0L);
+        assertEquals(4L, registry.getHistograms()
+                                 .get("bfs.latency.nanos")
+                                 .getCount());
+    }
+    
+    @Test
+    public void recordsStreamedPaths() {
+        buildChain(10);
+        Pathfinder pathfinder = 
+                new MeteredPathfinder(new BreadthFirstSearchPathfinder(), 
+                                      registry);
+        
+        double totalCost = pathfinder.stream(tree, 
+                                             3, 
+                                             7, 
+                                             (nodeId, edgeWeight) -> {});
+        
+        assertEquals(4.0, totalCost, 0.001);
+        assertEquals(5L, 
+                     registry.getHistograms()
+                             .get("pathfinder.BreadthFirstSearchPathfinder"
+                                     + ".path.nodes")
+                             .getMaximum());
+    }
+    
+    @Test
+    public void indexedPathfinderExpandsNoNodes() {
+        buildChain(10);
+        Pathfinder pathfinder = 
+                new MeteredPathfinder(new BinaryLiftingPathfinder(), 
+                                      registry, 
+                                      "lifting");
+        
+        // A search leaves its expanded node count in the thread meter:
+        new BreadthFirstSearchPathfinder().search(tree, 0, 9);
+        pathfinder.search(tree, 0, 9);
+        
+        assertEquals(0L, registry.getHistograms()
+                                 .get("lifting.expanded.nodes")
+                                 .getMaximum());
+    }
+    
+    @Test
+    public void disabledRegistryPassesThrough() {
+        buildChain(10);
+        Pathfinder pathfinder = 
+                new MeteredPathfinder(new BreadthFirstSearchPathfinder(), 
+                                      MetricsRegistry.DISABLED);
+        
+        assertEquals(new BreadthFirstSearchPathfinder().search(tree, 1, 8), 
+                     pathfinder.search(tree, 1, 8));
+        
+        assertTrue(registry.getCounters().isEmpty());
+    }
+    
+    private void buildChain(int numberOfNodes) {
+        for (int id = 0; id < numberOfNodes; id++) {
+            tree.addTreeNode(id);
+            
+            if (id > 0) {
+                tree.connect(id - 1, id, 1.0);
+            }
+        }
+    }
+}
@@ -0,0 +1,54 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.Arrays;
+import javax.management.AttributeNotFoundException;
+import javax.management.JMException;
+import javax.management.MBeanAttributeInfo;
+import javax.management.MBeanServer;
+import javax.management.MBeanServerFactory;
+import javax.management.ObjectName;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public final class MetricsJmxBridgeTest {
+
+    @Test
+    public void exposesMetricsAsAttributes() throws JMException {
+        InMemoryMetricsRegistry registry = new InMemoryMetricsRegistry();
+        MBeanServer server = MBeanServerFactory.newMBeanServer();
+        ObjectName objectName = 
+                new MetricsJmxBridge(registry).register(server, "test");
+        
+        // The metrics added after the registration show up as well:
+        registry.counter("queries").increment();
+        registry.counter("queries").increment();
+        
+        for (long value = 1L; value <= 100L; value++) {
+            registry.histogram("latency").record(value);
+        }
+        
+        assertEquals(2L, server.getAttribute(objectName, "queries"));
+        assertEquals(100L, server.getAttribute(objectName, "latency.count"));
+        assertEquals(100L, server.getAttribute(objectName, "latency.max"));
+        assertEquals(50L, server.getAttribute(objectName, "latency.p50"));
+        assertEquals(99L, server.getAttribute(objectName, "latency.p99"));
+        assertEquals(50.5, 
+                     (double) server.getAttribute(objectName, "latency.mean"),
+                     1e-9);
+        
+        MBeanAttributeInfo[] attributeInfos = 
+                server.getMBeanInfo(objectName).getAttributes();
+        
+        assertEquals(8, attributeInfos.length);
+        assertTrue(Arrays.stream(attributeInfos)
+                         .anyMatch(info -> info.getName()
+                                               .equals("latency.p999")));
+    }
+    
+    @Test(expected = AttributeNotFoundException.class)
+    public void throwsOnUnknownAttribute() throws JMException {
+        new MetricsJmxBridge(new InMemoryMetricsRegistry())
+                .getAttribute("latency.p50");
+    }
+}
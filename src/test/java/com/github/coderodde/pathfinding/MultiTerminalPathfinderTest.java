@@ -0,0 +1,114 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import org.junit.Test;
+
+public final class MultiTerminalPathfinderTest extends AbstractPathfinderTest {
+
+    private final MultiTerminalPathfinder multiTerminalPathfinder = 
+            new MultiTerminalPathfinder();
+    
+    public MultiTerminalPathfinderTest() {
+        super.pathfinder = multiTerminalPathfinder;
+    }
+    
+    @Test
+    public void searchNearestPicksCheapestPair() {
+        // 0 - 1 - 2 - 3 - 4 - 5:
+        for (int id = 0; id < 6; id++) {
+            tree.addTreeNode(id);
+        }
+        
+        tree.connect(0, 1, 1.0);
+        tree.connect(1, 2, 5.0);
+        tree.connect(2, 3, 1.0);
+        tree.connect(3, 4, 2.0);
+        tree.connect(4, 5, 1.0);
+        
+        WeightedPath path = 
+                multiTerminalPathfinder.searchNearest(tree, 
+                                                      new int[]{ 0, 5 }, 
+                                                      new int[]{ 2, 3 });
+        
+        assertEquals(3, path.getNumberOfNodes());
+        assertEquals(5, path.getNodeId(0));
+        assertEquals(4, path.getNodeId(1));
+        assertEquals(3, path.getNodeId(2));
+        assertEquals(3.0, path.getTotalCost(), 0.001);
+    }
+    
+    @Test
+    public void searchNearestPerSourceMatchesPairwiseSearches() {
+        Random random = new Random(35L);
+        Pathfinder referencePathfinder = new BreadthFirstSearchPathfinder();
+        
+        // Two components, 0..149 and 150..199:
+        for (int id = 0; id < 200; id++) {
+            tree.addTreeNode(id);
+            
+            if (id != 0 && id != 150) {
+                int parentId = id < 150 ? random.nextInt(id) 
+                                        : 150 + random.nextInt(id - 150);
+                
+                tree.connect(id, parentId, random.nextDouble());
+            }
+        }
+        
+        int[] sourceIds = new int[40];
+        int[] targetIds = new int[10];
+        
+        for (int i = 0; i < sourceIds.length; i++) {
+            sourceIds[i] = random.nextInt(200);
+        }
+        
+        for (int i = 0; i < targetIds.length; i++) {
+            targetIds[i] = random.nextInt(150);
+        }
+        
+        WeightedPath[] paths = 
+                multiTerminalPathfinder.searchNearestPerSource(tree, 
+                                                               sourceIds,
+                                                               targetIds);
+        
+        for (int i = 0; i < sourceIds.length; i++) {
+            if (sourceIds[i] >= 150) {
+                assertNull(paths[i]);
+                continue;
+            }
+            
+            double bestCost = Double.POSITIVE_INFINITY;
+            
+            for (int targetId : targetIds) {
+                bestCost = Math.min(bestCost,
+                                    referencePathfinder.search(tree, 
+                                                               sourceIds[i], 
+                                                               targetId)
+                                                       .getTotalCost());
+            }
+            
+            WeightedPath path = paths[i];
+            
+            assertEquals(sourceIds[i], path.getNodeId(0));
+            assertEquals(bestCost, path.getTotalCost(), 1e-9);
+            assertEquals(path, 
+                         referencePathfinder.search(
+                                 tree,
+                                 sourceIds[i],
+                                 path.getNodeId(path.getNumberOfNodes() - 1)));
+        }
+    }
+    
+    @Test(expected = PathNotFoundException.class)
+    public void searchNearestThrowsOnNoReachableTarget() {
+        tree.addTreeNode(0);
+        tree.addTreeNode(1);
+        tree.addTreeNode(2);
+        tree.connect(0, 1, 1.0);
+        
+        multiTerminalPathfinder.searchNearest(tree, 
+                                              new int[]{ 0, 1 }, 
+                                              new int[]{ 2 });
+    }
+}
@@ -0,0 +1,209 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+public final class OffHeapTreeTest {
+
+    private final WeightedTree tree =
+            new StarTreeBuilder(3, 5, new Random(11L)).build();
+
+    @Test
+    public void copiesStructure() {
+        tree.addTreeNode(-100);
+        tree.addTreeNode(1_000_000);
+        tree.connect(-100, 1_000_000, 0.5);
+
+        OffHeapTree offHeapTree = OffHeapTree.of(tree);
+
+        assertEquals(tree.getNumberOfNodes(), offHeapTree.getNumberOfNodes());
+
+        for (int index = 0; index < tree.getNumberOfNodes(); index++) {
+            int nodeId = tree.getNodeId(index);
+
+            assertEquals(nodeId, offHeapTree.getNodeId(index));
+            assertEquals(index, offHeapTree.getNodeIndex(nodeId));
+            assertEquals(tree.getDegree(index), offHeapTree.getDegree(index));
+
+            for (int i = 0; i < tree.getDegree(index); i++) {
+                assertEquals(tree.getNeighborIndex(index, i),
+                             offHeapTree.getNeighborIndex(index, i));
+
+                assertEquals(tree.getNeighborWeight(index, i),
+                             offHeapTree.getNeighborWeight(index, i),
+                             0.0);
+            }
+        }
+
+        assertEquals(0.5, offHeapTree.getEdgeWeight(1_000_000, -100), 0.0);
+    }
+
+    @Test
+    public void missingNodes() {
+        OffHeapTree offHeapTree = OffHeapTree.of(tree);
+
+        assertFalse(offHeapTree.containsNodeId(-1));
+        assertFalse(offHeapTree.containsNodeId(tree.getNumberOfNodes()));
+        assertTrue(offHeapTree.containsNodeId(0));
+        assertEquals(TreeView.NO_NODE,
+                     OffHeapTree.of(new WeightedTree()).getNodeIndex(0));
+    }
+
+    @Test
+    public void traversesLikeTheSourceTree() {
+        OffHeapTree offHeapTree = OffHeapTree.of(tree);
+        SingleSourcePathfinder pathfinder = new SingleSourcePathfinder();
+
+        ShortestPathTree expected = pathfinder.singleSource(tree, 7);
+        ShortestPathTree actual = pathfinder.singleSource(offHeapTree, 7);
+
+        for (int index = 0; index < tree.getNumberOfNodes(); index++) {
+            assertEquals(expected.getCost(index), actual.getCost(index), 0.0);
+            assertEquals(expected.getParentIndex(index),
+                         actual.getParentIndex(index));
+        }
+
+        WeightedPath expectedPath = expected.getPath(150);
+        WeightedPath path = actual.getPath(150);
+
+        assertEquals(expectedPath, path);
+        assertEquals(expectedPath.getNode(1), path.getNode(1));
+        assertEquals(expectedPath.getEdge(1).getWeight(),
+                     path.getEdge(1).getWeight(),
+                     0.0);
+    }
+
+    @Test
+    public void reportsByteSize() {
+        OffHeapTree offHeapTree = OffHeapTree.of(tree);
+        long numberOfNodes = tree.getNumberOfNodes();
+        long numberOfArcs = 2 * (numberOfNodes - 1);
+
+        assertEquals(8 * (numberOfNodes + 1)
+                   + 12 * numberOfArcs
+                   + 12 * numberOfNodes,
+                     offHeapTree.getByteSize());
+    }
+
+    @Test
+    public void closeDropsMemory() {
+        OffHeapTree offHeapTree = OffHeapTree.of(tree);
+        offHeapTree.close();
+
+        assertEquals(0L, offHeapTree.getByteSize());
+    }
+
+    @Test
+    public void builderMatchesCopy() {
+        // Add the nodes in a shuffled order under scattered IDs, and the 
+        // edges in another order:
+        Random random = new Random(50L);
+        int numberOfNodes = 5_000;
+        int[] nodeIds = new int[numberOfNodes];
+
+        for (int i = 0; i < numberOfNodes; i++) {
+            nodeIds[i] = (i - numberOfNodes / 2) * 7_919;
+        }
+
+        for (int i = numberOfNodes - 1; i > 0; i--) {
+            int j = random.nextInt(i + 1);
+            int nodeId = nodeIds[i];
+            nodeIds[i] = nodeIds[j];
+            nodeIds[j] = nodeId;
+        }
+
+        WeightedTree sourceTree = new WeightedTree();
+        sourceTree.addNodes(nodeIds);
+        OffHeapTree.Builder builder = 
+                OffHeapTree.builder(numberOfNodes, numberOfNodes - 1);
+
+        builder.addNodes(nodeIds);
+
+        for (int i = numberOfNodes - 1; i > 0; i--) {
+            int parentId = nodeIds[random.nextInt(i)];
+            double weight = random.nextDouble();
+            sourceTree.connect(parentId, nodeIds[i], weight);
+            builder.addEdge(nodeIds[i], parentId, weight);
+        }
+
+        OffHeapTree offHeapTree = builder.build();
+
+        assertEquals(numberOfNodes, offHeapTree.getNumberOfNodes());
+
+        for (int index = 0; index < numberOfNodes; index++) {
+            int nodeId = sourceTree.getNodeId(index);
+
+            assertEquals(nodeId, offHeapTree.getNodeId(index));
+            assertEquals(index, offHeapTree.getNodeIndex(nodeId));
+            assertEquals(sourceTree.getDegree(index), 
+                         offHeapTree.getDegree(index));
+
+            for (int i = 0; i < offHeapTree.getDegree(index); i++) {
+                int neighborIndex = offHeapTree.getNeighborIndex(index, i);
+
+                assertEquals(sourceTree.getEdgeWeightByIndices(index, 
+                                                               neighborIndex),
+                             offHeapTree.getNeighborWeight(index, i),
+                             0.0);
+            }
+        }
+
+        assertEquals(OffHeapTree.of(sourceTree).getByteSize(), 
+                     offHeapTree.getByteSize());
+    }
+
+    @Test
+    public void builderRejectsDuplicateNode() {
+        OffHeapTree.Builder builder = OffHeapTree.builder(2, 0L);
+        builder.addNode(3);
+        builder.addNode(3);
+
+        try {
+            builder.build();
+            fail("Should have rejected the duplicate node.");
+        } catch (IllegalStateException ex) {
+            // Expected.
+        }
+    }
+
+    @Test
+    public void builderRejectsMissingEndpoint() {
+        OffHeapTree.Builder builder = OffHeapTree.builder(2, 1L);
+        builder.addNodes(new int[]{ 1, 2 });
+        builder.addEdge(1, 3, 1.0);
+
+        try {
+            builder.build();
+            fail("Should have rejected the missing node.");
+        } catch (IllegalStateException ex) {
+            // Expected.
+        }
+    }
+
+    @Test
+    public void builderIsSingleUse() {
+        OffHeapTree.Builder builder = OffHeapTree.builder(1, 0L);
+        builder.addNode(1);
+
+        assertEquals(0, builder.build().getNodeIndex(1));
+
+        try {
+            builder.addNode(2);
+            fail("Should have rejected the node after the build.");
+        } catch (IllegalStateException ex) {
+            // Expected.
+        }
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void builderRejectsExcessEdges() {
+        OffHeapTree.Builder builder = OffHeapTree.builder(3, 1L);
+        builder.addNodes(new int[]{ 1, 2, 3 });
+        builder.addEdge(1, 2, 1.0);
+        builder.addEdge(2, 3, 1.0);
+    }
+}
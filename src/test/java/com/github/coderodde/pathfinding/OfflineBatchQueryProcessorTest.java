@@ -0,0 +1,141 @@
+package com.github.coderodde.pathfinding;
+
+import java.io.DataInputStream;
+import java.io.DataOutputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public final class OfflineBatchQueryProcessorTest {
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+    
+    private final WeightedTree tree = new WeightedTree();
+    
+    @Test
+    public void agreesWithSearch() {
+        Random random = new Random(46L);
+        int numberOfNodes = 1_000;
+        buildRandomForest(random, numberOfNodes);
+        
+        int numberOfQueries = 3_000;
+        int[] sourceIds = new int[numberOfQueries];
+        int[] targetIds = new int[numberOfQueries];
+        double[] costs = new double[numberOfQueries];
+        int[] hops = new int[numberOfQueries];
+        
+        for (int q = 0; q < numberOfQueries; q++) {
+            sourceIds[q] = random.nextInt(numberOfNodes);
+            targetIds[q] = random.nextInt(numberOfNodes);
+        }
+        
+        new OfflineBatchQueryProcessor(tree).answer(sourceIds, 
+                                                    targetIds, 
+                                                    numberOfQueries, 
+                                                    costs, 
+                                                    hops);
+        
+        Pathfinder pathfinder = new BreadthFirstSearchPathfinder();
+        
+        for (int q = 0; q < numberOfQueries; q++) {
+            try {
+                WeightedPath path = 
+                        pathfinder.search(tree, sourceIds[q], targetIds[q]);
+                
+                assertEquals(path.getTotalCost(), costs[q], 0.001);
+                assertEquals(path.getNumberOfNodes() - 1, hops[q]);
+            } catch (PathNotFoundException ex) {
+                assertEquals(Double.NaN, costs[q], 0.0);
+                assertEquals(-1, hops[q]);
+            }
+        }
+    }
+    
+    @Test
+    public void processesQueryFileInChunks() throws IOException {
+        Random random = new Random(47L);
+        int numberOfNodes = 300;
+        buildRandomForest(random, numberOfNodes);
+        
+        Path queryFile = temporaryFolder.newFile("queries.bin").toPath();
+        Path answerFile = temporaryFolder.newFile("answers.bin").toPath();
+        int numberOfQueries = 1_001;
+        int[] sourceIds = new int[numberOfQueries];
+        int[] targetIds = new int[numberOfQueries];
+        
+        try (DataOutputStream outputStream = 
+                new DataOutputStream(Files.newOutputStream(queryFile))) {
+            
+            for (int q = 0; q < numberOfQueries; q++) {
+                sourceIds[q] = random.nextInt(numberOfNodes + 10);
+                targetIds[q] = random.nextInt(numberOfNodes);
+                outputStream.writeInt(sourceIds[q]);
+                outputStream.writeInt(targetIds[q]);
+            }
+        }
+        
+        double[] expectedCosts = new double[numberOfQueries];
+        int[] expectedHops = new int[numberOfQueries];
+        OfflineBatchQueryProcessor processor = 
+                new OfflineBatchQueryProcessor(tree, 100);
+        
+        processor.answer(sourceIds, 
+                         targetIds, 
+                         numberOfQueries, 
+                         expectedCosts, 
+                         expectedHops);
+        
+        assertEquals(numberOfQueries, processor.process(queryFile, 
+                                                        answerFile));
+        
+        assertEquals(numberOfQueries * OfflineBatchQueryProcessor.ANSWER_BYTES,
+                     Files.size(answerFile));
+        
+        try (DataInputStream inputStream = 
+                new DataInputStream(Files.newInputStream(answerFile))) {
+            
+            for (int q = 0; q < numberOfQueries; q++) {
+                assertEquals(expectedCosts[q], inputStream.readDouble(), 0.0);
+                assertEquals(expectedHops[q], inputStream.readInt());
+            }
+        }
+    }
+    
+    @Test(expected = IOException.class)
+    public void throwsOnTruncatedQueryFile() throws IOException {
+        tree.addTreeNode(1);
+        Path queryFile = temporaryFolder.newFile("queries.bin").toPath();
+        Files.write(queryFile, new byte[]{ 0, 0, 0, 1, 0, 0, 0, 1, 0, 0 });
+        
+        new OfflineBatchQueryProcessor(tree)
+                .process(queryFile, 
+                         temporaryFolder.getRoot().toPath()
+                                        .resolve("answers.bin"));
+    }
+    
+    @Test(expected = IllegalStateException.class)
+    public void throwsOnModifiedTree() {
+        tree.addTreeNode(1);
+        OfflineBatchQueryProcessor processor = 
+                new OfflineBatchQueryProcessor(tree);
+        
+        tree.addTreeNode(2);
+        processor.answer(new int[1], new int[1], 1, new double[1], new int[1]);
+    }
+    
+    private void buildRandomForest(Random random, int numberOfNodes) {
+        for (int id = 0; id < numberOfNodes; id++) {
+            tree.addTreeNode(id);
+            
+            if (id > 0 && random.nextInt(20) != 0) {
+                tree.connect(id, random.nextInt(id), random.nextInt(10));
+            }
+        }
+    }
+}
@@ -0,0 +1,55 @@
+package com.github.coderodde.pathfinding;
+
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import org.junit.Test;
+
+public final class PathBufferTest {
+
+    private final WeightedTree tree = new WeightedTree();
+    
+    @Test
+    public void growsOnlyWhenNeeded() {
+        PathBuffer buffer = new PathBuffer(2);
+        int[] nodeIds = buffer.reset(tree, 2);
+        
+        assertSame(nodeIds, buffer.reset(tree, 1));
+        assertEquals(1, buffer.getNumberOfNodes());
+        
+        buffer.reset(tree, 3);
+        assertEquals(4, buffer.getCapacity());
+        
+        buffer.reset(tree, 100);
+        assertEquals(100, buffer.getCapacity());
+    }
+    
+    @Test
+    public void copiesPath() {
+        PathBuffer buffer = new PathBuffer();
+        WeightedPath path = new WeightedPath(tree, new int[]{ 3, 1, 2 }, 5.0);
+        buffer.copyOf(tree, path);
+        
+        assertArrayEquals(new int[]{ 3, 1, 2 }, buffer.toArray());
+        assertEquals(1, buffer.getNodeId(1));
+        assertEquals(5.0, buffer.getTotalCost(), 0.0);
+        assertEquals(path, buffer.toWeightedPath());
+    }
+    
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void throwsOnIndexPastPath() {
+        PathBuffer buffer = new PathBuffer();
+        buffer.reset(tree, 2);
+        buffer.getNodeId(2);
+    }
+    
+    @Test(expected = IllegalStateException.class)
+    public void throwsOnConvertingEmptyBuffer() {
+        new PathBuffer().toWeightedPath();
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void throwsOnNegativeCapacity() {
+        new PathBuffer(-1);
+    }
+}
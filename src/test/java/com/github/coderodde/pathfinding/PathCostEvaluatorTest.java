@@ -0,0 +1,109 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import org.junit.Test;
+
+public final class PathCostEvaluatorTest {
+
+    private final WeightedTree tree = new WeightedTree();
+    
+    @Test
+    public void agreesWithSearchedPaths() {
+        Random random = new Random(44L);
+        int numberOfNodes = 500;
+        
+        for (int id = 0; id < numberOfNodes; id++) {
+            tree.addTreeNode(id);
+            
+            if (id > 0) {
+                tree.connect(id, random.nextInt(id), random.nextInt(100));
+            }
+        }
+        
+        PathCostEvaluator evaluator = new PathCostEvaluator(tree);
+        Pathfinder pathfinder = new BreadthFirstSearchPathfinder();
+        int numberOfPaths = 5_000;
+        int[][] paths = new int[numberOfPaths][];
+        double[] expectedCosts = new double[numberOfPaths];
+        
+        for (int i = 0; i < numberOfPaths; i++) {
+            WeightedPath path = 
+                    pathfinder.search(tree, 
+                                      random.nextInt(numberOfNodes),
+                                      random.nextInt(numberOfNodes));
+            
+            paths[i] = path.nodeIds().toArray();
+            expectedCosts[i] = path.getTotalCost();
+            
+            // Integral weights sum exactly in any order:
+            assertEquals(expectedCosts[i], evaluator.cost(paths[i]), 0.0);
+        }
+        
+        double[] costs = evaluator.costs(paths);
+        
+        for (int i = 0; i < numberOfPaths; i++) {
+            assertEquals(expectedCosts[i], costs[i], 0.0);
+        }
+    }
+    
+    @Test
+    public void costsPathsLongerThanChunk() {
+        int numberOfNodes = 1_000;
+        int[] path = new int[numberOfNodes];
+        
+        for (int id = 0; id < numberOfNodes; id++) {
+            tree.addTreeNode(id);
+            path[id] = numberOfNodes - 1 - id;
+            
+            if (id > 0) {
+                tree.connect(id - 1, id, id);
+            }
+        }
+        
+        PathCostEvaluator evaluator = new PathCostEvaluator(tree);
+        
+        assertEquals(numberOfNodes * (numberOfNodes - 1) / 2, 
+                     evaluator.cost(path), 
+                     0.0);
+        
+        assertEquals(0.0, evaluator.cost(new int[]{ 5 }), 0.0);
+        assertEquals(0.0, evaluator.cost(new int[0]), 0.0);
+    }
+    
+    @Test(expected = IllegalStateException.class)
+    public void throwsOnMissingEdge() {
+        tree.addNodes(new int[]{ 1, 2, 3 });
+        tree.connect(1, 2, 1.0);
+        tree.connect(2, 3, 1.0);
+        
+        new PathCostEvaluator(tree).cost(new int[]{ 1, 3 });
+    }
+    
+    @Test(expected = IllegalStateException.class)
+    public void throwsOnMissingNode() {
+        tree.addNodes(new int[]{ 1, 2 });
+        tree.connect(1, 2, 1.0);
+        
+        new PathCostEvaluator(tree).cost(new int[]{ 1, 2, 4 });
+    }
+    
+    @Test(expected = IllegalStateException.class)
+    public void throwsOnModifiedTree() {
+        tree.addNodes(new int[]{ 1, 2 });
+        PathCostEvaluator evaluator = new PathCostEvaluator(tree);
+        tree.connect(1, 2, 1.0);
+        
+        evaluator.cost(new int[]{ 1, 2 });
+    }
+    
+    @Test(expected = IllegalStateException.class)
+    public void throwsOnCycle() {
+        tree.addNodes(new int[]{ 1, 2, 3 });
+        tree.connect(1, 2, 1.0);
+        tree.connect(2, 3, 1.0);
+        tree.connect(3, 1, 1.0);
+        
+        new PathCostEvaluator(tree);
+    }
+}
@@ -0,0 +1,180 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.List;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Test;
+
+public final class SearchBudgetTest {
+
+    private static final List<Pathfinder> PATHFINDERS = List.of(
+            new BreadthFirstSearchPathfinder(),
+            new BreadthFirstSearchPathfinder(false),
+            new BidirectionalBreadthFirstSearchPathfinder(),
+            new DepthFirstSearchPathfinder(),
+            new IterativeDeepeningDepthFirstSearchPathfinder(),
+            new BidirectionalIterativeDeepeningDepthFirstSearchPathfinder(),
+            new BidirectionalDijkstraPathfinder(),
+            new AdaptivePathfinder());
+    
+    private final WeightedTree tree = new WeightedTree();
+    
+    @Test
+    public void generousBudgetDoesNotChangePath() {
+        buildChain(100);
+        SearchBudget budget = 
+                new SearchBudget(1_000_000L, 1_000, 60_000_000_000L);
+        
+        for (Pathfinder pathfinder : PATHFINDERS) {
+            assertEquals(pathfinder.search(tree, 0, 99), 
+                         pathfinder.search(tree, 0, 99, budget));
+        }
+    }
+    
+    @Test
+    public void limitsExpandedNodes() {
+        buildChain(1_000);
+        SearchBudget budget = 
+                new SearchBudget(50L, Integer.MAX_VALUE, Long.MAX_VALUE);
+        
+        for (Pathfinder pathfinder : PATHFINDERS) {
+            try {
+                pathfinder.search(tree, 0, 999, budget);
+                fail(pathfinder.getClass().getSimpleName() 
+                        + " should have run out of budget.");
+            } catch (SearchBudgetExceededException ex) {
+                assertEquals(SearchBudgetExceededException.Limit.EXPANDED_NODES,
+                             ex.getLimit());
+                
+                assertEquals(51L, ex.getExpandedNodes());
+            }
+        }
+    }
+    
+    @Test
+    public void limitsFrontierSize() {
+        // A star whose hub would put all its leaves into the frontier, the 
+        // target lying two hops past the leaf 1000:
+        tree.addTreeNode(0);
+        
+        for (int id = 1; id <= 1_000; id++) {
+            tree.addTreeNode(id);
+            tree.connect(0, id, 1.0);
+        }
+        
+        tree.addTreeNode(1_001);
+        tree.addTreeNode(1_002);
+        tree.connect(1_000, 1_001, 1.0);
+        tree.connect(1_001, 1_002, 1.0);
+        
+        SearchBudget budget = 
+                new SearchBudget(Long.MAX_VALUE, 100, Long.MAX_VALUE);
+        
+        for (Pathfinder pathfinder : List.of(
+                new BreadthFirstSearchPathfinder(false),
+                new BreadthFirstSearchPathfinder(true),
+                new BidirectionalBreadthFirstSearchPathfinder())) {
+            try {
+                pathfinder.search(tree, 1, 1_002, budget);
+                fail(pathfinder.getClass().getSimpleName() 
+                        + " should have run out of budget.");
+            } catch (SearchBudgetExceededException ex) {
+                assertEquals(SearchBudgetExceededException.Limit.FRONTIER_SIZE,
+                             ex.getLimit());
+                
+                // The frontier is checked while the hub is being expanded:
+                assertEquals(101, ex.getLargestFrontierSize());
+            }
+        }
+    }
+    
+    @Test
+    public void limitsTime() {
+        buildChain(100_000);
+        SearchBudget budget = new SearchBudget(Long.MAX_VALUE, 
+                                               Integer.MAX_VALUE, 
+                                               1L);
+        try {
+            new DepthFirstSearchPathfinder().search(tree, 0, 99_999, budget);
+            fail("Should have run out of time.");
+        } catch (SearchBudgetExceededException ex) {
+            assertEquals(SearchBudgetExceededException.Limit.TIMEOUT,
+                         ex.getLimit());
+            
+            assertTrue(ex.getElapsedNanos() >= 1L);
+        }
+    }
+    
+    @Test
+    public void limitsTimeWhileExpandingHub() {
+        // A star as in limitsFrontierSize; its hub is the second node 
+        // expanded, so only enqueuing the leaves can run out of time:
+        tree.addTreeNode(0);
+        
+        for (int id = 1; id <= 200_000; id++) {
+            tree.addTreeNode(id);
+            tree.connect(0, id, 1.0);
+        }
+        
+        tree.addTreeNode(200_001);
+        tree.addTreeNode(200_002);
+        tree.connect(200_000, 200_001, 1.0);
+        tree.connect(200_001, 200_002, 1.0);
+        
+        SearchBudget budget = new SearchBudget(Long.MAX_VALUE, 
+                                               Integer.MAX_VALUE, 
+                                               1L);
+        
+        for (Pathfinder pathfinder : List.of(
+                new BreadthFirstSearchPathfinder(false),
+                new BreadthFirstSearchPathfinder(true),
+                new BidirectionalBreadthFirstSearchPathfinder())) {
+            try {
+                pathfinder.search(tree, 1, 200_002, budget);
+                fail(pathfinder.getClass().getSimpleName() 
+                        + " should have run out of time.");
+            } catch (SearchBudgetExceededException ex) {
+                assertEquals(SearchBudgetExceededException.Limit.TIMEOUT,
+                             ex.getLimit());
+                
+                assertTrue(ex.getExpandedNodes() < 1_024L);
+            }
+        }
+    }
+    
+    @Test
+    public void contextIsReusableAfterExceededBudget() {
+        buildChain(100);
+        Pathfinder pathfinder = new BreadthFirstSearchPathfinder();
+        
+        try {
+            pathfinder.search(tree, 
+                              0, 
+                              99, 
+                              new SearchBudget(10L, 
+                                               Integer.MAX_VALUE, 
+                                               Long.MAX_VALUE));
+            fail("Should have run out of budget.");
+        } catch (SearchBudgetExceededException ex) {
+            // Expected.
+        }
+        
+        assertEquals(100, pathfinder.search(tree, 0, 99).getNumberOfNodes());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void rejectsNonPositiveLimits() {
+        new SearchBudget(0L, 1, 1L);
+    }
+    
+    private void buildChain(int numberOfNodes) {
+        for (int id = 0; id < numberOfNodes; id++) {
+            tree.addTreeNode(id);
+            
+            if (id > 0) {
+                tree.connect(id - 1, id, 1.0);
+            }
+        }
+    }
+}
@@ -0,0 +1,64 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertSame;
+import org.junit.Test;
+
+public final class SearchContextTest {
+
+    // About 100k nodes, far beyond the size mapped densely right away:
+    private final WeightedTree tree = 
+            new StarTreeBuilder(5, 7, new Random(33L)).build();
+
+    @Test
+    public void searchesLargeTreesFromSparseStructures() {
+        Pathfinder reference = new BinaryLiftingPathfinder();
+        Pathfinder[] pathfinders = {
+            new BreadthFirstSearchPathfinder(),
+            new BidirectionalBreadthFirstSearchPathfinder(),
+            new BidirectionalDijkstraPathfinder(),
+            new DepthFirstSearchPathfinder(),
+        };
+
+        Random random = new Random(1L);
+        int numberOfNodes = tree.getNumberOfNodes();
+
+        for (int i = 0; i < 20; i++) {
+            int sourceId = tree.getNodeId(random.nextInt(numberOfNodes));
+            int targetId = tree.getNodeId(random.nextInt(numberOfNodes));
+            WeightedPath expectedPath = 
+                    reference.search(tree, sourceId, targetId);
+
+            for (Pathfinder pathfinder : pathfinders) {
+                assertEquals(expectedPath, 
+                             pathfinder.search(tree, sourceId, targetId));
+            }
+        }
+    }
+
+    @Test
+    public void releaseDropsStructuresGrownPastRetainedCapacity() {
+        SearchContext context = SearchContext.acquire(tree.getNumberOfNodes());
+
+        try {
+            for (int index = 0; index < tree.getNumberOfNodes(); index++) {
+                context.parentsForward.put(index, index);
+                context.dequeForward.addLast(index);
+            }
+        } finally {
+            context.release();
+        }
+
+        // The next search on the thread reuses the same, trimmed context:
+        SearchContext nextContext = SearchContext.acquire(100);
+
+        try {
+            assertSame(context, nextContext);
+            assertEquals(0, nextContext.parentsForward.size());
+            assertEquals(0, nextContext.dequeForward.size());
+        } finally {
+            nextContext.release();
+        }
+    }
+}
@@ -0,0 +1,103 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+
+public final class SingleSourcePathfinderTest {
+
+    private final SingleSourcePathfinder pathfinder =
+            new SingleSourcePathfinder();
+
+    private final WeightedTree tree = new WeightedTree();
+
+    @Before
+    public void before() {
+        tree.addTreeNode(1);
+        tree.addTreeNode(2);
+        tree.addTreeNode(3);
+        tree.connect(1, 2, 2.0);
+    }
+
+    @Test
+    public void agreesWithBreadthFirstSearch() {
+        WeightedTree starTree = 
+                new StarTreeBuilder(3, 4, new Random(13L)).build();
+
+        Pathfinder referencePathfinder = new BreadthFirstSearchPathfinder();
+        ShortestPathTree shortestPathTree = 
+                pathfinder.singleSource(starTree, 5);
+
+        assertEquals(starTree.getNumberOfNodes(),
+                     shortestPathTree.getNumberOfNodes());
+
+        for (int index = 0; index < starTree.getNumberOfNodes(); index++) {
+            int targetNodeId = shortestPathTree.getNodeId(index);
+            WeightedPath expectedPath =
+                    referencePathfinder.search(starTree, 5, targetNodeId);
+
+            WeightedPath path = shortestPathTree.getPath(targetNodeId);
+
+            assertEquals(expectedPath, path);
+            assertEquals(expectedPath.getTotalCost(),
+                         shortestPathTree.getCost(index),
+                         0.001);
+
+            assertEquals(expectedPath.getNumberOfNodes() - 1,
+                         shortestPathTree.getNumberOfHops(index));
+        }
+    }
+
+    @Test
+    public void sourceHasNoParent() {
+        ShortestPathTree shortestPathTree = pathfinder.singleSource(tree, 1);
+        int sourceIndex = shortestPathTree.getIndex(1);
+
+        assertEquals(ShortestPathTree.NO_PARENT,
+                     shortestPathTree.getParentIndex(sourceIndex));
+
+        assertEquals(sourceIndex,
+                     shortestPathTree.getParentIndex(
+                             shortestPathTree.getIndex(2)));
+
+        assertEquals(0.0, shortestPathTree.getCost(sourceIndex), 0.001);
+        assertEquals(2.0,
+                     shortestPathTree.getCost(shortestPathTree.getIndex(2)),
+                     0.001);
+    }
+
+    @Test
+    public void unreachableNodes() {
+        ShortestPathTree shortestPathTree = pathfinder.singleSource(tree, 1);
+        int index = shortestPathTree.getIndex(3);
+
+        assertTrue(shortestPathTree.isReachable(shortestPathTree.getIndex(2)));
+        assertFalse(shortestPathTree.isReachable(index));
+        assertEquals(ShortestPathTree.UNREACHABLE,
+                     shortestPathTree.getNumberOfHops(index));
+
+        assertEquals(Double.POSITIVE_INFINITY,
+                     shortestPathTree.getCost(index),
+                     0.0);
+    }
+
+    @Test(expected = PathNotFoundException.class)
+    public void throwsOnUnreachableTarget() {
+        pathfinder.singleSource(tree, 1).getPath(3);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void throwsOnMissingSource() {
+        pathfinder.singleSource(tree, 4);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void getIndexThrowsAfterModification() {
+        ShortestPathTree shortestPathTree = pathfinder.singleSource(tree, 1);
+        tree.relabel(NodeOrdering.BREADTH_FIRST);
+        shortestPathTree.getIndex(2);
+    }
+}
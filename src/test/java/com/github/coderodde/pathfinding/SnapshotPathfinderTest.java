@@ -0,0 +1,88 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertNull;
+import org.junit.Test;
+
+public final class SnapshotPathfinderTest extends AbstractPathfinderTest {
+
+    public SnapshotPathfinderTest() {
+        super.pathfinder = 
+                new SnapshotPathfinder(new DepthFirstSearchPathfinder());
+    }
+    
+    @Test
+    public void searchesConsistentVersionsDuringModifications() 
+            throws InterruptedException {
+        
+        int numberOfNodes = 3000;
+        
+        for (int id = 0; id < numberOfNodes; id++) {
+            tree.addTreeNode(id);
+            
+            if (id > 0) {
+                tree.connect(id - 1, id, 1.0);
+            }
+        }
+        
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        
+        Thread writer = new Thread(() -> {
+            for (int round = 0; !done.get(); round++) {
+                int id = 1 + round % (numberOfNodes - 1);
+                tree.disconnect(id - 1, id);
+                tree.connect(id - 1, id, 1.0 + round % 3);
+            }
+        });
+        
+        writer.start();
+        
+        Thread[] readers = new Thread[3];
+        
+        for (int r = 0; r < readers.length; r++) {
+            readers[r] = new Thread(() -> {
+                try {
+                    for (int i = 0; i < 200; i++) {
+                        searchAndCheck(numberOfNodes);
+                    }
+                } catch (Throwable ex) {
+                    failure.compareAndSet(null, ex);
+                }
+            });
+            
+            readers[r].start();
+        }
+        
+        for (Thread reader : readers) {
+            reader.join();
+        }
+        
+        done.set(true);
+        writer.join();
+        assertNull(failure.get());
+    }
+    
+    private void searchAndCheck(int numberOfNodes) {
+        WeightedPath path;
+        
+        try {
+            path = pathfinder.search(tree, 0, numberOfNodes - 1);
+        } catch (PathNotFoundException ex) {
+            // The writer had the chain cut at the time of the snapshot.
+            return;
+        }
+        
+        assertEquals(numberOfNodes, path.getNumberOfNodes());
+        double totalCost = 0.0;
+        
+        // Every edge must exist in the version the search ran over:
+        for (int i = 0; i < numberOfNodes - 1; i++) {
+            totalCost += path.getEdge(i).getWeight();
+        }
+        
+        assertEquals(path.getTotalCost(), totalCost, 0.001);
+    }
+}
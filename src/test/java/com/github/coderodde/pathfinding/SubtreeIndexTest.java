@@ -0,0 +1,165 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Before;
+import org.junit.Test;
+
+public final class SubtreeIndexTest {
+
+    private static final int NUMBER_OF_NODES = 300;
+    
+    private final WeightedTree tree = new WeightedTree();
+    private final Random random = new Random(38L);
+    
+    @Before
+    public void before() {
+        tree.clear();
+        tree.addTreeNode(0);
+        
+        for (int id = 1; id < NUMBER_OF_NODES; id++) {
+            tree.addTreeNode(id);
+            tree.connect(id, random.nextInt(id), random.nextDouble());
+        }
+    }
+    
+    @Test
+    public void chainQueries() {
+        tree.clear();
+        
+        // 0 - 1 - 2 with the branch 1 - 3, and a separate node 4:
+        for (int id = 0; id < 5; id++) {
+            tree.addTreeNode(id);
+        }
+        
+        tree.connect(0, 1, 1.0);
+        tree.connect(1, 2, 2.0);
+        tree.connect(1, 3, 3.0);
+        
+        SubtreeIndex index = new SubtreeIndex(tree, 0);
+        
+        assertEquals(4, index.getNumberOfIndexedNodes());
+        assertFalse(index.contains(4));
+        assertTrue(index.isAncestor(0, 3));
+        assertTrue(index.isAncestor(1, 1));
+        assertFalse(index.isAncestor(2, 1));
+        assertEquals(3, index.getSubtreeSize(1));
+        assertEquals(5.0, index.getSubtreeWeight(1), 0.001);
+        assertEquals(2, index.getDepth(3));
+        assertEquals(4.0, index.getRootDistance(3), 0.001);
+        
+        // Rooted at 2 instead, 1 has the subtree {0, 1, 3}:
+        assertEquals(3, index.getSubtreeSize(1, 2));
+        assertEquals(4.0, index.getSubtreeWeight(1, 2), 0.001);
+        assertTrue(index.isAncestor(1, 0, 2));
+        assertFalse(index.isAncestor(1, 2, 2));
+        
+        index.setEdgeWeight(1, 3, 10.0);
+        
+        assertEquals(10.0, tree.getEdgeWeight(1, 3), 0.001);
+        assertEquals(12.0, index.getSubtreeWeight(1), 0.001);
+        assertEquals(11.0, index.getRootDistance(3), 0.001);
+        assertEquals(11.0, index.getSubtreeWeight(1, 2), 0.001);
+    }
+    
+    @Test
+    public void matchesShortestPathTrees() {
+        SubtreeIndex index = new SubtreeIndex(tree, 0);
+        
+        for (int i = 0; i < 50; i++) {
+            int childId = 1 + random.nextInt(NUMBER_OF_NODES - 1);
+            int parentId = findParent(index, childId);
+            
+            index.setEdgeWeight(parentId, childId, random.nextDouble());
+        }
+        
+        SingleSourcePathfinder pathfinder = new SingleSourcePathfinder();
+        ShortestPathTree fromRoot = pathfinder.singleSource(tree, 0);
+        
+        for (int id = 0; id < NUMBER_OF_NODES; id++) {
+            int treeIndex = fromRoot.getIndex(id);
+            
+            assertEquals(fromRoot.getCost(treeIndex), 
+                         index.getRootDistance(id), 
+                         1e-9);
+            
+            assertEquals(fromRoot.getNumberOfHops(treeIndex),
+                         index.getDepth(id));
+        }
+        
+        for (int i = 0; i < 20; i++) {
+            int nodeId = random.nextInt(NUMBER_OF_NODES);
+            int rootId = random.nextInt(NUMBER_OF_NODES);
+            ShortestPathTree fromRootId = pathfinder.singleSource(tree, rootId);
+            int size = 0;
+            double weight = 0.0;
+            
+            // The node v is in the subtree of u iff u lies on the path from 
+            // the root to v:
+            for (int id = 0; id < NUMBER_OF_NODES; id++) {
+                WeightedPath path = fromRootId.getPath(id);
+                boolean inSubtree = false;
+                
+                for (int j = 0; j < path.getNumberOfNodes(); j++) {
+                    if (path.getNodeId(j) == nodeId) {
+                        inSubtree = true;
+                    }
+                }
+                
+                assertEquals(inSubtree, index.isAncestor(nodeId, id, rootId));
+                
+                if (inSubtree) {
+                    size++;
+                    
+                    if (id != nodeId) {
+                        int n = path.getNumberOfNodes();
+                        
+                        weight += tree.getEdgeWeight(path.getNodeId(n - 2), 
+                                                     id);
+                    }
+                }
+            }
+            
+            assertEquals(size, index.getSubtreeSize(nodeId, rootId));
+            assertEquals(weight, index.getSubtreeWeight(nodeId, rootId), 1e-9);
+        }
+    }
+    
+    @Test
+    public void getPathMatchesSearch() {
+        SubtreeIndex index = new SubtreeIndex(tree, 7);
+        Pathfinder pathfinder = new BreadthFirstSearchPathfinder();
+        
+        for (int i = 0; i < 50; i++) {
+            int sourceId = random.nextInt(NUMBER_OF_NODES);
+            int targetId = random.nextInt(NUMBER_OF_NODES);
+            WeightedPath expected = 
+                    pathfinder.search(tree, sourceId, targetId);
+            
+            WeightedPath path = index.getPath(sourceId, targetId);
+            
+            assertEquals(expected, path);
+            assertEquals(expected.getTotalCost(), path.getTotalCost(), 1e-9);
+        }
+    }
+    
+    @Test(expected = IllegalStateException.class)
+    public void throwsOnStructuralChange() {
+        SubtreeIndex index = new SubtreeIndex(tree, 0);
+        tree.addTreeNode(NUMBER_OF_NODES);
+        index.getSubtreeSize(0);
+    }
+    
+    private static int findParent(SubtreeIndex index, int childId) {
+        for (int id = 0; id < NUMBER_OF_NODES; id++) {
+            if (index.isAncestor(id, childId) 
+                    && index.getDepth(id) == index.getDepth(childId) - 1) {
+                return id;
+            }
+        }
+        
+        throw new AssertionError("No parent of " + childId + ".");
+    }
+}
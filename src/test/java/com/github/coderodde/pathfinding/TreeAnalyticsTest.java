@@ -0,0 +1,196 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.Random;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public final class TreeAnalyticsTest {
+
+    private final WeightedTree tree = new WeightedTree();
+    
+    @Test
+    public void pathGraph() {
+        // 0 - 1 - 2 - 3 - 4 with the heavy edge 3 - 4:
+        for (int id = 0; id < 5; id++) {
+            tree.addTreeNode(id);
+        }
+        
+        tree.connect(0, 1, 1.0);
+        tree.connect(1, 2, 1.0);
+        tree.connect(2, 3, 1.0);
+        tree.connect(3, 4, 10.0);
+        
+        TreeAnalytics analytics = new TreeAnalytics(tree);
+        
+        assertEquals(1, analytics.getNumberOfComponents());
+        assertEquals(4, analytics.getHopDiameter());
+        assertEquals(13.0, analytics.getWeightedDiameter(), 0.001);
+        assertEquals(2, analytics.getHopCenterId(0));
+        assertEquals(3, analytics.getWeightedCenterId(0));
+        assertEquals(2, analytics.getCentroidId(0));
+        assertEquals(4, analytics.getHopEccentricity(0));
+        assertEquals(10.0, analytics.getWeightedEccentricity(3), 0.001);
+    }
+    
+    @Test
+    public void negativeWeights() {
+        // 0 - 1 - 2 - 3 with the weights 1, -100 and 50:
+        for (int id = 0; id < 4; id++) {
+            tree.addTreeNode(id);
+        }
+        
+        tree.connect(0, 1, 1.0);
+        tree.connect(1, 2, -100.0);
+        tree.connect(2, 3, 50.0);
+        
+        TreeAnalytics analytics = new TreeAnalytics(tree);
+        
+        assertEquals(50.0, analytics.getWeightedDiameter(), 0.001);
+        assertEquals(1.0, analytics.getWeightedEccentricity(0), 0.001);
+        assertEquals(1.0, analytics.getWeightedEccentricity(1), 0.001);
+        assertEquals(50.0, analytics.getWeightedEccentricity(2), 0.001);
+        assertEquals(50.0, analytics.getWeightedEccentricity(3), 0.001);
+        assertTrue(analytics.getWeightedCenterId(0) <= 1);
+    }
+    
+    @Test
+    public void matchesAllPairsOnRandomForest() {
+        matchesAllPairs(new Random(39L), 0.0);
+    }
+    
+    @Test
+    public void matchesAllPairsOnRandomForestWithNegativeWeights() {
+        matchesAllPairs(new Random(40L), -1.0);
+    }
+    
+    private void matchesAllPairs(Random random, double minimumWeight) {
+        int numberOfNodes = 120;
+        
+        for (int id = 0; id < numberOfNodes; id++) {
+            tree.addTreeNode(id);
+            
+            // Roughly one in ten nodes starts a new component:
+            if (id > 0 && random.nextInt(10) != 0) {
+                double weight = minimumWeight 
+                              + (1.0 - minimumWeight) * random.nextDouble();
+                
+                tree.connect(id, random.nextInt(id), weight);
+            }
+        }
+        
+        TreeAnalytics analytics = new TreeAnalytics(tree);
+        SingleSourcePathfinder pathfinder = new SingleSourcePathfinder();
+        
+        int[] hopDiameters = new int[analytics.getNumberOfComponents()];
+        double[] weightedDiameters = 
+                new double[analytics.getNumberOfComponents()];
+        int[] componentSizes = new int[analytics.getNumberOfComponents()];
+        
+        for (int id = 0; id < numberOfNodes; id++) {
+            ShortestPathTree shortestPathTree = 
+                    pathfinder.singleSource(tree, id);
+            
+            int component = analytics.getComponent(id);
+            int hopEccentricity = 0;
+            double weightedEccentricity = 0.0;
+            componentSizes[component]++;
+            
+            for (int i = 0; i < numberOfNodes; i++) {
+                if (!shortestPathTree.isReachable(i)) {
+                    continue;
+                }
+                
+                assertEquals(component, 
+                             analytics.getComponent(
+                                     shortestPathTree.getNodeId(i)));
+                
+                hopEccentricity = 
+                        Math.max(hopEccentricity, 
+                                 shortestPathTree.getNumberOfHops(i));
+                
+                weightedEccentricity = 
+                        Math.max(weightedEccentricity, 
+                                 shortestPathTree.getCost(i));
+            }
+            
+            assertEquals(hopEccentricity, analytics.getHopEccentricity(id));
+            assertEquals(weightedEccentricity, 
+                         analytics.getWeightedEccentricity(id), 
+                         1e-9);
+            
+            hopDiameters[component] = 
+                    Math.max(hopDiameters[component], hopEccentricity);
+            
+            weightedDiameters[component] = 
+                    Math.max(weightedDiameters[component], 
+                             weightedEccentricity);
+        }
+        
+        for (int c = 0; c < analytics.getNumberOfComponents(); c++) {
+            assertEquals(componentSizes[c], analytics.getComponentSize(c));
+            assertEquals(hopDiameters[c], analytics.getHopDiameter(c));
+            assertEquals(weightedDiameters[c], 
+                         analytics.getWeightedDiameter(c), 
+                         1e-9);
+            
+            assertEquals((hopDiameters[c] + 1) / 2, 
+                         analytics.getHopEccentricity(
+                                 analytics.getHopCenterId(c)));
+            
+            checkCentroid(analytics.getCentroidId(c), componentSizes[c]);
+        }
+    }
+    
+    @Test(expected = IllegalStateException.class)
+    public void throwsOnCycle() {
+        tree.addTreeNode(0);
+        tree.addTreeNode(1);
+        tree.addTreeNode(2);
+        tree.connect(0, 1, 1.0);
+        tree.connect(1, 2, 1.0);
+        tree.connect(2, 0, 1.0);
+        
+        new TreeAnalytics(tree);
+    }
+    
+    /**
+     * Checks that removing the centroid leaves no piece larger than half of
+     * the component.
+     */
+    private void checkCentroid(int centroidId, int componentSize) {
+        SingleSourcePathfinder pathfinder = new SingleSourcePathfinder();
+        
+        tree.forEachNeighbor(centroidId, (neighborId, weight) -> {
+            // Count the nodes reachable from the neighbor without passing 
+            // through the centroid:
+            ShortestPathTree shortestPathTree = 
+                    pathfinder.singleSource(tree, neighborId);
+            
+            int pieceSize = 0;
+            
+            for (int i = 0; i < shortestPathTree.getNumberOfNodes(); i++) {
+                if (shortestPathTree.isReachable(i) 
+                        && !passesThrough(shortestPathTree, i, centroidId)) {
+                    pieceSize++;
+                }
+            }
+            
+            assertTrue(pieceSize <= componentSize / 2);
+        });
+    }
+    
+    private static boolean passesThrough(ShortestPathTree shortestPathTree, 
+                                         int index,
+                                         int nodeId) {
+        for (int i = index; 
+                i != ShortestPathTree.NO_PARENT; 
+                i = shortestPathTree.getParentIndex(i)) {
+            if (shortestPathTree.getNodeId(i) == nodeId) {
+                return true;
+            }
+        }
+        
+        return false;
+    }
+}
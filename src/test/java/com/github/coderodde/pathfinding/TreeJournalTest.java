@@ -0,0 +1,326 @@
+package com.github.coderodde.pathfinding;
+
+import java.io.IOException;
+import java.io.RandomAccessFile;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Random;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicReference;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNull;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Rule;
+import org.junit.Test;
+import org.junit.rules.TemporaryFolder;
+
+public final class TreeJournalTest {
+
+    @Rule
+    public final TemporaryFolder temporaryFolder = new TemporaryFolder();
+
+    @Test
+    public void recoversJournaledModifications() throws IOException {
+        Path directory = temporaryFolder.getRoot().toPath();
+        WeightedTree tree = new WeightedTree();
+        tree.addTreeNode(100);
+
+        try (TreeJournal journal = TreeJournal.open(directory, tree, 16, 0)) {
+            modifyRandomly(tree, new Random(42L), 2_000);
+            assertEquals(0L, journal.getGeneration());
+        }
+
+        assertSameTree(tree, TreeJournal.recover(directory));
+    }
+
+    @Test
+    public void recoversAcrossCheckpoints() throws IOException {
+        Path directory = temporaryFolder.getRoot().toPath();
+        WeightedTree tree = new WeightedTree();
+
+        try (TreeJournal journal = TreeJournal.open(directory, tree, 1, 100)) {
+            modifyRandomly(tree, new Random(43L), 1_050);
+            assertTrue(journal.getGeneration() >= 3L);
+        }
+
+        assertSameTree(tree, TreeJournal.recover(directory));
+
+        // Only the latest generation and the previous one survive:
+        try (var paths = Files.list(directory)) {
+            assertEquals(4L, paths.count());
+        }
+    }
+
+    @Test
+    public void reopeningStartsNewGeneration() throws IOException {
+        Path directory = temporaryFolder.getRoot().toPath();
+        WeightedTree tree = new WeightedTree();
+        long generation;
+
+        try (TreeJournal journal = TreeJournal.open(directory, tree, 4, 0)) {
+            modifyRandomly(tree, new Random(44L), 300);
+            generation = journal.getGeneration();
+        }
+
+        WeightedTree recoveredTree;
+
+        try (TreeJournal journal = TreeJournal.resume(directory, 4, 0)) {
+            recoveredTree = journal.getTree();
+            assertSameTree(tree, recoveredTree);
+            assertEquals(generation + 1, journal.getGeneration());
+            modifyRandomly(recoveredTree, new Random(45L), 300);
+        }
+
+        assertSameTree(recoveredTree, TreeJournal.recover(directory));
+    }
+
+    @Test
+    public void openingRefusesDirectoryWithGenerations() throws IOException {
+        Path directory = temporaryFolder.getRoot().toPath();
+        WeightedTree tree = new WeightedTree();
+
+        try (TreeJournal journal = TreeJournal.open(directory, tree, 1, 0)) {
+            tree.addTreeNode(1);
+            assertEquals(0L, journal.getGeneration());
+        }
+
+        try {
+            TreeJournal.open(directory, new WeightedTree(), 1, 0);
+            fail("Opening a directory with generations should fail.");
+        } catch (IOException ex) {
+            // The durable state must survive the refusal:
+            assertSameTree(tree, TreeJournal.recover(directory));
+        }
+    }
+
+    @Test
+    public void recoversBulkModifications() throws IOException {
+        Path directory = temporaryFolder.getRoot().toPath();
+        WeightedTree tree = new WeightedTree();
+
+        try (TreeJournal journal = TreeJournal.open(directory, tree, 8, 0)) {
+            tree.addNodes(new int[]{ 1, 2, 3, 4 });
+            tree.connectAll(new int[]{ 1, 1, 3 }, 
+                            new int[]{ 2, 3, 4 }, 
+                            new double[]{ 1.0, 2.0, 3.0 });
+
+            tree.updateWeights(new int[]{ 4 }, 
+                               new int[]{ 3 }, 
+                               new double[]{ 5.0 });
+
+            assertEquals(0L, journal.getGeneration());
+        }
+
+        assertSameTree(tree, TreeJournal.recover(directory));
+    }
+
+    @Test
+    public void readsSnapshotsInSeveralBatches() throws IOException {
+        Path snapshotPath = temporaryFolder.getRoot().toPath().resolve("s");
+        WeightedTree tree = new WeightedTree();
+        tree.addTreeNode(0);
+        
+        // More edges than nodes, counting the self-loops:
+        for (int id = 1; id < 3_000; id++) {
+            tree.addTreeNode(id);
+            tree.connect(0, id, id);
+            tree.connect(id, id, -id);
+        }
+
+        TreeJournal.writeSnapshot(tree, snapshotPath);
+        assertSameTree(tree, TreeJournal.readSnapshot(snapshotPath));
+    }
+
+    @Test
+    public void replicaTailsJournal() throws IOException {
+        Path directory = temporaryFolder.getRoot().toPath();
+        WeightedTree tree = new WeightedTree();
+        Random random = new Random(46L);
+
+        try (TreeJournal journal = TreeJournal.open(directory, tree, 1, 0)) {
+            WeightedTree replica = TreeJournal.recover(directory);
+            long offset = 0L;
+
+            for (int round = 0; round < 10; round++) {
+                modifyRandomly(tree, random, 100);
+                offset = TreeJournal.replay(journal.getJournalPath(), 
+                                            offset, 
+                                            replica);
+
+                assertSameTree(tree, replica);
+            }
+
+            assertEquals(Files.size(journal.getJournalPath()), offset);
+        }
+    }
+
+    @Test
+    public void replicaTailsJournalAcrossCheckpoints() throws IOException {
+        Path directory = temporaryFolder.getRoot().toPath();
+        WeightedTree tree = new WeightedTree();
+        Random random = new Random(47L);
+
+        try (TreeJournal journal = TreeJournal.open(directory, tree, 1, 64)) {
+            WeightedTree replica = TreeJournal.recover(directory);
+            long generation = TreeJournal.getLatestGeneration(directory);
+            long offset = 0L;
+
+            for (int round = 0; round < 20; round++) {
+                // Less than a snapshot interval, so that the replica falls 
+                // behind by at most one checkpoint:
+                modifyRandomly(tree, random, 50);
+
+                while (true) {
+                    offset = TreeJournal.replay(
+                            TreeJournal.getJournalPath(directory, generation),
+                            offset, 
+                            replica);
+
+                    if (TreeJournal.getLatestGeneration(directory) 
+                            == generation) {
+                        break;
+                    }
+
+                    // Moving on is safe only once the journal is finished:
+                    offset = TreeJournal.replay(
+                            TreeJournal.getJournalPath(directory, generation),
+                            offset, 
+                            replica);
+
+                    generation++;
+                    offset = 0L;
+                }
+
+                assertSameTree(tree, replica);
+            }
+
+            assertTrue(journal.getGeneration() >= 3L);
+            assertEquals(journal.getGeneration(), generation);
+        }
+    }
+
+    @Test
+    public void journalsConcurrentModifications() throws Exception {
+        Path directory = temporaryFolder.getRoot().toPath();
+        WeightedTree tree = new WeightedTree();
+        AtomicBoolean done = new AtomicBoolean();
+        AtomicReference<Throwable> failure = new AtomicReference<>();
+        
+        Thread mutator = new Thread(() -> {
+            try {
+                modifyRandomly(tree, new Random(48L), 20_000);
+            } catch (Throwable throwable) {
+                failure.set(throwable);
+            } finally {
+                done.set(true);
+            }
+        });
+
+        // The modifications run while the journal is opened, checkpointed 
+        // and synced:
+        mutator.start();
+
+        try (TreeJournal journal = TreeJournal.open(directory, tree, 64, 0)) {
+            while (!done.get()) {
+                journal.checkpoint();
+                journal.sync();
+            }
+            
+            mutator.join();
+            assertTrue(journal.getGeneration() >= 0L);
+        }
+
+        assertNull(failure.get());
+
+        assertSameTree(tree, TreeJournal.recover(directory));
+    }
+
+    @Test
+    public void ignoresTornLastRecord() throws IOException {
+        Path directory = temporaryFolder.getRoot().toPath();
+        WeightedTree tree = new WeightedTree();
+        Path journalPath;
+
+        try (TreeJournal journal = TreeJournal.open(directory, tree, 1, 0)) {
+            tree.addTreeNode(1);
+            tree.addTreeNode(2);
+            tree.connect(1, 2, 3.0);
+            journalPath = journal.getJournalPath();
+        }
+
+        try (RandomAccessFile file = 
+                new RandomAccessFile(journalPath.toFile(), "rw")) {
+            // Cut the connect record in the middle of its weight:
+            file.setLength(file.length() - 4);
+        }
+
+        WeightedTree replica = new WeightedTree();
+        long offset = TreeJournal.replay(journalPath, 0L, replica);
+
+        assertEquals(2, replica.getNumberOfNodes());
+        assertFalse(replica.hasEdge(1, 2));
+        assertEquals(Files.size(journalPath) - 13, offset);
+    }
+
+    @Test
+    public void closingStopsJournaling() throws IOException {
+        Path directory = temporaryFolder.getRoot().toPath();
+        WeightedTree tree = new WeightedTree();
+
+        TreeJournal.open(directory, tree, 1, 0).close();
+        tree.addTreeNode(1);
+
+        assertEquals(0, TreeJournal.recover(directory).getNumberOfNodes());
+    }
+
+    private static void modifyRandomly(WeightedTree tree, 
+                                       Random random, 
+                                       int numberOfModifications) {
+        for (int i = 0; i < numberOfModifications; i++) {
+            int id1 = random.nextInt(200);
+            int id2 = random.nextInt(200);
+            int operation = random.nextInt(100);
+
+            if (operation < 40) {
+                tree.addTreeNode(id1);
+            } else if (operation < 80) {
+                if (tree.containsNodeId(id1) && tree.containsNodeId(id2)) {
+                    tree.connect(id1, id2, random.nextInt(10));
+                }
+            } else if (operation < 90) {
+                if (tree.containsNodeId(id1) && tree.containsNodeId(id2)) {
+                    tree.disconnect(id1, id2);
+                }
+            } else if (operation < 99) {
+                tree.removeTreeNode(id1);
+            } else {
+                tree.clear();
+            }
+        }
+    }
+
+    private static void assertSameTree(WeightedTree expected, 
+                                       WeightedTree actual) {
+        assertEquals(expected.getNumberOfNodes(), actual.getNumberOfNodes());
+
+        for (int index = 0; index < expected.getNumberOfNodes(); index++) {
+            int id = expected.getNodeId(index);
+            int actualIndex = actual.getNodeIndex(id);
+
+            assertTrue(actualIndex != TreeView.NO_NODE);
+            assertEquals(expected.getDegree(index), 
+                         actual.getDegree(actualIndex));
+
+            for (int i = 0; i < expected.getDegree(index); i++) {
+                int neighborId = 
+                        expected.getNodeId(expected.getNeighborIndex(index, i));
+
+                assertEquals(expected.getNeighborWeight(index, i),
+                             actual.getEdgeWeight(id, neighborId),
+                             0.0);
+            }
+        }
+    }
+}
@@ -0,0 +1,111 @@
+package com.github.coderodde.pathfinding;
+
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertNotSame;
+import static org.junit.Assert.assertSame;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public final class TreeSnapshotTest {
+
+    private final WeightedTree tree = new WeightedTree();
+    
+    @Test
+    public void isolatesFromModifications() {
+        // 10 - 11 - 12 - 13 - 14, with IDs apart from their indices:
+        for (int id = 10; id <= 14; id++) {
+            tree.addTreeNode(id);
+            
+            if (id > 10) {
+                tree.connect(id - 1, id, id);
+            }
+        }
+        
+        TreeSnapshot snapshot = tree.snapshot();
+        WeightedPath path = 
+                new BreadthFirstSearchPathfinder().search(snapshot, 10, 14);
+        
+        tree.disconnect(11, 12);
+        tree.connect(13, 14, 100.0);
+        tree.removeTreeNode(10);
+        tree.addNodes(new int[]{ 20, 21 });
+        tree.connectAll(new int[]{ 20, 21 }, new int[]{ 12, 20 }, 
+                        new double[]{ 1.0, 2.0 });
+        tree.updateWeights(new int[]{ 12 }, new int[]{ 13 }, 
+                           new double[]{ 50.0 });
+        tree.relabel(NodeOrdering.BREADTH_FIRST);
+        
+        assertEquals(5, snapshot.getNumberOfNodes());
+        assertTrue(snapshot.containsNodeId(10));
+        assertFalse(snapshot.containsNodeId(20));
+        assertEquals(12.0, snapshot.getEdgeWeight(11, 12), 0.0);
+        assertEquals(13.0, snapshot.getEdgeWeight(12, 13), 0.0);
+        assertEquals(14.0, snapshot.getEdgeWeight(13, 14), 0.0);
+        assertEquals(path, 
+                     new BreadthFirstSearchPathfinder().search(snapshot, 
+                                                               10, 
+                                                               14));
+        
+        assertEquals(50.0, tree.getEdgeWeight(12, 13), 0.0);
+        assertEquals(100.0, tree.snapshot().getEdgeWeight(13, 14), 0.0);
+        assertFalse(tree.snapshot().containsNodeId(10));
+    }
+    
+    @Test
+    public void survivesClear() {
+        tree.addTreeNode(1);
+        tree.addTreeNode(2);
+        tree.connect(1, 2, 3.0);
+        
+        TreeSnapshot snapshot = tree.snapshot();
+        tree.clear();
+        
+        assertEquals(3.0, snapshot.getEdgeWeight(1, 2), 0.0);
+        assertEquals(0, tree.snapshot().getNumberOfNodes());
+    }
+    
+    @Test
+    public void reusesSnapshotOfUnmodifiedTree() {
+        tree.addTreeNode(1);
+        TreeSnapshot snapshot = tree.snapshot();
+        
+        assertSame(snapshot, tree.snapshot());
+        
+        // A no-op modification leaves the version intact:
+        tree.disconnect(1, 1);
+        assertSame(snapshot, tree.snapshot());
+        
+        tree.addTreeNode(2);
+        assertNotSame(snapshot, tree.snapshot());
+        assertEquals(tree.getVersion(), tree.snapshot().getVersion());
+    }
+    
+    @Test
+    public void sharesUnmodifiedPages() {
+        int numberOfNodes = 3 * TreeSnapshot.PAGE_SIZE;
+        
+        for (int id = 0; id < numberOfNodes; id++) {
+            tree.addTreeNode(id);
+            
+            if (id > 0) {
+                tree.connect(id - 1, id, 1.0);
+            }
+        }
+        
+        TreeSnapshot snapshot1 = tree.snapshot();
+        tree.connect(0, 1, 2.0);
+        TreeSnapshot snapshot2 = tree.snapshot();
+        
+        assertNotSame(snapshot1.pages[0], snapshot2.pages[0]);
+        assertSame(snapshot1.pages[1], snapshot2.pages[1]);
+        assertSame(snapshot1.pages[2], snapshot2.pages[2]);
+        
+        // The adjacency of an unmodified node in a copied page is shared:
+        assertSame(snapshot1.pages[0].neighborIndices[5], 
+                   snapshot2.pages[0].neighborIndices[5]);
+        
+        assertEquals(1.0, snapshot1.getEdgeWeight(0, 1), 0.0);
+        assertEquals(2.0, snapshot2.getEdgeWeight(0, 1), 0.0);
+    }
+}
@@ -0,0 +1,93 @@
+package com.github.coderodde.pathfinding;
+
+import java.util.Random;
+import java.util.stream.IntStream;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public final class TreeValidatorTest {
+
+    @Test
+    public void validatesForest() {
+        WeightedTree tree = new WeightedTree();
+        Random random = new Random(41L);
+        int numberOfNodes = 10_000;
+        int numberOfComponents = 0;
+        
+        for (int id = 0; id < numberOfNodes; id++) {
+            tree.addTreeNode(id);
+            
+            if (id == 0 || random.nextInt(100) == 0) {
+                numberOfComponents++;
+            } else {
+                tree.connect(id, random.nextInt(id), 1.0);
+            }
+        }
+        
+        TreeValidation validation = TreeValidator.validate(tree);
+        
+        assertTrue(validation.isAcyclic());
+        assertEquals(numberOfNodes, validation.getNumberOfNodes());
+        assertEquals(numberOfComponents, validation.getNumberOfComponents());
+        assertEquals(numberOfNodes - numberOfComponents, 
+                     validation.getNumberOfEdges());
+        
+        assertEquals(numberOfComponents == 1, validation.isTree());
+    }
+    
+    @Test
+    public void detectsCycleAndSelfLoop() {
+        WeightedTree tree = new WeightedTree();
+        
+        for (int id = 0; id < 4; id++) {
+            tree.addTreeNode(id);
+        }
+        
+        tree.connect(0, 1, 1.0);
+        tree.connect(1, 2, 1.0);
+        tree.connect(2, 0, 1.0);
+        tree.connect(3, 3, 1.0);
+        
+        TreeValidation validation = TreeValidator.validate(tree);
+        
+        assertFalse(validation.isAcyclic());
+        assertEquals(4, validation.getNumberOfEdges());
+        assertEquals(2, validation.getNumberOfRedundantEdges());
+        assertEquals(2, validation.getNumberOfComponents());
+    }
+    
+    @Test
+    public void validatesConcurrentlyStreamedEdges() {
+        int numberOfNodes = 100_000;
+        TreeValidator validator = new TreeValidator(numberOfNodes);
+        Random random = new Random(41L);
+        int[] parents = new int[numberOfNodes];
+        
+        for (int node = 1; node < numberOfNodes; node++) {
+            parents[node] = random.nextInt(node);
+        }
+        
+        // Every edge twice, so that exactly half of them are redundant:
+        IntStream.range(2, 2 * numberOfNodes)
+                 .parallel()
+                 .forEach(i -> validator.addEdge(i / 2, parents[i / 2]));
+        
+        TreeValidation validation = validator.getValidation();
+        
+        assertEquals(1, validation.getNumberOfComponents());
+        assertEquals(2L * (numberOfNodes - 1), validation.getNumberOfEdges());
+        assertEquals(numberOfNodes - 1, 
+                     validation.getNumberOfRedundantEdges());
+    }
+    
+    @Test
+    public void emptyGraphIsAcyclic() {
+        TreeValidation validation = new TreeValidator(0).getValidation();
+        
+        assertTrue(validation.isAcyclic());
+        assertFalse(validation.isTree());
+        assertEquals(0, validation.getNumberOfComponents());
+    }
+}
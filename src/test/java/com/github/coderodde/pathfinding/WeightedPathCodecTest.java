@@ -0,0 +1,125 @@
+package com.github.coderodde.pathfinding;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.EOFException;
+import java.io.IOException;
+import java.util.Arrays;
+import java.util.Random;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertTrue;
+import org.junit.Test;
+
+public final class WeightedPathCodecTest {
+
+    private final WeightedTree tree =
+            new StarTreeBuilder(4, 5, new Random(7L)).build();
+
+    private final Pathfinder pathfinder = new BreadthFirstSearchPathfinder();
+
+    @Test
+    public void roundTrip() {
+        WeightedPath path = pathfinder.search(tree, 100, 900);
+        byte[] data = WeightedPathCodec.encode(path);
+        WeightedPath decodedPath = WeightedPathCodec.decode(tree, data);
+
+        assertEquals(path, decodedPath);
+        assertEquals(path.hashCode(), decodedPath.hashCode());
+        assertEquals(path.getTotalCost(), decodedPath.getTotalCost(), 0.0);
+        assertArrayEquals(path.nodeIds().toArray(),
+                          decodedPath.nodeIds().toArray());
+    }
+
+    @Test
+    public void encodingIsCompact() {
+        WeightedPath path = pathfinder.search(tree, 100, 900);
+        byte[] data = WeightedPathCodec.encode(path);
+
+        // One byte for the length, eight for the cost, at most three per ID:
+        assertTrue(data.length <= 9 + 3 * path.getNumberOfNodes());
+    }
+
+    @Test
+    public void roundTripThroughStreams() throws IOException {
+        WeightedPath path1 = pathfinder.search(tree, 3, 700);
+        WeightedPath path2 = pathfinder.search(tree, 5, 5);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+
+        WeightedPathCodec.write(path1, outputStream);
+        WeightedPathCodec.write(path2, outputStream);
+
+        ByteArrayInputStream inputStream =
+                new ByteArrayInputStream(outputStream.toByteArray());
+
+        assertEquals(path1, WeightedPathCodec.read(tree, inputStream));
+        assertEquals(path2, WeightedPathCodec.read(tree, inputStream));
+        assertEquals(-1, inputStream.read());
+    }
+
+    @Test
+    public void roundTripWithNegativeDeltas() {
+        tree.addTreeNode(Integer.MIN_VALUE);
+        tree.addTreeNode(Integer.MAX_VALUE);
+        tree.connect(Integer.MIN_VALUE, Integer.MAX_VALUE, 1.0);
+
+        WeightedPath path =
+                pathfinder.search(tree, Integer.MAX_VALUE, Integer.MIN_VALUE);
+
+        assertEquals(path,
+                     WeightedPathCodec.decode(tree,
+                                              WeightedPathCodec.encode(path)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void decodeThrowsOnTruncatedData() {
+        byte[] data =
+                WeightedPathCodec.encode(pathfinder.search(tree, 100, 900));
+
+        WeightedPathCodec.decode(tree, Arrays.copyOf(data, data.length - 1));
+    }
+
+    @Test(expected = EOFException.class)
+    public void readThrowsOnTruncatedStream() throws IOException {
+        byte[] data =
+                WeightedPathCodec.encode(pathfinder.search(tree, 100, 900));
+
+        WeightedPathCodec.read(
+                tree,
+                new ByteArrayInputStream(Arrays.copyOf(data, 5)));
+    }
+
+    @Test(expected = IllegalArgumentException.class)
+    public void decodeThrowsOnNodeCountExceedingData() {
+        // The node count 2^31 - 1 followed by the cost and a single ID:
+        byte[] data = 
+                new byte[]{ -1, -1, -1, -1, 7, 0, 0, 0, 0, 0, 0, 0, 0, 2 };
+        WeightedPathCodec.decode(tree, data);
+    }
+
+    @Test(expected = EOFException.class)
+    public void readDoesNotPreallocateUntrustedNodeCount() throws IOException {
+        byte[] data = 
+                new byte[]{ -1, -1, -1, -1, 7, 0, 0, 0, 0, 0, 0, 0, 0, 2 };
+        WeightedPathCodec.read(tree, new ByteArrayInputStream(data));
+    }
+
+    @Test
+    public void readsPathsLongerThanInitialCapacity() throws IOException {
+        int[] nodeIds = new int[5000];
+
+        for (int i = 0; i < nodeIds.length; i++) {
+            nodeIds[i] = i % 7;
+        }
+
+        WeightedPath path = new WeightedPath(tree, nodeIds, 1.0);
+        ByteArrayOutputStream outputStream = new ByteArrayOutputStream();
+        WeightedPathCodec.write(path, outputStream);
+
+        assertEquals(path,
+                     WeightedPathCodec.read(
+                             tree,
+                             new ByteArrayInputStream(
+                                     outputStream.toByteArray())));
+    }
+}
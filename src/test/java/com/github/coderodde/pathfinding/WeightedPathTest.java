@@ -0,0 +1,152 @@
+package com.github.coderodde.pathfinding;
+
+import com.github.coderodde.pathfinding.WeightedTree.WeightedTreeNode;
+import java.util.Arrays;
+import java.util.HashSet;
+import java.util.Iterator;
+import java.util.Set;
+import static org.junit.Assert.assertArrayEquals;
+import static org.junit.Assert.assertEquals;
+import static org.junit.Assert.assertFalse;
+import static org.junit.Assert.assertTrue;
+import static org.junit.Assert.fail;
+import org.junit.Before;
+import org.junit.Test;
+
+public final class WeightedPathTest {
+
+    private final WeightedTree tree = new WeightedTree();
+    private WeightedTreeNode node1;
+    private WeightedTreeNode node2;
+    private WeightedTreeNode node3;
+
+    @Before
+    public void before() {
+        node1 = tree.addTreeNode(1);
+        node2 = tree.addTreeNode(2);
+        node3 = tree.addTreeNode(3);
+
+        tree.connect(1, 2, 1.5);
+        tree.connect(2, 3, 2.5);
+    }
+
+    @Test
+    public void computesTotalCostFromNodeList() {
+        WeightedPath path =
+                new WeightedPath(tree, Arrays.asList(node1, node2, node3));
+
+        assertEquals(3, path.getNumberOfNodes());
+        assertEquals(4.0, path.getTotalCost(), 0.001);
+        assertEquals(3, path.getNodeId(2));
+    }
+
+    @Test
+    public void materializesEdgesOnDemand() {
+        WeightedPath path = new WeightedPath(tree, new int[]{ 1, 2, 3 }, 4.0);
+        WeightedEdge edge = path.getEdge(1);
+
+        assertEquals(node2, edge.getNode1());
+        assertEquals(node3, edge.getNode2());
+        assertEquals(2.5, edge.getWeight(), 0.001);
+    }
+
+    @Test(expected = IndexOutOfBoundsException.class)
+    public void getEdgeThrowsPastLastEdge() {
+        new WeightedPath(tree, new int[]{ 1, 2, 3 }, 4.0).getEdge(2);
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void throwsOnMissingEdge() {
+        new WeightedPath(tree, Arrays.asList(node1, node3));
+    }
+
+    @Test(expected = IllegalStateException.class)
+    public void throwsOnRemovedNode() {
+        tree.removeTreeNode(3);
+        new WeightedPath(tree, Arrays.asList(node1, node2, node3));
+    }
+
+    @Test
+    public void resolvesForeignNodesById() {
+        WeightedTree otherTree = new WeightedTree();
+        otherTree.addTreeNode(3);
+        WeightedTreeNode otherNode2 = otherTree.addTreeNode(2);
+
+        WeightedPath path = 
+                new WeightedPath(tree, Arrays.asList(node1, otherNode2));
+
+        assertEquals(1.5, path.getTotalCost(), 0.0);
+    }
+
+    @Test
+    public void readsNodesAndEdgesFromLiveTree() {
+        WeightedPath path =
+                new WeightedPath(tree, Arrays.asList(node1, node2, node3));
+
+        tree.connect(2, 3, 7.0);
+
+        // The total cost is fixed, the edges are read anew:
+        assertEquals(4.0, path.getTotalCost(), 0.0);
+        assertEquals(7.0, path.getEdge(1).getWeight(), 0.0);
+
+        tree.removeTreeNode(3);
+
+        assertEquals(3, path.getNodeId(2));
+        assertEquals(1.5, path.getEdge(0).getWeight(), 0.0);
+
+        try {
+            path.getEdge(1);
+            fail("The edge to a removed node should not be readable.");
+        } catch (IllegalStateException ex) {
+            // The documented contract.
+        }
+
+        try {
+            path.getNode(2);
+            fail("A removed node should not be readable.");
+        } catch (IllegalStateException ex) {
+            // The documented contract.
+        }
+    }
+
+    @Test
+    public void iteratesWithoutCopying() {
+        WeightedPath path = new WeightedPath(tree, new int[]{ 3, 2, 1 }, 4.0);
+        Iterator<WeightedTreeNode> iterator = path.iterator();
+
+        assertEquals(node3, iterator.next());
+        assertEquals(node2, iterator.next());
+        assertEquals(node1, iterator.next());
+        assertFalse(iterator.hasNext());
+
+        assertArrayEquals(new int[]{ 3, 2, 1 }, path.nodeIds().toArray());
+    }
+
+    @Test
+    public void equalsComparesNodes() {
+        WeightedPath path1 = new WeightedPath(tree, new int[]{ 1, 2 }, 1.5);
+        WeightedPath path2 =
+                new WeightedPath(tree, Arrays.asList(node1, node2));
+
+        WeightedPath path3 = new WeightedPath(tree, new int[]{ 2, 1 }, 1.5);
+
+        assertTrue(path1.equals(path2));
+        assertFalse(path1.equals(path3));
+        assertFalse(path1.equals(null));
+    }
+
+    @Test
+    public void equalPathsHaveEqualHashCodes() {
+        WeightedPath path1 = new WeightedPath(tree, new int[]{ 1, 2, 3 }, 4.0);
+        WeightedPath path2 =
+                new WeightedPath(tree, Arrays.asList(node1, node2, node3));
+
+        Set<WeightedPath> paths = new HashSet<>();
+        paths.add(path1);
+        paths.add(path2);
+        paths.add(new WeightedPath(tree, new int[]{ 3, 2, 1 }, 4.0));
+
+        assertEquals(path1.hashCode(), path2.hashCode());
+        assertEquals(2, paths.size());
+    }
+}
@@ -1,6 +1,9 @@
 package com.github.coderodde.pathfinding;
 
 import com.github.coderodde.pathfinding.WeightedTree.WeightedTreeNode;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
 import java.util.Set;
 import org.junit.After;
 import org.junit.Test;
@@ -114,6 +117,39 @@ public final class WeightedTreeTest {
         assertFalse(neighbors.contains(node4));
     }    
     
+    @Test
+    public void neighborSetsFollowMovedNodes() {
+        WeightedTreeNode node0 = tree.addTreeNode(0);
+        WeightedTreeNode node1 = tree.addTreeNode(1);
+        tree.addTreeNode(2);
+        WeightedTreeNode node3 = tree.addTreeNode(3);
+        tree.connect(0, 1, 1.0);
+        tree.connect(2, 3, 1.0);
+        
+        Set<WeightedTreeNode> neighbors = tree.getNeighbors(3);
+        Set<WeightedTreeNode> nodeNeighbors = node0.getNeighbors();
+        
+        // Removing the node 1 moves the node 3 into its slot:
+        assertTrue(tree.removeTreeNode(1));
+        
+        assertEquals(Set.of(tree.getNode(2)), neighbors);
+        assertFalse(neighbors.contains(node1));
+        assertTrue(nodeNeighbors.isEmpty());
+        
+        tree.connect(3, 0, 2.0);
+        tree.relabel(NodeOrdering.BREADTH_FIRST);
+        
+        assertEquals(Set.of(node0, tree.getNode(2)), neighbors);
+        assertEquals(Set.of(node3), nodeNeighbors);
+        
+        // A removed node has no neighbors:
+        tree.removeTreeNode(3);
+        
+        assertTrue(neighbors.isEmpty());
+        assertFalse(neighbors.iterator().hasNext());
+        assertFalse(neighbors.contains(node0));
+    }
+    
     @Test
     public void getEdgeWeight() {
         tree.addTreeNode(1);
@@ -242,4 +278,348 @@ public final class WeightedTreeTest {
         
         assertTrue(tree.isCyclic());
     }
+    
+    @Test
+    public void emptyTreeIsAcyclic() {
+        assertFalse(tree.isCyclic());
+    }
+    
+    @Test
+    public void isCyclicHandlesDeepTrees() {
+        for (int id = 0; id < 1_000_000; id++) {
+            tree.addTreeNode(id);
+            
+            if (id > 0) {
+                tree.connect(id - 1, id, 1.0);
+            }
+        }
+        
+        assertFalse(tree.isCyclic());
+        
+        tree.connect(0, 999_999, 1.0);
+        assertTrue(tree.isCyclic());
+    }
+    
+    @Test
+    public void removeTreeNodeKeepsIndicesDense() {
+        tree.addTreeNode(10);
+        tree.addTreeNode(11);
+        tree.addTreeNode(12);
+        
+        assertTrue(tree.removeTreeNode(10));
+        assertEquals(2, tree.getNumberOfNodes());
+        
+        for (int index = 0; index < tree.getNumberOfNodes(); index++) {
+            assertEquals(index, tree.getNodeByIndex(index).index);
+        }
+        
+        assertEquals(0, tree.getNode(12).index);
+        assertEquals(1, tree.getNode(11).index);
+    }
+    
+    @Test
+    public void removeTreeNodeKeepsEdgesOfMovedNode() {
+        tree.addTreeNode(100);
+        tree.addTreeNode(-5);
+        tree.addTreeNode(7);
+        tree.addTreeNode(8);
+        
+        tree.connect(100, -5, 1.0);
+        tree.connect(8, -5, 2.0);
+        tree.connect(8, 7, 3.0);
+        
+        // Node 8 is the last one and moves to the slot of node 100:
+        assertTrue(tree.removeTreeNode(100));
+        
+        assertFalse(tree.containsNodeId(100));
+        assertFalse(tree.hasEdge(-5, 100));
+        assertTrue(tree.hasEdge(-5, 8));
+        assertTrue(tree.hasEdge(7, 8));
+        assertEquals(2.0, tree.getEdgeWeight(-5, 8), 0.001);
+        assertEquals(3.0, tree.getEdgeWeight(7, 8), 0.001);
+        assertEquals(1, tree.getNeighbors(-5).size());
+        assertTrue(tree.getNeighbors(-5).contains(tree.getNode(8)));
+    }
+    
+    @Test
+    public void neighborsKeepInsertionOrder() {
+        WeightedTreeNode node0 = tree.addTreeNode(0);
+        WeightedTreeNode node1 = tree.addTreeNode(1);
+        WeightedTreeNode node2 = tree.addTreeNode(2);
+        WeightedTreeNode node3 = tree.addTreeNode(3);
+        
+        tree.connect(0, 3, 1.0);
+        tree.connect(0, 1, 1.0);
+        tree.connect(0, 2, 1.0);
+        tree.disconnect(0, 1);
+        
+        assertEquals(Arrays.asList(node3, node2), 
+                     new ArrayList<>(node0.getNeighbors()));
+        
+        assertTrue(node1.getNeighbors().isEmpty());
+    }
+    
+    @Test
+    public void removedNodeHasNoNeighbors() {
+        WeightedTreeNode node0 = tree.addTreeNode(0);
+        tree.addTreeNode(1);
+        tree.connect(0, 1, 1.0);
+        tree.removeTreeNode(0);
+        
+        assertTrue(node0.getNeighbors().isEmpty());
+    }
+    
+    @Test
+    public void forEachNeighbor() {
+        tree.addTreeNode(0);
+        tree.addTreeNode(1);
+        tree.addTreeNode(2);
+        tree.addTreeNode(3);
+        
+        tree.connect(0, 2, 2.0);
+        tree.connect(0, 1, 1.0);
+        tree.connect(3, 0, 3.0);
+        
+        List<Integer> neighborIds = new ArrayList<>();
+        List<Double> weights = new ArrayList<>();
+        
+        tree.forEachNeighbor(0, (neighborId, weight) -> {
+            neighborIds.add(neighborId);
+            weights.add(weight);
+        });
+        
+        assertEquals(Arrays.asList(2, 1, 3), neighborIds);
+        assertEquals(Arrays.asList(2.0, 1.0, 3.0), weights);
+    }
+    
+    @Test(expected = IllegalStateException.class)
+    public void forEachNeighborThrowsOnBadId() {
+        tree.forEachNeighbor(0, (neighborId, weight) -> {});
+    }
+    
+    @Test
+    public void relabelBreadthFirst() {
+        buildRelabelingTree();
+        tree.relabel(NodeOrdering.BREADTH_FIRST);
+        
+        assertRelabelingTree();
+        assertEquals(0, tree.getNode(50).index);
+        assertEquals(1, tree.getNode(40).index);
+        assertEquals(2, tree.getNode(30).index);
+        assertEquals(3, tree.getNode(20).index);
+        assertEquals(4, tree.getNode(10).index);
+    }
+    
+    @Test
+    public void relabelDepthFirstPreorder() {
+        buildRelabelingTree();
+        tree.relabel(NodeOrdering.DEPTH_FIRST_PREORDER);
+        
+        assertRelabelingTree();
+        assertEquals(0, tree.getNode(50).index);
+        assertEquals(1, tree.getNode(40).index);
+        assertEquals(2, tree.getNode(20).index);
+        assertEquals(3, tree.getNode(30).index);
+        assertEquals(4, tree.getNode(10).index);
+    }
+    
+    @Test
+    public void addNodesBumpsVersionOnce() {
+        tree.addTreeNode(2);
+        long version = tree.getVersion();
+        
+        assertEquals(3, tree.addNodes(new int[]{ 1, 2, 3, 1, 100 }));
+        assertEquals(version + 1, tree.getVersion());
+        assertEquals(4, tree.getNumberOfNodes());
+        assertTrue(tree.containsNodeId(100));
+        
+        assertEquals(0, tree.addNodes(new int[]{ 1, 3 }));
+        assertEquals(version + 1, tree.getVersion());
+    }
+    
+    @Test
+    public void connectAllAgreesWithConnect() {
+        WeightedTree expectedTree = new WeightedTree();
+        int[] ids = new int[1_000];
+        int[] ids1 = new int[ids.length - 1];
+        int[] ids2 = new int[ids.length - 1];
+        double[] weights = new double[ids.length - 1];
+        
+        for (int i = 0; i < ids.length; i++) {
+            ids[i] = 7 * i;
+            expectedTree.addTreeNode(ids[i]);
+        }
+        
+        for (int i = 1; i < ids.length; i++) {
+            ids1[i - 1] = ids[i];
+            ids2[i - 1] = ids[i / 3];
+            weights[i - 1] = i;
+            expectedTree.connect(ids1[i - 1], ids2[i - 1], i);
+        }
+        
+        tree.addNodes(ids);
+        long version = tree.getVersion();
+        
+        assertEquals(ids1.length, tree.connectAll(ids1, ids2, weights));
+        assertEquals(version + 1, tree.getVersion());
+        assertEquals(0, tree.connectAll(ids1, ids2, weights));
+        
+        for (int index = 0; index < ids.length; index++) {
+            assertEquals(expectedTree.getDegree(index), tree.getDegree(index));
+            
+            for (int i = 0; i < tree.getDegree(index); i++) {
+                assertEquals(expectedTree.getNeighborIndex(index, i),
+                             tree.getNeighborIndex(index, i));
+                
+                assertEquals(expectedTree.getNeighborWeight(index, i),
+                             tree.getNeighborWeight(index, i),
+                             0.0);
+            }
+        }
+    }
+    
+    @Test
+    public void connectAllReweightsDuplicateEdges() {
+        tree.addNodes(new int[]{ 1, 2 });
+        
+        assertEquals(2, tree.connectAll(new int[]{ 1, 2, 1 }, 
+                                        new int[]{ 2, 1, 2 }, 
+                                        new double[]{ 3.0, 4.0, 4.0 }));
+        
+        assertEquals(4.0, tree.getEdgeWeight(1, 2), 0.0);
+        assertEquals(1, tree.getDegree(tree.getNodeIndex(1)));
+    }
+    
+    @Test
+    public void connectAllLeavesTreeIntactOnMissingNode() {
+        tree.addNodes(new int[]{ 1, 2, 3 });
+        long version = tree.getVersion();
+        
+        try {
+            tree.connectAll(new int[]{ 1, 2 }, 
+                            new int[]{ 2, 4 }, 
+                            new double[]{ 1.0, 1.0 });
+            fail("Should have thrown.");
+        } catch (IllegalStateException ex) {
+            // Expected.
+        }
+        
+        assertFalse(tree.hasEdge(1, 2));
+        assertEquals(version, tree.getVersion());
+    }
+    
+    @Test(expected = IllegalArgumentException.class)
+    public void connectAllThrowsOnLengthMismatch() {
+        tree.connectAll(new int[1], new int[1], new double[2]);
+    }
+    
+    @Test
+    public void updateWeights() {
+        tree.addNodes(new int[]{ 1, 2, 3 });
+        tree.connect(1, 2, 1.0);
+        tree.connect(2, 3, 2.0);
+        long version = tree.getVersion();
+        
+        assertEquals(1, tree.updateWeights(new int[]{ 2, 3 }, 
+                                           new int[]{ 1, 2 }, 
+                                           new double[]{ 5.0, 2.0 }));
+        
+        assertEquals(version + 1, tree.getVersion());
+        assertEquals(5.0, tree.getEdgeWeight(1, 2), 0.0);
+        assertEquals(5.0, tree.getEdgeWeight(2, 1), 0.0);
+        assertEquals(2.0, tree.getEdgeWeight(2, 3), 0.0);
+    }
+    
+    @Test
+    public void updateWeightsLeavesTreeIntactOnMissingEdge() {
+        tree.addNodes(new int[]{ 1, 2, 3 });
+        tree.connect(1, 2, 1.0);
+        
+        try {
+            tree.updateWeights(new int[]{ 1, 1 }, 
+                               new int[]{ 2, 3 }, 
+                               new double[]{ 5.0, 6.0 });
+            fail("Should have thrown.");
+        } catch (IllegalStateException ex) {
+            // Expected.
+        }
+        
+        assertEquals(1.0, tree.getEdgeWeight(1, 2), 0.0);
+    }
+    
+    @Test
+    public void connectUpdatesHubEdgesFromEitherEndpoint() {
+        tree.addTreeNode(0);
+        
+        for (int id = 1; id <= 100; id++) {
+            tree.addTreeNode(id);
+            assertTrue(tree.connect(0, id, 1.0));
+        }
+        
+        // The leaf has the lower degree whichever endpoint comes first:
+        assertFalse(tree.connect(50, 0, 1.0));
+        assertTrue(tree.connect(50, 0, 2.0));
+        assertTrue(tree.connect(0, 70, 3.0));
+        
+        assertEquals(2.0, tree.getEdgeWeight(0, 50), 0.0);
+        assertEquals(2.0, tree.getEdgeWeight(50, 0), 0.0);
+        assertEquals(3.0, tree.getEdgeWeight(70, 0), 0.0);
+        assertEquals(100, tree.getDegree(tree.getNodeIndex(0)));
+        assertEquals(1, tree.getDegree(tree.getNodeIndex(50)));
+    }
+    
+    @Test
+    public void connectAllUpdatesHubEdgesFromEitherEndpoint() {
+        int[] leafIds = new int[100];
+        int[] hubIds = new int[100];
+        double[] weights = new double[100];
+        tree.addTreeNode(0);
+        
+        for (int i = 0; i < 100; i++) {
+            leafIds[i] = i + 1;
+            weights[i] = 1.0;
+            tree.addTreeNode(leafIds[i]);
+        }
+        
+        assertEquals(100, tree.connectAll(hubIds, leafIds, weights));
+        
+        assertEquals(2, tree.connectAll(new int[]{ 50, 0, 60 }, 
+                                        new int[]{ 0, 70, 0 }, 
+                                        new double[]{ 2.0, 3.0, 1.0 }));
+        
+        assertEquals(2.0, tree.getEdgeWeight(0, 50), 0.0);
+        assertEquals(3.0, tree.getEdgeWeight(70, 0), 0.0);
+        assertEquals(1.0, tree.getEdgeWeight(60, 0), 0.0);
+        assertEquals(100, tree.getDegree(tree.getNodeIndex(0)));
+    }
+    
+    private void buildRelabelingTree() {
+        tree.addTreeNode(50);
+        tree.addTreeNode(10);
+        tree.addTreeNode(20);
+        tree.addTreeNode(30);
+        tree.addTreeNode(40);
+        
+        tree.connect(50, 40, 1.0);
+        tree.connect(50, 30, 2.0);
+        tree.connect(40, 20, 3.0);
+        tree.addTreeNode(60);
+        tree.removeTreeNode(60);
+        tree.connect(10, 30, 4.0);
+    }
+    
+    private void assertRelabelingTree() {
+        assertEquals(5, tree.getNumberOfNodes());
+        assertEquals(1.0, tree.getEdgeWeight(40, 50), 0.001);
+        assertEquals(2.0, tree.getEdgeWeight(30, 50), 0.001);
+        assertEquals(3.0, tree.getEdgeWeight(20, 40), 0.001);
+        assertEquals(4.0, tree.getEdgeWeight(30, 10), 0.001);
+        assertFalse(tree.hasEdge(10, 50));
+        
+        for (int index = 0; index < tree.getNumberOfNodes(); index++) {
+            WeightedTreeNode node = tree.getNodeByIndex(index);
+            assertEquals(index, node.index);
+            assertEquals(node, tree.getNode(node.getId()));
+        }
+    }
 }